@@ -0,0 +1,46 @@
+package com.example.staymate.config;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Tells the replica lag guard when the client of a request last wrote, and the client when the request wrote
+public class ReplicaLagFilter extends OncePerRequestFilter {
+
+    private final ReplicaLagGuard lagGuard;
+
+    public ReplicaLagFilter(ReplicaLagGuard lagGuard) {
+        this.lagGuard = lagGuard;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        lagGuard.enter(parseMillis(request.getHeader(ReplicaLagGuard.LAST_WRITE_HEADER)), millis -> {
+            if (!response.isCommitted()) {
+                response.setHeader(ReplicaLagGuard.LAST_WRITE_HEADER, Long.toString(millis));
+            }
+        });
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            lagGuard.exit();
+        }
+    }
+
+    private static Long parseMillis(String header) {
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.staymate.config;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.LongConsumer;
+
+/**
+ * Read-your-writes guard for the read replica, kept per client. For the longest
+ * expected replication lag after a client commits a write, its reads go to the
+ * primary, so a booking is seen by the availability, listing and notification
+ * reads that follow it; the reads of every other client keep going to the
+ * replica. A request tells the guard when its client last wrote through the
+ * {@value #LAST_WRITE_HEADER} header, which the responses to writing requests
+ * set. A thread working outside a request counts as a client of its own.
+ */
+public class ReplicaLagGuard {
+
+    public static final String LAST_WRITE_HEADER = "X-Last-Write";
+
+    private final long maxLagMillis;
+    private final Clock clock;
+    private final ThreadLocal<Writer> writer = ThreadLocal.withInitial(Writer::new);
+
+    public ReplicaLagGuard(Duration maxLag) {
+        this(maxLag, Clock.systemUTC());
+    }
+
+    ReplicaLagGuard(Duration maxLag, Clock clock) {
+        this.maxLagMillis = maxLag.toMillis();
+        this.clock = clock;
+    }
+
+    // Serve a request of a client that last wrote at the given time, null when unknown. The
+    // time of each write committed for it is passed to onWrite.
+    public void enter(Long lastWriteMillis, LongConsumer onWrite) {
+        Writer current = new Writer();
+        // A time ahead of the clock would keep the client on the primary for good
+        current.lastWriteMillis = lastWriteMillis == null ? null : Math.min(lastWriteMillis, clock.millis());
+        current.onWrite = onWrite;
+        writer.set(current);
+    }
+
+    public void exit() {
+        writer.remove();
+    }
+
+    public void markWrite() {
+        Writer current = writer.get();
+        current.lastWriteMillis = clock.millis();
+        if (current.onWrite != null) {
+            current.onWrite.accept(current.lastWriteMillis);
+        }
+    }
+
+    // Whether a write of the current client may not have reached the replica yet
+    public boolean replicaMayBeBehind() {
+        Long lastWrite = writer.get().lastWriteMillis;
+        return lastWrite != null && clock.millis() - lastWrite < maxLagMillis;
+    }
+
+    private static final class Writer {
+        private Long lastWriteMillis;
+        private LongConsumer onWrite;
+    }
+}
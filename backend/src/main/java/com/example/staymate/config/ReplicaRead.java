@@ -0,0 +1,19 @@
+package com.example.staymate.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read-only service method whose reads may be served by the read
+ * replica. Only these go there: other read-only transactions, such as the
+ * Spring Data repository methods called on their own, stay on the primary, so
+ * entities loaded to be updated are always read from it.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReplicaRead {
+}
@@ -0,0 +1,29 @@
+package com.example.staymate.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+// Flags the calls of @ReplicaRead methods on the calling thread for ReplicaRoutingDataSource
+public class ReplicaReadInterceptor implements MethodInterceptor {
+
+    private static final ThreadLocal<Boolean> REPLICA_READ = new ThreadLocal<>();
+
+    public static boolean isReplicaRead() {
+        return Boolean.TRUE.equals(REPLICA_READ.get());
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Boolean outer = REPLICA_READ.get();
+        REPLICA_READ.set(Boolean.TRUE);
+        try {
+            return invocation.proceed();
+        } finally {
+            if (outer == null) {
+                REPLICA_READ.remove();
+            } else {
+                REPLICA_READ.set(outer);
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.staymate.config;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends the connections of read-only transactions started by a
+ * {@link ReplicaRead} method to the replica and every other connection to the
+ * primary. Those started while the replica may still be behind a write of the
+ * same client go to the primary too. The transaction is only known once it has started, so this
+ * must sit behind a LazyConnectionDataSourceProxy that fetches connections on
+ * first use.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaLagGuard lagGuard;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagGuard lagGuard) {
+        this.lagGuard = lagGuard;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return ReplicaReadInterceptor.isReplicaRead() && !lagGuard.replicaMayBeBehind()
+                    ? Target.REPLICA
+                    : Target.PRIMARY;
+        }
+        // Start the client's lag window when a transaction that may have written commits
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    lagGuard.markWrite();
+                }
+            });
+        }
+        return Target.PRIMARY;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.staymate.config;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.staymate.dto.custom.CustomResponse;
+import com.example.staymate.exception.UploadCapacityExceededException;
+import com.example.staymate.service.HotelImageService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Limits multipart uploads before the container reads their body. A request declaring more than the
+// multipart request limit is rejected, and every other one holds its length (the limit when it is not
+// declared) from the in-flight budget of the image store until it has been handled
+public class UploadLimitFilter extends OncePerRequestFilter {
+
+    private final HotelImageService hotelImageService;
+    private final ObjectMapper objectMapper;
+    private final long maxRequestBytes;
+
+    public UploadLimitFilter(HotelImageService hotelImageService, ObjectMapper objectMapper, long maxRequestBytes) {
+        this.hotelImageService = hotelImageService;
+        this.objectMapper = objectMapper;
+        this.maxRequestBytes = maxRequestBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("multipart/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long contentLength = request.getContentLengthLong();
+        if (contentLength > maxRequestBytes) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Upload must not be larger than " + maxRequestBytes + " bytes");
+            return;
+        }
+        long reserved = contentLength >= 0 ? contentLength : maxRequestBytes;
+        try {
+            hotelImageService.reserveUpload(reserved);
+        } catch (UploadCapacityExceededException e) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            hotelImageService.releaseUpload(reserved);
+        }
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new CustomResponse<>(message, null));
+    }
+}
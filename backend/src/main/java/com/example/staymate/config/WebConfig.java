@@ -1,10 +1,15 @@
 package com.example.staymate.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.example.staymate.service.HotelImageService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
@@ -16,6 +21,13 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addMapping("/**")
                 .allowedOrigins(baseUrl)
                 .allowedMethods("GET", "POST", "PUT", "DELETE")
-                .allowedHeaders("*");
+                .allowedHeaders("*")
+                .exposedHeaders(ReplicaLagGuard.LAST_WRITE_HEADER);
+    }
+
+    @Bean
+    public UploadLimitFilter uploadLimitFilter(HotelImageService hotelImageService, ObjectMapper objectMapper,
+            @Value("${spring.servlet.multipart.max-request-size:12MB}") DataSize maxRequestSize) {
+        return new UploadLimitFilter(hotelImageService, objectMapper, maxRequestSize.toBytes());
     }
 }
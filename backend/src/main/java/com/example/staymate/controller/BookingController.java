@@ -8,7 +8,10 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,18 +19,28 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.staymate.dto.booking.BatchBookingRequestDTO;
 import com.example.staymate.dto.booking.BookingRequestDTO;
 import com.example.staymate.dto.booking.BookingResponseDTO;
+import com.example.staymate.dto.booking.RoomStayRequestDTO;
+import com.example.staymate.dto.custom.CursorPage;
 import com.example.staymate.dto.custom.CustomResponse;
 import com.example.staymate.dto.user.UserBookingResponseDTO;
 import com.example.staymate.entity.booking.Booking;
-import com.example.staymate.entity.enums.BookingStatus;
-import com.example.staymate.entity.room.Room;
+import com.example.staymate.entity.enums.ExportFormat;
 import com.example.staymate.entity.user.User;
+import com.example.staymate.exception.BookingHoldExpiredException;
+import com.example.staymate.exception.ResourceNotFoundException;
+import com.example.staymate.exception.RoomAlreadyBookedException;
+import com.example.staymate.exception.RoomNotFoundException;
+import com.example.staymate.service.BookingHoldService;
 import com.example.staymate.service.BookingService;
-import com.example.staymate.service.RoomService;
+import com.example.staymate.service.ExportService;
+import com.example.staymate.service.RateEngine;
 import com.example.staymate.service.UserService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -46,12 +59,18 @@ public class BookingController {
         private BookingService bookingService;
 
         @Autowired
-        private RoomService roomService;
+        private UserService userService;
 
         @Autowired
-        private UserService userService;
+        private BookingHoldService bookingHoldService;
+
+        @Autowired
+        private RateEngine rateEngine;
 
-        @Operation(summary = "Create a new booking", description = "Creates a booking for a given user and room if available.")
+        @Autowired
+        private ExportService exportService;
+
+        @Operation(summary = "Create a new booking", description = "Creates a booking for a given user and room if available. The room is held until holdExpiresAt; the booking is cancelled unless it is confirmed or paid by then.")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "201", description = "Booking created successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CustomResponse.class))),
                         @ApiResponse(responseCode = "400", description = "Invalid request data or room unavailable", content = @Content(mediaType = "application/json"))
@@ -62,47 +81,117 @@ public class BookingController {
 
                 User user = userService.getUserById(bookingRequestDTO.getUserId());
 
-                if (bookingRequestDTO.getCheckOutDate().isBefore(bookingRequestDTO.getCheckInDate())) {
+                if (!bookingRequestDTO.getCheckOutDate().isAfter(bookingRequestDTO.getCheckInDate())) {
                         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                                         .body(new CustomResponse<>("Check-out date must be after check-in date", null));
                 }
 
-                if (!roomService.isRoomAvailable(bookingRequestDTO.getHotelId(), bookingRequestDTO.getRoomId(),
-                                bookingRequestDTO.getCheckInDate(), bookingRequestDTO.getCheckOutDate())) {
-                        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                                        .body(new CustomResponse<>("Room is not available for the selected dates",
-                                                        null));
-                }
-
-                Room room;
-                try {
-                        room = roomService.bookRoom(bookingRequestDTO.getHotelId(), bookingRequestDTO.getRoomId(),
-                                        bookingRequestDTO.getCheckInDate(), bookingRequestDTO.getCheckOutDate());
-                } catch (RuntimeException e) {
-                        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                                        .body(new CustomResponse<>(
-                                                        "Room booking failed. The room might not be available.", null));
-                }
-
                 Booking booking = new Booking();
                 booking.setUser(user);
-                booking.setRoom(room);
                 booking.setCheckInDate(bookingRequestDTO.getCheckInDate());
                 booking.setCheckOutDate(bookingRequestDTO.getCheckOutDate());
-                booking.setTotalAmount(bookingRequestDTO.getTotalAmount());
                 booking.setBookingDate(LocalDate.now());
-                booking.setStatus(BookingStatus.PENDING);
 
-                Booking savedBooking = bookingService.createBooking(booking);
+                Booking savedBooking;
+                try {
+                        // Priced by the server; the amount sent by the client is ignored
+                        booking.setTotalAmount(rateEngine.quote(bookingRequestDTO.getHotelId(),
+                                        bookingRequestDTO.getRoomId(), bookingRequestDTO.getCheckInDate(),
+                                        bookingRequestDTO.getCheckOutDate()));
+                        savedBooking = bookingHoldService.createHold(booking, bookingRequestDTO.getHotelId(),
+                                        bookingRequestDTO.getRoomId());
+                } catch (RoomNotFoundException e) {
+                        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                        .body(new CustomResponse<>(e.getMessage(), null));
+                } catch (RoomAlreadyBookedException e) {
+                        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                        .body(new CustomResponse<>("Room is not available for the selected dates",
+                                                        null));
+                }
 
                 Map<String, Object> response = new HashMap<>();
                 response.put("message", "Booking created successfully");
                 response.put("bookingId", savedBooking.getId());
+                response.put("holdExpiresAt", savedBooking.getHoldExpiresAt());
 
                 return ResponseEntity.status(HttpStatus.CREATED)
                                 .body(new CustomResponse<>("Booking created successfully", response));
         }
 
+        @Operation(summary = "Book several rooms at once", description = "Books every requested room for its dates in one transaction, or none of them if one is not available. All rooms are held until holdExpiresAt.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "201", description = "Bookings created successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CustomResponse.class))),
+                        @ApiResponse(responseCode = "400", description = "Invalid request data or a room unavailable", content = @Content(mediaType = "application/json")),
+                        @ApiResponse(responseCode = "404", description = "A room was not found", content = @Content(mediaType = "application/json"))
+        })
+        @PostMapping("/batch")
+        public ResponseEntity<CustomResponse<Map<String, Object>>> createBookings(
+                        @Valid @RequestBody BatchBookingRequestDTO batchBookingRequestDTO) {
+
+                for (RoomStayRequestDTO stay : batchBookingRequestDTO.getRooms()) {
+                        if (!stay.getCheckOutDate().isAfter(stay.getCheckInDate())) {
+                                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                                .body(new CustomResponse<>("Check-out date must be after check-in date",
+                                                                null));
+                        }
+                }
+
+                User user = userService.getUserById(batchBookingRequestDTO.getUserId());
+
+                List<Booking> savedBookings;
+                try {
+                        savedBookings = bookingHoldService.createHolds(user, batchBookingRequestDTO.getRooms());
+                } catch (RoomNotFoundException e) {
+                        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                        .body(new CustomResponse<>(e.getMessage(), null));
+                } catch (RoomAlreadyBookedException e) {
+                        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                        .body(new CustomResponse<>(e.getMessage(), null));
+                }
+
+                Map<String, Object> response = new HashMap<>();
+                response.put("message", "Bookings created successfully");
+                response.put("bookingIds", savedBookings.stream().map(Booking::getId).collect(Collectors.toList()));
+                response.put("holdExpiresAt", savedBookings.get(0).getHoldExpiresAt());
+
+                return ResponseEntity.status(HttpStatus.CREATED)
+                                .body(new CustomResponse<>("Bookings created successfully", response));
+        }
+
+        @Operation(summary = "Extend a booking hold", description = "Holds the room of a pending booking for another hold period from now.")
+        @PostMapping("/{id}/hold/extend")
+        public ResponseEntity<CustomResponse<BookingResponseDTO>> extendHold(
+                        @Parameter(description = "ID of the booking", required = true) @PathVariable Long id) {
+                try {
+                        Booking booking = bookingHoldService.extendHold(id);
+                        return ResponseEntity.ok(new CustomResponse<>("Booking hold extended successfully",
+                                        new BookingResponseDTO(booking)));
+                } catch (ResourceNotFoundException e) {
+                        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                        .body(new CustomResponse<>(e.getMessage(), null));
+                } catch (BookingHoldExpiredException e) {
+                        return ResponseEntity.status(HttpStatus.CONFLICT)
+                                        .body(new CustomResponse<>(e.getMessage(), null));
+                }
+        }
+
+        @Operation(summary = "Confirm a held booking", description = "Converts a pending booking whose hold has not expired into a confirmed booking.")
+        @PostMapping("/{id}/confirm")
+        public ResponseEntity<CustomResponse<BookingResponseDTO>> confirmHold(
+                        @Parameter(description = "ID of the booking", required = true) @PathVariable Long id) {
+                try {
+                        Booking booking = bookingHoldService.confirmHold(id);
+                        return ResponseEntity.ok(new CustomResponse<>("Booking confirmed successfully",
+                                        new BookingResponseDTO(booking)));
+                } catch (ResourceNotFoundException e) {
+                        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                        .body(new CustomResponse<>(e.getMessage(), null));
+                } catch (BookingHoldExpiredException e) {
+                        return ResponseEntity.status(HttpStatus.CONFLICT)
+                                        .body(new CustomResponse<>(e.getMessage(), null));
+                }
+        }
+
         @Operation(summary = "Get booking by ID", description = "Retrieve a booking's details using its ID.")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Booking found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BookingResponseDTO.class))),
@@ -146,9 +235,7 @@ public class BookingController {
         public ResponseEntity<CustomResponse<List<BookingResponseDTO>>> getBookingsForHotel(
                         @Parameter(description = "ID of the hotel", required = true) @PathVariable Long hotelId) {
 
-                List<BookingResponseDTO> bookings = bookingService.getBookingsByHotel(hotelId).stream()
-                                .map(BookingResponseDTO::new)
-                                .collect(Collectors.toList());
+                List<BookingResponseDTO> bookings = bookingService.getBookingResponsesByHotel(hotelId);
 
                 if (bookings.isEmpty()) {
                         return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -158,22 +245,52 @@ public class BookingController {
                 return ResponseEntity.ok(new CustomResponse<>("Bookings retrieved successfully", bookings));
         }
 
-        @Operation(summary = "Get all bookings for a user", description = "Retrieves all bookings associated with a specific user.")
+        @Operation(summary = "Get bookings for a user", description = "Retrieves one page of a user's bookings, latest check-in first. Pass the returned nextCursor, and the same includeArchived, to get the next page.")
         @GetMapping("/user/{userId}")
-        public ResponseEntity<CustomResponse<List<UserBookingResponseDTO>>> getBookingsForUser(
-                        @Parameter(description = "ID of the user", required = true) @PathVariable Long userId) {
-                List<UserBookingResponseDTO> bookings = bookingService.getBookingsByUser(userId).stream()
-                                .map(UserBookingResponseDTO::new)
-                                .collect(Collectors.toList());
+        public ResponseEntity<CustomResponse<CursorPage<UserBookingResponseDTO>>> getBookingsForUser(
+                        @Parameter(description = "ID of the user", required = true) @PathVariable Long userId,
+                        @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "Maximum number of bookings to return") @RequestParam(required = false) Integer limit,
+                        @Parameter(description = "Also return archived bookings that checked out long ago") @RequestParam(defaultValue = "false") boolean includeArchived) {
+                CursorPage<UserBookingResponseDTO> bookings;
+                try {
+                        bookings = bookingService.getBookingPageByUser(userId, cursor, limit, includeArchived);
+                } catch (IllegalArgumentException e) {
+                        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                        .body(new CustomResponse<>(e.getMessage(), null));
+                }
 
-                if (bookings.isEmpty()) {
+                if (bookings.getItems().isEmpty() && cursor == null) {
                         return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                                        .body(new CustomResponse<>("No bookings found for user",
-                                                        Collections.emptyList()));
+                                        .body(new CustomResponse<>("No bookings found for user", bookings));
                 }
                 return ResponseEntity.ok(new CustomResponse<>("Bookings retrieved successfully", bookings));
         }
 
+        @Operation(summary = "Export bookings", description = "Writes every booking matching the filters as NDJSON or CSV while it is read from the database, for exports of any size. Dates filter on check-in, both included.")
+        @GetMapping("/export")
+        public ResponseEntity<StreamingResponseBody> exportBookings(
+                        @Parameter(description = "ndjson or csv") @RequestParam(defaultValue = "ndjson") String format,
+                        @Parameter(description = "Only bookings of this hotel") @RequestParam(required = false) Long hotelId,
+                        @Parameter(description = "First check-in date, yyyy-MM-dd") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                        @Parameter(description = "Last check-in date, yyyy-MM-dd") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                        @Parameter(description = "Also export archived bookings that checked out long ago") @RequestParam(defaultValue = "false") boolean includeArchived) {
+                ExportFormat exportFormat;
+                try {
+                        exportFormat = ExportService.parseFormat(format);
+                        ExportService.validateRange(from, to);
+                } catch (IllegalArgumentException e) {
+                        return ResponseEntity.badRequest().build();
+                }
+                StreamingResponseBody body = out -> exportService.exportBookings(exportFormat, hotelId, from, to,
+                                includeArchived, out);
+                return ResponseEntity.ok()
+                                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                                .header(HttpHeaders.CONTENT_DISPOSITION,
+                                                "attachment; filename=\"bookings." + exportFormat.getExtension() + "\"")
+                                .body(body);
+        }
+
         @Operation(summary = "Get all bookings", description = "Retrieves all bookings in the system.")
         @GetMapping
         public ResponseEntity<CustomResponse<List<Booking>>> getAllBookings() {
@@ -1,16 +1,24 @@
 package com.example.staymate.controller;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.nio.file.Path;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -19,17 +27,40 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.staymate.dto.custom.CursorPage;
+import com.example.staymate.dto.custom.VersionStamp;
 import com.example.staymate.dto.custom.CustomResponse;
+import com.example.staymate.dto.hotel.AvailabilitySearchRequest;
+import com.example.staymate.dto.hotel.FlexibleDateOption;
+import com.example.staymate.dto.hotel.FlexibleDateSearchRequest;
+import com.example.staymate.dto.hotel.HotelAvailability;
 import com.example.staymate.dto.hotel.HotelRequestDTO;
+import com.example.staymate.dto.hotel.HotelSearchPage;
+import com.example.staymate.dto.hotel.HotelSummary;
+import com.example.staymate.dto.hotel.OccupancyCalendar;
 import com.example.staymate.dto.room.RoomRequestDTO;
+import com.example.staymate.entity.enums.ImageVariant;
 import com.example.staymate.entity.hotel.Hotel;
 import com.example.staymate.entity.room.Room;
+import com.example.staymate.exception.ImageTooLargeException;
+import com.example.staymate.exception.ResourceNotFoundException;
+import com.example.staymate.index.HotelAutocompleteIndex;
+import com.example.staymate.service.FlexibleDateSearchService;
+import com.example.staymate.service.HotelAvailabilityService;
+import com.example.staymate.service.HotelImageDerivativeService;
+import com.example.staymate.service.HotelImageService;
 import com.example.staymate.service.HotelService;
+import com.example.staymate.service.OccupancyCalendarService;
 import com.example.staymate.service.RoomService;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -38,12 +69,31 @@ import io.swagger.v3.oas.annotations.Parameter;
 @RestController
 public class HotelController {
 
+    // ObjectReader is immutable and thread-safe, so one instance is shared by all requests
+    private static final ObjectReader HOTEL_DETAILS_READER = new ObjectMapper().readerFor(HotelRequestDTO.class);
+    private static final JsonFactory CALENDAR_JSON = new JsonFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
     @Autowired
     private HotelService hotelService;
 
     @Autowired
     private RoomService roomService;
 
+    @Autowired
+    private HotelImageService hotelImageService;
+
+    @Autowired
+    private HotelImageDerivativeService hotelImageDerivativeService;
+
+    @Autowired
+    private HotelAvailabilityService hotelAvailabilityService;
+
+    @Autowired
+    private OccupancyCalendarService occupancyCalendarService;
+
+    @Autowired
+    private FlexibleDateSearchService flexibleDateSearchService;
+
     @Operation(summary = "Create a new hotel", description = "This operation creates a new hotel and its rooms")
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<CustomResponse<Map<String, Object>>> createHotel(
@@ -53,7 +103,7 @@ public class HotelController {
         HotelRequestDTO hotelRequestDTO = null;
         try {
             // Attempt to parse the hotelDetailsJson into HotelRequestDTO
-            hotelRequestDTO = new ObjectMapper().readValue(hotelDetailsJson, HotelRequestDTO.class);
+            hotelRequestDTO = HOTEL_DETAILS_READER.readValue(hotelDetailsJson);
         } catch (JsonProcessingException e) {
             // Handle JSON parsing error
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -79,37 +129,33 @@ public class HotelController {
 
         if (image != null && !image.isEmpty()) {
             try {
-                byte[] imageBytes = image.getResource().getInputStream().readAllBytes();
-                hotel.setImage(imageBytes); // Store image as byte array
+                hotel.setImageHash(hotelImageService.storeUpload(image)); // Store image in the image store
+                hotelImageDerivativeService.generateAsync(hotel.getImageHash()); // Resize in the background
+            } catch (ImageTooLargeException e) {
+                return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                        .body(new CustomResponse<>(e.getMessage(), null));
             } catch (IOException e) {
                 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                         .body(new CustomResponse<>("Error processing image", null));
             }
         }
 
-        // Save hotel to the database
-        Hotel savedHotel = hotelService.saveHotel(hotel);
-
-        // Process rooms
-        List<Room> rooms = new ArrayList<>();
-        long roomId = 100;
+        // Validate rooms before anything is stored
         for (RoomRequestDTO roomRequest : hotelRequestDTO.getRooms()) {
             if (roomRequest.getQuantity() <= 0) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                         .body(new CustomResponse<>("Room quantity must be greater than zero", null)); // 400 Bad Request
             }
-            for (int i = 0; i < roomRequest.getQuantity(); i++) {
-                Room room = roomService.createRoom(savedHotel, roomId++, roomRequest.getRoomType(),
-                        roomRequest.getPricePerNight(), roomRequest.getMaxOccupancy());
-                rooms.add(room);
-            }
         }
 
-        savedHotel.setRooms(rooms);
+        // Save the hotel and all its rooms, numbered from 100, in one batched transaction
+        Hotel savedHotel = hotelService.createHotel(hotel, hotelRequestDTO.getRooms(), 100);
+        int roomsCreated = hotelRequestDTO.getRooms().stream().mapToInt(RoomRequestDTO::getQuantity).sum();
 
         Map<String, Object> response = new HashMap<>();
         response.put("message", "Hotel created successfully");
         response.put("hotelId", savedHotel.getId());
+        response.put("roomsCreated", roomsCreated);
 
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(new CustomResponse<>("Hotel created successfully", response));
@@ -126,13 +172,35 @@ public class HotelController {
         return ResponseEntity.ok(new CustomResponse<>("Hotels retrieved successfully", hotels)); // 200 OK
     }
 
-    @Operation(summary = "Get hotel by ID", description = "Retrieve a hotel by its ID")
+    @Operation(summary = "List hotel summaries", description = "Retrieve one page of lightweight hotel summaries. Pass the returned nextCursor to get the next page")
+    @GetMapping("/summaries")
+    public ResponseEntity<CustomResponse<CursorPage<HotelSummary>>> getHotelSummaries(
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of hotels to return") @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPage<HotelSummary> page = hotelService.getHotelSummaries(cursor, limit);
+            return ResponseEntity.ok(new CustomResponse<>("Hotels retrieved successfully", page)); // 200 OK
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new CustomResponse<>(e.getMessage(), null)); // 400 Bad Request
+        }
+    }
+
+    @Operation(summary = "Get hotel by ID", description = "Retrieve a hotel by its ID. Supports ETag revalidation")
     @GetMapping("/{id}")
     public ResponseEntity<CustomResponse<Hotel>> getHotelById(
-            @Parameter(description = "ID of the hotel to retrieve") @PathVariable Long id) {
+            @Parameter(description = "ID of the hotel to retrieve") @PathVariable Long id, WebRequest request) {
+        // Answer revalidations from the version columns, before the hotel and its rooms are loaded.
+        // checkNotModified also adds the ETag and Last-Modified headers to a full response.
+        VersionStamp version = hotelService.getHotelVersion(id);
+        if (!version.isEmpty() && request.checkNotModified(version.getETag(), version.getLastModified())) {
+            return null; // 304 Not Modified
+        }
         try {
             Hotel hotel = hotelService.getHotelById(id); // Directly getting the hotel, no Optional
-            return ResponseEntity.ok(new CustomResponse<>("Hotel retrieved successfully", hotel)); // 200 OK
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .body(new CustomResponse<>("Hotel retrieved successfully", hotel)); // 200 OK
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(new CustomResponse<>(e.getMessage(), null)); // 404 Not Found
@@ -154,7 +222,7 @@ public class HotelController {
             HotelRequestDTO hotelRequestDTO = null;
             try {
                 // Attempt to parse the hotelDetailsJson into HotelRequestDTO
-                hotelRequestDTO = new ObjectMapper().readValue(hotelDetailsJson, HotelRequestDTO.class);
+                hotelRequestDTO = HOTEL_DETAILS_READER.readValue(hotelDetailsJson);
             } catch (JsonProcessingException e) {
                 // Handle JSON parsing error
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -172,8 +240,11 @@ public class HotelController {
 
             if (image != null && !image.isEmpty()) {
                 try {
-                    byte[] imageBytes = image.getResource().getInputStream().readAllBytes();
-                    existingHotel.setImage(imageBytes); // Store image as byte array
+                    existingHotel.setImageHash(hotelImageService.storeUpload(image)); // Store image in the image store
+                    hotelImageDerivativeService.generateAsync(existingHotel.getImageHash()); // Resize in the background
+                } catch (ImageTooLargeException e) {
+                    return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                            .body(new CustomResponse<>(e.getMessage(), null));
                 } catch (IOException e) {
                     return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                             .body(new CustomResponse<>("Error processing image", null));
@@ -218,46 +289,208 @@ public class HotelController {
         }
     }
 
-    @Operation(summary = "Search hotels by name", description = "Search for hotels by their name")
+    @Operation(summary = "Search hotels by name", description = "Search hotels by name, address and description, best matches first. Tolerates typos")
     @GetMapping("/search")
     public ResponseEntity<CustomResponse<Map<String, Object>>> searchHotelsByName(
-            @Parameter(description = "Name of the hotel to search") @RequestParam String name) {
+            @Parameter(description = "Name of the hotel to search") @RequestParam String name,
+            @Parameter(description = "Number of results to skip") @RequestParam(defaultValue = "0") int offset,
+            @Parameter(description = "Maximum number of results to return") @RequestParam(defaultValue = "20") int limit) {
         if (name == null || name.isEmpty()) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(new CustomResponse<>("Search query cannot be empty", null)); // 400 Bad Request
         }
 
-        List<Hotel> hotels = hotelService.findHotelsByName(name);
+        HotelSearchPage page;
+        try {
+            page = hotelService.searchHotels(name, offset, limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new CustomResponse<>(e.getMessage(), null)); // 400 Bad Request
+        }
 
-        if (hotels.isEmpty()) {
+        if (page.getTotal() == 0) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(new CustomResponse<>("No hotels found matching the name: " + name, null)); // 404 Not Found
         }
 
         Map<String, Object> response = new HashMap<>();
         response.put("message", "Hotels found matching the name: " + name);
-        response.put("hotels", hotels);
+        response.put("hotels", page.getHotels());
+        response.put("total", page.getTotal());
         return ResponseEntity.ok(new CustomResponse<>("Hotels found successfully", response)); // 200 OK
     }
 
-    @Operation(summary = "Get hotel rooms", description = "Get all rooms for a specific hotel")
+    @Operation(summary = "Autocomplete hotel and location names", description = "Suggest hotel names and locations starting with the typed prefix, most booked first")
+    @GetMapping("/autocomplete")
+    public ResponseEntity<CustomResponse<List<HotelAutocompleteIndex.Match>>> autocomplete(
+            @Parameter(description = "Text typed so far") @RequestParam String prefix,
+            @Parameter(description = "Maximum number of suggestions") @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<HotelAutocompleteIndex.Match> suggestions = hotelService.autocomplete(prefix, limit);
+            return ResponseEntity.ok(new CustomResponse<>("Suggestions retrieved successfully", suggestions)); // 200 OK
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new CustomResponse<>(e.getMessage(), null)); // 400 Bad Request
+        }
+    }
+
+    @Operation(summary = "Search available hotels", description = "Hotels within radiusKm of the location with a free room for the stay and number of guests, ranked by the quoted price of the stay or by distance")
+    @GetMapping("/availability")
+    public ResponseEntity<CustomResponse<List<HotelAvailability>>> searchAvailability(
+            @ModelAttribute AvailabilitySearchRequest searchRequest) {
+        try {
+            List<HotelAvailability> hotels = hotelAvailabilityService.search(searchRequest);
+            return ResponseEntity.ok(new CustomResponse<>("Available hotels retrieved successfully", hotels)); // 200 OK
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new CustomResponse<>(e.getMessage(), null)); // 400 Bad Request
+        }
+    }
+
+    @Operation(summary = "Search flexible dates", description = "Check-in dates within flexDays of the preferred one with a room free for the whole stay, in one hotel or around a location, each with the lowest total price")
+    @GetMapping("/flexible-dates")
+    public ResponseEntity<CustomResponse<List<FlexibleDateOption>>> searchFlexibleDates(
+            @ModelAttribute FlexibleDateSearchRequest searchRequest) {
+        try {
+            List<FlexibleDateOption> options = flexibleDateSearchService.search(searchRequest);
+            return ResponseEntity.ok(new CustomResponse<>("Available dates retrieved successfully", options)); // 200 OK
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new CustomResponse<>(e.getMessage(), null)); // 400 Bad Request
+        }
+    }
+
+    @Operation(summary = "Get hotel occupancy calendar", description = "Occupied and free rooms of each room type on each day from `from` to `to`, both included, at most a year. The JSON is written to the response while it is generated")
+    @GetMapping("/{id}/occupancy")
+    public ResponseEntity<StreamingResponseBody> getOccupancyCalendar(
+            @Parameter(description = "ID of the hotel") @PathVariable Long id,
+            @Parameter(description = "First day, yyyy-MM-dd") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, yyyy-MM-dd") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        OccupancyCalendar calendar;
+        try {
+            hotelService.getHotelById(id);
+            calendar = occupancyCalendarService.getCalendar(id, from, to);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = CALENDAR_JSON.createGenerator(out)) {
+                writeOccupancyCalendar(json, id, calendar);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // Same shape as a CustomResponse, written day by day without building the days in memory
+    private static void writeOccupancyCalendar(JsonGenerator json, Long hotelId, OccupancyCalendar calendar)
+            throws IOException {
+        json.writeStartObject();
+        json.writeStringField("message", "Occupancy calendar retrieved successfully");
+        json.writeObjectFieldStart("data");
+        json.writeNumberField("hotelId", hotelId);
+        json.writeObjectFieldStart("rooms");
+        for (int type = 0; type < calendar.getRoomTypes().size(); type++) {
+            json.writeNumberField(calendar.getRoomTypes().get(type).name(), calendar.getRooms(type));
+        }
+        json.writeEndObject();
+        json.writeArrayFieldStart("days");
+        for (int day = 0; day < calendar.getDays(); day++) {
+            json.writeStartObject();
+            json.writeStringField("date", calendar.getDate(day).toString());
+            for (int type = 0; type < calendar.getRoomTypes().size(); type++) {
+                json.writeObjectFieldStart(calendar.getRoomTypes().get(type).name());
+                json.writeNumberField("occupied", calendar.getOccupied(type, day));
+                json.writeNumberField("blocked", calendar.getBlocked(type, day));
+                json.writeNumberField("free", calendar.getFree(type, day));
+                json.writeEndObject();
+            }
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+
+    @Operation(summary = "Get hotel rooms", description = "Get all rooms for a specific hotel. Supports ETag revalidation")
     @GetMapping("/{id}/rooms")
     public ResponseEntity<CustomResponse<List<Room>>> getHotelRooms(
-            @Parameter(description = "ID of the hotel") @PathVariable Long id) {
+            @Parameter(description = "ID of the hotel") @PathVariable Long id, WebRequest request) {
+        VersionStamp version = roomService.getRoomsVersion(id);
+        if (!version.isEmpty() && request.checkNotModified(version.getETag(), version.getLastModified())) {
+            return null; // 304 Not Modified
+        }
         try {
             hotelService.getHotelById(id);
             List<Room> rooms = roomService.getRoomsByHotelId(id);
-            return ResponseEntity.ok(new CustomResponse<>("Rooms retrieved successfully", rooms));
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .body(new CustomResponse<>("Rooms retrieved successfully", rooms));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(new CustomResponse<>(e.getMessage(), null));
         }
     }
 
-    @Operation(summary = "Get hotels within 10 km", description = "Returns hotels within a 10 km radius of the current location")
+    @Operation(summary = "Get hotel image", description = "Serve a hotel image by its content hash, optionally resized. Supports ETag revalidation and HTTP Range requests")
+    @GetMapping("/images/{hash}")
+    public ResponseEntity<Resource> getHotelImage(
+            @Parameter(description = "Content hash of the image") @PathVariable String hash,
+            @Parameter(description = "Resized variant: thumbnail, card or hero") @RequestParam(required = false) String size) {
+        ImageVariant variant = null;
+        if (size != null) {
+            try {
+                variant = ImageVariant.valueOf(size.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        Optional<Path> image = hotelImageService.find(hash);
+        if (image.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (variant != null) {
+            Optional<Path> resized = hotelImageService.findVariant(hash, variant);
+            if (resized.isPresent()) {
+                return ResponseEntity.ok()
+                        .eTag(hash + "-" + variant.name().toLowerCase())
+                        .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                        .contentType(MediaType.IMAGE_JPEG)
+                        .body(new FileSystemResource(resized.get()));
+            }
+            // Not generated yet: serve the original for now, but do not let clients keep it
+            hotelImageDerivativeService.generateAsync(hash);
+            Path path = image.get();
+            return ResponseEntity.ok()
+                    .eTag(hash)
+                    .cacheControl(CacheControl.noCache())
+                    .contentType(hotelImageService.contentType(path))
+                    .body(new FileSystemResource(path));
+        }
+
+        Path path = image.get();
+        // The hash identifies the content, so it is a strong ETag and the image never
+        // changes; conditional and Range requests are answered by Spring from these headers
+        return ResponseEntity.ok()
+                .eTag(hash)
+                .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                .contentType(hotelImageService.contentType(path))
+                .body(new FileSystemResource(path));
+    }
+
+    @Operation(summary = "Get nearby hotels", description = "Returns hotels within a radius (10 km by default) of the current location, closest first")
     @GetMapping("/hotels/nearby")
-    public ResponseEntity<List<Hotel>> getHotelsNearby(@RequestParam double latitude, @RequestParam double longitude) {
-        List<Hotel> nearbyHotels = hotelService.getNearbyHotels(latitude, longitude);
-        return ResponseEntity.ok(nearbyHotels);
+    public ResponseEntity<List<Hotel>> getHotelsNearby(@RequestParam double latitude, @RequestParam double longitude,
+            @Parameter(description = "Search radius in km") @RequestParam(required = false) Double radiusKm,
+            @Parameter(description = "Only return the k nearest hotels") @RequestParam(required = false) Integer limit) {
+        try {
+            List<Hotel> nearbyHotels = hotelService.getNearbyHotels(latitude, longitude, radiusKm, limit);
+            return ResponseEntity.ok(nearbyHotels);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 }
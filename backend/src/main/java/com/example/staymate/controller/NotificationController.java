@@ -11,8 +11,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.staymate.dto.custom.CursorPage;
 import com.example.staymate.dto.custom.CustomResponse;
 import com.example.staymate.dto.notification.NotificationResponseDTO;
 import com.example.staymate.entity.enums.NotificationType;
@@ -34,26 +36,28 @@ public class NotificationController {
     @Autowired
     private UserService userService;
 
-    @Operation(summary = "Get all notifications by user ID", description = "Retrieve all notifications for a user by their user ID")
+    @Operation(summary = "Get notifications by user ID", description = "Retrieve one page of a user's notifications, newest first. Pass the returned nextCursor to get the next page")
     @GetMapping("/user/{userId}")
-    public ResponseEntity<CustomResponse<List<NotificationResponseDTO>>> getNotificationsByUserId(
-            @Parameter(description = "ID of the user to fetch notifications for") @PathVariable Long userId) {
-        List<Notification> notifications = notificationService.findByUserId(userId);
-
-        // Convert notifications to DTO
-        List<NotificationResponseDTO> responseDTOs = notifications.stream()
-                .map(NotificationResponseDTO::new)
-                .toList();
+    public ResponseEntity<CustomResponse<CursorPage<NotificationResponseDTO>>> getNotificationsByUserId(
+            @Parameter(description = "ID of the user to fetch notifications for") @PathVariable Long userId,
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of notifications to return") @RequestParam(required = false) Integer limit) {
+        CursorPage<NotificationResponseDTO> notifications;
+        try {
+            notifications = notificationService.getNotificationPageByUser(userId, cursor, limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new CustomResponse<>(e.getMessage(), null));
+        }
 
-        // If no notifications found, return a custom message with an empty list
-        if (responseDTOs.isEmpty()) {
+        // If no notifications found, return a custom message with an empty page
+        if (notifications.getItems().isEmpty()) {
             return ResponseEntity
-                    .ok(new CustomResponse<>("No notifications found for user ID: " + userId, responseDTOs));
+                    .ok(new CustomResponse<>("No notifications found for user ID: " + userId, notifications));
         }
 
         // Return notifications with a custom success message
         return ResponseEntity.ok(new CustomResponse<>("Notifications retrieved successfully for user ID: " + userId
-                + ", Total notifications: " + responseDTOs.size(), responseDTOs));
+                + ", Notifications in page: " + notifications.getItems().size(), notifications));
     }
 
     @Operation(summary = "Get all read notifications by user ID", description = "Retrieve all read notifications for a user by their user ID")
@@ -1,10 +1,14 @@
 package com.example.staymate.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,15 +17,20 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.staymate.dto.custom.CursorPage;
 import com.example.staymate.dto.custom.CustomResponse;
 import com.example.staymate.dto.payment.PaymentIdResponseDTO;
 import com.example.staymate.dto.payment.PaymentRequestDTO;
 import com.example.staymate.entity.booking.Booking;
-import com.example.staymate.entity.enums.BookingStatus;
+import com.example.staymate.entity.enums.ExportFormat;
 import com.example.staymate.entity.enums.PaymentMethod;
 import com.example.staymate.entity.payment.Payment;
+import com.example.staymate.exception.BookingHoldExpiredException;
+import com.example.staymate.service.BookingHoldService;
 import com.example.staymate.service.BookingService;
+import com.example.staymate.service.ExportService;
 import com.example.staymate.service.PaymentService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -37,6 +46,12 @@ public class PaymentController {
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private BookingHoldService bookingHoldService;
+
+    @Autowired
+    private ExportService exportService;
+
     @Operation(summary = "Create and process a new payment", description = "Create a new payment entry and process it in one API call.")
     @PostMapping
     public ResponseEntity<CustomResponse<String>> createAndProcessPayment(
@@ -54,38 +69,21 @@ public class PaymentController {
                         .body(new CustomResponse<>("Booking not found.", null));
             }
 
-            // Calculate total paid amount
-            Double totalPaid = paymentService.getTotalPaidAmount(bookingId);
-            Double updatedTotalPaid = totalPaid + paymentAmount;
-            Double remainingAmount = booking.getTotalAmount() - totalPaid;
-
-            System.out.println(updatedTotalPaid);
-            System.out.println(booking.getTotalAmount());
-            System.out.println(updatedTotalPaid == booking.getTotalAmount());
-
-            if (paymentAmount > remainingAmount) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body(new CustomResponse<>(
-                                "Payment exceeds remaining balance. Remaining amount: " + remainingAmount, null));
-            }
+            // Record and process the payment while the booking is locked, confirming it once fully paid.
+            // A cancelled booking, or one whose hold ran out, has released its room and cannot be paid for
+            Payment processedPayment = bookingHoldService.pay(bookingId, paymentMethod, paymentAmount);
 
-            // 1. Create the payment entry in the database (initially in PENDING state)
-            Payment newPayment = paymentService.createPayment(bookingId, paymentMethod,
-                    paymentAmount);
-
-            // 2. Process the payment (update status based on payment method)
-            paymentService.processPayment(newPayment.getId(), paymentMethod);
-
-            if (updatedTotalPaid == booking.getTotalAmount()) {
-                booking.setStatus(BookingStatus.CONFIRMED);
-                bookingService.updateBooking(booking); // Ensure this method saves the change in DB
-            }
-
-            // 3. Return a successful response with the processed payment status
-            Payment processedPayment = paymentService.getPaymentById(newPayment.getId());
+            // Return a successful response with the processed payment status
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(new CustomResponse<>("Payment created and processed successfully. Current status: "
                             + processedPayment.getStatus(), null));
+        } catch (BookingHoldExpiredException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new CustomResponse<>(e.getMessage(), null));
+        } catch (IllegalArgumentException e) {
+            // The payment exceeds the remaining balance
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new CustomResponse<>(e.getMessage(), null));
         } catch (Exception e) {
             // Return an error response if something goes wrong
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -126,23 +124,49 @@ public class PaymentController {
         }
     }
 
-    @Operation(summary = "Get payments by user ID", description = "Retrieve all payments associated with a specific user ID.")
+    @Operation(summary = "Get payments by user ID", description = "Retrieve one page of the payments for a user's bookings, latest first. Pass the returned nextCursor to get the next page.")
     @GetMapping("/user/{userId}")
-    public ResponseEntity<CustomResponse<List<PaymentIdResponseDTO>>> getPaymentsByUserId(
-            @Parameter(description = "ID of the user to retrieve payments for") @PathVariable Long userId) {
+    public ResponseEntity<CustomResponse<CursorPage<PaymentIdResponseDTO>>> getPaymentsByUserId(
+            @Parameter(description = "ID of the user to retrieve payments for") @PathVariable Long userId,
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of payments to return") @RequestParam(required = false) Integer limit) {
+        CursorPage<PaymentIdResponseDTO> payments;
         try {
-            List<Payment> payments = paymentService.getPaymentsByUserId(userId);
-
-            // Convert the list of Payment entities to PaymentIdResponseDTO objects
-            List<PaymentIdResponseDTO> paymentIdResponseDTOs = payments.stream()
-                    .map(PaymentIdResponseDTO::new)
-                    .collect(Collectors.toList());
+            payments = paymentService.getPaymentPageByUser(userId, cursor, limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new CustomResponse<>(e.getMessage(), null));
+        }
 
-            return ResponseEntity.ok(new CustomResponse<>("Payments retrieved successfully", paymentIdResponseDTOs));
-        } catch (Exception e) {
+        if (payments.getItems().isEmpty() && cursor == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(new CustomResponse<>("Payments not found", null));
         }
+        return ResponseEntity.ok(new CustomResponse<>("Payments retrieved successfully", payments));
+    }
+
+    @Operation(summary = "Export payments", description = "Writes every payment matching the filters as NDJSON or CSV while it is read from the database, for exports of any size. Dates filter on the transaction day, both included.")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+            @Parameter(description = "ndjson or csv") @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Only payments for bookings of this hotel") @RequestParam(required = false) Long hotelId,
+            @Parameter(description = "First transaction day, yyyy-MM-dd") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last transaction day, yyyy-MM-dd") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Also export payments of archived bookings") @RequestParam(defaultValue = "false") boolean includeArchived) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportService.parseFormat(format);
+            ExportService.validateRange(from, to);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> exportService.exportPayments(exportFormat, hotelId, from, to,
+                includeArchived, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"payments." + exportFormat.getExtension() + "\"")
+                .body(body);
     }
 
     @Operation(summary = "Get all payments", description = "Retrieve all payments in the system.")
@@ -0,0 +1,68 @@
+package com.example.staymate.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.staymate.dto.custom.CustomResponse;
+import com.example.staymate.dto.rate.RateRuleRequestDTO;
+import com.example.staymate.entity.rate.RateRule;
+import com.example.staymate.exception.ResourceNotFoundException;
+import com.example.staymate.service.RateEngine;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/hotels/{hotelId}/rates")
+public class RateController {
+
+    @Autowired
+    private RateEngine rateEngine;
+
+    @Operation(summary = "Get rate rules", description = "Seasonal and day-of-week price multipliers of a hotel")
+    @GetMapping
+    public ResponseEntity<CustomResponse<List<RateRule>>> getRules(
+            @Parameter(description = "ID of the hotel") @PathVariable Long hotelId) {
+        return ResponseEntity.ok(new CustomResponse<>("Rate rules retrieved successfully", rateEngine.getRules(hotelId)));
+    }
+
+    @Operation(summary = "Add a rate rule", description = "Multiplies the nightly price of the hotel's rooms of a type, or of all types, in a season and/or on some days of the week")
+    @PostMapping
+    public ResponseEntity<CustomResponse<RateRule>> createRule(
+            @Parameter(description = "ID of the hotel") @PathVariable Long hotelId,
+            @Valid @RequestBody RateRuleRequestDTO ruleRequest) {
+        try {
+            RateRule rule = rateEngine.createRule(hotelId, ruleRequest);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(new CustomResponse<>("Rate rule created successfully", rule)); // 201 Created
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new CustomResponse<>(e.getMessage(), null)); // 400 Bad Request
+        }
+    }
+
+    @Operation(summary = "Delete a rate rule")
+    @DeleteMapping("/{ruleId}")
+    public ResponseEntity<CustomResponse<Void>> deleteRule(
+            @Parameter(description = "ID of the hotel") @PathVariable Long hotelId,
+            @Parameter(description = "ID of the rule") @PathVariable Long ruleId) {
+        try {
+            rateEngine.deleteRule(hotelId, ruleId);
+            return ResponseEntity.ok(new CustomResponse<>("Rate rule deleted successfully", null));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new CustomResponse<>(e.getMessage(), null)); // 404 Not Found
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -13,9 +14,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.example.staymate.dto.custom.CursorPage;
 import com.example.staymate.dto.custom.CustomResponse;
+import com.example.staymate.dto.custom.VersionStamp;
 import com.example.staymate.dto.review.ReviewDTO;
 import com.example.staymate.entity.Review.Review;
 import com.example.staymate.entity.hotel.Hotel;
@@ -43,22 +48,20 @@ public class ReviewController {
         this.userService = userService;
     }
 
-    @Operation(summary = "Get all reviews", description = "Retrieve all reviews from the system.")
+    @Operation(summary = "Get all reviews", description = "Retrieve one page of all reviews, newest first. Pass the returned nextCursor to get the next page.")
     @GetMapping
-    public ResponseEntity<CustomResponse<List<ReviewDTO>>> getAllReviews() {
+    public ResponseEntity<CustomResponse<CursorPage<ReviewDTO>>> getAllReviews(
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of reviews to return") @RequestParam(required = false) Integer limit) {
         try {
-            List<Review> reviews = reviewService.getAllReviews();
+            CursorPage<ReviewDTO> reviews = reviewService.getReviewPage(cursor, limit);
 
-            List<ReviewDTO> reviewDTOs = reviews.stream()
-                    .map(review -> new ReviewDTO(
-                            review.getHotel().getId(),
-                            review.getUser().getId(),
-                            review.getComment(),
-                            review.getCreatedAt(),
-                            review.getRating()))
-                    .collect(Collectors.toList());
-
-            return ResponseEntity.ok(new CustomResponse<>("Reviews retrieved successfully", reviewDTOs));
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .body(new CustomResponse<>("Reviews retrieved successfully", reviews));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new CustomResponse<>(e.getMessage(), null));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new CustomResponse<>("An error occurred while fetching reviews", null));
@@ -202,11 +205,18 @@ public class ReviewController {
         }
     }
 
-    @Operation(summary = "Get reviews by hotel ID", description = "Retrieve all reviews for a specific hotel by its ID.")
+    @Operation(summary = "Get reviews by hotel ID", description = "Retrieve all reviews for a specific hotel by its ID. Supports ETag revalidation.")
     @GetMapping("/hotel/{hotelId}")
     public ResponseEntity<CustomResponse<List<ReviewDTO>>> getReviewsByHotelId(
-            @Parameter(description = "ID of the hotel to retrieve reviews for") @PathVariable Long hotelId) {
+            @Parameter(description = "ID of the hotel to retrieve reviews for") @PathVariable Long hotelId,
+            WebRequest request) {
         try {
+            // Revalidations are answered from the review versions without loading the reviews
+            VersionStamp version = reviewService.getReviewsVersion(hotelId);
+            if (!version.isEmpty() && request.checkNotModified(version.getETag(), version.getLastModified())) {
+                return null; // 304 Not Modified
+            }
+
             // Fetch hotel by ID to validate if the hotel exists
             Hotel hotel = hotelService.getHotelById(hotelId);
             if (hotel == null) {
@@ -1,21 +1,40 @@
 package com.example.staymate.controller;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.example.staymate.dto.custom.CustomResponse;
+import com.example.staymate.dto.custom.VersionStamp;
+import com.example.staymate.dto.room.MaintenanceBlockRequestDTO;
+import com.example.staymate.entity.enums.RoomStatus;
+import com.example.staymate.entity.room.MaintenanceBlock;
 import com.example.staymate.entity.room.Room;
+import com.example.staymate.exception.ResourceNotFoundException;
+import com.example.staymate.exception.RoomAlreadyBookedException;
+import com.example.staymate.exception.RoomNotFoundException;
+import com.example.staymate.service.RateEngine;
 import com.example.staymate.service.RoomService;
 
+import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/rooms")
@@ -24,17 +43,25 @@ public class RoomController {
 
     private final RoomService roomService;
 
-    public RoomController(RoomService roomService) {
+    private final RateEngine rateEngine;
+
+    public RoomController(RoomService roomService, RateEngine rateEngine) {
         this.roomService = roomService;
+        this.rateEngine = rateEngine;
     }
 
     @GetMapping("/{hotelId}")
-    public ResponseEntity<List<Room>> getHotelRooms(@PathVariable Long hotelId) {
+    public ResponseEntity<List<Room>> getHotelRooms(@PathVariable Long hotelId, WebRequest request) {
+        // Revalidations are answered from the room versions without loading the rooms
+        VersionStamp version = roomService.getRoomsVersion(hotelId);
+        if (!version.isEmpty() && request.checkNotModified(version.getETag(), version.getLastModified())) {
+            return null; // 304 Not Modified
+        }
         List<Room> availableRooms = roomService.getHotelRooms(hotelId);
         if (availableRooms.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
         }
-        return ResponseEntity.ok(availableRooms);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(availableRooms);
     }
 
     @GetMapping("/available-rooms")
@@ -77,4 +104,70 @@ public class RoomController {
         return ResponseEntity.ok(availableRooms); // Send raw list
     }
 
-}
\ No newline at end of file
+    @Operation(summary = "Quote a stay", description = "Price of a room for the nights from check-in to check-out, with the hotel's rate rules applied")
+    @GetMapping("/{hotelId}/{roomId}/quote")
+    public ResponseEntity<CustomResponse<Map<String, Object>>> quote(
+            @PathVariable Long hotelId,
+            @PathVariable Long roomId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate) {
+        try {
+            double totalAmount = rateEngine.quote(hotelId, roomId, checkInDate, checkOutDate);
+            Map<String, Object> response = new HashMap<>();
+            response.put("hotelId", hotelId);
+            response.put("roomId", roomId);
+            response.put("checkInDate", checkInDate);
+            response.put("checkOutDate", checkOutDate);
+            response.put("nights", ChronoUnit.DAYS.between(checkInDate, checkOutDate));
+            response.put("totalAmount", totalAmount);
+            return ResponseEntity.ok(new CustomResponse<>("Quote calculated successfully", response));
+        } catch (RoomNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new CustomResponse<>(e.getMessage(), null));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new CustomResponse<>(e.getMessage(), null));
+        }
+    }
+    @Operation(summary = "Room statuses on a date", description = "Whether each room of the hotel is available, booked or under maintenance on the night of the date, today by default")
+    @GetMapping("/{hotelId}/status")
+    public ResponseEntity<CustomResponse<Map<Long, RoomStatus>>> getRoomStatuses(
+            @PathVariable Long hotelId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        Map<Long, RoomStatus> statuses = roomService.getRoomStatuses(hotelId, date != null ? date : LocalDate.now());
+        if (statuses.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new CustomResponse<>("No rooms found for hotel " + hotelId, null));
+        }
+        return ResponseEntity.ok(new CustomResponse<>("Room statuses retrieved successfully", statuses));
+    }
+
+    @Operation(summary = "Put a room under maintenance", description = "Blocks the room from the start date up to, not including, the end date")
+    @PostMapping("/{hotelId}/{roomId}/maintenance")
+    public ResponseEntity<CustomResponse<MaintenanceBlock>> createMaintenanceBlock(
+            @PathVariable Long hotelId,
+            @PathVariable Long roomId,
+            @Valid @RequestBody MaintenanceBlockRequestDTO blockRequest) {
+        try {
+            MaintenanceBlock block = roomService.createMaintenanceBlock(hotelId, roomId, blockRequest.getStartDate(),
+                    blockRequest.getEndDate(), blockRequest.getReason());
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(new CustomResponse<>("Maintenance block created successfully", block)); // 201 Created
+        } catch (RoomNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new CustomResponse<>(e.getMessage(), null));
+        } catch (IllegalArgumentException | RoomAlreadyBookedException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new CustomResponse<>(e.getMessage(), null));
+        }
+    }
+
+    @Operation(summary = "End a maintenance block")
+    @DeleteMapping("/{hotelId}/maintenance/{blockId}")
+    public ResponseEntity<CustomResponse<Void>> deleteMaintenanceBlock(
+            @PathVariable Long hotelId,
+            @PathVariable Long blockId) {
+        try {
+            roomService.deleteMaintenanceBlock(hotelId, blockId);
+            return ResponseEntity.ok(new CustomResponse<>("Maintenance block deleted successfully", null));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new CustomResponse<>(e.getMessage(), null));
+        }
+    }
+}
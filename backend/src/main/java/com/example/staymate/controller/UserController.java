@@ -1,7 +1,6 @@
 package com.example.staymate.controller;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,8 +14,10 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.staymate.dto.custom.CursorPage;
 import com.example.staymate.dto.custom.CustomResponse;
 import com.example.staymate.dto.user.UserCreationRequestDTO;
 import com.example.staymate.dto.user.UserLoginRequestDTO;
@@ -101,11 +102,18 @@ public class UserController {
     }
 
     // Get all users
-    @Operation(summary = "Retrieve all users", description = "Fetches a list of all users.")
+    @Operation(summary = "Retrieve all users", description = "Fetches one page of users by ID. Pass the returned nextCursor to get the next page.")
     @GetMapping
-    public ResponseEntity<CustomResponse<List<User>>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
-        return ResponseEntity.ok(new CustomResponse<>("Users retrieved successfully", users));
+    public ResponseEntity<CustomResponse<CursorPage<User>>> getAllUsers(
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of users to return") @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPage<User> users = userService.getUserPage(cursor, limit);
+            return ResponseEntity.ok(new CustomResponse<>("Users retrieved successfully", users));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new CustomResponse<>(e.getMessage(), null));
+        }
     }
 
     // Get user by ID with error handling
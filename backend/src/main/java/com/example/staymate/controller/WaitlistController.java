@@ -0,0 +1,77 @@
+package com.example.staymate.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.staymate.dto.custom.CustomResponse;
+import com.example.staymate.dto.waitlist.WaitlistRequestDTO;
+import com.example.staymate.entity.user.User;
+import com.example.staymate.entity.waitlist.WaitlistEntry;
+import com.example.staymate.exception.ResourceNotFoundException;
+import com.example.staymate.service.UserService;
+import com.example.staymate.service.WaitlistService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/waitlist")
+public class WaitlistController {
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private UserService userService;
+
+    @Operation(summary = "Join the waitlist", description = "Waits for a room of the type in the hotel for the stay. When a booking that can host the stay is cancelled, the room is held for the guest for a short time and they are notified")
+    @PostMapping
+    public ResponseEntity<CustomResponse<WaitlistEntry>> join(@Valid @RequestBody WaitlistRequestDTO waitlistRequest) {
+        try {
+            User user = userService.getUserById(waitlistRequest.getUserId());
+            WaitlistEntry entry = waitlistService.join(user, waitlistRequest);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(new CustomResponse<>("Added to the waitlist successfully", entry)); // 201 Created
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new CustomResponse<>(e.getMessage(), null)); // 404 Not Found
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new CustomResponse<>(e.getMessage(), null)); // 400 Bad Request
+        }
+    }
+
+    @Operation(summary = "Get a user's waitlist entries", description = "Waiting, offered and cancelled entries, newest first")
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<CustomResponse<List<WaitlistEntry>>> getUserEntries(
+            @Parameter(description = "ID of the user") @PathVariable Long userId) {
+        return ResponseEntity.ok(new CustomResponse<>("Waitlist entries retrieved successfully",
+                waitlistService.getUserEntries(userId)));
+    }
+
+    @Operation(summary = "Leave the waitlist", description = "Removes the user's entry. If a room is held for the entry, the held booking is cancelled and the room offered to the next guest")
+    @DeleteMapping("/{entryId}")
+    public ResponseEntity<CustomResponse<WaitlistEntry>> leave(
+            @Parameter(description = "ID of the waitlist entry") @PathVariable Long entryId,
+            @Parameter(description = "ID of the user the entry belongs to") @RequestParam Long userId) {
+        try {
+            WaitlistEntry entry = waitlistService.leave(entryId, userId);
+            return ResponseEntity.ok(new CustomResponse<>("Removed from the waitlist successfully", entry));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new CustomResponse<>(e.getMessage(), null)); // 404 Not Found
+        }
+    }
+}
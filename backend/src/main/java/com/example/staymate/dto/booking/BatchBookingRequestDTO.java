@@ -0,0 +1,35 @@
+package com.example.staymate.dto.booking;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+// Several rooms booked together by one user; either all of them are booked or none
+public class BatchBookingRequestDTO {
+
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    @NotEmpty(message = "At least one room is required")
+    @Size(max = 50, message = "At most 50 rooms can be booked at once")
+    @Valid
+    private List<RoomStayRequestDTO> rooms;
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    public List<RoomStayRequestDTO> getRooms() {
+        return rooms;
+    }
+    public void setRooms(List<RoomStayRequestDTO> rooms) {
+        this.rooms = rooms;
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.example.staymate.dto.booking;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.example.staymate.entity.enums.BookingStatus;
+import com.example.staymate.entity.enums.RoomType;
+
+// One booking of an export, selected column by column so exported bookings are never loaded as entities
+public class BookingExportRow {
+    private final Long bookingId;
+    private final Long hotelId;
+    private final Long roomId;
+    private final Long userId;
+    private final String roomType;
+    private final String status;
+    private final LocalDate bookingDate;
+    private final LocalDate checkInDate;
+    private final LocalDate checkOutDate;
+    private final double totalAmount;
+    private final LocalDateTime holdExpiresAt;
+
+    public BookingExportRow(Long bookingId, Long hotelId, Long roomId, Long userId, RoomType roomType,
+            BookingStatus status, LocalDate bookingDate, LocalDate checkInDate, LocalDate checkOutDate,
+            double totalAmount, LocalDateTime holdExpiresAt) {
+        this.bookingId = bookingId;
+        this.hotelId = hotelId;
+        this.roomId = roomId;
+        this.userId = userId;
+        this.roomType = roomType != null ? roomType.name() : null;
+        this.status = status != null ? status.name() : null;
+        this.bookingDate = bookingDate;
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+        this.totalAmount = totalAmount;
+        this.holdExpiresAt = holdExpiresAt;
+    }
+
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    public Long getHotelId() {
+        return hotelId;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getRoomType() {
+        return roomType;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public LocalDate getBookingDate() {
+        return bookingDate;
+    }
+
+    public LocalDate getCheckInDate() {
+        return checkInDate;
+    }
+
+    public LocalDate getCheckOutDate() {
+        return checkOutDate;
+    }
+
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public LocalDateTime getHoldExpiresAt() {
+        return holdExpiresAt;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.staymate.dto.booking;
+
+import java.time.LocalDateTime;
+
+// A pending booking and when its hold on the room runs out
+public interface BookingHold {
+    Long getId();
+
+    LocalDateTime getHoldExpiresAt();
+}
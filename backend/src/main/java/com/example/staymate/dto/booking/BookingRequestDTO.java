@@ -5,7 +5,6 @@ import java.time.LocalDate;
 import com.fasterxml.jackson.annotation.JsonFormat;
 
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Positive;
 
 public class BookingRequestDTO {
 
@@ -26,7 +25,7 @@ public class BookingRequestDTO {
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
     private LocalDate checkOutDate;
 
-    @Positive(message = "Total amount must be greater than zero")
+    // Ignored: bookings are priced by the server. Kept so existing clients still validate.
     private double totalAmount;
 
     // Getters and Setters
@@ -1,8 +1,11 @@
 package com.example.staymate.dto.booking;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 import com.example.staymate.entity.booking.Booking;
+import com.example.staymate.entity.enums.BookingStatus;
+import com.example.staymate.entity.enums.RoomType;
 
 public class BookingResponseDTO {
     private Long bookingId;
@@ -17,6 +20,7 @@ public class BookingResponseDTO {
     private String roomType;
     private String status;
     private double totalAmount;
+    private LocalDateTime holdExpiresAt;
 
     public double getTotalAmount() {
         return totalAmount;
@@ -30,14 +34,14 @@ public class BookingResponseDTO {
         this.bookingId = booking.getId();
         this.status = booking.getStatus().toString();
 
-        // Determine the room type based on the actual subclass
-        if (booking.getRoom() != null) {
-            this.roomType = booking.getRoom().getClass().getSimpleName().replaceAll("Room", "").toUpperCase();
+        if (booking.getRoom() != null && booking.getRoom().getRoomType() != null) {
+            this.roomType = booking.getRoom().getRoomType().name();
         }
 
         this.checkInDate = booking.getCheckInDate();
         this.checkOutDate = booking.getCheckOutDate();
         this.totalAmount = booking.getTotalAmount();
+        this.holdExpiresAt = booking.getHoldExpiresAt();
 
         // Extract hotelId, roomId, and phone from the booking
         if (booking.getRoom() != null) {
@@ -53,6 +57,25 @@ public class BookingResponseDTO {
         }
     }
 
+    // Used by the listing queries, which select these columns directly instead of loading bookings
+    public BookingResponseDTO(Long bookingId, Long hotelId, Long roomId, String firstName, String lastName,
+            String email, String phone, LocalDate checkInDate, LocalDate checkOutDate, RoomType roomType,
+            BookingStatus status, double totalAmount, LocalDateTime holdExpiresAt) {
+        this.bookingId = bookingId;
+        this.hotelId = hotelId;
+        this.roomId = roomId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phone = phone;
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+        this.roomType = roomType != null ? roomType.name() : null;
+        this.status = status.toString();
+        this.totalAmount = totalAmount;
+        this.holdExpiresAt = holdExpiresAt;
+    }
+
     // Getters and Setters
     public String getRoomType() {
         return roomType;
@@ -70,6 +93,14 @@ public class BookingResponseDTO {
         this.status = status;
     }
 
+    public LocalDateTime getHoldExpiresAt() {
+        return holdExpiresAt;
+    }
+
+    public void setHoldExpiresAt(LocalDateTime holdExpiresAt) {
+        this.holdExpiresAt = holdExpiresAt;
+    }
+
     public String getFirstName() {
         return firstName;
     }
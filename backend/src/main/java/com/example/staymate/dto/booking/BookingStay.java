@@ -0,0 +1,16 @@
+package com.example.staymate.dto.booking;
+
+import java.time.LocalDate;
+
+// The room and nights held by a booking
+public interface BookingStay {
+    Long getId();
+
+    Long getHotelId();
+
+    Long getRoomId();
+
+    LocalDate getCheckInDate();
+
+    LocalDate getCheckOutDate();
+}
@@ -0,0 +1,52 @@
+package com.example.staymate.dto.booking;
+
+import java.time.LocalDate;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import jakarta.validation.constraints.NotNull;
+
+// One room of a batch booking; its price is quoted by the server
+public class RoomStayRequestDTO {
+
+    @NotNull(message = "Hotel ID is required")
+    private Long hotelId;
+
+    @NotNull(message = "Room ID is required")
+    private Long roomId;
+
+    @NotNull(message = "Check-in date is required")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    private LocalDate checkInDate;
+
+    @NotNull(message = "Check-out date is required")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    private LocalDate checkOutDate;
+
+    // Getters and Setters
+    public Long getHotelId() {
+        return hotelId;
+    }
+    public void setHotelId(Long hotelId) {
+        this.hotelId = hotelId;
+    }
+    public Long getRoomId() {
+        return roomId;
+    }
+    public void setRoomId(Long roomId) {
+        this.roomId = roomId;
+    }
+    public LocalDate getCheckInDate() {
+        return checkInDate;
+    }
+    public void setCheckInDate(LocalDate checkInDate) {
+        this.checkInDate = checkInDate;
+    }
+    public LocalDate getCheckOutDate() {
+        return checkOutDate;
+    }
+    public void setCheckOutDate(LocalDate checkOutDate) {
+        this.checkOutDate = checkOutDate;
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.example.staymate.dto.booking;
+
+import java.time.LocalDate;
+
+import com.example.staymate.entity.enums.RoomType;
+
+// The nights a booking or maintenance block holds a room of the given type
+public interface RoomTypeStay {
+    RoomType getRoomType();
+
+    LocalDate getCheckInDate();
+
+    LocalDate getCheckOutDate();
+}
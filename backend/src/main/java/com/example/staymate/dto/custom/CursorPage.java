@@ -0,0 +1,22 @@
+package com.example.staymate.dto.custom;
+
+import java.util.List;
+
+// One page of a keyset-paginated listing; pass nextCursor back to get the next page
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor; // Null on the last page
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.staymate.dto.custom;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Position after the last row of a keyset-paginated page: the row's sort key and ID. Clients
+// get it as an opaque URL-safe string and pass it back unchanged to read the next page.
+public class PageCursor {
+    private final String sortKey; // Empty for listings ordered by ID only
+    private final long id;
+
+    private PageCursor(String sortKey, long id) {
+        this.sortKey = sortKey;
+        this.id = id;
+    }
+
+    public static PageCursor of(Object sortKey, long id) {
+        return new PageCursor(sortKey != null ? sortKey.toString() : "", id);
+    }
+
+    public static PageCursor of(long id) {
+        return new PageCursor("", id);
+    }
+
+    // Null for a null or empty cursor, meaning the first page
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(':'); // The ID comes first, so the sort key may hold colons
+            return new PageCursor(value.substring(separator + 1), Long.parseLong(value.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((id + ":" + sortKey).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public LocalDate getDateKey() {
+        try {
+            return LocalDate.parse(sortKey);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor for this listing");
+        }
+    }
+
+    public LocalDateTime getDateTimeKey() {
+        try {
+            return LocalDateTime.parse(sortKey);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor for this listing");
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.staymate.dto.custom;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// Summary of the versions of a set of rows, read with one aggregate query instead
+// of loading the rows. Any insert, update or delete changes the count, the version
+// sum or the latest update time, so the stamp works as a strong ETag.
+public class VersionStamp {
+    private final boolean empty;
+    private final String eTag;
+    private final long lastModified; // Epoch milliseconds, -1 when unknown
+
+    public VersionStamp(Long count, Long versionSum, LocalDateTime lastModified) {
+        long modified = lastModified != null ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+        this.empty = count == null || count == 0;
+        this.eTag = (count != null ? count : 0) + "-" + (versionSum != null ? versionSum : 0) + "-"
+                + Long.toHexString(Math.max(0, modified));
+        this.lastModified = modified;
+    }
+
+    private VersionStamp(boolean empty, String eTag, long lastModified) {
+        this.empty = empty;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+
+    // Stamp of a response built from both sets of rows
+    public VersionStamp and(VersionStamp other) {
+        return new VersionStamp(empty && other.empty, eTag + "." + other.eTag,
+                Math.max(lastModified, other.lastModified));
+    }
+
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.staymate.dto.hotel;
+
+import java.time.LocalDate;
+
+// A check-in date with a free room for the whole stay, and its cheapest such room
+public class FlexibleDateOption {
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private Long hotelId;
+    private Long roomId;
+    private double totalAmount;
+
+    public FlexibleDateOption(LocalDate checkInDate, LocalDate checkOutDate, Long hotelId, Long roomId,
+            double totalAmount) {
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+        this.hotelId = hotelId;
+        this.roomId = roomId;
+        this.totalAmount = totalAmount;
+    }
+
+    public LocalDate getCheckInDate() {
+        return checkInDate;
+    }
+
+    public LocalDate getCheckOutDate() {
+        return checkOutDate;
+    }
+
+    public Long getHotelId() {
+        return hotelId;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+}
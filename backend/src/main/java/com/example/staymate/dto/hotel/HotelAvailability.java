@@ -0,0 +1,63 @@
+package com.example.staymate.dto.hotel;
+
+// A hotel with free rooms for the searched stay, and its cheapest matching room
+public class HotelAvailability {
+    private Long hotelId;
+    private String name;
+    private String address;
+    private String imageUrl;
+    private Double distanceKm;
+    private Long roomId;
+    private double pricePerNight;
+    private double totalAmount; // Quoted price of the whole stay
+    private int maxOccupancy;
+
+    public HotelAvailability(Long hotelId, String name, String address, String imageUrl, Double distanceKm,
+            Long roomId, double pricePerNight, double totalAmount, int maxOccupancy) {
+        this.hotelId = hotelId;
+        this.name = name;
+        this.address = address;
+        this.imageUrl = imageUrl;
+        this.distanceKm = distanceKm;
+        this.roomId = roomId;
+        this.pricePerNight = pricePerNight;
+        this.totalAmount = totalAmount;
+        this.maxOccupancy = maxOccupancy;
+    }
+
+    public Long getHotelId() {
+        return hotelId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public Double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public double getPricePerNight() {
+        return pricePerNight;
+    }
+
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public int getMaxOccupancy() {
+        return maxOccupancy;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.staymate.dto.hotel;
+
+// Number of bookings made at a hotel
+public interface HotelBookingCount {
+    Long getHotelId();
+
+    long getBookings();
+}
@@ -0,0 +1,10 @@
+package com.example.staymate.dto.hotel;
+
+// Projection of the hotel coordinates, read without loading the full entity
+public interface HotelLocation {
+    Long getId();
+
+    double getLatitude();
+
+    double getLongitude();
+}
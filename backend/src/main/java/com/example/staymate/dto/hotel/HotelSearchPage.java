@@ -0,0 +1,24 @@
+package com.example.staymate.dto.hotel;
+
+import java.util.List;
+
+import com.example.staymate.entity.hotel.Hotel;
+
+// One page of search results together with the total number of matches
+public class HotelSearchPage {
+    private List<Hotel> hotels;
+    private int total;
+
+    public HotelSearchPage(List<Hotel> hotels, int total) {
+        this.hotels = hotels;
+        this.total = total;
+    }
+
+    public List<Hotel> getHotels() {
+        return hotels;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+}
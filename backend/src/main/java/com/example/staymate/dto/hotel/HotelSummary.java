@@ -0,0 +1,64 @@
+package com.example.staymate.dto.hotel;
+
+// Lightweight view of a hotel for listings, read with a single query
+public class HotelSummary {
+    private Long id;
+    private String name;
+    private String address;
+    private double latitude;
+    private double longitude;
+    private Double minPrice; // Lowest price per night, null when the hotel has no rooms
+    private long roomCount;
+    private Double averageRating; // Null when the hotel has no reviews
+    private String imageHash;
+
+    public HotelSummary(Long id, String name, String address, double latitude, double longitude, String imageHash,
+            Double minPrice, Long roomCount, Double averageRating) {
+        this.id = id;
+        this.name = name;
+        this.address = address;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.imageHash = imageHash;
+        this.minPrice = minPrice;
+        this.roomCount = roomCount != null ? roomCount : 0;
+        this.averageRating = averageRating;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public Double getMinPrice() {
+        return minPrice;
+    }
+
+    public long getRoomCount() {
+        return roomCount;
+    }
+
+    public Double getAverageRating() {
+        return averageRating;
+    }
+
+    // URL the image is served from, relative to the API base URL
+    public String getImageUrl() {
+        return imageHash != null ? "/hotels/images/" + imageHash : null;
+    }
+}
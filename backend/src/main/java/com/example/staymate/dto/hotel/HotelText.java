@@ -0,0 +1,12 @@
+package com.example.staymate.dto.hotel;
+
+// Projection of the searchable hotel text, read without loading the full entity
+public interface HotelText {
+    Long getId();
+
+    String getName();
+
+    String getAddress();
+
+    String getDescription();
+}
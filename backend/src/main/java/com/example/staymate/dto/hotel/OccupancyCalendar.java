@@ -0,0 +1,58 @@
+package com.example.staymate.dto.hotel;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.example.staymate.entity.enums.RoomType;
+
+// Occupied, blocked and free rooms of each type of a hotel on each day of a window
+public class OccupancyCalendar {
+    private final LocalDate from;
+    private final int days;
+    private final List<RoomType> roomTypes;
+    private final long[] rooms; // Rooms per type
+    private final int[][] occupied; // Occupied rooms per type and day
+    private final int[][] blocked; // Rooms under maintenance per type and day
+
+    public OccupancyCalendar(LocalDate from, int days, List<RoomType> roomTypes, long[] rooms, int[][] occupied,
+            int[][] blocked) {
+        this.from = from;
+        this.days = days;
+        this.roomTypes = roomTypes;
+        this.rooms = rooms;
+        this.occupied = occupied;
+        this.blocked = blocked;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public LocalDate getDate(int day) {
+        return from.plusDays(day);
+    }
+
+    public List<RoomType> getRoomTypes() {
+        return roomTypes;
+    }
+
+    public long getRooms(int type) {
+        return rooms[type];
+    }
+
+    public int getOccupied(int type, int day) {
+        return occupied[type][day];
+    }
+
+    public int getBlocked(int type, int day) {
+        return blocked[type][day];
+    }
+
+    public long getFree(int type, int day) {
+        return Math.max(0, rooms[type] - occupied[type][day] - blocked[type][day]);
+    }
+}
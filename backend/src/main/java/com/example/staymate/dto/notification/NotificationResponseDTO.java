@@ -22,6 +22,17 @@ public class NotificationResponseDTO {
         this.createdAt = notification.getCreatedAt();
     }
 
+    // Used by the paginated listing query, which selects these columns directly
+    public NotificationResponseDTO(Long notificationId, Long userId, String message,
+            NotificationType notificationType, boolean isread, LocalDateTime createdAt) {
+        this.notificationId = notificationId;
+        this.userId = userId;
+        this.message = message;
+        this.notificationType = notificationType;
+        this.isread = isread;
+        this.createdAt = createdAt;
+    }
+
     public Long getNotificationId() {
         return notificationId;
     }
@@ -0,0 +1,56 @@
+package com.example.staymate.dto.payment;
+
+import java.time.LocalDateTime;
+
+import com.example.staymate.entity.enums.PaymentMethod;
+import com.example.staymate.entity.enums.PaymentStatus;
+
+// One payment of an export, selected column by column so exported payments are never loaded as entities
+public class PaymentExportRow {
+    private final Long paymentId;
+    private final Long bookingId;
+    private final Long hotelId;
+    private final String paymentMethod;
+    private final double amount;
+    private final String status;
+    private final LocalDateTime transactionDate;
+
+    public PaymentExportRow(Long paymentId, Long bookingId, Long hotelId, PaymentMethod paymentMethod,
+            double amount, PaymentStatus status, LocalDateTime transactionDate) {
+        this.paymentId = paymentId;
+        this.bookingId = bookingId;
+        this.hotelId = hotelId;
+        this.paymentMethod = paymentMethod != null ? paymentMethod.name() : null;
+        this.amount = amount;
+        this.status = status != null ? status.name() : null;
+        this.transactionDate = transactionDate;
+    }
+
+    public Long getPaymentId() {
+        return paymentId;
+    }
+
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    public Long getHotelId() {
+        return hotelId;
+    }
+
+    public String getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getTransactionDate() {
+        return transactionDate;
+    }
+}
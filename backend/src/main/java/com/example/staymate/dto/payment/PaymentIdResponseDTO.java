@@ -23,6 +23,17 @@ public class PaymentIdResponseDTO {
 
     }
 
+    // Used by the paginated listing query, which selects these columns directly
+    public PaymentIdResponseDTO(Long paymentId, Long bookingId, Long userId, double amountPaid,
+            PaymentStatus paymentStatus, LocalDateTime paymentDateTime) {
+        this.paymentId = paymentId;
+        this.bookingId = bookingId;
+        this.userId = userId;
+        this.amountPaid = amountPaid;
+        this.paymentStatus = paymentStatus;
+        this.paymentDateTime = paymentDateTime;
+    }
+
     public Long getPaymentId() {
         return paymentId;
     }
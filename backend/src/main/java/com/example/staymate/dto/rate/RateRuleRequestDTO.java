@@ -0,0 +1,59 @@
+package com.example.staymate.dto.rate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.example.staymate.entity.enums.RoomType;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import jakarta.validation.constraints.Positive;
+
+public class RateRuleRequestDTO {
+
+    private RoomType roomType; // Null for every room type
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    private LocalDate startDate;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    private LocalDate endDate;
+
+    private List<DayOfWeek> daysOfWeek; // Empty for every day
+
+    @Positive(message = "Multiplier must be greater than zero")
+    private double multiplier;
+
+    // Getters and Setters
+    public RoomType getRoomType() {
+        return roomType;
+    }
+    public void setRoomType(RoomType roomType) {
+        this.roomType = roomType;
+    }
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+    public List<DayOfWeek> getDaysOfWeek() {
+        return daysOfWeek;
+    }
+    public void setDaysOfWeek(List<DayOfWeek> daysOfWeek) {
+        this.daysOfWeek = daysOfWeek;
+    }
+    public double getMultiplier() {
+        return multiplier;
+    }
+    public void setMultiplier(double multiplier) {
+        this.multiplier = multiplier;
+    }
+
+}
@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 import com.example.staymate.entity.Review.Review;
 
 public class ReviewDTO {
+    private Long id;
     private Long hotelId;
     private Long userId;
     private String comment;
@@ -31,7 +32,21 @@ public class ReviewDTO {
         this.rating = rating;
     }
 
+    // Used by the paginated listing query, which selects these columns directly
+    public ReviewDTO(Long id, Long hotelId, Long userId, String comment, LocalDateTime created, int rating) {
+        this(hotelId, userId, comment, created, rating);
+        this.id = id;
+    }
+
     // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public Long getHotelId() {
         return hotelId;
     }
@@ -0,0 +1,12 @@
+package com.example.staymate.dto.room;
+
+// Price and capacity of a room, read without loading the room entity
+public interface RoomOffer {
+    Long getHotelId();
+
+    Long getRoomId();
+
+    double getPricePerNight();
+
+    int getMaxOccupancy();
+}
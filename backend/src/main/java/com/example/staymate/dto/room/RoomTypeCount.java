@@ -0,0 +1,10 @@
+package com.example.staymate.dto.room;
+
+import com.example.staymate.entity.enums.RoomType;
+
+// Number of rooms of one type in a hotel
+public interface RoomTypeCount {
+    RoomType getRoomType();
+
+    long getRooms();
+}
@@ -3,6 +3,8 @@ package com.example.staymate.dto.user;
 import java.time.LocalDate;
 
 import com.example.staymate.entity.booking.Booking;
+import com.example.staymate.entity.enums.BookingStatus;
+import com.example.staymate.entity.enums.RoomType;
 
 public class UserBookingResponseDTO {
     private Long bookingId;
@@ -17,9 +19,8 @@ public class UserBookingResponseDTO {
         this.bookingId = booking.getId();
         this.status = booking.getStatus().toString();
         
-        // Determine the room type based on the actual subclass
-        if (booking.getRoom() != null) {
-            this.roomType = booking.getRoom().getClass().getSimpleName().replaceAll("Room", "").toUpperCase();  // Get room type by class name (SingleRoom, DoubleRoom, etc.)
+        if (booking.getRoom() != null && booking.getRoom().getRoomType() != null) {
+            this.roomType = booking.getRoom().getRoomType().name();
         }
 
         this.checkInDate = booking.getCheckInDate();
@@ -32,6 +33,18 @@ public class UserBookingResponseDTO {
         }
     }
 
+    // Used by the listing query, which selects these columns directly instead of loading bookings
+    public UserBookingResponseDTO(Long bookingId, Long hotelId, Long roomId, LocalDate checkInDate,
+            LocalDate checkOutDate, RoomType roomType, BookingStatus status) {
+        this.bookingId = bookingId;
+        this.hotelId = hotelId;
+        this.roomId = roomId;
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+        this.roomType = roomType != null ? roomType.name() : null;
+        this.status = status.toString();
+    }
+
     // Getters and Setters
     public Long getRoomId() {
         return roomId;
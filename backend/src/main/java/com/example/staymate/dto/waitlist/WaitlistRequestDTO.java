@@ -0,0 +1,60 @@
+package com.example.staymate.dto.waitlist;
+
+import java.time.LocalDate;
+
+import com.example.staymate.entity.enums.RoomType;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import jakarta.validation.constraints.NotNull;
+
+public class WaitlistRequestDTO {
+
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    @NotNull(message = "Hotel ID is required")
+    private Long hotelId;
+
+    @NotNull(message = "Room type is required")
+    private RoomType roomType;
+
+    @NotNull(message = "Check-in date is required")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    private LocalDate checkInDate;
+
+    @NotNull(message = "Check-out date is required")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    private LocalDate checkOutDate;
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    public Long getHotelId() {
+        return hotelId;
+    }
+    public void setHotelId(Long hotelId) {
+        this.hotelId = hotelId;
+    }
+    public RoomType getRoomType() {
+        return roomType;
+    }
+    public void setRoomType(RoomType roomType) {
+        this.roomType = roomType;
+    }
+    public LocalDate getCheckInDate() {
+        return checkInDate;
+    }
+    public void setCheckInDate(LocalDate checkInDate) {
+        this.checkInDate = checkInDate;
+    }
+    public LocalDate getCheckOutDate() {
+        return checkOutDate;
+    }
+    public void setCheckOutDate(LocalDate checkOutDate) {
+        this.checkOutDate = checkOutDate;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.staymate.entity.booking;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.example.staymate.entity.enums.BookingStatus;
+import com.example.staymate.entity.room.Room;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinColumns;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+// A booking checked out long enough ago to be moved out of the booking table, keeping its ID.
+// Rows are moved by BookingArchiveService and only read when a listing asks for archived bookings.
+@Entity
+@Table(name = "booking_archive",
+        indexes = @Index(name = "idx_booking_archive_user_check_in", columnList = "user_id, check_in_date, id"))
+public class ArchivedBooking {
+
+    @Id
+    private Long id;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumns({
+        @JoinColumn(name = "hotel_id", referencedColumnName = "hotel_id"),
+        @JoinColumn(name = "room_id", referencedColumnName = "room_id")
+    })
+    private Room room;
+
+    @Column(name = "check_in_date")
+    private LocalDate checkInDate;
+
+    @Column(name = "check_out_date")
+    private LocalDate checkOutDate;
+
+    @Column(name = "total_amount")
+    private double totalAmount;
+
+    @Enumerated(EnumType.STRING)
+    private BookingStatus status;
+
+    @Column(name = "booking_date")
+    private LocalDate bookingDate;
+
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
+
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Room getRoom() {
+        return room;
+    }
+
+    public LocalDate getCheckInDate() {
+        return checkInDate;
+    }
+
+    public LocalDate getCheckOutDate() {
+        return checkOutDate;
+    }
+
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public BookingStatus getStatus() {
+        return status;
+    }
+
+    public LocalDate getBookingDate() {
+        return bookingDate;
+    }
+
+    public LocalDateTime getHoldExpiresAt() {
+        return holdExpiresAt;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.staymate.entity.booking;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 import com.example.staymate.entity.enums.BookingStatus;
 import com.example.staymate.entity.room.Room;
@@ -13,11 +14,17 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinColumns;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_booking_room_stay", columnList = "hotel_id, room_id, check_in_date"),
+        @Index(name = "idx_booking_user_check_in", columnList = "user_id, check_in_date, id")
+})
 public class Booking {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -49,6 +56,10 @@ public class Booking {
     @Column(name = "booking_date")
     private LocalDate bookingDate;
 
+    // Until when a pending booking holds its room; once passed, the booking is cancelled
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
+
     // Getters and setters
     public Long getId() {
         return id;
@@ -113,4 +124,12 @@ public class Booking {
     public void setBookingDate(LocalDate bookingDate) {
         this.bookingDate = bookingDate;
     }
+
+    public LocalDateTime getHoldExpiresAt() {
+        return holdExpiresAt;
+    }
+
+    public void setHoldExpiresAt(LocalDateTime holdExpiresAt) {
+        this.holdExpiresAt = holdExpiresAt;
+    }
 }
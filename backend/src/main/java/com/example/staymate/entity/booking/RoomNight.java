@@ -0,0 +1,36 @@
+package com.example.staymate.entity.booking;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+// One night of a room held by a booking. The primary key (hotel_id, room_id, night) is
+// what stops two bookings from holding the same night. Rows are written and read by
+// RoomNightLedger; the entity maps the table so it is created with the rest of the schema.
+@Entity
+@Table(name = "room_night", indexes = @Index(name = "idx_room_night_booking", columnList = "booking_id"))
+public class RoomNight {
+
+    @EmbeddedId
+    private RoomNightId id;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    public RoomNight() {}
+
+    public RoomNight(RoomNightId id, Long bookingId) {
+        this.id = id;
+        this.bookingId = bookingId;
+    }
+
+    public RoomNightId getId() {
+        return id;
+    }
+
+    public Long getBookingId() {
+        return bookingId;
+    }
+}
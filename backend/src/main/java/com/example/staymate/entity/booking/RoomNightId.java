@@ -0,0 +1,49 @@
+package com.example.staymate.entity.booking;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+@Embeddable
+public class RoomNightId implements Serializable {
+
+    @Column(name = "hotel_id")
+    private Long hotelId;
+
+    @Column(name = "room_id")
+    private Long roomId;
+
+    @Column(name = "night")
+    private LocalDate night;
+
+    public RoomNightId() {}
+
+    public RoomNightId(Long hotelId, Long roomId, LocalDate night) {
+        this.hotelId = hotelId;
+        this.roomId = roomId;
+        this.night = night;
+    }
+
+    public Long getHotelId() { return hotelId; }
+
+    public Long getRoomId() { return roomId; }
+
+    public LocalDate getNight() { return night; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RoomNightId other = (RoomNightId) o;
+        return Objects.equals(hotelId, other.hotelId) && Objects.equals(roomId, other.roomId)
+                && Objects.equals(night, other.night);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(hotelId, roomId, night);
+    }
+}
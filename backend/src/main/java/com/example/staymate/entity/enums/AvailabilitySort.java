@@ -0,0 +1,6 @@
+package com.example.staymate.entity.enums;
+
+public enum AvailabilitySort {
+    PRICE,
+    DISTANCE
+}
@@ -0,0 +1,18 @@
+package com.example.staymate.entity.enums;
+
+// Resized versions of a hotel image, by their maximum width in pixels
+public enum ImageVariant {
+    THUMBNAIL(160),
+    CARD(480),
+    HERO(1600);
+
+    private final int maxWidth;
+
+    ImageVariant(int maxWidth) {
+        this.maxWidth = maxWidth;
+    }
+
+    public int getMaxWidth() {
+        return maxWidth;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.staymate.entity.enums;
+
+public enum WaitlistStatus {
+    WAITING,
+    OFFERED,
+    CANCELLED
+}
@@ -1,5 +1,6 @@
 package com.example.staymate.entity.hotel;
 
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 
@@ -11,8 +12,10 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.Lob;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Version;
 
 @Entity
 public class Hotel {
@@ -28,9 +31,9 @@ public class Hotel {
     @OneToMany(mappedBy = "id.hotelId", cascade = CascadeType.ALL)
     private List<Room> rooms;
 
-    @Lob
-    @Column(columnDefinition = "LONGBLOB")
-    private byte[] image;
+    // SHA-256 hash of the image in the hotel image store
+    @Column(name = "image_hash", length = 64)
+    private String imageHash;
 
     private String description; // Description field
     private String contact; // New contact field
@@ -39,6 +42,28 @@ public class Hotel {
     private LocalTime checkIn; // Check-in date and time
     private LocalTime checkOut; // Check-out date and time
 
+    // Incremented by Hibernate on every update; with updatedAt it makes up the ETag
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
     // Getters and setters
     public Long getId() {
         return id;
@@ -88,12 +113,17 @@ public class Hotel {
         this.rooms = rooms;
     }
 
-    public byte[] getImage() {
-        return image;
+    public String getImageHash() {
+        return imageHash;
+    }
+
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
     }
 
-    public void setImage(byte[] image) {
-        this.image = image;
+    // URL the image is served from, relative to the API base URL
+    public String getImageUrl() {
+        return imageHash != null ? "/hotels/images/" + imageHash : null;
     }
 
     public String getDescription() {
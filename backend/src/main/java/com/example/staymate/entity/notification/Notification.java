@@ -5,16 +5,20 @@ import java.time.LocalDateTime;
 import com.example.staymate.entity.enums.NotificationType;
 import com.example.staymate.entity.user.User;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 
 @Entity
+@Table(indexes = @Index(name = "idx_notification_user_created", columnList = "user_id, created_at, id"))
 public class Notification {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -30,6 +34,7 @@ public class Notification {
     private NotificationType type; // BOOKING_CONFIRMATION, PAYMENT_SUCCESS
 
     private boolean isRead;
+    @Column(name = "created_at")
     private LocalDateTime createdAt;
     
     public Long getId() {
@@ -0,0 +1,69 @@
+package com.example.staymate.entity.payment;
+
+import java.time.LocalDateTime;
+
+import com.example.staymate.entity.enums.PaymentMethod;
+import com.example.staymate.entity.enums.PaymentStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+// A payment of an archived booking, moved along with it and keeping its ID
+@Entity
+@Table(name = "payment_archive", indexes = @Index(name = "idx_payment_archive_booking", columnList = "booking_id"))
+public class ArchivedPayment {
+
+    @Id
+    private Long id;
+
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_method")
+    private PaymentMethod paymentMethod;
+
+    private double amount;
+
+    @Column(name = "transaction_date")
+    private LocalDateTime transactionDate;
+
+    @Enumerated(EnumType.STRING)
+    private PaymentStatus status;
+
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    public PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public LocalDateTime getTransactionDate() {
+        return transactionDate;
+    }
+
+    public PaymentStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
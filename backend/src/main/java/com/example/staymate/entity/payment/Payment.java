@@ -6,16 +6,23 @@ import com.example.staymate.entity.booking.Booking;
 import com.example.staymate.entity.enums.PaymentMethod;
 import com.example.staymate.entity.enums.PaymentStatus;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_payment_booking_date", columnList = "booking_id, transaction_date, id"),
+        @Index(name = "idx_payment_user_date", columnList = "user_id, transaction_date, id")
+})
 public class Payment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -25,10 +32,15 @@ public class Payment {
     @JoinColumn(name = "booking_id")
     private Booking booking;
 
+    // User of the booking, copied here so a user's payments are listed from one index
+    @Column(name = "user_id")
+    private Long userId;
+
     @Enumerated(EnumType.STRING)
     private PaymentMethod paymentMethod; // CREDIT_CARD, PAYPAL, STRIPE
 
     private double amount;
+    @Column(name = "transaction_date")
     private LocalDateTime transactionDate;
 
     @Enumerated(EnumType.STRING)
@@ -50,6 +62,14 @@ public class Payment {
         this.booking = booking;
     }
 
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
     public PaymentMethod getPaymentMethod() {
         return paymentMethod;
     }
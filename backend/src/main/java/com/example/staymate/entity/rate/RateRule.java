@@ -0,0 +1,128 @@
+package com.example.staymate.entity.rate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.example.staymate.entity.enums.RoomType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+// Multiplies the nightly price of a hotel's rooms on the nights it applies to. A rule
+// without a room type applies to every type, without dates to every season and without
+// days of the week to every day. When several rules apply, their multipliers are combined.
+@Entity
+@Table(name = "rate_rule", indexes = @Index(name = "idx_rate_rule_hotel", columnList = "hotel_id"))
+public class RateRule {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "hotel_id", nullable = false)
+    private Long hotelId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "room_type")
+    private RoomType roomType;
+
+    @Column(name = "start_date")
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate; // Last night the rule applies to
+
+    @Column(name = "days_of_week", nullable = false)
+    private int daysOfWeekMask; // Bit 0 is Monday; no bits set means every day
+
+    @Column(nullable = false)
+    private double multiplier;
+
+    public boolean appliesTo(RoomType roomType, LocalDate night) {
+        return (this.roomType == null || this.roomType == roomType)
+                && (startDate == null || !night.isBefore(startDate))
+                && (endDate == null || !night.isAfter(endDate))
+                && appliesOn(night.getDayOfWeek());
+    }
+
+    public boolean appliesOn(DayOfWeek dayOfWeek) {
+        return daysOfWeekMask == 0 || (daysOfWeekMask & (1 << (dayOfWeek.getValue() - 1))) != 0;
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getHotelId() {
+        return hotelId;
+    }
+
+    public void setHotelId(Long hotelId) {
+        this.hotelId = hotelId;
+    }
+
+    public RoomType getRoomType() {
+        return roomType;
+    }
+
+    public void setRoomType(RoomType roomType) {
+        this.roomType = roomType;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public Set<DayOfWeek> getDaysOfWeek() {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if ((daysOfWeekMask & (1 << (day.getValue() - 1))) != 0) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+
+    public void setDaysOfWeek(Collection<DayOfWeek> daysOfWeek) {
+        daysOfWeekMask = 0;
+        if (daysOfWeek != null) {
+            for (DayOfWeek day : daysOfWeek) {
+                daysOfWeekMask |= 1 << (day.getValue() - 1);
+            }
+        }
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    public void setMultiplier(double multiplier) {
+        this.multiplier = multiplier;
+    }
+}
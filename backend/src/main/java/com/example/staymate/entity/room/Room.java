@@ -1,5 +1,7 @@
 package com.example.staymate.entity.room;
 
+import java.time.LocalDateTime;
+
 import com.example.staymate.entity.enums.RoomStatus;
 import com.example.staymate.entity.enums.RoomType;
 import com.example.staymate.entity.hotel.Hotel;
@@ -7,6 +9,7 @@ import com.example.staymate.entity.state.roomstate.AvailableState;
 import com.example.staymate.entity.state.roomstate.BookedState;
 import com.example.staymate.entity.state.roomstate.RoomState;
 import com.example.staymate.entity.state.roomstate.UnderMaintenanceState;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
@@ -20,8 +23,11 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 
 @Entity
 @Inheritance(strategy= InheritanceType.SINGLE_TABLE)
@@ -47,13 +53,30 @@ public abstract class Room {
     @Column(name = "max_occupancy")
     private int maxOccupancy;
 
+    // Written once on insert; the status on a given night is derived from the room's
+    // bookings and maintenance blocks, so booking a room never updates its row. Not
+    // serialized, as the stored value says nothing about any night.
+    @JsonIgnore
     @Enumerated(EnumType.STRING)
-    @Column(name = "status")
+    @Column(name = "status", updatable = false)
     private RoomStatus status;
 
+    // The discriminator column, mapped read-only so queries can group rooms by type
+    @Enumerated(EnumType.STRING)
+    @Column(name = "room_type", insertable = false, updatable = false)
+    private RoomType roomType;
+
     @Transient
     private RoomState roomState;
 
+    // Optimistic lock version, summed over a hotel's rooms for the rooms ETag
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     public Room() {
         this.status = RoomStatus.AVAILABLE;
         updateState();
@@ -62,7 +85,7 @@ public abstract class Room {
     public Room(Hotel hotel, Long roomId, RoomType roomType, double pricePerNight, int maxOccupancy) {
         // Setting the composite key
         this.id = new RoomId(hotel.getId(), roomId);
-        // this.roomType = roomType;
+        this.roomType = roomType;
         this.pricePerNight = pricePerNight;
         this.maxOccupancy = maxOccupancy;
         this.status = RoomStatus.AVAILABLE;
@@ -92,6 +115,20 @@ public abstract class Room {
         updateState();
     }
 
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
     // Getters and setters
     public RoomId getId() {
         return id;
@@ -109,6 +146,11 @@ public abstract class Room {
         return this.getId().getRoomId();
     }
 
+    @JsonIgnore // Serialized as room_type by the type info
+    public RoomType getRoomType() {
+        return roomType;
+    }
+
     public double getPricePerNight() {
         return pricePerNight;
     }
@@ -131,5 +173,6 @@ public abstract class Room {
 
     public void setStatus(RoomStatus status) {
         this.status = status;
+        updateState();
     }
 }
@@ -0,0 +1,7 @@
+package com.example.staymate.exception;
+
+public class BookingHoldExpiredException extends RuntimeException {
+    public BookingHoldExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,444 @@
+package com.example.staymate.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.staymate.dto.hotel.HotelText;
+
+/**
+ * Prefix trie over hotel names and the locations in their addresses, used for
+ * search box autocomplete. Every node caches its k most popular
+ * suggestions, so a lookup only walks the typed prefix and copies that list.
+ * Names are also reachable from each of their words ("bay" finds "Marina Bay
+ * Sands"). Keys are cut at a maximum length and the number of trie nodes is
+ * capped, so memory stays bounded however many hotels are added.
+ */
+@Component
+public class HotelAutocompleteIndex {
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+    // Most popular first, then alphabetically
+    private static final Comparator<Suggestion> RANKING = Comparator.<Suggestion>comparingLong(s -> -s.weight)
+            .thenComparing(s -> s.text);
+
+    private final int topK;
+    private final int maxKeyLength;
+    private final int maxNodes;
+
+    private Node root = new Node();
+    private int nodeCount = 1;
+    private final Map<Long, Suggestion> hotelSuggestions = new HashMap<>();
+    private final Map<String, Suggestion> locationSuggestions = new HashMap<>();
+    private final Map<Long, Long> popularity = new HashMap<>();
+    private boolean bulkLoading; // Top-k lists are computed once at the end of a rebuild
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public HotelAutocompleteIndex(@Value("${app.hotels.autocomplete.top-k:10}") int topK,
+            @Value("${app.hotels.autocomplete.max-key-length:40}") int maxKeyLength,
+            @Value("${app.hotels.autocomplete.max-nodes:500000}") int maxNodes) {
+        if (topK <= 0 || maxKeyLength <= 0) {
+            throw new IllegalArgumentException("Top-k and maximum key length must be positive");
+        }
+        this.topK = topK;
+        this.maxKeyLength = maxKeyLength;
+        this.maxNodes = maxNodes;
+    }
+
+    // Replace the whole index content, e.g. when loading hotels at startup
+    public void rebuild(Iterable<? extends HotelText> hotels, Map<Long, Long> bookingCounts) {
+        lock.writeLock().lock();
+        try {
+            root = new Node();
+            nodeCount = 1;
+            hotelSuggestions.clear();
+            locationSuggestions.clear();
+            popularity.clear();
+            popularity.putAll(bookingCounts);
+            bulkLoading = true;
+            try {
+                for (HotelText hotel : hotels) {
+                    insertHotel(hotel.getId(), hotel.getName(), hotel.getAddress());
+                }
+            } finally {
+                bulkLoading = false;
+            }
+            refreshAll(root);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Add a hotel or replace its name and address
+    public void put(Long hotelId, String name, String address) {
+        lock.writeLock().lock();
+        try {
+            deleteHotel(hotelId);
+            insertHotel(hotelId, name, address);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long hotelId) {
+        lock.writeLock().lock();
+        try {
+            deleteHotel(hotelId);
+            popularity.remove(hotelId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Count a new booking towards the popularity of the hotel and its locations
+    public void recordBooking(Long hotelId) {
+        lock.writeLock().lock();
+        try {
+            popularity.merge(hotelId, 1L, Long::sum);
+            Suggestion hotel = hotelSuggestions.get(hotelId);
+            if (hotel == null) {
+                return;
+            }
+            changeWeight(hotel, 1);
+            for (Suggestion location : hotel.locations) {
+                changeWeight(location, 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Up to limit suggestions starting with the prefix, most popular first
+    public List<Match> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        if (key.length() > maxKeyLength) {
+            key = key.substring(0, maxKeyLength);
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            List<Match> matches = new ArrayList<>();
+            for (int i = 0; i < node.top.length && matches.size() < limit; i++) {
+                Suggestion suggestion = node.top[i];
+                matches.add(new Match(suggestion.text, suggestion.hotelId, suggestion.weight));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int nodeCount() {
+        lock.readLock().lock();
+        try {
+            return nodeCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insertHotel(Long hotelId, String name, String address) {
+        if (name == null || name.isBlank()) {
+            return;
+        }
+        long bookings = popularity.getOrDefault(hotelId, 0L);
+        Suggestion hotel = newSuggestion(name.trim(), hotelId, bookings);
+        hotelSuggestions.put(hotelId, hotel);
+        addKeys(hotel, wordSuffixes(normalize(name)));
+
+        // Each comma separated part of the address is a location, shared between hotels
+        if (address != null) {
+            for (String part : address.split(",")) {
+                String location = normalize(part);
+                if (location.isEmpty() || hotel.locations.stream().anyMatch(l -> l.key.equals(location))) {
+                    continue;
+                }
+                Suggestion suggestion = locationSuggestions.get(location);
+                if (suggestion == null) {
+                    suggestion = newSuggestion(part.trim(), null, 0);
+                    suggestion.key = location;
+                    locationSuggestions.put(location, suggestion);
+                    addKeys(suggestion, wordSuffixes(location));
+                }
+                suggestion.hotelCount++;
+                changeWeight(suggestion, bookings);
+                hotel.locations.add(suggestion);
+            }
+        }
+    }
+
+    private void deleteHotel(Long hotelId) {
+        Suggestion hotel = hotelSuggestions.remove(hotelId);
+        if (hotel == null) {
+            return;
+        }
+        removeKeys(hotel);
+        for (Suggestion location : hotel.locations) {
+            if (--location.hotelCount == 0) {
+                removeKeys(location);
+                locationSuggestions.remove(location.key);
+            } else {
+                changeWeight(location, -hotel.weight);
+            }
+        }
+    }
+
+    private Suggestion newSuggestion(String text, Long hotelId, long weight) {
+        return new Suggestion(text, hotelId, weight);
+    }
+
+    private void addKeys(Suggestion suggestion, Set<String> keys) {
+        for (String key : keys) {
+            String cut = key.length() > maxKeyLength ? key.substring(0, maxKeyLength) : key;
+            Node[] path = new Node[cut.length() + 1];
+            path[0] = root;
+            int depth = 0;
+            for (; depth < cut.length(); depth++) {
+                Node child = path[depth].child(cut.charAt(depth));
+                if (child == null) {
+                    if (nodeCount >= maxNodes) {
+                        break; // Index is full; the suggestion stays reachable through shorter prefixes
+                    }
+                    child = path[depth].addChild(cut.charAt(depth));
+                    nodeCount++;
+                }
+                path[depth + 1] = child;
+            }
+            // Remember the key as far as it was stored, so walking it ends at this node
+            String stored = cut.substring(0, depth);
+            if (suggestion.keys.contains(stored)) {
+                continue;
+            }
+            suggestion.keys.add(stored);
+            path[depth].entries = append(path[depth].entries, suggestion);
+            refresh(path, depth);
+        }
+    }
+
+    private void removeKeys(Suggestion suggestion) {
+        for (String key : suggestion.keys) {
+            Node[] path = walk(key);
+            int depth = key.length();
+            path[depth].entries = without(path[depth].entries, suggestion);
+            // Drop nodes that no longer lead anywhere, from the leaf upwards
+            while (depth > 0 && path[depth].entries.length == 0 && path[depth].labels.length == 0) {
+                path[depth - 1].removeChild(path[depth]);
+                nodeCount--;
+                depth--;
+            }
+            refresh(path, depth);
+        }
+        suggestion.keys.clear();
+    }
+
+    private void changeWeight(Suggestion suggestion, long delta) {
+        suggestion.weight += delta;
+        for (String key : suggestion.keys) {
+            refresh(walk(key), key.length());
+        }
+    }
+
+    // The nodes from the root to the end of a stored key
+    private Node[] walk(String key) {
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].child(key.charAt(i));
+        }
+        return path;
+    }
+
+    // Recompute the cached top-k lists from the deepest node of the path up to the root
+    private void refresh(Node[] path, int depth) {
+        if (bulkLoading) {
+            return;
+        }
+        for (int i = depth; i >= 0; i--) {
+            computeTop(path[i]);
+        }
+    }
+
+    // Compute the top-k lists of a whole subtree, children before their parent
+    private void refreshAll(Node node) {
+        for (Node child : node.children) {
+            refreshAll(child);
+        }
+        computeTop(node);
+    }
+
+    // The best of the suggestions ending here and of the children's top-k lists,
+    // kept by insertion into a k sized array since a common word can end the keys
+    // of thousands of suggestions. A suggestion reachable through several keys
+    // below this node is kept once.
+    private void computeTop(Node node) {
+        Suggestion[] top = new Suggestion[topK];
+        int size = 0;
+        for (Suggestion suggestion : node.entries) {
+            size = offer(top, size, suggestion);
+        }
+        for (Node child : node.children) {
+            for (Suggestion suggestion : child.top) {
+                size = offer(top, size, suggestion);
+            }
+        }
+        node.top = size == 0 ? NO_SUGGESTIONS : Arrays.copyOf(top, size);
+    }
+
+    private static int offer(Suggestion[] top, int size, Suggestion suggestion) {
+        if (size == top.length && RANKING.compare(suggestion, top[size - 1]) >= 0) {
+            return size;
+        }
+        for (int i = 0; i < size; i++) {
+            if (top[i] == suggestion) {
+                return size;
+            }
+        }
+        int position = size == top.length ? size - 1 : size++;
+        while (position > 0 && RANKING.compare(suggestion, top[position - 1]) < 0) {
+            top[position] = top[position - 1];
+            position--;
+        }
+        top[position] = suggestion;
+        return size;
+    }
+
+    // The text and every suffix of it that starts at a word boundary
+    private static Set<String> wordSuffixes(String text) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < text.length(); i++) {
+            if (i == 0 || text.charAt(i - 1) == ' ') {
+                keys.add(text.substring(i));
+            }
+        }
+        return keys;
+    }
+
+    // Lower case with single spaces, reusing the text index rules for accents and punctuation
+    private static String normalize(String text) {
+        return String.join(" ", HotelTextIndex.normalize(text).trim().split(" +"));
+    }
+
+    private static Suggestion[] append(Suggestion[] suggestions, Suggestion suggestion) {
+        Suggestion[] result = Arrays.copyOf(suggestions, suggestions.length + 1);
+        result[suggestions.length] = suggestion;
+        return result;
+    }
+
+    private static Suggestion[] without(Suggestion[] suggestions, Suggestion suggestion) {
+        return Arrays.stream(suggestions).filter(existing -> existing != suggestion).toArray(Suggestion[]::new);
+    }
+
+    // A suggestion returned to the client; hotelId is null for locations
+    public static final class Match {
+        private final String text;
+        private final Long hotelId;
+        private final long popularity;
+
+        public Match(String text, Long hotelId, long popularity) {
+            this.text = text;
+            this.hotelId = hotelId;
+            this.popularity = popularity;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public Long getHotelId() {
+            return hotelId;
+        }
+
+        public String getType() {
+            return hotelId != null ? "HOTEL" : "LOCATION";
+        }
+
+        public long getPopularity() {
+            return popularity;
+        }
+    }
+
+    private static final class Suggestion {
+        private final String text;
+        private final Long hotelId;
+        private long weight;
+        private String key; // Normalized text of a location
+        private int hotelCount; // Hotels at a location
+        private final List<Suggestion> locations = new ArrayList<>(); // Locations of a hotel
+        private final List<String> keys = new ArrayList<>(); // Trie keys leading to this suggestion
+
+        private Suggestion(String text, Long hotelId, long weight) {
+            this.text = text;
+            this.hotelId = hotelId;
+            this.weight = weight;
+        }
+    }
+
+    // Children are kept in parallel arrays sorted by character, which is much
+    // smaller than a map per node
+    private static final class Node {
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private Suggestion[] entries = NO_SUGGESTIONS; // Suggestions whose key ends here
+        private Suggestion[] top = NO_SUGGESTIONS; // Best suggestions in this subtree
+
+        private Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node addChild(char label) {
+            int index = -(Arrays.binarySearch(labels, label) + 1);
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            Node child = new Node();
+            newLabels[index] = label;
+            newChildren[index] = child;
+            System.arraycopy(labels, index, newLabels, index + 1, labels.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+
+        private void removeChild(Node child) {
+            for (int i = 0; i < children.length; i++) {
+                if (children[i] == child) {
+                    char[] newLabels = new char[labels.length - 1];
+                    Node[] newChildren = new Node[children.length - 1];
+                    System.arraycopy(labels, 0, newLabels, 0, i);
+                    System.arraycopy(children, 0, newChildren, 0, i);
+                    System.arraycopy(labels, i + 1, newLabels, i, labels.length - i - 1);
+                    System.arraycopy(children, i + 1, newChildren, i, children.length - i - 1);
+                    labels = newLabels;
+                    children = newChildren;
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.staymate.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.staymate.dto.hotel.HotelLocation;
+
+/**
+ * In-memory grid index over hotel coordinates. Hotels are bucketed into
+ * fixed-size latitude/longitude cells so that a radius query only has to look
+ * at the cells overlapping the search circle instead of every hotel.
+ */
+@Component
+public class HotelSpatialIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371;
+    private static final double KM_PER_DEGREE_LAT = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private final double cellSizeDegrees;
+    private final int lonCells;
+
+    private final Map<Long, List<Point>> cells = new HashMap<>();
+    private final Map<Long, Point> points = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public HotelSpatialIndex(@Value("${app.hotels.spatial-index.cell-size-degrees:0.1}") double cellSizeDegrees) {
+        if (cellSizeDegrees <= 0 || cellSizeDegrees > 90) {
+            throw new IllegalArgumentException("Cell size must be between 0 and 90 degrees");
+        }
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.lonCells = (int) Math.ceil(360 / cellSizeDegrees);
+    }
+
+    // Replace the whole index content, e.g. when loading hotels at startup
+    public void rebuild(Iterable<? extends HotelLocation> locations) {
+        lock.writeLock().lock();
+        try {
+            cells.clear();
+            points.clear();
+            for (HotelLocation location : locations) {
+                insert(location.getId(), location.getLatitude(), location.getLongitude());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Add a hotel or move it to its new coordinates
+    public void put(Long hotelId, double latitude, double longitude) {
+        lock.writeLock().lock();
+        try {
+            delete(hotelId);
+            insert(hotelId, latitude, longitude);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long hotelId) {
+        lock.writeLock().lock();
+        try {
+            delete(hotelId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return points.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // All hotels within radiusKm of the given point, closest first
+    public List<Neighbor> withinRadius(double latitude, double longitude, double radiusKm) {
+        List<Neighbor> result = new ArrayList<>();
+        if (radiusKm < 0) {
+            return result;
+        }
+
+        double latSpan = radiusKm / KM_PER_DEGREE_LAT;
+        int minLat = latIndex(Math.max(-90, latitude - latSpan));
+        int maxLat = latIndex(Math.min(90, latitude + latSpan));
+
+        // Longitude degrees shrink towards the poles, so widen the span using the
+        // latitude of the search box edge that is furthest from the equator
+        double maxAbsLat = Math.min(90, Math.abs(latitude) + latSpan);
+        double cos = Math.cos(Math.toRadians(maxAbsLat));
+        boolean allLongitudes = cos < 1e-6 || latSpan / cos >= 180;
+        int centerLon = lonIndex(longitude);
+        int lonRadius = allLongitudes ? lonCells : (int) Math.ceil((latSpan / cos) / cellSizeDegrees);
+
+        lock.readLock().lock();
+        try {
+            for (int latIdx = minLat; latIdx <= maxLat; latIdx++) {
+                if (allLongitudes || 2 * lonRadius + 1 >= lonCells) {
+                    for (int lonIdx = 0; lonIdx < lonCells; lonIdx++) {
+                        collect(cells.get(cellKey(latIdx, lonIdx)), latitude, longitude, radiusKm, result);
+                    }
+                } else {
+                    for (int offset = -lonRadius; offset <= lonRadius; offset++) {
+                        int lonIdx = Math.floorMod(centerLon + offset, lonCells);
+                        collect(cells.get(cellKey(latIdx, lonIdx)), latitude, longitude, radiusKm, result);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        result.sort(Comparator.comparingDouble(Neighbor::getDistanceKm));
+        return result;
+    }
+
+    // The k closest hotels no further than maxRadiusKm away, closest first.
+    // The search radius is doubled until it holds at least k hotels: any hotel
+    // outside that radius is further away than all k found inside it.
+    public List<Neighbor> nearest(double latitude, double longitude, int k, double maxRadiusKm) {
+        if (k <= 0 || maxRadiusKm < 0) {
+            return new ArrayList<>();
+        }
+        double radius = Math.min(maxRadiusKm, cellSizeDegrees * KM_PER_DEGREE_LAT);
+        while (true) {
+            List<Neighbor> found = withinRadius(latitude, longitude, radius);
+            if (found.size() >= k || radius >= maxRadiusKm) {
+                return found.size() > k ? new ArrayList<>(found.subList(0, k)) : found;
+            }
+            radius = Math.min(maxRadiusKm, radius * 2);
+        }
+    }
+
+    // Great-circle distance between two coordinates in km (haversine formula)
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double latDistance = Math.toRadians(lat2 - lat1);
+        double lonDistance = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2) +
+                Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
+                        Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        return EARTH_RADIUS_KM * c;
+    }
+
+    private void collect(List<Point> cell, double latitude, double longitude, double radiusKm,
+            List<Neighbor> result) {
+        if (cell == null) {
+            return;
+        }
+        for (Point point : cell) {
+            double distance = distanceKm(latitude, longitude, point.latitude, point.longitude);
+            if (distance <= radiusKm) {
+                result.add(new Neighbor(point.hotelId, distance));
+            }
+        }
+    }
+
+    private void insert(Long hotelId, double latitude, double longitude) {
+        Point point = new Point(hotelId, latitude, longitude);
+        points.put(hotelId, point);
+        cells.computeIfAbsent(point.cellKey, key -> new ArrayList<>()).add(point);
+    }
+
+    private void delete(Long hotelId) {
+        Point existing = points.remove(hotelId);
+        if (existing == null) {
+            return;
+        }
+        List<Point> cell = cells.get(existing.cellKey);
+        if (cell != null) {
+            cell.remove(existing);
+            if (cell.isEmpty()) {
+                cells.remove(existing.cellKey);
+            }
+        }
+    }
+
+    private int latIndex(double latitude) {
+        return (int) Math.floor((latitude + 90) / cellSizeDegrees);
+    }
+
+    private int lonIndex(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / cellSizeDegrees), lonCells);
+    }
+
+    private static long cellKey(int latIdx, int lonIdx) {
+        return ((long) latIdx << 32) | (lonIdx & 0xffffffffL);
+    }
+
+    // A hotel found by a query together with its distance from the query point
+    public static final class Neighbor {
+        private final Long hotelId;
+        private final double distanceKm;
+
+        public Neighbor(Long hotelId, double distanceKm) {
+            this.hotelId = hotelId;
+            this.distanceKm = distanceKm;
+        }
+
+        public Long getHotelId() {
+            return hotelId;
+        }
+
+        public double getDistanceKm() {
+            return distanceKm;
+        }
+    }
+
+    private final class Point {
+        private final Long hotelId;
+        private final double latitude;
+        private final double longitude;
+        private final long cellKey;
+
+        private Point(Long hotelId, double latitude, double longitude) {
+            this.hotelId = hotelId;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.cellKey = cellKey(latIndex(latitude), lonIndex(longitude));
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.example.staymate.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.staymate.dto.hotel.HotelText;
+
+/**
+ * In-memory inverted trigram index over hotel name, address and description.
+ * Each trigram maps to a postings list of document slots held in primitive
+ * arrays. A query scores hotels by the weighted share of its trigrams they
+ * contain, so misspelled words still match on the trigrams they got right.
+ */
+@Component
+public class HotelTextIndex {
+
+    // A trigram found in several fields counts with the weight of the most important one
+    private static final int NAME_WEIGHT = 3;
+    private static final int ADDRESS_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final double minSimilarity;
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> slotsByHotelId = new HashMap<>();
+    private final List<Document> documents = new ArrayList<>(); // Indexed by slot, null when free
+    private final List<Integer> freeSlots = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public HotelTextIndex(@Value("${app.hotels.search.min-similarity:0.5}") double minSimilarity) {
+        if (minSimilarity <= 0 || minSimilarity > 1) {
+            throw new IllegalArgumentException("Minimum similarity must be greater than 0 and at most 1");
+        }
+        this.minSimilarity = minSimilarity;
+    }
+
+    // Replace the whole index content, e.g. when loading hotels at startup
+    public void rebuild(Iterable<? extends HotelText> hotels) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            slotsByHotelId.clear();
+            documents.clear();
+            freeSlots.clear();
+            for (HotelText hotel : hotels) {
+                insert(hotel.getId(), hotel.getName(), hotel.getAddress(), hotel.getDescription());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Add a hotel or replace its indexed text
+    public void put(Long hotelId, String name, String address, String description) {
+        lock.writeLock().lock();
+        try {
+            delete(hotelId);
+            insert(hotelId, name, address, description);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long hotelId) {
+        lock.writeLock().lock();
+        try {
+            delete(hotelId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsByHotelId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Hotels matching the query, best match first
+    public SearchResult search(String query, int offset, int limit) {
+        Set<String> queryGrams = trigrams(query);
+        if (queryGrams.isEmpty() || limit <= 0) {
+            return new SearchResult(List.of(), 0);
+        }
+        String normalizedQuery = normalize(query).trim();
+        int minMatches = Math.max(1, (int) Math.ceil(queryGrams.size() * minSimilarity));
+
+        lock.readLock().lock();
+        try {
+            int[] scores = new int[documents.size()];
+            int[] matches = new int[documents.size()];
+            int[] touched = new int[documents.size()];
+            int touchedCount = 0;
+            for (String gram : queryGrams) {
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    continue;
+                }
+                for (int i = 0; i < list.size; i++) {
+                    int slot = list.slots[i];
+                    if (matches[slot]++ == 0) {
+                        touched[touchedCount++] = slot;
+                    }
+                    scores[slot] += list.weights[i];
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>();
+            for (int i = 0; i < touchedCount; i++) {
+                int slot = touched[i];
+                if (matches[slot] < minMatches) {
+                    continue;
+                }
+                Document document = documents.get(slot);
+                int score = scores[slot];
+                // An exact substring of the name beats any partial match
+                if (document.name.contains(normalizedQuery)) {
+                    score += NAME_WEIGHT * queryGrams.size();
+                }
+                hits.add(new Hit(document.hotelId, score));
+            }
+            hits.sort((a, b) -> a.score != b.score ? Integer.compare(b.score, a.score)
+                    : Long.compare(a.hotelId, b.hotelId));
+
+            List<Long> hotelIds = new ArrayList<>();
+            for (int i = Math.max(0, offset); i < hits.size() && hotelIds.size() < limit; i++) {
+                hotelIds.add(hits.get(i).hotelId);
+            }
+            return new SearchResult(hotelIds, hits.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(Long hotelId, String name, String address, String description) {
+        Map<String, Integer> weights = new HashMap<>();
+        addGrams(weights, description, DESCRIPTION_WEIGHT);
+        addGrams(weights, address, ADDRESS_WEIGHT);
+        addGrams(weights, name, NAME_WEIGHT);
+
+        int slot;
+        Document document = new Document(hotelId, normalize(name), weights.keySet().toArray(new String[0]));
+        if (freeSlots.isEmpty()) {
+            slot = documents.size();
+            documents.add(document);
+        } else {
+            slot = freeSlots.remove(freeSlots.size() - 1);
+            documents.set(slot, document);
+        }
+        slotsByHotelId.put(hotelId, slot);
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), key -> new Postings()).add(slot, entry.getValue());
+        }
+    }
+
+    private void delete(Long hotelId) {
+        Integer slot = slotsByHotelId.remove(hotelId);
+        if (slot == null) {
+            return;
+        }
+        for (String gram : documents.get(slot).grams) {
+            Postings list = postings.get(gram);
+            if (list != null && list.remove(slot) && list.size == 0) {
+                postings.remove(gram);
+            }
+        }
+        documents.set(slot, null);
+        freeSlots.add(slot);
+    }
+
+    private static void addGrams(Map<String, Integer> weights, String text, int weight) {
+        for (String gram : trigrams(text)) {
+            weights.merge(gram, weight, Math::max);
+        }
+    }
+
+    // Trigrams of every word, padded with a space on both sides so that short
+    // words and word boundaries produce trigrams too ("inn" -> " in", "inn", "nn ")
+    static Set<String> trigrams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        if (text == null) {
+            return grams;
+        }
+        for (String word : normalize(text).split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = " " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+
+    // Lower case without accents, anything but letters and digits becomes a space
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            normalized.append(Character.isLetterOrDigit(c) ? Character.toLowerCase(c) : ' ');
+        }
+        return normalized.toString();
+    }
+
+    // Result page of a search together with the total number of matching hotels
+    public static final class SearchResult {
+        private final List<Long> hotelIds;
+        private final int total;
+
+        public SearchResult(List<Long> hotelIds, int total) {
+            this.hotelIds = hotelIds;
+            this.total = total;
+        }
+
+        public List<Long> getHotelIds() {
+            return hotelIds;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+    }
+
+    private static final class Document {
+        private final Long hotelId;
+        private final String name;
+        private final String[] grams;
+
+        private Document(Long hotelId, String name, String[] grams) {
+            this.hotelId = hotelId;
+            this.name = name;
+            this.grams = grams;
+        }
+    }
+
+    private static final class Hit {
+        private final Long hotelId;
+        private final int score;
+
+        private Hit(Long hotelId, int score) {
+            this.hotelId = hotelId;
+            this.score = score;
+        }
+    }
+
+    // Document slots containing a trigram, with the weight of the trigram in each
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private byte[] weights = new byte[4];
+        private int size;
+
+        private void add(int slot, int weight) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            slots[size] = slot;
+            weights[size] = (byte) weight;
+            size++;
+        }
+
+        private boolean remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    // Order does not matter, so move the last entry into the gap
+                    size--;
+                    slots[i] = slots[size];
+                    weights[i] = weights[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package com.example.staymate.index;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.staymate.dto.booking.BookingStay;
+import com.example.staymate.entity.enums.RoomStatus;
+import com.example.staymate.entity.room.MaintenanceBlock;
+
+/**
+ * In-memory map of booked nights per room over a rolling horizon starting today.
+ * Every room with bookings has a bitset with one bit per night, so checking a
+ * stay of any length tests at most a few 64 bit words. The stays themselves are
+ * kept too, which lets a cancelled booking be removed without clearing nights
+ * another booking of the same room still holds, and lets the horizon move
+ * forward every day. Maintenance blocks are kept the same way in a second
+ * bitset, and together they give a room's status on any night of the horizon.
+ */
+@Component
+public class RoomAvailabilityIndex {
+
+    private final int horizonDays;
+    private final Clock clock;
+
+    private final Map<Long, Map<Long, RoomNights>> roomsByHotelId = new HashMap<>();
+    private final Map<Long, Stay> staysByBookingId = new HashMap<>();
+    private final Map<Long, Stay> blocksById = new HashMap<>();
+    private volatile long origin; // Epoch day of bit 0
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public RoomAvailabilityIndex(@Value("${app.rooms.availability.horizon-days:730}") int horizonDays) {
+        this(horizonDays, Clock.systemDefaultZone());
+    }
+
+    RoomAvailabilityIndex(int horizonDays, Clock clock) {
+        if (horizonDays <= 0) {
+            throw new IllegalArgumentException("Horizon must be at least one day");
+        }
+        this.horizonDays = horizonDays;
+        this.clock = clock;
+        this.origin = today();
+    }
+
+    // Replace the whole index content with the given active bookings
+    public void rebuild(Iterable<? extends BookingStay> stays) {
+        rebuild(stays, List.of());
+    }
+
+    // Replace the whole index content with the given active bookings and maintenance blocks
+    public void rebuild(Iterable<? extends BookingStay> stays, Iterable<MaintenanceBlock> blocks) {
+        lock.writeLock().lock();
+        try {
+            roomsByHotelId.clear();
+            staysByBookingId.clear();
+            blocksById.clear();
+            origin = today();
+            for (BookingStay stay : stays) {
+                insert(new Stay(stay.getId(), stay.getHotelId(), stay.getRoomId(),
+                        stay.getCheckInDate().toEpochDay(), stay.getCheckOutDate().toEpochDay(), false));
+            }
+            for (MaintenanceBlock block : blocks) {
+                insert(new Stay(block.getId(), block.getHotelId(), block.getRoomId(),
+                        block.getStartDate().toEpochDay(), block.getEndDate().toEpochDay(), true));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Add a booking or move it to other dates or another room
+    public void put(Long bookingId, Long hotelId, Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        roll();
+        lock.writeLock().lock();
+        try {
+            delete(staysByBookingId, bookingId);
+            insert(new Stay(bookingId, hotelId, roomId, checkInDate.toEpochDay(), checkOutDate.toEpochDay(), false));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long bookingId) {
+        roll();
+        lock.writeLock().lock();
+        try {
+            delete(staysByBookingId, bookingId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Take a room out of service from the start date up to, not including, the end date
+    public void putBlock(Long blockId, Long hotelId, Long roomId, LocalDate startDate, LocalDate endDate) {
+        roll();
+        lock.writeLock().lock();
+        try {
+            delete(blocksById, blockId);
+            insert(new Stay(blockId, hotelId, roomId, startDate.toEpochDay(), endDate.toEpochDay(), true));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeBlock(Long blockId) {
+        roll();
+        lock.writeLock().lock();
+        try {
+            delete(blocksById, blockId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Whether the index can answer for these dates; other stays have to be checked in the database.
+    // The horizon may move on before a later lookup, which then returns null instead.
+    public boolean covers(LocalDate checkInDate, LocalDate checkOutDate) {
+        roll();
+        lock.readLock().lock();
+        try {
+            return covered(checkInDate.toEpochDay(), checkOutDate.toEpochDay());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Rooms of the hotel booked or under maintenance for at least one night from check-in
+    // up to check-out, or null when the index does not cover the dates
+    public Set<Long> bookedRooms(Long hotelId, LocalDate checkInDate, LocalDate checkOutDate) {
+        roll();
+        lock.readLock().lock();
+        try {
+            if (!covered(checkInDate.toEpochDay(), checkOutDate.toEpochDay())) {
+                return null;
+            }
+            Set<Long> booked = new HashSet<>();
+            Map<Long, RoomNights> rooms = roomsByHotelId.get(hotelId);
+            if (rooms == null) {
+                return booked;
+            }
+            int from = (int) (checkInDate.toEpochDay() - origin);
+            int to = (int) (checkOutDate.toEpochDay() - origin);
+            for (Map.Entry<Long, RoomNights> room : rooms.entrySet()) {
+                if (room.getValue().anyBooked(from, to)) {
+                    booked.add(room.getKey());
+                }
+            }
+            return booked;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Nights from the given date on which each of the hotel's rooms is booked or under
+    // maintenance, bit 0 being the first night. Rooms free on every night are left out.
+    // Null when the index does not cover the nights.
+    public Map<Long, BitSet> unavailableNights(Long hotelId, LocalDate from, int nights) {
+        roll();
+        lock.readLock().lock();
+        try {
+            if (!covered(from.toEpochDay(), from.toEpochDay() + nights)) {
+                return null;
+            }
+            Map<Long, BitSet> unavailable = new HashMap<>();
+            Map<Long, RoomNights> rooms = roomsByHotelId.get(hotelId);
+            if (rooms == null) {
+                return unavailable;
+            }
+            int first = (int) (from.toEpochDay() - origin);
+            for (Map.Entry<Long, RoomNights> room : rooms.entrySet()) {
+                BitSet taken = null;
+                for (int night = 0; night < nights; night++) {
+                    if (room.getValue().isSet(room.getValue().words, first + night)
+                            || room.getValue().isSet(room.getValue().blocked, first + night)) {
+                        if (taken == null) {
+                            taken = new BitSet(nights);
+                        }
+                        taken.set(night);
+                    }
+                }
+                if (taken != null) {
+                    unavailable.put(room.getKey(), taken);
+                }
+            }
+            return unavailable;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Status of the hotel's rooms on the given night, for the rooms that are not available.
+    // Maintenance wins over bookings. Null when the index does not cover the night.
+    public Map<Long, RoomStatus> unavailableRooms(Long hotelId, LocalDate night) {
+        roll();
+        lock.readLock().lock();
+        try {
+            if (!covered(night.toEpochDay(), night.toEpochDay() + 1)) {
+                return null;
+            }
+            Map<Long, RoomStatus> statuses = new HashMap<>();
+            Map<Long, RoomNights> rooms = roomsByHotelId.get(hotelId);
+            if (rooms == null) {
+                return statuses;
+            }
+            int day = (int) (night.toEpochDay() - origin);
+            for (Map.Entry<Long, RoomNights> room : rooms.entrySet()) {
+                if (room.getValue().isSet(room.getValue().blocked, day)) {
+                    statuses.put(room.getKey(), RoomStatus.UNDER_MAINTENANCE);
+                } else if (room.getValue().isSet(room.getValue().words, day)) {
+                    statuses.put(room.getKey(), RoomStatus.BOOKED);
+                }
+            }
+            return statuses;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Whether the nights from..to-1 lie within the horizon; call holding the lock, as the
+    // origin only moves under the write lock
+    private boolean covered(long from, long to) {
+        return from < to && from >= origin && to <= origin + horizonDays;
+    }
+
+    // Start the horizon at today once the date has changed, dropping past stays and
+    // marking the nights that have moved into the horizon
+    private void roll() {
+        long today = today();
+        if (today <= origin) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (today <= origin) {
+                return;
+            }
+            List<Stay> stays = new ArrayList<>(staysByBookingId.values());
+            stays.addAll(blocksById.values());
+            roomsByHotelId.clear();
+            staysByBookingId.clear();
+            blocksById.clear();
+            origin = today;
+            for (Stay stay : stays) {
+                insert(stay);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void insert(Stay stay) {
+        if (stay.checkOut <= origin || stay.checkOut <= stay.checkIn) {
+            return; // Already over or no nights
+        }
+        (stay.maintenance ? blocksById : staysByBookingId).put(stay.bookingId, stay);
+        RoomNights room = roomsByHotelId.computeIfAbsent(stay.hotelId, id -> new HashMap<>())
+                .computeIfAbsent(stay.roomId, id -> new RoomNights(horizonDays));
+        room.stays.add(stay);
+        room.mark(stay, origin);
+    }
+
+    private void delete(Map<Long, Stay> stays, Long id) {
+        Stay stay = stays.remove(id);
+        if (stay == null) {
+            return;
+        }
+        Map<Long, RoomNights> rooms = roomsByHotelId.get(stay.hotelId);
+        RoomNights room = rooms.get(stay.roomId);
+        room.stays.remove(stay);
+        if (room.stays.isEmpty()) {
+            rooms.remove(stay.roomId);
+            if (rooms.isEmpty()) {
+                roomsByHotelId.remove(stay.hotelId);
+            }
+            return;
+        }
+        // Other bookings or blocks may share nights with the removed one, so mark the remaining stays again
+        room.clear();
+        for (Stay remaining : room.stays) {
+            room.mark(remaining, origin);
+        }
+    }
+
+    private long today() {
+        return LocalDate.now(clock).toEpochDay();
+    }
+
+    // A booking's stay, or with maintenance set, a maintenance block keyed by its own id
+    private static final class Stay {
+        private final Long bookingId;
+        private final Long hotelId;
+        private final Long roomId;
+        private final long checkIn; // Epoch days; the check-out night is not booked
+        private final long checkOut;
+        private final boolean maintenance;
+
+        private Stay(Long bookingId, Long hotelId, Long roomId, long checkIn, long checkOut, boolean maintenance) {
+            this.bookingId = bookingId;
+            this.hotelId = hotelId;
+            this.roomId = roomId;
+            this.checkIn = checkIn;
+            this.checkOut = checkOut;
+            this.maintenance = maintenance;
+        }
+    }
+
+    // One bit per night of the horizon, set when the room is booked that night, and
+    // another set when it is under maintenance
+    private static final class RoomNights {
+        private final long[] words;
+        private final long[] blocked;
+        private final int nights;
+        private final List<Stay> stays = new ArrayList<>(2);
+
+        private RoomNights(int nights) {
+            this.nights = nights;
+            this.words = new long[(nights + 63) >>> 6];
+            this.blocked = new long[words.length];
+        }
+
+        private void mark(Stay stay, long origin) {
+            long[] words = stay.maintenance ? blocked : this.words;
+            int from = (int) Math.max(0, stay.checkIn - origin);
+            int to = (int) Math.min(nights, stay.checkOut - origin);
+            for (int night = from; night < to; ) {
+                int word = night >>> 6;
+                int end = Math.min(to, (word + 1) << 6);
+                words[word] |= mask(night, end);
+                night = end;
+            }
+        }
+
+        private boolean anyBooked(int from, int to) {
+            for (int night = from; night < to; ) {
+                int word = night >>> 6;
+                int end = Math.min(to, (word + 1) << 6);
+                if (((words[word] | blocked[word]) & mask(night, end)) != 0) {
+                    return true;
+                }
+                night = end;
+            }
+            return false;
+        }
+
+        private boolean isSet(long[] bits, int night) {
+            return night >= 0 && night < nights && (bits[night >>> 6] & (1L << (night & 63))) != 0;
+        }
+
+        private void clear() {
+            Arrays.fill(words, 0L);
+            Arrays.fill(blocked, 0L);
+        }
+
+        // Bits from..end-1 of the word holding night from; end is at most the start of the next word
+        private static long mask(int from, int end) {
+            int bits = end - from;
+            long ones = bits == 64 ? -1L : (1L << bits) - 1;
+            return ones << (from & 63);
+        }
+    }
+}
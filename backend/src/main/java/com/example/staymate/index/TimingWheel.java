@@ -0,0 +1,112 @@
+package com.example.staymate.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed timing wheel of keys with a deadline. The wheel is a ring of buckets,
+ * one per tick; a key goes into the bucket of its deadline tick modulo the ring
+ * size, in a doubly linked list, so scheduling, rescheduling and cancelling are
+ * O(1). Advancing the wheel only visits the buckets of the ticks that passed, and
+ * in each of them the keys whose deadline is more than a rotation away are kept.
+ */
+public class TimingWheel<K> {
+
+    private final long tickMillis;
+    private final Entry<K>[] buckets;
+    private final int mask;
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+    private long currentTick; // Last tick that has been processed
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int ticksPerWheel, long startMillis) {
+        if (tickMillis <= 0 || ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("Tick length and wheel size must be positive");
+        }
+        int size = Integer.highestOneBit(ticksPerWheel - 1 | 1) << 1; // Power of two for masking
+        this.tickMillis = tickMillis;
+        this.buckets = new Entry[size];
+        this.mask = size - 1;
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    // Schedule the key, replacing its previous deadline if it had one
+    public synchronized void schedule(K key, long deadlineMillis) {
+        unlink(entries.remove(key));
+        // A deadline already passed fires on the next tick
+        long tick = Math.max(currentTick + 1, (deadlineMillis + tickMillis - 1) / tickMillis);
+        Entry<K> entry = new Entry<>(key, tick);
+        int bucket = (int) (tick & mask);
+        entry.next = buckets[bucket];
+        if (entry.next != null) {
+            entry.next.previous = entry;
+        }
+        buckets[bucket] = entry;
+        entries.put(key, entry);
+    }
+
+    public synchronized boolean cancel(K key) {
+        Entry<K> entry = entries.remove(key);
+        unlink(entry);
+        return entry != null;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Move the wheel to the given time and return the keys whose deadline has passed
+    public synchronized List<K> advance(long nowMillis) {
+        List<K> expired = new ArrayList<>();
+        long nowTick = nowMillis / tickMillis;
+        if (nowTick <= currentTick) {
+            return expired;
+        }
+        // After a pause longer than a rotation every bucket is due once
+        long from = Math.max(currentTick + 1, nowTick - buckets.length + 1);
+        for (long tick = from; tick <= nowTick; tick++) {
+            Entry<K> entry = buckets[(int) (tick & mask)];
+            while (entry != null) {
+                Entry<K> next = entry.next;
+                if (entry.deadlineTick <= nowTick) {
+                    entries.remove(entry.key);
+                    unlink(entry);
+                    expired.add(entry.key);
+                }
+                entry = next;
+            }
+        }
+        currentTick = nowTick;
+        return expired;
+    }
+
+    private void unlink(Entry<K> entry) {
+        if (entry == null) {
+            return;
+        }
+        if (entry.previous != null) {
+            entry.previous.next = entry.next;
+        } else {
+            buckets[(int) (entry.deadlineTick & mask)] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.previous = entry.previous;
+        }
+        entry.previous = null;
+        entry.next = null;
+    }
+
+    private static final class Entry<K> {
+        private final K key;
+        private final long deadlineTick;
+        private Entry<K> previous;
+        private Entry<K> next;
+
+        private Entry(K key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.staymate.index;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import org.springframework.stereotype.Component;
+
+import com.example.staymate.entity.enums.RoomType;
+import com.example.staymate.entity.waitlist.WaitlistEntry;
+
+/**
+ * Waiting guests by hotel and room type, each set sorted by check-in date. The
+ * waiters whose stay fits in nights freed by a cancellation all check in within
+ * those nights, so they are found with a range lookup on the set, O(log n) plus
+ * the waiters in range, without looking at the rest of the waitlist.
+ */
+@Component
+public class WaitlistIndex {
+
+    private static final Comparator<Waiter> BY_CHECK_IN = Comparator.<Waiter>comparingLong(waiter -> waiter.checkIn)
+            .thenComparingLong(waiter -> waiter.entryId);
+
+    private final Map<Long, Map<RoomType, NavigableSet<Waiter>>> waitersByHotelId = new HashMap<>();
+    private final Map<Long, Waiter> waitersByEntryId = new HashMap<>();
+
+    // Replace the whole index content with the given waiting entries
+    public synchronized void rebuild(Iterable<WaitlistEntry> entries) {
+        waitersByHotelId.clear();
+        waitersByEntryId.clear();
+        for (WaitlistEntry entry : entries) {
+            insert(new Waiter(entry.getId(), entry.getHotelId(), entry.getRoomType(),
+                    entry.getCheckInDate().toEpochDay(), entry.getCheckOutDate().toEpochDay()));
+        }
+    }
+
+    public synchronized void add(Long entryId, Long hotelId, RoomType roomType, LocalDate checkInDate,
+            LocalDate checkOutDate) {
+        delete(entryId);
+        insert(new Waiter(entryId, hotelId, roomType, checkInDate.toEpochDay(), checkOutDate.toEpochDay()));
+    }
+
+    public synchronized boolean remove(Long entryId) {
+        return delete(entryId);
+    }
+
+    public synchronized int size() {
+        return waitersByEntryId.size();
+    }
+
+    // Remove and return the waiters whose stay fits in the nights from `from` up to `to`,
+    // longest waiting first. A waiter overlapping the stay of one taken before is left
+    // waiting, so the returned stays can all be held in the same room.
+    public synchronized List<Long> claim(Long hotelId, RoomType roomType, LocalDate from, LocalDate to) {
+        NavigableSet<Waiter> waiters = waitersByHotelId.getOrDefault(hotelId, Map.of()).get(roomType);
+        if (waiters == null) {
+            return List.of();
+        }
+        long start = from.toEpochDay();
+        long end = to.toEpochDay();
+        List<Waiter> fitting = new ArrayList<>();
+        for (Waiter waiter : waiters.subSet(new Waiter(Long.MIN_VALUE, hotelId, roomType, start, start), true,
+                new Waiter(Long.MIN_VALUE, hotelId, roomType, end, end), false)) {
+            if (waiter.checkOut <= end) {
+                fitting.add(waiter);
+            }
+        }
+        fitting.sort(Comparator.comparingLong(waiter -> waiter.entryId));
+
+        List<Waiter> claimed = new ArrayList<>();
+        for (Waiter waiter : fitting) {
+            boolean overlaps = claimed.stream()
+                    .anyMatch(other -> other.checkIn < waiter.checkOut && waiter.checkIn < other.checkOut);
+            if (!overlaps) {
+                claimed.add(waiter);
+            }
+        }
+        List<Long> entryIds = new ArrayList<>();
+        for (Waiter waiter : claimed) {
+            delete(waiter.entryId);
+            entryIds.add(waiter.entryId);
+        }
+        return entryIds;
+    }
+
+    private void insert(Waiter waiter) {
+        waitersByHotelId.computeIfAbsent(waiter.hotelId, id -> new EnumMap<>(RoomType.class))
+                .computeIfAbsent(waiter.roomType, type -> new TreeSet<>(BY_CHECK_IN))
+                .add(waiter);
+        waitersByEntryId.put(waiter.entryId, waiter);
+    }
+
+    private boolean delete(Long entryId) {
+        Waiter waiter = waitersByEntryId.remove(entryId);
+        if (waiter == null) {
+            return false;
+        }
+        Map<RoomType, NavigableSet<Waiter>> types = waitersByHotelId.get(waiter.hotelId);
+        NavigableSet<Waiter> waiters = types.get(waiter.roomType);
+        waiters.remove(waiter);
+        if (waiters.isEmpty()) {
+            types.remove(waiter.roomType);
+            if (types.isEmpty()) {
+                waitersByHotelId.remove(waiter.hotelId);
+            }
+        }
+        return true;
+    }
+
+    private static final class Waiter {
+        private final long entryId;
+        private final Long hotelId;
+        private final RoomType roomType;
+        private final long checkIn; // Epoch days; the check-out night is not needed
+        private final long checkOut;
+
+        private Waiter(long entryId, Long hotelId, RoomType roomType, long checkIn, long checkOut) {
+            this.entryId = entryId;
+            this.hotelId = hotelId;
+            this.roomType = roomType;
+            this.checkIn = checkIn;
+            this.checkOut = checkOut;
+        }
+    }
+}
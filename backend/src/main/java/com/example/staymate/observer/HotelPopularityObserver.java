@@ -0,0 +1,42 @@
+package com.example.staymate.observer;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.example.staymate.entity.booking.Booking;
+import com.example.staymate.index.HotelAutocompleteIndex;
+
+// Counts new bookings towards the popularity used to rank autocomplete suggestions
+@Component
+public class HotelPopularityObserver implements Observer {
+
+    @Autowired
+    private HotelAutocompleteIndex hotelAutocompleteIndex;
+
+    public HotelPopularityObserver(HotelAutocompleteIndex hotelAutocompleteIndex) {
+        this.hotelAutocompleteIndex = hotelAutocompleteIndex;
+    }
+
+    @Override
+    public void update(Map<String, Object> data) {
+        if (!"created".equals(data.get("event"))) {
+            return;
+        }
+        if (data.get("bookings") != null) {
+            for (Object booking : (List<?>) data.get("bookings")) {
+                record((Booking) booking);
+            }
+        } else {
+            record((Booking) data.get("booking"));
+        }
+    }
+
+    private void record(Booking booking) {
+        if (booking != null && booking.getRoom() != null) {
+            hotelAutocompleteIndex.recordBooking(booking.getRoom().getId().getHotelId());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.staymate.observer;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.staymate.entity.booking.Booking;
+import com.example.staymate.entity.enums.BookingStatus;
+import com.example.staymate.index.RoomAvailabilityIndex;
+
+// Keeps the room availability index in line with created, confirmed and cancelled bookings
+@Component
+public class RoomAvailabilityObserver implements Observer {
+
+    @Autowired
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    public RoomAvailabilityObserver(RoomAvailabilityIndex roomAvailabilityIndex) {
+        this.roomAvailabilityIndex = roomAvailabilityIndex;
+    }
+
+    @Override
+    public void update(Map<String, Object> data) {
+        List<Booking> bookings = bookings(data);
+        if (bookings.isEmpty()) {
+            return;
+        }
+        // Within a transaction, only apply the change once it is committed
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bookings.forEach(RoomAvailabilityObserver.this::apply);
+                }
+            });
+        } else {
+            bookings.forEach(this::apply);
+        }
+    }
+
+    // The booking of the event, or the bookings of a batch booking
+    @SuppressWarnings("unchecked")
+    private static List<Booking> bookings(Map<String, Object> data) {
+        if (data.get("bookings") != null) {
+            return (List<Booking>) data.get("bookings");
+        }
+        Booking booking = (Booking) data.get("booking");
+        return booking == null ? List.of() : List.of(booking);
+    }
+
+    private void apply(Booking booking) {
+        if (booking.getStatus() == BookingStatus.CANCELLED || booking.getRoom() == null) {
+            roomAvailabilityIndex.remove(booking.getId());
+        } else {
+            roomAvailabilityIndex.put(booking.getId(), booking.getRoom().getHotelId(), booking.getRoom().getRoomId(),
+                    booking.getCheckInDate(), booking.getCheckOutDate());
+        }
+    }
+}
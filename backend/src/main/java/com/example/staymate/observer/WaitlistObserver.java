@@ -0,0 +1,54 @@
+package com.example.staymate.observer;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.staymate.entity.booking.Booking;
+import com.example.staymate.entity.enums.BookingStatus;
+import com.example.staymate.service.BookingService;
+import com.example.staymate.service.WaitlistService;
+
+// Offers the nights of cancelled bookings to the waitlist once the cancellation is committed
+@Component
+public class WaitlistObserver implements Observer {
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    // Registers itself with the booking service: offering a room books it through the
+    // booking service, so the booking service cannot be given this observer to add
+    public WaitlistObserver(WaitlistService waitlistService, BookingService bookingService) {
+        this.waitlistService = waitlistService;
+        bookingService.addObserver(this);
+    }
+
+    @Override
+    public void update(Map<String, Object> data) {
+        if ("created".equals(data.get("event"))) {
+            return;
+        }
+        Booking booking = (Booking) data.get("booking");
+        if (booking == null || booking.getStatus() != BookingStatus.CANCELLED || booking.getRoom() == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(booking);
+                }
+            });
+        } else {
+            offer(booking);
+        }
+    }
+
+    private void offer(Booking booking) {
+        waitlistService.offerAsync(booking.getRoom().getHotelId(), booking.getRoom().getRoomId(),
+                booking.getRoom().getRoomType(), booking.getCheckInDate(), booking.getCheckOutDate());
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.staymate.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.staymate.dto.booking.BookingExportRow;
+import com.example.staymate.dto.hotel.HotelBookingCount;
+import com.example.staymate.dto.user.UserBookingResponseDTO;
+import com.example.staymate.entity.booking.ArchivedBooking;
+
+import jakarta.persistence.QueryHint;
+
+// Read side of the booking archive; rows are only written by BookingArchiveService
+@Repository
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+
+        // Keyset pages of a user's archived bookings, in the same order as BookingRepository.findUserBookingPage
+        @Query("SELECT new com.example.staymate.dto.user.UserBookingResponseDTO(a.id, r.id.hotelId, r.id.roomId, " +
+                        "a.checkInDate, a.checkOutDate, r.roomType, a.status) " +
+                        "FROM ArchivedBooking a JOIN a.room r WHERE a.userId = :userId " +
+                        "ORDER BY a.checkInDate DESC, a.id DESC")
+        List<UserBookingResponseDTO> findUserBookingPage(@Param("userId") Long userId, Limit limit);
+
+        @Query("SELECT new com.example.staymate.dto.user.UserBookingResponseDTO(a.id, r.id.hotelId, r.id.roomId, " +
+                        "a.checkInDate, a.checkOutDate, r.roomType, a.status) " +
+                        "FROM ArchivedBooking a JOIN a.room r WHERE a.userId = :userId " +
+                        "AND (a.checkInDate < :checkInDate OR (a.checkInDate = :checkInDate AND a.id < :id)) " +
+                        "ORDER BY a.checkInDate DESC, a.id DESC")
+        List<UserBookingResponseDTO> findUserBookingPageAfter(@Param("userId") Long userId,
+                        @Param("checkInDate") LocalDate checkInDate, @Param("id") Long id, Limit limit);
+
+        // Archived bookings to export, with the same filters as BookingRepository.streamBookingExport
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = BookingRepository.EXPORT_FETCH_SIZE))
+        @Query("SELECT new com.example.staymate.dto.booking.BookingExportRow(a.id, r.id.hotelId, r.id.roomId, " +
+                        "a.userId, r.roomType, a.status, a.bookingDate, a.checkInDate, a.checkOutDate, " +
+                        "a.totalAmount, a.holdExpiresAt) FROM ArchivedBooking a JOIN a.room r " +
+                        "WHERE (:hotelId IS NULL OR r.id.hotelId = :hotelId) " +
+                        "AND (:from IS NULL OR a.checkInDate >= :from) AND (:to IS NULL OR a.checkInDate <= :to) " +
+                        "ORDER BY a.id")
+        Stream<BookingExportRow> streamBookingExport(@Param("hotelId") Long hotelId,
+                        @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+        // Archived booking count per hotel, added to the live counts for hotel popularity
+        @Query("SELECT a.room.id.hotelId AS hotelId, COUNT(a) AS bookings FROM ArchivedBooking a " +
+                        "GROUP BY a.room.id.hotelId")
+        List<HotelBookingCount> countBookingsPerHotel();
+}
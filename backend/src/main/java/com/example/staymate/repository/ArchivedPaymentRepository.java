@@ -0,0 +1,33 @@
+package com.example.staymate.repository;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.staymate.dto.payment.PaymentExportRow;
+import com.example.staymate.entity.payment.ArchivedPayment;
+
+import jakarta.persistence.QueryHint;
+
+// Read side of the payment archive; rows are only written by BookingArchiveService
+@Repository
+public interface ArchivedPaymentRepository extends JpaRepository<ArchivedPayment, Long> {
+
+    // Archived payments to export, with the same filters as PaymentRepository.streamPaymentExport
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = BookingRepository.EXPORT_FETCH_SIZE))
+    @Query("SELECT new com.example.staymate.dto.payment.PaymentExportRow(p.id, p.bookingId, b.room.id.hotelId, " +
+            "p.paymentMethod, p.amount, p.status, p.transactionDate) " +
+            "FROM ArchivedPayment p LEFT JOIN ArchivedBooking b ON b.id = p.bookingId " +
+            "WHERE (:hotelId IS NULL OR b.room.id.hotelId = :hotelId) " +
+            "AND (:from IS NULL OR p.transactionDate >= :from) AND (:to IS NULL OR p.transactionDate < :to) " +
+            "ORDER BY p.id")
+    Stream<PaymentExportRow> streamPaymentExport(@Param("hotelId") Long hotelId,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -1,29 +1,146 @@
 package com.example.staymate.repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.staymate.dto.booking.BookingExportRow;
+import com.example.staymate.dto.booking.BookingHold;
+import com.example.staymate.dto.booking.BookingResponseDTO;
+import com.example.staymate.dto.booking.BookingStay;
+import com.example.staymate.dto.booking.RoomTypeStay;
+import com.example.staymate.dto.hotel.HotelBookingCount;
+import com.example.staymate.dto.user.UserBookingResponseDTO;
 import com.example.staymate.entity.booking.Booking;
+import com.example.staymate.entity.enums.BookingStatus;
+import com.example.staymate.entity.room.RoomId;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+        // Rows fetched per round trip by the export streams
+        String EXPORT_FETCH_SIZE = "500";
+
         // Find bookings by user ID
         public List<Booking> findBookingsByUserId(Long userId);
 
         @Query("SELECT b FROM Booking b WHERE b.room.id.hotelId = :hotelId")
         List<Booking> findBookingsByHotelId(@Param("hotelId") Long hotelId);
 
+        // Listing rows of a hotel's bookings read in a single statement, with the room type
+        // taken from the room's discriminator column instead of loading rooms and users per booking
+        @Query("SELECT new com.example.staymate.dto.booking.BookingResponseDTO(b.id, r.id.hotelId, r.id.roomId, " +
+                        "u.firstName, u.lastName, u.email, u.phoneNumber, b.checkInDate, b.checkOutDate, " +
+                        "r.roomType, b.status, b.totalAmount, b.holdExpiresAt) " +
+                        "FROM Booking b JOIN b.room r LEFT JOIN b.user u WHERE r.id.hotelId = :hotelId ORDER BY b.id")
+        List<BookingResponseDTO> findBookingResponsesByHotelId(@Param("hotelId") Long hotelId);
+
+        // Keyset pages of a user's bookings, latest check-in first, read in a single statement along
+        // idx_booking_user_check_in. The After variant starts after the (check-in, ID) of a cursor
+        @Query("SELECT new com.example.staymate.dto.user.UserBookingResponseDTO(b.id, r.id.hotelId, r.id.roomId, " +
+                        "b.checkInDate, b.checkOutDate, r.roomType, b.status) " +
+                        "FROM Booking b JOIN b.room r WHERE b.user.id = :userId " +
+                        "ORDER BY b.checkInDate DESC, b.id DESC")
+        List<UserBookingResponseDTO> findUserBookingPage(@Param("userId") Long userId, Limit limit);
+
+        @Query("SELECT new com.example.staymate.dto.user.UserBookingResponseDTO(b.id, r.id.hotelId, r.id.roomId, " +
+                        "b.checkInDate, b.checkOutDate, r.roomType, b.status) " +
+                        "FROM Booking b JOIN b.room r WHERE b.user.id = :userId " +
+                        "AND (b.checkInDate < :checkInDate OR (b.checkInDate = :checkInDate AND b.id < :id)) " +
+                        "ORDER BY b.checkInDate DESC, b.id DESC")
+        List<UserBookingResponseDTO> findUserBookingPageAfter(@Param("userId") Long userId,
+                        @Param("checkInDate") LocalDate checkInDate, @Param("id") Long id, Limit limit);
+
+        // Bookings to export, optionally of one hotel and checking in from..to (both included), read
+        // through a cursor EXPORT_FETCH_SIZE rows at a time. Must be consumed inside a transaction and closed
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+        @Query("SELECT new com.example.staymate.dto.booking.BookingExportRow(b.id, r.id.hotelId, r.id.roomId, " +
+                        "b.user.id, r.roomType, b.status, b.bookingDate, b.checkInDate, b.checkOutDate, " +
+                        "b.totalAmount, b.holdExpiresAt) FROM Booking b JOIN b.room r " +
+                        "WHERE (:hotelId IS NULL OR r.id.hotelId = :hotelId) " +
+                        "AND (:from IS NULL OR b.checkInDate >= :from) AND (:to IS NULL OR b.checkInDate <= :to) " +
+                        "ORDER BY b.id")
+        Stream<BookingExportRow> streamBookingExport(@Param("hotelId") Long hotelId,
+                        @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+        // Status as stored; pending changes to a managed booking are not flushed before reading it
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+        @Query("SELECT b.status FROM Booking b WHERE b.id = :id")
+        Optional<BookingStatus> findStoredStatus(@Param("id") Long id);
+
         @Query("SELECT b FROM Booking b WHERE b.room.id.hotelId = :hotelId AND b.room.id.roomId = :roomId " +
-                        "AND ((b.checkInDate < :checkOutDate AND b.checkOutDate > :checkInDate))")
+                        "AND b.status != 'CANCELLED' AND b.checkInDate < :checkOutDate AND b.checkOutDate > :checkInDate")
         List<Booking> findOverlappingBookings(
                         @Param("hotelId") Long hotelId,
                         @Param("roomId") Long roomId,
                         @Param("checkInDate") LocalDate checkInDate,
                         @Param("checkOutDate") LocalDate checkOutDate);
 
+        // Booking count per hotel, used as hotel popularity
+        @Query("SELECT b.room.id.hotelId AS hotelId, COUNT(b) AS bookings FROM Booking b GROUP BY b.room.id.hotelId")
+        List<HotelBookingCount> countBookingsPerHotel();
+
+        // Rooms and nights of the bookings still holding a room after the given date,
+        // used to (re)build the room availability index
+        @Query("SELECT b.id AS id, b.room.id.hotelId AS hotelId, b.room.id.roomId AS roomId, " +
+                        "b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate FROM Booking b " +
+                        "WHERE b.status != 'CANCELLED' AND b.checkOutDate > :date")
+        List<BookingStay> findActiveStaysEndingAfter(@Param("date") LocalDate date);
+
+        // Rooms of the given hotels held by a booking for at least one night of the stay
+        @Query("SELECT DISTINCT b.room.id FROM Booking b WHERE b.room.id.hotelId IN :hotelIds " +
+                        "AND b.status != 'CANCELLED' AND b.checkInDate < :checkOutDate AND b.checkOutDate > :checkInDate")
+        List<RoomId> findBookedRooms(@Param("hotelIds") Collection<Long> hotelIds,
+                        @Param("checkInDate") LocalDate checkInDate, @Param("checkOutDate") LocalDate checkOutDate);
+
+        // Room types and nights of a hotel's bookings holding a room for at least one night
+        // between from and to (exclusive)
+        @Query("SELECT b.room.roomType AS roomType, b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate " +
+                        "FROM Booking b WHERE b.room.id.hotelId = :hotelId AND b.status != 'CANCELLED' " +
+                        "AND b.checkInDate < :to AND b.checkOutDate > :from")
+        List<RoomTypeStay> findRoomTypeStaysBetween(@Param("hotelId") Long hotelId, @Param("from") LocalDate from,
+                        @Param("to") LocalDate to);
+
+        // Pending bookings still holding a room, to schedule their expiry after a restart
+        @Query("SELECT b.id AS id, b.holdExpiresAt AS holdExpiresAt FROM Booking b " +
+                        "WHERE b.status = 'PENDING' AND b.holdExpiresAt IS NOT NULL")
+        List<BookingHold> findActiveHolds();
+
+        // The given bookings whose hold has run out, locked so they cannot be confirmed
+        // while they are being cancelled
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT b FROM Booking b WHERE b.id IN :ids AND b.status = 'PENDING' " +
+                        "AND b.holdExpiresAt IS NOT NULL AND b.holdExpiresAt <= :now")
+        List<Booking> findExpiredHolds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("UPDATE Booking b SET b.status = 'CANCELLED', b.holdExpiresAt = NULL WHERE b.id IN :ids")
+        int cancelAll(@Param("ids") Collection<Long> ids);
+
+        // Pending bookings made before holds expired have no hold expiry
+        @Modifying
+        @Query("UPDATE Booking b SET b.holdExpiresAt = :holdExpiresAt WHERE b.status = 'PENDING' " +
+                        "AND b.holdExpiresAt IS NULL")
+        int setMissingHoldExpiry(@Param("holdExpiresAt") LocalDateTime holdExpiresAt);
+
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT b FROM Booking b WHERE b.id = :id")
+        Optional<Booking> findByIdForUpdate(@Param("id") Long id);
+
 }
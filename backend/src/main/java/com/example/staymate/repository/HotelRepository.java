@@ -2,13 +2,43 @@ package com.example.staymate.repository;
 
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.staymate.dto.custom.VersionStamp;
+import com.example.staymate.dto.hotel.HotelLocation;
+import com.example.staymate.dto.hotel.HotelSummary;
+import com.example.staymate.dto.hotel.HotelText;
 import com.example.staymate.entity.hotel.Hotel;
 
 @Repository
 public interface HotelRepository extends JpaRepository<Hotel, Long> {
 
     List<Hotel> findByNameContaining(String name);
-}
\ No newline at end of file
+
+    // Coordinates only, used to (re)build the spatial index without loading images
+    @Query("SELECT h.id AS id, h.latitude AS latitude, h.longitude AS longitude FROM Hotel h")
+    List<HotelLocation> findAllLocations();
+
+    // Searchable text only, used to (re)build the text index
+    @Query("SELECT h.id AS id, h.name AS name, h.address AS address, h.description AS description FROM Hotel h")
+    List<HotelText> findAllTexts();
+
+    // One page of hotel summaries ordered by ID, starting after the given ID. Room and
+    // review figures come from correlated subqueries so no entity or image is loaded.
+    @Query("SELECT new com.example.staymate.dto.hotel.HotelSummary(h.id, h.name, h.address, h.latitude, h.longitude, "
+            + "h.imageHash, "
+            + "(SELECT MIN(r.pricePerNight) FROM Room r WHERE r.id.hotelId = h.id), "
+            + "(SELECT COUNT(r) FROM Room r WHERE r.id.hotelId = h.id), "
+            + "(SELECT AVG(rv.rating) FROM Review rv WHERE rv.hotel.id = h.id)) "
+            + "FROM Hotel h WHERE h.id > :afterId ORDER BY h.id")
+    List<HotelSummary> findSummariesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Version of a single hotel row; empty when the hotel does not exist
+    @Query("SELECT new com.example.staymate.dto.custom.VersionStamp(COUNT(h), SUM(h.version), MAX(h.updatedAt)) "
+            + "FROM Hotel h WHERE h.id = :id")
+    VersionStamp findVersionStamp(@Param("id") Long id);
+}
@@ -0,0 +1,55 @@
+package com.example.staymate.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.staymate.dto.booking.RoomTypeStay;
+import com.example.staymate.entity.room.MaintenanceBlock;
+import com.example.staymate.entity.room.RoomId;
+
+@Repository
+public interface MaintenanceBlockRepository extends JpaRepository<MaintenanceBlock, Long> {
+
+    // Blocks still taking rooms out of service on or after the date
+    @Query("SELECT m FROM MaintenanceBlock m WHERE m.endDate > :date")
+    List<MaintenanceBlock> findActiveBlocksEndingAfter(@Param("date") LocalDate date);
+
+    // Whether the room is under maintenance for at least one night of the stay
+    @Query("SELECT COUNT(m) > 0 FROM MaintenanceBlock m WHERE m.hotelId = :hotelId AND m.roomId = :roomId "
+            + "AND m.startDate < :checkOutDate AND m.endDate > :checkInDate")
+    boolean existsOverlapping(@Param("hotelId") Long hotelId, @Param("roomId") Long roomId,
+            @Param("checkInDate") LocalDate checkInDate, @Param("checkOutDate") LocalDate checkOutDate);
+
+    // Rooms of the given hotels under maintenance for at least one night of the stay
+    @Query("SELECT DISTINCT new com.example.staymate.entity.room.RoomId(m.hotelId, m.roomId) "
+            + "FROM MaintenanceBlock m WHERE m.hotelId IN :hotelIds "
+            + "AND m.startDate < :checkOutDate AND m.endDate > :checkInDate")
+    List<RoomId> findBlockedRooms(@Param("hotelIds") Collection<Long> hotelIds,
+            @Param("checkInDate") LocalDate checkInDate, @Param("checkOutDate") LocalDate checkOutDate);
+
+    // Blocks of the given hotels covering at least one night from start up to end
+    @Query("SELECT m FROM MaintenanceBlock m WHERE m.hotelId IN :hotelIds "
+            + "AND m.startDate < :end AND m.endDate > :start")
+    List<MaintenanceBlock> findBlocksBetween(@Param("hotelIds") Collection<Long> hotelIds,
+            @Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    // Blocks of a hotel covering at least one night from start up to end
+    @Query("SELECT m FROM MaintenanceBlock m WHERE m.hotelId = :hotelId "
+            + "AND m.startDate < :end AND m.endDate > :start")
+    List<MaintenanceBlock> findHotelBlocksBetween(@Param("hotelId") Long hotelId, @Param("start") LocalDate start,
+            @Param("end") LocalDate end);
+
+    // Room types and nights of a hotel's blocks covering at least one night between from
+    // and to (exclusive), the block's start and end standing for check-in and check-out
+    @Query("SELECT r.roomType AS roomType, m.startDate AS checkInDate, m.endDate AS checkOutDate "
+            + "FROM MaintenanceBlock m, Room r WHERE r.id.hotelId = m.hotelId AND r.id.roomId = m.roomId "
+            + "AND m.hotelId = :hotelId AND m.startDate < :to AND m.endDate > :from")
+    List<RoomTypeStay> findRoomTypeBlocksBetween(@Param("hotelId") Long hotelId, @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+}
@@ -1,10 +1,15 @@
 package com.example.staymate.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.staymate.dto.notification.NotificationResponseDTO;
 import com.example.staymate.entity.enums.NotificationType;
 import com.example.staymate.entity.notification.Notification;
 
@@ -16,4 +21,18 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 
     List<Notification> findByUserIdAndType(Long userId, NotificationType type);
 
+    // Keyset pages of a user's notifications, newest first, along idx_notification_user_created.
+    // The After variant starts after the (creation time, ID) of a cursor
+    @Query("SELECT new com.example.staymate.dto.notification.NotificationResponseDTO(n.id, n.user.id, n.message, "
+            + "n.type, n.isRead, n.createdAt) FROM Notification n WHERE n.user.id = :userId "
+            + "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationResponseDTO> findUserNotificationPage(@Param("userId") Long userId, Limit limit);
+
+    @Query("SELECT new com.example.staymate.dto.notification.NotificationResponseDTO(n.id, n.user.id, n.message, "
+            + "n.type, n.isRead, n.createdAt) FROM Notification n WHERE n.user.id = :userId "
+            + "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) "
+            + "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationResponseDTO> findUserNotificationPageAfter(@Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
 }
@@ -1,16 +1,28 @@
 
 package com.example.staymate.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.staymate.dto.payment.PaymentExportRow;
+import com.example.staymate.dto.payment.PaymentIdResponseDTO;
 import com.example.staymate.entity.payment.Payment;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     // Find payments by booking ID
@@ -20,4 +32,36 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     Optional<Double> findTotalPaidAmountByBookingId(@Param("bookingId") Long bookingId);
 
     List<Payment> findAll();
+
+    // Keyset pages of the payments for a user's bookings, latest first, read along
+    // idx_payment_user_date. The After variant starts after the (transaction date, ID) of a cursor
+    @Query("SELECT new com.example.staymate.dto.payment.PaymentIdResponseDTO(p.id, p.booking.id, p.userId, " +
+            "p.amount, p.status, p.transactionDate) FROM Payment p WHERE p.userId = :userId " +
+            "ORDER BY p.transactionDate DESC, p.id DESC")
+    List<PaymentIdResponseDTO> findUserPaymentPage(@Param("userId") Long userId, Limit limit);
+
+    @Query("SELECT new com.example.staymate.dto.payment.PaymentIdResponseDTO(p.id, p.booking.id, p.userId, " +
+            "p.amount, p.status, p.transactionDate) FROM Payment p WHERE p.userId = :userId " +
+            "AND (p.transactionDate < :transactionDate OR (p.transactionDate = :transactionDate AND p.id < :id)) " +
+            "ORDER BY p.transactionDate DESC, p.id DESC")
+    List<PaymentIdResponseDTO> findUserPaymentPageAfter(@Param("userId") Long userId,
+            @Param("transactionDate") LocalDateTime transactionDate, @Param("id") Long id, Limit limit);
+
+    // Copy the user of the booking onto payments made before payments had a user column
+    @Transactional
+    @Modifying
+    @Query("UPDATE Payment p SET p.userId = (SELECT b.user.id FROM Booking b WHERE b = p.booking) " +
+            "WHERE p.userId IS NULL AND p.booking IS NOT NULL")
+    int setMissingUserIds();
+
+    // Payments to export, optionally of one hotel's bookings and made in [from, to), read through a
+    // cursor BookingRepository.EXPORT_FETCH_SIZE rows at a time. Must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = BookingRepository.EXPORT_FETCH_SIZE))
+    @Query("SELECT new com.example.staymate.dto.payment.PaymentExportRow(p.id, b.id, b.room.id.hotelId, " +
+            "p.paymentMethod, p.amount, p.status, p.transactionDate) FROM Payment p LEFT JOIN p.booking b " +
+            "WHERE (:hotelId IS NULL OR b.room.id.hotelId = :hotelId) " +
+            "AND (:from IS NULL OR p.transactionDate >= :from) AND (:to IS NULL OR p.transactionDate < :to) " +
+            "ORDER BY p.id")
+    Stream<PaymentExportRow> streamPaymentExport(@Param("hotelId") Long hotelId,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,17 @@
+package com.example.staymate.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.staymate.entity.rate.RateRule;
+
+@Repository
+public interface RateRuleRepository extends JpaRepository<RateRule, Long> {
+
+    List<RateRule> findByHotelId(Long hotelId);
+
+    List<RateRule> findByHotelIdIn(Collection<Long> hotelIds);
+}
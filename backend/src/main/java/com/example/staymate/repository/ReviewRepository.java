@@ -2,9 +2,14 @@ package com.example.staymate.repository;
 
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.staymate.dto.custom.VersionStamp;
+import com.example.staymate.dto.review.ReviewDTO;
 import com.example.staymate.entity.Review.Review;
 import com.example.staymate.entity.hotel.Hotel;
 import com.example.staymate.entity.user.User;
@@ -19,4 +24,18 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
 
     // Find reviews by hotel and user
     List<Review> findByHotelAndUser(Hotel hotel, User user);
+
+    // Keyset pages of all reviews, newest first by ID. The After variant starts after a cursor's ID
+    @Query("SELECT new com.example.staymate.dto.review.ReviewDTO(r.id, r.hotel.id, r.user.id, r.comment, "
+            + "r.createdAt, r.rating) FROM Review r ORDER BY r.id DESC")
+    List<ReviewDTO> findReviewPage(Limit limit);
+
+    @Query("SELECT new com.example.staymate.dto.review.ReviewDTO(r.id, r.hotel.id, r.user.id, r.comment, "
+            + "r.createdAt, r.rating) FROM Review r WHERE r.id < :id ORDER BY r.id DESC")
+    List<ReviewDTO> findReviewPageAfter(@Param("id") Long id, Limit limit);
+
+    // Versions of all reviews of a hotel, for conditional GETs without loading the reviews
+    @Query("SELECT new com.example.staymate.dto.custom.VersionStamp(COUNT(r), SUM(r.version), MAX(r.updatedAt)) "
+            + "FROM Review r WHERE r.hotel.id = :hotelId")
+    VersionStamp findVersionStampByHotelId(@Param("hotelId") Long hotelId);
 }
@@ -1,6 +1,7 @@
 package com.example.staymate.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,6 +9,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.staymate.dto.custom.VersionStamp;
+import com.example.staymate.dto.room.RoomOffer;
+import com.example.staymate.dto.room.RoomTypeCount;
 import com.example.staymate.entity.room.Room;
 import com.example.staymate.entity.room.RoomId;
 
@@ -17,6 +21,26 @@ public interface RoomRepository extends JpaRepository<Room, RoomId> {
     @Query("SELECT r FROM Room r WHERE r.id.hotelId = :hotelId")
     List<Room> findByHotelId(@Param("hotelId") Long hotelId);
 
+    @Query("SELECT r FROM Room r WHERE r.id.hotelId IN :hotelIds")
+    List<Room> findByHotelIdIn(@Param("hotelIds") Collection<Long> hotelIds);
+
+    // Versions of all rooms of a hotel, for conditional GETs without loading the rooms
+    @Query("SELECT new com.example.staymate.dto.custom.VersionStamp(COUNT(r), SUM(r.version), MAX(r.updatedAt)) "
+            + "FROM Room r WHERE r.id.hotelId = :hotelId")
+    VersionStamp findVersionStampByHotelId(@Param("hotelId") Long hotelId);
+
+    // Rooms of the given hotels fitting the guests and price range, cheapest first
+    @Query("SELECT r.id.hotelId AS hotelId, r.id.roomId AS roomId, r.pricePerNight AS pricePerNight, "
+            + "r.maxOccupancy AS maxOccupancy FROM Room r "
+            + "WHERE r.id.hotelId IN :hotelIds AND r.maxOccupancy >= :guests "
+            + "AND r.pricePerNight BETWEEN :minPrice AND :maxPrice ORDER BY r.pricePerNight")
+    List<RoomOffer> findOffersInHotels(@Param("hotelIds") Collection<Long> hotelIds, @Param("guests") int guests,
+            @Param("minPrice") double minPrice, @Param("maxPrice") double maxPrice);
+
+    // Number of rooms of each type in a hotel
+    @Query("SELECT r.roomType AS roomType, COUNT(r) AS rooms FROM Room r WHERE r.id.hotelId = :hotelId "
+            + "GROUP BY r.roomType")
+    List<RoomTypeCount> countRoomsByType(@Param("hotelId") Long hotelId);
 
     @Query("""
         SELECT r FROM Room r 
@@ -29,6 +53,11 @@ public interface RoomRepository extends JpaRepository<Room, RoomId> {
                 :checkIn < b.checkOutDate AND :checkOut > b.checkInDate
             )
         )
+        AND r.id.roomId NOT IN (
+            SELECT m.roomId FROM MaintenanceBlock m
+            WHERE m.hotelId = :hotelId
+            AND :checkIn < m.endDate AND :checkOut > m.startDate
+        )
     """)
     List<Room> findAvailableRooms(@Param("hotelId") Long hotelId,
                                 @Param("checkIn") LocalDate checkIn,
@@ -4,8 +4,10 @@ package com.example.staymate.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.staymate.entity.enums.UserRole;
@@ -25,4 +27,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     @Query("SELECT u FROM User u WHERE u.isDeleted = false")
     List<User> findAllActiveUsers();
+
+    // Keyset pages of the active users by ID. The After variant starts after a cursor's ID
+    @Query("SELECT u FROM User u WHERE u.isDeleted = false ORDER BY u.id")
+    List<User> findActiveUserPage(Limit limit);
+
+    @Query("SELECT u FROM User u WHERE u.isDeleted = false AND u.id > :id ORDER BY u.id")
+    List<User> findActiveUserPageAfter(@Param("id") Long id, Limit limit);
 }
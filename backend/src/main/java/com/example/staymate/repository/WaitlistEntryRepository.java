@@ -0,0 +1,22 @@
+package com.example.staymate.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.staymate.entity.waitlist.WaitlistEntry;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    // Entries still waiting for a stay starting on or after the date
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.status = 'WAITING' AND w.checkInDate >= :date")
+    List<WaitlistEntry> findWaitingFrom(@Param("date") LocalDate date);
+
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.user.id = :userId ORDER BY w.createdAt DESC")
+    List<WaitlistEntry> findByUserId(@Param("userId") Long userId);
+}
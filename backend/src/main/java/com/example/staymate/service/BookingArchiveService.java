@@ -0,0 +1,139 @@
+package com.example.staymate.service;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Moves bookings that checked out long ago, with their payments, from the
+ * booking and payment tables into {@code booking_archive} and
+ * {@code payment_archive}, keeping their IDs. This keeps the tables and
+ * indexes used by live bookings small. Bookings are moved in chunks of
+ * consecutive IDs, each chunk copied and deleted in one transaction with
+ * set-based INSERT ... SELECT and DELETE statements, so a failed run leaves
+ * every booking in exactly one place and the next run carries on.
+ */
+@Service
+public class BookingArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingArchiveService.class);
+
+    // Old enough to archive; pending bookings are left to the hold expiry
+    private static final String ARCHIVABLE = "check_out_date < ? AND status <> 'PENDING'";
+
+    private static final String NEXT_CHUNK =
+            "SELECT id FROM booking WHERE id > ? AND " + ARCHIVABLE + " ORDER BY id LIMIT ?";
+    private static final String IN_CHUNK = "id >= ? AND id <= ? AND " + ARCHIVABLE;
+
+    private static final String ARCHIVE_PAYMENTS = "INSERT INTO payment_archive "
+            + "(id, booking_id, payment_method, amount, transaction_date, status, archived_at) "
+            + "SELECT id, booking_id, payment_method, amount, transaction_date, status, ? FROM payment "
+            + "WHERE booking_id IN (SELECT id FROM booking WHERE " + IN_CHUNK + ")";
+    private static final String ARCHIVE_BOOKINGS = "INSERT INTO booking_archive "
+            + "(id, user_id, hotel_id, room_id, check_in_date, check_out_date, total_amount, status, "
+            + "booking_date, hold_expires_at, archived_at) "
+            + "SELECT id, user_id, hotel_id, room_id, check_in_date, check_out_date, total_amount, status, "
+            + "booking_date, hold_expires_at, ? FROM booking WHERE " + IN_CHUNK;
+    private static final String DELETE_NIGHTS =
+            "DELETE FROM room_night WHERE booking_id IN (SELECT id FROM booking WHERE " + IN_CHUNK + ")";
+    private static final String DELETE_PAYMENTS =
+            "DELETE FROM payment WHERE booking_id IN (SELECT id FROM booking WHERE " + IN_CHUNK + ")";
+    private static final String DELETE_BOOKINGS = "DELETE FROM booking WHERE " + IN_CHUNK;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.bookings.archive.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.bookings.archive.min-age-days:365}")
+    private int minAgeDays = 365;
+
+    @Value("${app.bookings.archive.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${app.bookings.archive.interval-hours:24}")
+    private long intervalHours = 24;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "booking-archive");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (minAgeDays < 1 || chunkSize < 1) {
+            throw new IllegalStateException("Booking archive min-age-days and chunk-size must be at least 1");
+        }
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                int archived = archiveCheckedOutBefore(LocalDate.now().minusDays(minAgeDays));
+                if (archived > 0) {
+                    log.info("Archived {} bookings", archived);
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to archive bookings", e);
+            }
+        }, intervalHours, intervalHours, TimeUnit.HOURS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    // Archive every booking, other than pending ones, that checked out before the cutoff
+    // and return how many were moved
+    public int archiveCheckedOutBefore(LocalDate cutoff) {
+        Date checkOutBefore = Date.valueOf(cutoff);
+        int archived = 0;
+        long lastId = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(NEXT_CHUNK, Long.class, lastId, checkOutBefore, chunkSize);
+            if (ids.isEmpty()) {
+                return archived;
+            }
+            long first = ids.get(0);
+            long last = ids.get(ids.size() - 1);
+            Integer moved = transactionTemplate.execute(status -> archiveChunk(first, last, checkOutBefore));
+            archived += moved != null ? moved : 0;
+            lastId = last;
+        }
+    }
+
+    // Copy one chunk of bookings and their payments into the archive, then delete them with
+    // their held nights. The chunk is selected again by every statement, in the same transaction
+    private int archiveChunk(long first, long last, Date checkOutBefore) {
+        Timestamp archivedAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(ARCHIVE_PAYMENTS, archivedAt, first, last, checkOutBefore);
+        int archived = jdbcTemplate.update(ARCHIVE_BOOKINGS, archivedAt, first, last, checkOutBefore);
+        jdbcTemplate.update(DELETE_NIGHTS, first, last, checkOutBefore);
+        jdbcTemplate.update(DELETE_PAYMENTS, first, last, checkOutBefore);
+        jdbcTemplate.update(DELETE_BOOKINGS, first, last, checkOutBefore);
+        return archived;
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.staymate.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.example.staymate.dto.booking.BookingHold;
+import com.example.staymate.dto.booking.RoomStayRequestDTO;
+import com.example.staymate.entity.booking.Booking;
+import com.example.staymate.entity.enums.BookingStatus;
+import com.example.staymate.entity.enums.PaymentMethod;
+import com.example.staymate.entity.payment.Payment;
+import com.example.staymate.entity.user.User;
+import com.example.staymate.index.TimingWheel;
+import com.example.staymate.repository.BookingRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Time-limited holds on rooms. A new booking holds its room until its hold
+ * expires unless it is confirmed first, usually by paying for it. Expiry times
+ * are kept in a timing wheel that a single thread advances every tick; the
+ * bookings that expired during a tick are cancelled together.
+ */
+@Service
+public class BookingHoldService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingHoldService.class);
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final Duration holdTime;
+    private final long tickMillis;
+    private final Clock clock;
+    private final TimingWheel<Long> expiries;
+    private final ScheduledExecutorService scheduler;
+
+    @Autowired
+    public BookingHoldService(BookingService bookingService, BookingRepository bookingRepository,
+            @Value("${app.bookings.hold.minutes:15}") long holdMinutes,
+            @Value("${app.bookings.hold.tick-millis:1000}") long tickMillis,
+            @Value("${app.bookings.hold.wheel-size:512}") int wheelSize) {
+        this(bookingService, bookingRepository, Duration.ofMinutes(holdMinutes), tickMillis, wheelSize,
+                Clock.systemDefaultZone());
+    }
+
+    BookingHoldService(BookingService bookingService, BookingRepository bookingRepository, Duration holdTime,
+            long tickMillis, int wheelSize, Clock clock) {
+        this.bookingService = bookingService;
+        this.bookingRepository = bookingRepository;
+        this.holdTime = holdTime;
+        this.tickMillis = tickMillis;
+        this.clock = clock;
+        this.expiries = new TimingWheel<>(tickMillis, wheelSize, clock.millis());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "booking-holds");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Give pending bookings made before holds expired a hold from now, before requests are served,
+    // so they can still be paid for and expire like any other hold
+    @Override
+    public void afterSingletonsInstantiated() {
+        int backfilled = bookingService.backfillHolds(now().plus(holdTime));
+        if (backfilled > 0) {
+            log.info("Gave {} pending bookings without a hold expiry a new hold", backfilled);
+        }
+    }
+
+    // Schedule the holds left by the previous run, then start expiring holds
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (BookingHold hold : bookingRepository.findActiveHolds()) {
+            expiries.schedule(hold.getId(), toMillis(hold.getHoldExpiresAt()));
+        }
+        scheduler.scheduleAtFixedRate(() -> {
+            try {
+                expireHolds();
+            } catch (RuntimeException e) {
+                log.error("Failed to expire booking holds", e);
+            }
+        }, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    // Reserve the room and hold it for the hold time
+    public Booking createHold(Booking booking, Long hotelId, Long roomId) {
+        return createHold(booking, hotelId, roomId, holdTime);
+    }
+
+    // Reserve the room and hold it for the given time
+    public Booking createHold(Booking booking, Long hotelId, Long roomId, Duration holdTime) {
+        booking.setHoldExpiresAt(now().plus(holdTime));
+        Booking savedBooking = bookingService.reserveRoom(booking, hotelId, roomId);
+        expiries.schedule(savedBooking.getId(), toMillis(savedBooking.getHoldExpiresAt()));
+        return savedBooking;
+    }
+
+    // Reserve several rooms together and hold them for the hold time
+    public List<Booking> createHolds(User user, List<RoomStayRequestDTO> stays) {
+        List<Booking> savedBookings = bookingService.reserveRooms(user, stays, now().plus(holdTime));
+        for (Booking booking : savedBookings) {
+            expiries.schedule(booking.getId(), toMillis(booking.getHoldExpiresAt()));
+        }
+        return savedBookings;
+    }
+
+    // Hold the room for another hold time from now
+    public Booking extendHold(Long bookingId) {
+        LocalDateTime now = now();
+        Booking booking = bookingService.extendHold(bookingId, now, now.plus(holdTime));
+        expiries.schedule(bookingId, toMillis(booking.getHoldExpiresAt()));
+        return booking;
+    }
+
+    public Booking confirmHold(Long bookingId) {
+        Booking booking = bookingService.confirmHold(bookingId, now());
+        expiries.cancel(bookingId);
+        return booking;
+    }
+
+    // Pay for a booking that still has its room. Paying the rest of the total confirms a pending
+    // booking; a partial payment holds its room for another hold time from now.
+    public Payment pay(Long bookingId, PaymentMethod paymentMethod, double amount) {
+        LocalDateTime now = now();
+        Payment payment = bookingService.payBooking(bookingId, paymentMethod, amount, now, now.plus(holdTime));
+        Booking booking = payment.getBooking();
+        if (booking.getStatus() == BookingStatus.PENDING && booking.getHoldExpiresAt() != null) {
+            expiries.schedule(bookingId, toMillis(booking.getHoldExpiresAt()));
+        } else {
+            expiries.cancel(bookingId);
+        }
+        return payment;
+    }
+
+    // Cancel the bookings whose hold expired since the last tick and return how many
+    // were cancelled. If that fails they are tried again on the next tick.
+    public int expireHolds() {
+        List<Long> due = expiries.advance(clock.millis());
+        if (due.isEmpty()) {
+            return 0;
+        }
+        try {
+            return bookingService.expireHolds(due, now()).size();
+        } catch (RuntimeException e) {
+            for (Long bookingId : due) {
+                expiries.schedule(bookingId, clock.millis());
+            }
+            throw e;
+        }
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    private long toMillis(LocalDateTime time) {
+        return time.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+}
@@ -1,25 +1,61 @@
 package com.example.staymate.service;
 
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.staymate.dto.booking.BookingResponseDTO;
+import com.example.staymate.dto.booking.RoomStayRequestDTO;
+import com.example.staymate.dto.custom.CursorPage;
+import com.example.staymate.dto.custom.PageCursor;
+import com.example.staymate.dto.user.UserBookingResponseDTO;
 import com.example.staymate.entity.booking.Booking;
 import com.example.staymate.entity.enums.BookingStatus;
 import com.example.staymate.entity.enums.NotificationType;
-import com.example.staymate.entity.enums.RoomStatus;
+import com.example.staymate.entity.enums.PaymentMethod;
+import com.example.staymate.entity.enums.PaymentStatus;
 import com.example.staymate.entity.notification.Notification;
+import com.example.staymate.entity.payment.Payment;
+import com.example.staymate.entity.room.MaintenanceBlock;
 import com.example.staymate.entity.room.Room;
+import com.example.staymate.entity.room.RoomId;
+import com.example.staymate.entity.user.User;
+import com.example.staymate.exception.BookingHoldExpiredException;
+import com.example.staymate.exception.ResourceNotFoundException;
+import com.example.staymate.exception.RoomAlreadyBookedException;
+import com.example.staymate.exception.RoomNotFoundException;
+import com.example.staymate.observer.HotelPopularityObserver;
 import com.example.staymate.observer.NotificationObserver;
 import com.example.staymate.observer.Observer;
+import com.example.staymate.observer.RoomAvailabilityObserver;
 import com.example.staymate.observer.Subject;
+import com.example.staymate.repository.ArchivedBookingRepository;
 import com.example.staymate.repository.BookingRepository;
+import com.example.staymate.repository.MaintenanceBlockRepository;
 import com.example.staymate.repository.RoomRepository;
 
 @Service
@@ -31,10 +67,44 @@ public class BookingService implements Subject {
     @Autowired
     private RoomRepository roomRepository;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RateEngine rateEngine;
+
+    @Autowired
+    private MaintenanceBlockRepository maintenanceBlockRepository;
+
+    @Autowired
+    private CursorPaginator cursorPaginator;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    private static final String INSERT_BOOKING = "INSERT INTO booking (user_id, hotel_id, room_id, check_in_date, "
+            + "check_out_date, total_amount, status, booking_date, hold_expires_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
     private final List<Observer> observers = new ArrayList<>();
 
-    public BookingService(BookingRepository bookingRepository) {
+    private final RoomNightLedger roomNightLedger;
+
+    // Reservations of rooms hashing to the same stripe wait for each other; others run in parallel
+    private static final int ROOM_LOCK_STRIPES = 256;
+    private final Lock[] roomLocks = new Lock[ROOM_LOCK_STRIPES];
+
+    public BookingService(BookingRepository bookingRepository, RoomNightLedger roomNightLedger) {
         this.bookingRepository = bookingRepository;
+        this.roomNightLedger = roomNightLedger;
+        for (int i = 0; i < roomLocks.length; i++) {
+            roomLocks[i] = new ReentrantLock();
+        }
     }
 
     @Override
@@ -65,28 +135,226 @@ public class BookingService implements Subject {
         addObserver(notificationObserver);
     }
 
-    // Create a new booking and notify observers
-    public Booking createBooking(Booking booking) {
+    @Autowired
+    public void setHotelPopularityObserver(HotelPopularityObserver hotelPopularityObserver) {
+        addObserver(hotelPopularityObserver);
+    }
+
+    @Autowired
+    public void setRoomAvailabilityObserver(RoomAvailabilityObserver roomAvailabilityObserver) {
+        addObserver(roomAvailabilityObserver);
+    }
+
+    // Tell observers about a booking change together with its notification
+    private void notifyObservers(Notification notification, Booking booking, String event) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("notification", notification);
+        data.put("booking", booking);
+        data.put("event", event);
+        notifyObservers(data);
+    }
+
+    // Book a room for the stay of the booking, failing with RoomAlreadyBookedException when
+    // another booking holds it for one of the nights. The booking and its nights in the
+    // room night ledger are inserted in one transaction, and the ledger's primary key
+    // rejects a night held by another booking, also one committed by another instance.
+    // Within this instance the room's lock stripe is held until commit, so requests for
+    // the same room queue up instead of failing on the key.
+    public Booking reserveRoom(Booking booking, Long hotelId, Long roomId) {
+        RoomId id = new RoomId(hotelId, roomId);
+        Booking savedBooking = inRoomTransaction(id, () -> insert(booking, id));
+
+        notifyObservers(pendingNotification(booking), savedBooking, "created");
+
+        return savedBooking;
+    }
+
+    // Run the action in a transaction while holding the room's lock stripe until it commits, so
+    // it cannot interleave with a reservation of the same room on this instance
+    public <T> T inRoomTransaction(RoomId id, Supplier<T> action) {
+        Lock lock = roomLocks[Math.floorMod(id.hashCode(), roomLocks.length)];
+        lock.lock();
+        try {
+            return transactionTemplate.execute(status -> action.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Booking insert(Booking booking, RoomId id) {
+        Room room = roomRepository.findById(id)
+                .orElseThrow(() -> new RoomNotFoundException(
+                        "Room with ID " + id.getRoomId() + " in Hotel " + id.getHotelId() + " not found."));
+        if (maintenanceBlockRepository.existsOverlapping(id.getHotelId(), id.getRoomId(), booking.getCheckInDate(),
+                booking.getCheckOutDate())) {
+            throw underMaintenance(id);
+        }
+        booking.setRoom(room);
         booking.setStatus(BookingStatus.PENDING);
         Booking savedBooking = bookingRepository.save(booking);
+        roomNightLedger.hold(savedBooking);
+        return savedBooking;
+    }
+
+    // Book several rooms at once for one user: either every stay is booked, in one
+    // transaction, or none is. All stays are checked against the ledger with one query,
+    // the bookings are inserted with one JDBC batch and their nights with another, and
+    // observers are told once about all of them. The lock stripes of all rooms are taken
+    // in index order, so two batches sharing rooms cannot deadlock.
+    public List<Booking> reserveRooms(User user, List<RoomStayRequestDTO> stays, LocalDateTime holdExpiresAt) {
+        List<Lock> locks = new TreeSet<>(stays.stream()
+                .map(stay -> Math.floorMod(new RoomId(stay.getHotelId(), stay.getRoomId()).hashCode(),
+                        roomLocks.length))
+                .toList()).stream()
+                .map(stripe -> roomLocks[stripe])
+                .toList();
+        List<Booking> savedBookings;
+        locks.forEach(Lock::lock);
+        try {
+            savedBookings = transactionTemplate.execute(status -> insertAll(user, stays, holdExpiresAt));
+        } finally {
+            locks.forEach(Lock::unlock);
+        }
 
-        // Notify observers about the new booking
         Notification notification = new Notification();
-        notification.setUser(booking.getUser());
-        notification.setMessage("Your booking is pending confirmation.");
+        notification.setUser(user);
+        notification.setMessage(savedBookings.size() == 1 ? "Your booking is pending confirmation."
+                : "Your booking of " + savedBookings.size() + " rooms is pending confirmation.");
         notification.setType(NotificationType.BOOKING);
         notification.setRead(false);
         notification.setCreatedAt(LocalDateTime.now());
 
-        notifyObservers(notification);
+        Map<String, Object> data = new HashMap<>();
+        data.put("notification", notification);
+        data.put("bookings", savedBookings);
+        data.put("event", "created");
+        notifyObservers(data);
+
+        return savedBookings;
+    }
 
-        return savedBooking;
+    private List<Booking> insertAll(User user, List<RoomStayRequestDTO> stays, LocalDateTime holdExpiresAt) {
+        Set<RoomId> roomIds = new HashSet<>();
+        for (RoomStayRequestDTO stay : stays) {
+            roomIds.add(new RoomId(stay.getHotelId(), stay.getRoomId()));
+        }
+        Map<RoomId, Room> rooms = new HashMap<>();
+        for (Room room : roomRepository.findAllById(roomIds)) {
+            rooms.put(room.getId(), room);
+        }
+
+        LocalDate today = LocalDate.now();
+        List<Booking> bookings = new ArrayList<>();
+        for (RoomStayRequestDTO stay : stays) {
+            Room room = rooms.get(new RoomId(stay.getHotelId(), stay.getRoomId()));
+            if (room == null) {
+                throw new RoomNotFoundException(
+                        "Room with ID " + stay.getRoomId() + " in Hotel " + stay.getHotelId() + " not found.");
+            }
+            Booking booking = new Booking();
+            booking.setUser(user);
+            booking.setRoom(room);
+            booking.setCheckInDate(stay.getCheckInDate());
+            booking.setCheckOutDate(stay.getCheckOutDate());
+            booking.setTotalAmount(rateEngine.quote(stay.getHotelId(), stay.getRoomId(), stay.getCheckInDate(),
+                    stay.getCheckOutDate()));
+            booking.setStatus(BookingStatus.PENDING);
+            booking.setBookingDate(today);
+            booking.setHoldExpiresAt(holdExpiresAt);
+            bookings.add(booking);
+        }
+
+        // Blocks of every hotel in the batch between the first check-in and the last check-out
+        LocalDate start = stays.stream().map(RoomStayRequestDTO::getCheckInDate).min(LocalDate::compareTo).orElseThrow();
+        LocalDate end = stays.stream().map(RoomStayRequestDTO::getCheckOutDate).max(LocalDate::compareTo).orElseThrow();
+        Set<Long> hotelIds = new HashSet<>();
+        roomIds.forEach(roomId -> hotelIds.add(roomId.getHotelId()));
+        for (MaintenanceBlock block : maintenanceBlockRepository.findBlocksBetween(hotelIds, start, end)) {
+            for (Booking booking : bookings) {
+                if (block.getHotelId().equals(booking.getRoom().getHotelId())
+                        && block.getRoomId().equals(booking.getRoom().getRoomId())
+                        && block.getStartDate().isBefore(booking.getCheckOutDate())
+                        && block.getEndDate().isAfter(booking.getCheckInDate())) {
+                    throw underMaintenance(booking.getRoom().getId());
+                }
+            }
+        }
+
+        List<RoomId> heldRooms = roomNightLedger.findHeldRooms(bookings);
+        if (!heldRooms.isEmpty()) {
+            RoomId held = heldRooms.get(0);
+            throw new RoomAlreadyBookedException("Room " + held.getRoomId() + " in hotel " + held.getHotelId()
+                    + " is already booked for the selected dates.");
+        }
+
+        insertBookings(bookings);
+        // Also rejects two stays of this batch sharing a night of the same room
+        roomNightLedger.holdAll(bookings);
+        return bookings;
+    }
+
+    private static RoomAlreadyBookedException underMaintenance(RoomId id) {
+        return new RoomAlreadyBookedException("Room " + id.getRoomId() + " in hotel " + id.getHotelId()
+                + " is under maintenance for the selected dates.");
+    }
+
+    // Insert the bookings with one JDBC batch and set their generated ids. Hibernate does
+    // not batch inserts of entities with identity ids.
+    private void insertBookings(List<Booking> bookings) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_BOOKING, new String[] { "id" }),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Booking booking = bookings.get(i);
+                        ps.setObject(1, booking.getUser() == null ? null : booking.getUser().getId());
+                        ps.setLong(2, booking.getRoom().getHotelId());
+                        ps.setLong(3, booking.getRoom().getRoomId());
+                        ps.setDate(4, Date.valueOf(booking.getCheckInDate()));
+                        ps.setDate(5, Date.valueOf(booking.getCheckOutDate()));
+                        ps.setDouble(6, booking.getTotalAmount());
+                        ps.setString(7, booking.getStatus().name());
+                        ps.setDate(8, Date.valueOf(booking.getBookingDate()));
+                        ps.setTimestamp(9, booking.getHoldExpiresAt() == null ? null
+                                : Timestamp.valueOf(booking.getHoldExpiresAt()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return bookings.size();
+                    }
+                }, keys);
+        List<Map<String, Object>> keyList = keys.getKeyList();
+        for (int i = 0; i < bookings.size(); i++) {
+            bookings.get(i).setId(((Number) keyList.get(i).values().iterator().next()).longValue());
+        }
+    }
+
+    private static Notification pendingNotification(Booking booking) {
+        Notification notification = new Notification();
+        notification.setUser(booking.getUser());
+        notification.setMessage("Your booking is pending confirmation.");
+        notification.setType(NotificationType.BOOKING);
+        notification.setRead(false);
+        notification.setCreatedAt(LocalDateTime.now());
+        return notification;
     }
 
     // Update booking status and notify observers
     @Transactional
     public Booking updateBooking(Booking booking) {
+        // A cancelled booking has released its nights, which may have been booked again since
+        if (booking.getStatus() == BookingStatus.CONFIRMED && booking.getId() != null
+                && bookingRepository.findStoredStatus(booking.getId()).orElse(null) == BookingStatus.CANCELLED) {
+            throw new BookingHoldExpiredException("Booking " + booking.getId() + " was cancelled and cannot be confirmed");
+        }
+        if (booking.getStatus() != BookingStatus.PENDING) {
+            booking.setHoldExpiresAt(null); // Confirmed or cancelled bookings do not expire
+        }
         Booking updatedBooking = bookingRepository.save(booking);
+        if (booking.getStatus() == BookingStatus.CANCELLED) {
+            roomNightLedger.release(updatedBooking.getId());
+        }
 
         // Notify observers when a booking is confirmed or canceled
         Notification notification = new Notification();
@@ -101,7 +369,7 @@ public class BookingService implements Subject {
             notification.setMessage("Your booking has been canceled.");
         }
 
-        notifyObservers(notification);
+        notifyObservers(notification, updatedBooking, "updated");
 
         return updatedBooking;
     }
@@ -110,18 +378,16 @@ public class BookingService implements Subject {
     @Transactional
     public Booking cancelBooking(Long id) {
         Booking booking = getBookingById(id);
+        if (booking != null && booking.getStatus() == BookingStatus.CANCELLED) {
+            // Already cancelled: its nights were released and offered to the waitlist then
+            return booking;
+        }
         if (booking != null) {
             booking.setStatus(BookingStatus.CANCELLED);
+            booking.setHoldExpiresAt(null);
             Booking canceledBooking = bookingRepository.save(booking);
-
-            // Make the room available again
-            Room room = roomRepository.findById(booking.getRoom().getId()).orElse(null);
-            System.out.println("Fetched Room: " + (room != null ? room.getId() : "null"));
-            if (room != null) {
-                room.setStatus(RoomStatus.AVAILABLE);
-                roomRepository.save(room);
-            }
-
+            // Releasing the nights makes the room available again; its row is not touched
+            roomNightLedger.release(canceledBooking.getId());
 
             Notification notification = new Notification();
             notification.setUser(booking.getUser());
@@ -130,13 +396,129 @@ public class BookingService implements Subject {
             notification.setRead(false);
             notification.setCreatedAt(LocalDateTime.now());
 
-            notifyObservers(notification);
+            notifyObservers(notification, canceledBooking, "cancelled");
 
             return canceledBooking;
         }
         return null;
     }
 
+    // Cancel a booking that only holds its room, locked first so a payment cannot confirm it
+    // in the meantime. A booking already confirmed or cancelled is returned as it is
+    @Transactional
+    public Booking cancelHold(Long id) {
+        Booking booking = bookingRepository.findByIdForUpdate(id).orElse(null);
+        if (booking == null || booking.getStatus() != BookingStatus.PENDING) {
+            return booking;
+        }
+        return cancelBooking(id);
+    }
+
+    // Move the end of a booking's hold on its room; fails once the hold has run out
+    @Transactional
+    public Booking extendHold(Long id, LocalDateTime now, LocalDateTime holdExpiresAt) {
+        Booking booking = lockActiveHold(id, now);
+        booking.setHoldExpiresAt(holdExpiresAt);
+        return bookingRepository.save(booking);
+    }
+
+    // Turn a held booking into a confirmed one
+    @Transactional
+    public Booking confirmHold(Long id, LocalDateTime now) {
+        Booking booking = lockActiveHold(id, now);
+        booking.setStatus(BookingStatus.CONFIRMED);
+        return updateBooking(booking);
+    }
+
+    // Record a payment for a booking that still has its room. The booking is locked, and its
+    // hold checked, before the payment is made and in the same transaction, so the hold cannot
+    // run out between the payment and the confirmation. A payment settling the total confirms a
+    // pending booking; a partial one holds its room until holdExpiresAt. Amounts are compared
+    // in cents, as the rate engine rounds totals to cents.
+    @Transactional
+    public Payment payBooking(Long id, PaymentMethod paymentMethod, double amount, LocalDateTime now,
+            LocalDateTime holdExpiresAt) {
+        Booking booking = bookingRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
+        if (booking.getStatus() != BookingStatus.CONFIRMED) {
+            checkActiveHold(booking, now);
+        }
+
+        long remainingCents = toCents(booking.getTotalAmount()) - toCents(paymentService.getTotalPaidAmount(id));
+        if (toCents(amount) > remainingCents) {
+            throw new IllegalArgumentException(
+                    "Payment exceeds remaining balance. Remaining amount: " + remainingCents / 100.0);
+        }
+
+        Payment payment = paymentService.createPayment(id, paymentMethod, amount);
+        paymentService.processPayment(payment.getId(), paymentMethod);
+
+        if (booking.getStatus() == BookingStatus.PENDING && payment.getStatus() == PaymentStatus.SUCCESS) {
+            if (toCents(amount) == remainingCents) {
+                booking.setStatus(BookingStatus.CONFIRMED);
+                updateBooking(booking);
+            } else {
+                booking.setHoldExpiresAt(holdExpiresAt);
+                bookingRepository.save(booking);
+            }
+        }
+        return payment;
+    }
+
+    private static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    // Cancel those of the given bookings whose hold has run out with one update, free
+    // their nights and tell observers. Bookings confirmed or extended since their expiry
+    // was scheduled are left alone.
+    @Transactional
+    public List<Booking> expireHolds(Collection<Long> bookingIds, LocalDateTime now) {
+        List<Booking> expired = bookingRepository.findExpiredHolds(bookingIds, now);
+        if (expired.isEmpty()) {
+            return expired;
+        }
+        List<Long> ids = expired.stream().map(Booking::getId).toList();
+        bookingRepository.cancelAll(ids);
+        roomNightLedger.releaseAll(ids);
+
+        for (Booking booking : expired) {
+            booking.setStatus(BookingStatus.CANCELLED);
+            booking.setHoldExpiresAt(null);
+
+            Notification notification = new Notification();
+            notification.setUser(booking.getUser());
+            notification.setMessage("Your booking was canceled because it was not paid in time.");
+            notification.setType(NotificationType.BOOKING);
+            notification.setRead(false);
+            notification.setCreatedAt(LocalDateTime.now());
+
+            notifyObservers(notification, booking, "cancelled");
+        }
+        return expired;
+    }
+
+    // The pending booking, locked until the transaction ends, if it still holds its room
+    private Booking lockActiveHold(Long id, LocalDateTime now) {
+        Booking booking = bookingRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
+        checkActiveHold(booking, now);
+        return booking;
+    }
+
+    private static void checkActiveHold(Booking booking, LocalDateTime now) {
+        if (booking.getStatus() != BookingStatus.PENDING || booking.getHoldExpiresAt() == null
+                || !booking.getHoldExpiresAt().isAfter(now)) {
+            throw new BookingHoldExpiredException("Booking " + booking.getId() + " no longer holds its room");
+        }
+    }
+
+    // Give pending bookings made before holds expired a hold until holdExpiresAt, and return how many
+    @Transactional
+    public int backfillHolds(LocalDateTime holdExpiresAt) {
+        return bookingRepository.setMissingHoldExpiry(holdExpiresAt);
+    }
+
     public Booking getBookingById(Long id) {
         return bookingRepository.findById(id).orElse(null);
     }
@@ -149,6 +531,53 @@ public class BookingService implements Subject {
         return bookingRepository.findBookingsByUserId(userId);
     }
 
+    // Listing views of the bookings, read as projections in one query however many bookings there are
+    public List<BookingResponseDTO> getBookingResponsesByHotel(Long hotelId) {
+        return bookingRepository.findBookingResponsesByHotelId(hotelId);
+    }
+
+    // One page of a user's bookings, latest check-in first, after the given cursor (the first page when null).
+    // Archived bookings are merged in only when asked for, at the cost of a second query
+    public CursorPage<UserBookingResponseDTO> getBookingPageByUser(Long userId, String cursor, Integer limit,
+            boolean includeArchived) {
+        int pageSize = cursorPaginator.pageSize(limit);
+        PageCursor after = PageCursor.decode(cursor);
+        List<UserBookingResponseDTO> bookings = after == null
+                ? bookingRepository.findUserBookingPage(userId, cursorPaginator.rowsFor(pageSize))
+                : bookingRepository.findUserBookingPageAfter(userId, after.getDateKey(), after.getId(),
+                        cursorPaginator.rowsFor(pageSize));
+        if (includeArchived) {
+            List<UserBookingResponseDTO> archived = after == null
+                    ? archivedBookingRepository.findUserBookingPage(userId, cursorPaginator.rowsFor(pageSize))
+                    : archivedBookingRepository.findUserBookingPageAfter(userId, after.getDateKey(), after.getId(),
+                            cursorPaginator.rowsFor(pageSize));
+            bookings = mergeLatestFirst(bookings, archived, pageSize + 1);
+        }
+        return cursorPaginator.page(bookings, pageSize,
+                booking -> PageCursor.of(booking.getCheckInDate(), booking.getBookingId()));
+    }
+
+    // The first `rows` bookings of two lists both sorted latest check-in first. An archived booking keeps
+    // its ID, so the (check-in, ID) keys of the two lists never tie
+    static List<UserBookingResponseDTO> mergeLatestFirst(List<UserBookingResponseDTO> live,
+            List<UserBookingResponseDTO> archived, int rows) {
+        Comparator<UserBookingResponseDTO> latestFirst = Comparator
+                .comparing(UserBookingResponseDTO::getCheckInDate)
+                .thenComparing(UserBookingResponseDTO::getBookingId).reversed();
+        List<UserBookingResponseDTO> merged = new ArrayList<>(Math.min(rows, live.size() + archived.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < rows && (i < live.size() || j < archived.size())) {
+            if (j == archived.size()
+                    || (i < live.size() && latestFirst.compare(live.get(i), archived.get(j)) <= 0)) {
+                merged.add(live.get(i++));
+            } else {
+                merged.add(archived.get(j++));
+            }
+        }
+        return merged;
+    }
+
     public List<Booking> getAllBookings() {
         return bookingRepository.findAll();
     }
@@ -0,0 +1,49 @@
+package com.example.staymate.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.example.staymate.dto.custom.CursorPage;
+import com.example.staymate.dto.custom.PageCursor;
+
+/**
+ * Page sizes and next-page cursors of the keyset-paginated listings. Listings read one row more
+ * than the page size, ordered by (sort key, ID), starting after the row the cursor points at;
+ * the extra row tells whether there is a next page.
+ */
+@Component
+public class CursorPaginator {
+
+    @Value("${app.page.default-size:20}")
+    private int defaultPageSize = 20;
+
+    @Value("${app.page.max-size:100}")
+    private int maxPageSize = 100;
+
+    // The requested page size, or the default one when not given
+    public int pageSize(Integer limit) {
+        int pageSize = limit != null ? limit : defaultPageSize;
+        if (pageSize <= 0 || pageSize > maxPageSize) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxPageSize);
+        }
+        return pageSize;
+    }
+
+    // Rows to read for a page: one more than its size
+    public Limit rowsFor(int pageSize) {
+        return Limit.of(pageSize + 1);
+    }
+
+    public <T> CursorPage<T> page(List<T> rows, int pageSize, Function<T, PageCursor> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> page = new ArrayList<>(rows.subList(0, pageSize));
+        return new CursorPage<>(page, cursorOf.apply(page.get(pageSize - 1)).encode());
+    }
+}
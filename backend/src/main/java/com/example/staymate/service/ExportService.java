@@ -0,0 +1,143 @@
+package com.example.staymate.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.staymate.dto.booking.BookingExportRow;
+import com.example.staymate.dto.payment.PaymentExportRow;
+import com.example.staymate.entity.enums.ExportFormat;
+import com.example.staymate.repository.ArchivedBookingRepository;
+import com.example.staymate.repository.ArchivedPaymentRepository;
+import com.example.staymate.repository.BookingRepository;
+import com.example.staymate.repository.PaymentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Writes every booking or payment matching a filter as NDJSON or CSV. Rows are read through a
+ * database cursor and written one at a time, so memory use does not grow with the number of rows.
+ * Archived rows are read only when asked for, after the live ones.
+ */
+@Service
+public class ExportService {
+
+    private static final ObjectMapper EXPORT_JSON = new ObjectMapper().registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private static final ObjectWriter BOOKING_WRITER = EXPORT_JSON.writerFor(BookingExportRow.class);
+    private static final ObjectWriter PAYMENT_WRITER = EXPORT_JSON.writerFor(PaymentExportRow.class);
+
+    private static final String BOOKING_HEADER = "bookingId,hotelId,roomId,userId,roomType,status,bookingDate,"
+            + "checkInDate,checkOutDate,totalAmount,holdExpiresAt";
+    private static final String PAYMENT_HEADER = "paymentId,bookingId,hotelId,paymentMethod,amount,status,"
+            + "transactionDate";
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Autowired
+    private ArchivedPaymentRepository archivedPaymentRepository;
+
+    public static ExportFormat parseFormat(String format) {
+        try {
+            return ExportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Format must be ndjson or csv");
+        }
+    }
+
+    public static void validateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new IllegalArgumentException("The to date must not be before the from date");
+        }
+    }
+
+    // Bookings, optionally of one hotel and checking in from `from` to `to`, both included
+    @Transactional(readOnly = true)
+    public void exportBookings(ExportFormat format, Long hotelId, LocalDate from, LocalDate to,
+            boolean includeArchived, OutputStream out) throws IOException {
+        Stream<BookingExportRow> live = bookingRepository.streamBookingExport(hotelId, from, to);
+        try (Stream<BookingExportRow> rows = includeArchived
+                ? Stream.concat(live, archivedBookingRepository.streamBookingExport(hotelId, from, to))
+                : live) {
+            write(rows, format, BOOKING_WRITER, BOOKING_HEADER, row -> new Object[] {
+                    row.getBookingId(), row.getHotelId(), row.getRoomId(), row.getUserId(), row.getRoomType(),
+                    row.getStatus(), row.getBookingDate(), row.getCheckInDate(), row.getCheckOutDate(),
+                    row.getTotalAmount(), row.getHoldExpiresAt() }, out);
+        }
+    }
+
+    // Payments, optionally of one hotel's bookings and made from `from` to `to`, both days included
+    @Transactional(readOnly = true)
+    public void exportPayments(ExportFormat format, Long hotelId, LocalDate from, LocalDate to,
+            boolean includeArchived, OutputStream out) throws IOException {
+        LocalDateTime start = from != null ? from.atStartOfDay() : null;
+        LocalDateTime end = to != null ? to.plusDays(1).atStartOfDay() : null;
+        Stream<PaymentExportRow> live = paymentRepository.streamPaymentExport(hotelId, start, end);
+        try (Stream<PaymentExportRow> rows = includeArchived
+                ? Stream.concat(live, archivedPaymentRepository.streamPaymentExport(hotelId, start, end))
+                : live) {
+            write(rows, format, PAYMENT_WRITER, PAYMENT_HEADER, row -> new Object[] {
+                    row.getPaymentId(), row.getBookingId(), row.getHotelId(), row.getPaymentMethod(),
+                    row.getAmount(), row.getStatus(), row.getTransactionDate() }, out);
+        }
+    }
+
+    private static <T> void write(Stream<T> rows, ExportFormat format, ObjectWriter json, String header,
+            Function<T, Object[]> columns, OutputStream out) throws IOException {
+        Iterator<T> iterator = rows.iterator();
+        if (format == ExportFormat.NDJSON) {
+            while (iterator.hasNext()) {
+                out.write(json.writeValueAsBytes(iterator.next()));
+                out.write('\n');
+            }
+            out.flush();
+            return;
+        }
+        // Not closed, so the response stream stays open for the container
+        Writer csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        csv.write(header);
+        csv.write("\r\n");
+        while (iterator.hasNext()) {
+            Object[] values = columns.apply(iterator.next());
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    csv.write(',');
+                }
+                if (values[i] != null) {
+                    csv.write(csvField(values[i].toString()));
+                }
+            }
+            csv.write("\r\n");
+        }
+        csv.flush();
+    }
+
+    // RFC 4180 quoting: fields holding a comma, quote or line break are quoted, with quotes doubled
+    static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
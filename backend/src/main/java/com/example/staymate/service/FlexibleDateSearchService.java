@@ -0,0 +1,159 @@
+package com.example.staymate.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.staymate.dto.hotel.FlexibleDateOption;
+import com.example.staymate.dto.hotel.FlexibleDateSearchRequest;
+import com.example.staymate.dto.room.RoomOffer;
+import com.example.staymate.index.HotelSpatialIndex;
+import com.example.staymate.index.RoomAvailabilityIndex;
+import com.example.staymate.repository.RoomRepository;
+
+@Service
+public class FlexibleDateSearchService {
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Autowired
+    private HotelSpatialIndex hotelSpatialIndex;
+
+    @Autowired
+    private RateEngine rateEngine;
+
+    @Value("${app.hotels.flexible-dates.max-flex-days:14}")
+    private int maxFlexDays = 14;
+
+    @Value("${app.hotels.flexible-dates.max-nights:30}")
+    private int maxNights = 30;
+
+    @Value("${app.hotels.nearby.max-radius-km:500}")
+    private double maxRadiusKm = 500;
+
+    // Every check-in date within flexDays of the preferred one, today at the earliest, that
+    // has a room free for the whole stay, with the cheapest such room. All stays are found
+    // in one pass per room over the window's nights: a window of `nights` slides one night
+    // at a time, adding the night entering it and dropping the one leaving it, to keep the
+    // number of unavailable nights and the price of the stay starting at each date.
+    public List<FlexibleDateOption> search(FlexibleDateSearchRequest request) {
+        LocalDate checkIn = request.getCheckInDate();
+        if (checkIn == null) {
+            throw new IllegalArgumentException("Check-in date is required");
+        }
+        int nights = request.getNights();
+        if (nights <= 0 || nights > maxNights) {
+            throw new IllegalArgumentException("Nights must be between 1 and " + maxNights);
+        }
+        if (request.getFlexDays() < 0 || request.getFlexDays() > maxFlexDays) {
+            throw new IllegalArgumentException("Flexible days must be between 0 and " + maxFlexDays);
+        }
+        if (request.getGuests() <= 0) {
+            throw new IllegalArgumentException("Guests must be greater than zero");
+        }
+        LocalDate today = LocalDate.now();
+        LocalDate firstStart = checkIn.minusDays(request.getFlexDays());
+        if (firstStart.isBefore(today)) {
+            firstStart = today;
+        }
+        LocalDate lastStart = checkIn.plusDays(request.getFlexDays());
+        if (lastStart.isBefore(firstStart)) {
+            throw new IllegalArgumentException("Check-in dates must not be in the past");
+        }
+        int starts = (int) (lastStart.toEpochDay() - firstStart.toEpochDay()) + 1;
+        int days = starts + nights - 1;
+        if (!roomAvailabilityIndex.covers(firstStart, firstStart.plusDays(days))) {
+            throw new IllegalArgumentException("Flexible dates are only searched within the availability horizon");
+        }
+
+        Set<Long> hotelIds = hotelIds(request);
+        if (hotelIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<RoomOffer>> offersByHotel = new HashMap<>();
+        for (RoomOffer offer : roomRepository.findOffersInHotels(hotelIds, request.getGuests(), 0, Double.MAX_VALUE)) {
+            offersByHotel.computeIfAbsent(offer.getHotelId(), hotelId -> new ArrayList<>()).add(offer);
+        }
+
+        FlexibleDateOption[] best = new FlexibleDateOption[starts];
+        for (Map.Entry<Long, List<RoomOffer>> hotel : offersByHotel.entrySet()) {
+            Map<Long, BitSet> unavailable = roomAvailabilityIndex.unavailableNights(hotel.getKey(), firstStart, days);
+            if (unavailable == null) {
+                // The horizon moved past the first start since it was checked
+                throw new IllegalArgumentException("Flexible dates are only searched within the availability horizon");
+            }
+            for (RoomOffer offer : hotel.getValue()) {
+                BitSet taken = unavailable.getOrDefault(offer.getRoomId(), new BitSet());
+                double[] prices = rateEngine.nightlyPrices(hotel.getKey(), offer.getRoomId(), firstStart, days);
+                int takenNights = 0;
+                double total = 0;
+                for (int night = 0; night < days; night++) {
+                    if (taken.get(night)) {
+                        takenNights++;
+                    }
+                    total += prices[night];
+                    int start = night - nights + 1;
+                    if (start < 0) {
+                        continue;
+                    }
+                    double amount = Math.round(total * 100) / 100.0;
+                    if (takenNights == 0 && (best[start] == null || amount < best[start].getTotalAmount())) {
+                        LocalDate date = firstStart.plusDays(start);
+                        best[start] = new FlexibleDateOption(date, date.plusDays(nights), hotel.getKey(),
+                                offer.getRoomId(), amount);
+                    }
+                    // The first night of this stay leaves the window
+                    if (taken.get(start)) {
+                        takenNights--;
+                    }
+                    total -= prices[start];
+                }
+            }
+        }
+
+        List<FlexibleDateOption> options = new ArrayList<>();
+        for (FlexibleDateOption option : best) {
+            if (option != null) {
+                options.add(option);
+            }
+        }
+        return options;
+    }
+
+    // The hotel searched, or the hotels within the radius of the location
+    private Set<Long> hotelIds(FlexibleDateSearchRequest request) {
+        boolean located = request.getLatitude() != null && request.getLongitude() != null;
+        if (request.getHotelId() != null) {
+            if (located) {
+                throw new IllegalArgumentException("Search either one hotel or around a location, not both");
+            }
+            return Set.of(request.getHotelId());
+        }
+        if (!located) {
+            throw new IllegalArgumentException("A hotel or a latitude and longitude are required");
+        }
+        double radius = request.getRadiusKm() != null ? request.getRadiusKm() : maxRadiusKm;
+        if (radius <= 0 || radius > maxRadiusKm) {
+            throw new IllegalArgumentException("Radius must be greater than 0 and at most " + maxRadiusKm + " km");
+        }
+        Set<Long> hotelIds = new HashSet<>();
+        for (HotelSpatialIndex.Neighbor neighbor : hotelSpatialIndex.withinRadius(request.getLatitude(),
+                request.getLongitude(), radius)) {
+            hotelIds.add(neighbor.getHotelId());
+        }
+        return hotelIds;
+    }
+}
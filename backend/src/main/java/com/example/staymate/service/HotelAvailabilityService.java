@@ -0,0 +1,242 @@
+package com.example.staymate.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.staymate.dto.hotel.AvailabilitySearchRequest;
+import com.example.staymate.dto.hotel.HotelAvailability;
+import com.example.staymate.dto.room.RoomOffer;
+import com.example.staymate.entity.enums.AvailabilitySort;
+import com.example.staymate.entity.hotel.Hotel;
+import com.example.staymate.entity.room.RoomId;
+import com.example.staymate.index.HotelSpatialIndex;
+import com.example.staymate.index.RoomAvailabilityIndex;
+import com.example.staymate.repository.BookingRepository;
+import com.example.staymate.repository.HotelRepository;
+import com.example.staymate.repository.MaintenanceBlockRepository;
+import com.example.staymate.repository.RoomRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Finds the hotels with a free room for a stay within a radius of a location.
+ * The rooms of those hotels are read with one query, then hotels are split into
+ * partitions that are checked against the booked rooms and priced by the rate
+ * engine in parallel on a bounded fork-join pool, so one large search cannot
+ * take over every core.
+ */
+@Service
+public class HotelAvailabilityService {
+
+    private final RoomRepository roomRepository;
+    private final BookingRepository bookingRepository;
+    private final MaintenanceBlockRepository maintenanceBlockRepository;
+    private final HotelRepository hotelRepository;
+    private final HotelSpatialIndex hotelSpatialIndex;
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
+    private final RateEngine rateEngine;
+    private final CursorPaginator cursorPaginator;
+    private final ForkJoinPool pool;
+    private final int partitionSize;
+
+    @Value("${app.hotels.nearby.max-radius-km:500}")
+    private double maxRadiusKm = 500;
+
+    public HotelAvailabilityService(RoomRepository roomRepository, BookingRepository bookingRepository,
+            MaintenanceBlockRepository maintenanceBlockRepository, HotelRepository hotelRepository, HotelSpatialIndex hotelSpatialIndex,
+            RoomAvailabilityIndex roomAvailabilityIndex, RateEngine rateEngine, CursorPaginator cursorPaginator,
+            @Value("${app.hotels.availability.parallelism:4}") int parallelism,
+            @Value("${app.hotels.availability.partition-size:256}") int partitionSize) {
+        this.roomRepository = roomRepository;
+        this.bookingRepository = bookingRepository;
+        this.maintenanceBlockRepository = maintenanceBlockRepository;
+        this.hotelRepository = hotelRepository;
+        this.hotelSpatialIndex = hotelSpatialIndex;
+        this.roomAvailabilityIndex = roomAvailabilityIndex;
+        this.rateEngine = rateEngine;
+        this.cursorPaginator = cursorPaginator;
+        this.pool = new ForkJoinPool(parallelism);
+        this.partitionSize = partitionSize;
+    }
+
+    // Hotels with a free room matching the search, ranked by the quoted price of the stay
+    // in their cheapest such room or by distance
+    public List<HotelAvailability> search(AvailabilitySearchRequest request) {
+        LocalDate checkIn = request.getCheckInDate();
+        LocalDate checkOut = request.getCheckOutDate();
+        if (checkIn == null || checkOut == null || !checkOut.isAfter(checkIn)) {
+            throw new IllegalArgumentException("Check-out date must be after check-in date");
+        }
+        if (request.getGuests() <= 0) {
+            throw new IllegalArgumentException("Guests must be greater than zero");
+        }
+        double minPrice = request.getMinPrice() != null ? request.getMinPrice() : 0;
+        double maxPrice = request.getMaxPrice() != null ? request.getMaxPrice() : Double.MAX_VALUE;
+        if (minPrice < 0 || minPrice > maxPrice) {
+            throw new IllegalArgumentException("Invalid price range");
+        }
+        int limit = cursorPaginator.pageSize(request.getLimit());
+        AvailabilitySort sort = parseSort(request.getSort());
+        // The location bounds the hotels read; searching every hotel would read all their rooms
+        if (request.getLatitude() == null || request.getLongitude() == null) {
+            throw new IllegalArgumentException("Latitude and longitude are required");
+        }
+        double radius = request.getRadiusKm() != null ? request.getRadiusKm() : maxRadiusKm;
+        if (radius <= 0 || radius > maxRadiusKm) {
+            throw new IllegalArgumentException("Radius must be greater than 0 and at most " + maxRadiusKm + " km");
+        }
+
+        Map<Long, Double> distances = new HashMap<>();
+        for (HotelSpatialIndex.Neighbor neighbor : hotelSpatialIndex.withinRadius(request.getLatitude(),
+                request.getLongitude(), radius)) {
+            distances.put(neighbor.getHotelId(), neighbor.getDistanceKm());
+        }
+        if (distances.isEmpty()) {
+            return List.of();
+        }
+        // Rates differ by room type and night, so the price range is checked on the quotes
+        List<RoomOffer> offers = roomRepository.findOffersInHotels(distances.keySet(), request.getGuests(), 0,
+                Double.MAX_VALUE);
+
+        Map<Long, List<RoomOffer>> offersByHotel = offers.stream()
+                .collect(Collectors.groupingBy(RoomOffer::getHotelId, LinkedHashMap::new, Collectors.toList()));
+
+        List<Long> hotelIds = new ArrayList<>(offersByHotel.keySet());
+        // Outside the availability index horizon, read the booked and blocked rooms of these hotels
+        Set<RoomId> bookedRooms = roomAvailabilityIndex.covers(checkIn, checkOut) ? null
+                : findUnavailableRooms(hotelIds, checkIn, checkOut);
+
+        List<Callable<List<Match>>> partitions = new ArrayList<>();
+        for (int start = 0; start < hotelIds.size(); start += partitionSize) {
+            List<Long> partition = hotelIds.subList(start, Math.min(hotelIds.size(), start + partitionSize));
+            // Read the rates of the partition's hotels together here, not hotel by hotel on the workers
+            rateEngine.preload(partition);
+            partitions.add(() -> findMatches(partition, offersByHotel, bookedRooms, distances, checkIn, checkOut,
+                    minPrice, maxPrice));
+        }
+        List<Match> matches = new ArrayList<>();
+        for (Future<List<Match>> result : pool.invokeAll(partitions)) {
+            matches.addAll(join(result));
+        }
+
+        Comparator<Match> byPrice = Comparator.comparingDouble(match -> match.totalAmount);
+        Comparator<Match> byDistance = Comparator.comparing(match -> match.distanceKm);
+        matches.sort((sort == AvailabilitySort.DISTANCE ? byDistance.thenComparing(byPrice)
+                : byPrice.thenComparing(byDistance))
+                .thenComparing(match -> match.offer.getHotelId()));
+        List<Match> page = matches.subList(0, Math.min(limit, matches.size()));
+        return toResults(page);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    // Rooms of the hotels booked or under maintenance for at least one night of the stay
+    private Set<RoomId> findUnavailableRooms(List<Long> hotelIds, LocalDate checkIn, LocalDate checkOut) {
+        Set<RoomId> rooms = new HashSet<>(bookingRepository.findBookedRooms(hotelIds, checkIn, checkOut));
+        rooms.addAll(maintenanceBlockRepository.findBlockedRooms(hotelIds, checkIn, checkOut));
+        return rooms;
+    }
+
+    // The free room of every hotel in the partition with the lowest quote in the price range
+    private List<Match> findMatches(List<Long> hotelIds, Map<Long, List<RoomOffer>> offersByHotel,
+            Set<RoomId> bookedRooms, Map<Long, Double> distances, LocalDate checkIn, LocalDate checkOut,
+            double minPrice, double maxPrice) {
+        long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
+        List<Match> matches = new ArrayList<>();
+        for (Long hotelId : hotelIds) {
+            Set<Long> booked = bookedRooms == null ? roomAvailabilityIndex.bookedRooms(hotelId, checkIn, checkOut)
+                    : Set.of();
+            // The horizon moved past check-in since the search began; read this hotel's rooms instead
+            Set<RoomId> unavailable = booked == null ? findUnavailableRooms(List.of(hotelId), checkIn, checkOut)
+                    : bookedRooms;
+            Match cheapest = null;
+            for (RoomOffer offer : offersByHotel.get(hotelId)) {
+                boolean free = unavailable == null ? !booked.contains(offer.getRoomId())
+                        : !unavailable.contains(new RoomId(hotelId, offer.getRoomId()));
+                if (!free) {
+                    continue;
+                }
+                double totalAmount = rateEngine.quote(hotelId, offer.getRoomId(), checkIn, checkOut);
+                double nightly = totalAmount / nights;
+                if (nightly >= minPrice && nightly <= maxPrice
+                        && (cheapest == null || totalAmount < cheapest.totalAmount)) {
+                    cheapest = new Match(offer, distances.get(hotelId), totalAmount);
+                }
+            }
+            if (cheapest != null) {
+                matches.add(cheapest);
+            }
+        }
+        return matches;
+    }
+
+    private List<HotelAvailability> toResults(List<Match> matches) {
+        Map<Long, Hotel> hotels = hotelRepository.findAllById(matches.stream()
+                .map(match -> match.offer.getHotelId()).toList()).stream()
+                .collect(Collectors.toMap(Hotel::getId, Function.identity()));
+        List<HotelAvailability> results = new ArrayList<>();
+        for (Match match : matches) {
+            Hotel hotel = hotels.get(match.offer.getHotelId());
+            if (hotel != null) {
+                results.add(new HotelAvailability(hotel.getId(), hotel.getName(), hotel.getAddress(),
+                        hotel.getImageUrl(), match.distanceKm, match.offer.getRoomId(),
+                        match.offer.getPricePerNight(), match.totalAmount, match.offer.getMaxOccupancy()));
+            }
+        }
+        return results;
+    }
+
+    private static AvailabilitySort parseSort(String sort) {
+        try {
+            return AvailabilitySort.valueOf(sort.toUpperCase());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Sort must be price or distance");
+        }
+    }
+
+    private static List<Match> join(Future<List<Match>> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Availability search interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Availability search failed", e.getCause());
+        }
+    }
+
+    private static final class Match {
+        private final RoomOffer offer;
+        private final Double distanceKm;
+        private final double totalAmount;
+
+        private Match(RoomOffer offer, Double distanceKm, double totalAmount) {
+            this.offer = offer;
+            this.distanceKm = distanceKm;
+            this.totalAmount = totalAmount;
+        }
+    }
+}
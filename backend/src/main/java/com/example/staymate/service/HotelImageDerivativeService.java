@@ -0,0 +1,196 @@
+package com.example.staymate.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.staymate.entity.enums.ImageVariant;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Generates the resized variants of hotel images in the background. Work is
+ * keyed by the content hash of the original, so an image is only processed
+ * once no matter how many hotels or requests ask for it.
+ */
+@Service
+public class HotelImageDerivativeService {
+
+    private static final Logger log = LoggerFactory.getLogger(HotelImageDerivativeService.class);
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final HotelImageService hotelImageService;
+    private final ThreadPoolExecutor executor;
+    private final long maxPixels;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    // Images that cannot be decoded or are too large; they would fail the same way again
+    private final Set<String> failed = ConcurrentHashMap.newKeySet();
+
+    public HotelImageDerivativeService(HotelImageService hotelImageService,
+            @Value("${app.hotels.images.derivatives.threads:2}") int threads,
+            @Value("${app.hotels.images.derivatives.queue-capacity:100}") int queueCapacity,
+            @Value("${app.hotels.images.derivatives.max-pixels:40000000}") long maxPixels) {
+        this.hotelImageService = hotelImageService;
+        this.maxPixels = maxPixels;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "image-derivatives-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // Queue generation of the missing variants of an image and return immediately.
+    // When the queue is full the request is dropped; the image endpoint requests it
+    // again the next time a missing variant is asked for.
+    public void generateAsync(String hash) {
+        if (hash == null || failed.contains(hash) || isComplete(hash) || !pending.add(hash)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(hash);
+                } catch (IOException | RuntimeException e) {
+                    log.error("Failed to generate image variants for {}", hash, e);
+                } finally {
+                    pending.remove(hash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(hash);
+        }
+    }
+
+    // Generate the missing variants of an image on the calling thread. An image that
+    // cannot be decoded or is too large is marked as failed and skipped from then on;
+    // failing to read or write the files leaves it to be tried again.
+    public void generate(String hash) throws IOException {
+        Optional<Path> original = hotelImageService.find(hash);
+        if (original.isEmpty() || failed.contains(hash) || isComplete(hash)) {
+            return;
+        }
+        byte[] content = Files.readAllBytes(original.get());
+        BufferedImage source;
+        try {
+            source = decode(content);
+        } catch (IOException | RuntimeException e) {
+            failed.add(hash);
+            throw e;
+        }
+        if (source == null) {
+            failed.add(hash); // Not an image format ImageIO can decode
+            return;
+        }
+        for (ImageVariant variant : ImageVariant.values()) {
+            if (hotelImageService.findVariant(hash, variant).isEmpty()) {
+                hotelImageService.storeVariant(hash, variant, encodeJpeg(resize(source, variant.getMaxWidth())));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Decode the image from the bytes already read, so any error is in the image itself.
+    // The dimensions are read from the header first, so an image declaring more pixels than
+    // allowed is rejected before a buffer is allocated for them; null without a reader
+    private BufferedImage decode(byte[] content) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            Iterator<ImageReader> readers = in == null ? Collections.emptyIterator() : ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new IOException("Image of " + width + "x" + height + " exceeds " + maxPixels + " pixels");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private boolean isComplete(String hash) {
+        for (ImageVariant variant : ImageVariant.values()) {
+            if (hotelImageService.findVariant(hash, variant).isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Scale down to maxWidth keeping the aspect ratio; smaller images keep their size.
+    // Drawing onto an RGB canvas also flattens transparency, which JPEG cannot store.
+    private static BufferedImage resize(BufferedImage source, int maxWidth) {
+        int width = Math.min(maxWidth, source.getWidth());
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) {
+            throw new IOException("No JPEG encoder available");
+        }
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(imageOut);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.staymate.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves images still stored in the legacy {@code hotel.image} blob column into
+ * the hotel image store. Each hotel is migrated on its own so only one blob is
+ * in flight at a time; migrated blobs are cleared, so later runs are no-ops.
+ */
+@Component
+public class HotelImageMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(HotelImageMigration.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private HotelImageService hotelImageService;
+
+    @Autowired
+    private HotelImageDerivativeService hotelImageDerivativeService;
+
+    @Value("${app.hotels.images.migrate-legacy-blobs:true}")
+    private boolean enabled = true;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+
+        List<Long> hotelIds;
+        try {
+            hotelIds = jdbcTemplate.queryForList("SELECT id FROM hotel WHERE image IS NOT NULL", Long.class);
+        } catch (BadSqlGrammarException e) {
+            // No legacy image column, nothing to migrate
+            return;
+        }
+
+        for (Long hotelId : hotelIds) {
+            migrate(hotelId);
+        }
+        if (!hotelIds.isEmpty()) {
+            log.info("Migrated {} hotel images to the image store", hotelIds.size());
+        }
+    }
+
+    private void migrate(Long hotelId) {
+        ResultSetExtractor<String> storeBlob = rs -> {
+            if (!rs.next()) {
+                return null;
+            }
+            try (InputStream in = rs.getBinaryStream(1)) {
+                return in != null ? hotelImageService.store(in) : null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        String hash = jdbcTemplate.query("SELECT image FROM hotel WHERE id = ?", storeBlob, hotelId);
+
+        // Keep an image uploaded through the new store since the blob was written. The row
+        // changes outside Hibernate, so bump its version and update time here to change the ETag.
+        jdbcTemplate.update("UPDATE hotel SET image_hash = COALESCE(image_hash, ?), image = NULL, "
+                + "version = version + 1, updated_at = ? WHERE id = ?", hash, LocalDateTime.now(), hotelId);
+        hotelImageDerivativeService.generateAsync(hash);
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.staymate.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.example.staymate.entity.enums.ImageVariant;
+import com.example.staymate.exception.ImageTooLargeException;
+import com.example.staymate.exception.UploadCapacityExceededException;
+
+/**
+ * Content-addressed store for hotel images on local disk. Every image is saved
+ * under the SHA-256 hash of its bytes, so identical uploads share one file and
+ * a stored file never changes, which lets clients cache it forever.
+ */
+@Service
+public class HotelImageService {
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Path root;
+    private final long maxImageBytes;
+    private final long maxInFlightBytes;
+    private final AtomicLong inFlightBytes = new AtomicLong();
+
+    public HotelImageService(@Value("${app.hotels.images.dir:data/hotel-images}") String directory,
+            @Value("${app.hotels.images.max-size:10MB}") DataSize maxImageSize,
+            @Value("${app.hotels.images.max-in-flight:64MB}") DataSize maxInFlight) {
+        this.root = Paths.get(directory).toAbsolutePath().normalize();
+        this.maxImageBytes = maxImageSize.toBytes();
+        this.maxInFlightBytes = maxInFlight.toBytes();
+    }
+
+    // Store an uploaded image and return its hash. Uploads larger than the per-image
+    // limit are rejected before reading. The request carrying the upload already holds
+    // its share of the in-flight budget, reserved before the container read its body.
+    public String storeUpload(MultipartFile file) throws IOException {
+        long size = file.getSize();
+        if (size > maxImageBytes) {
+            throw new ImageTooLargeException("Image must not be larger than " + maxImageBytes + " bytes");
+        }
+        try (InputStream in = file.getInputStream()) {
+            return write(in, size >= 0 ? size : maxImageBytes);
+        }
+    }
+
+    // Reserve the bytes of an upload request from the in-flight budget. While the uploads
+    // being received would exceed the in-flight limit, new ones are turned away
+    public void reserveUpload(long bytes) {
+        while (true) {
+            long current = inFlightBytes.get();
+            if (current + bytes > maxInFlightBytes) {
+                throw new UploadCapacityExceededException("Too many uploads in progress, please try again later");
+            }
+            if (inFlightBytes.compareAndSet(current, current + bytes)) {
+                return;
+            }
+        }
+    }
+
+    // Give back the bytes reserved for an upload request once it has been handled
+    public void releaseUpload(long bytes) {
+        inFlightBytes.addAndGet(-bytes);
+    }
+
+    // Store the image read from the stream and return its hash
+    public String store(InputStream in) throws IOException {
+        return write(in, Long.MAX_VALUE);
+    }
+
+    // Path of a stored image, empty if the hash is malformed or unknown
+    public Optional<Path> find(String hash) {
+        if (hash == null || !HASH_PATTERN.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        Path path = pathFor(hash);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    // Path of a resized variant of a stored image, empty if it has not been generated (yet)
+    public Optional<Path> findVariant(String hash, ImageVariant variant) {
+        if (hash == null || !HASH_PATTERN.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        Path path = variantPathFor(hash, variant);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    // Store an encoded variant; readers only ever see a complete file
+    public void storeVariant(String hash, ImageVariant variant, byte[] content) throws IOException {
+        Path target = variantPathFor(hash, variant);
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(Files.createDirectories(root.resolve("tmp")), "variant-", ".part");
+        try {
+            Files.write(tmp, content);
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // Detect the image type from its first bytes, since stored files have no extension
+    public MediaType contentType(Path path) {
+        byte[] header = new byte[12];
+        int read;
+        try (InputStream in = Files.newInputStream(path)) {
+            read = in.readNBytes(header, 0, header.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (read >= 3 && (header[0] & 0xff) == 0xff && (header[1] & 0xff) == 0xd8 && (header[2] & 0xff) == 0xff) {
+            return MediaType.IMAGE_JPEG;
+        }
+        if (read >= 8 && (header[0] & 0xff) == 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G') {
+            return MediaType.IMAGE_PNG;
+        }
+        if (read >= 6 && header[0] == 'G' && header[1] == 'I' && header[2] == 'F') {
+            return MediaType.IMAGE_GIF;
+        }
+        if (read >= 12 && header[0] == 'R' && header[1] == 'I' && header[2] == 'F' && header[3] == 'F'
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return MediaType.parseMediaType("image/webp");
+        }
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    // Copy the stream to a temporary file through a fixed-size buffer while hashing it,
+    // then move it to its content-addressed location
+    private String write(InputStream in, long limit) throws IOException {
+        Path tmpDir = Files.createDirectories(root.resolve("tmp"));
+        Path tmp = Files.createTempFile(tmpDir, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(tmp), digest)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                long total = 0;
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    total += read;
+                    if (total > limit) {
+                        throw new ImageTooLargeException("Image must not be larger than " + limit + " bytes");
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = pathFor(hash);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // Stored concurrently by another upload of the same image
+                }
+            }
+            return hash;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // Images are spread over two directory levels (ab/cd/abcd...) to keep directories small
+    private Path pathFor(String hash) {
+        return shard(root, hash);
+    }
+
+    private Path variantPathFor(String hash, ImageVariant variant) {
+        return shard(root.resolve("variants").resolve(variant.name().toLowerCase()), hash);
+    }
+
+    private static Path shard(Path directory, String hash) {
+        return directory.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
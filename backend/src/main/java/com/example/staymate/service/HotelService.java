@@ -2,15 +2,40 @@ package com.example.staymate.service;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.example.staymate.config.ReplicaRead;
+import com.example.staymate.dto.custom.CursorPage;
+import com.example.staymate.dto.custom.PageCursor;
+import com.example.staymate.dto.custom.VersionStamp;
+import com.example.staymate.dto.hotel.HotelBookingCount;
+import com.example.staymate.dto.hotel.HotelSearchPage;
+import com.example.staymate.dto.hotel.HotelSummary;
+import com.example.staymate.dto.hotel.HotelText;
+import com.example.staymate.dto.room.RoomRequestDTO;
 import com.example.staymate.entity.hotel.Hotel;
 import com.example.staymate.entity.room.Room;
 import com.example.staymate.exception.ResourceNotFoundException;
+import com.example.staymate.index.HotelAutocompleteIndex;
+import com.example.staymate.index.HotelSpatialIndex;
+import com.example.staymate.index.HotelTextIndex;
+import com.example.staymate.repository.ArchivedBookingRepository;
+import com.example.staymate.repository.BookingRepository;
 import com.example.staymate.repository.HotelRepository;
+import com.example.staymate.repository.RoomRepository;
 
 @Service
 public class HotelService {
@@ -18,65 +43,213 @@ public class HotelService {
     @Autowired
     private HotelRepository hotelRepository;
 
+    @Autowired
+    private HotelSpatialIndex hotelSpatialIndex;
+
+    @Autowired
+    private HotelTextIndex hotelTextIndex;
+
+    @Autowired
+    private HotelAutocompleteIndex hotelAutocompleteIndex;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private CursorPaginator cursorPaginator;
+
+    @Value("${app.hotels.autocomplete.top-k:10}")
+    private int maxAutocompleteSuggestions = 10;
+
+    @Value("${app.hotels.nearby.default-radius-km:10}")
+    private double defaultNearbyRadiusKm = 10;
+
+    @Value("${app.hotels.nearby.max-radius-km:500}")
+    private double maxNearbyRadiusKm = 500;
+
+    // Load the in-memory indexes once the application has started
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndexes() {
+        hotelSpatialIndex.rebuild(hotelRepository.findAllLocations());
+        List<HotelText> texts = hotelRepository.findAllTexts();
+        hotelTextIndex.rebuild(texts);
+        // Archived bookings still count towards popularity
+        Map<Long, Long> bookingCounts = Stream.concat(bookingRepository.countBookingsPerHotel().stream(),
+                archivedBookingRepository.countBookingsPerHotel().stream())
+                .collect(Collectors.toMap(HotelBookingCount::getHotelId, HotelBookingCount::getBookings, Long::sum));
+        hotelAutocompleteIndex.rebuild(texts, bookingCounts);
+    }
+
     // Retrieve all hotels
+    @ReplicaRead
+    @Transactional(readOnly = true)
     public List<Hotel> getAllHotels() {
         return hotelRepository.findAll();
     }
 
-    // Retrieve a hotel by ID
+    // One page of hotel summaries after the given cursor (the first page when null).
+    // Pages are keyed by hotel ID, so every page costs the same however deep it is.
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public CursorPage<HotelSummary> getHotelSummaries(String cursor, Integer limit) {
+        int pageSize = cursorPaginator.pageSize(limit);
+        PageCursor after = PageCursor.decode(cursor);
+        List<HotelSummary> summaries = hotelRepository.findSummariesAfter(after == null ? 0 : after.getId(),
+                cursorPaginator.rowsFor(pageSize));
+        return cursorPaginator.page(summaries, pageSize, summary -> PageCursor.of(summary.getId()));
+    }
+
+    // Retrieve a hotel by ID. Not read-only: hotels are loaded here to be updated
     public Hotel getHotelById(Long id) {
         return hotelRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Hotel not found with ID " + id));
     }
 
+    // Version of a hotel and of the rooms returned with it; empty when the hotel does not exist
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public VersionStamp getHotelVersion(Long id) {
+        VersionStamp hotelVersion = hotelRepository.findVersionStamp(id);
+        return hotelVersion.isEmpty() ? hotelVersion : hotelVersion.and(roomRepository.findVersionStampByHotelId(id));
+    }
+
     // Create or update a hotel
     public Hotel saveHotel(Hotel hotel) {
-        return hotelRepository.save(hotel);
+        Hotel savedHotel = hotelRepository.save(hotel);
+        indexAfterCommit(savedHotel);
+        return savedHotel;
+    }
+
+    // Create a hotel and its rooms, numbered from firstRoomId, in one transaction so a failure
+    // leaves neither behind. The hotel only becomes searchable once both are committed
+    @Transactional
+    public Hotel createHotel(Hotel hotel, List<RoomRequestDTO> roomRequests, long firstRoomId) {
+        Hotel savedHotel = hotelRepository.save(hotel);
+        roomService.createRooms(savedHotel, roomRequests, firstRoomId);
+        indexAfterCommit(savedHotel);
+        return savedHotel;
+    }
+
+    // Within a transaction, only index the hotel once it is committed
+    private void indexAfterCommit(Hotel hotel) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    index(hotel);
+                }
+            });
+        } else {
+            index(hotel);
+        }
+    }
+
+    private void index(Hotel hotel) {
+        hotelSpatialIndex.put(hotel.getId(), hotel.getLatitude(), hotel.getLongitude());
+        hotelTextIndex.put(hotel.getId(), hotel.getName(), hotel.getAddress(), hotel.getDescription());
+        hotelAutocompleteIndex.put(hotel.getId(), hotel.getName(), hotel.getAddress());
     }
 
     // Delete a hotel by ID
     public void deleteHotel(Long id) {
         if (hotelRepository.existsById(id)) {
             hotelRepository.deleteById(id);
+            hotelSpatialIndex.remove(id);
+            hotelTextIndex.remove(id);
+            hotelAutocompleteIndex.remove(id);
         } else {
             throw new RuntimeException("Hotel not found for deletion");
         }
     }
 
     // Find hotels by name (Example of custom query method)
+    @ReplicaRead
+    @Transactional(readOnly = true)
     public List<Hotel> findHotelsByName(String name) {
         return hotelRepository.findByNameContaining(name); // assuming findByNameContaining exists
     }
 
+    // Relevance-ranked search over hotel name, address and description that
+    // tolerates typos. Returns one page of hotels and the total number of matches.
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public HotelSearchPage searchHotels(String query, int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        int pageSize = cursorPaginator.pageSize(limit);
+        HotelTextIndex.SearchResult result = hotelTextIndex.search(query, offset, pageSize);
+        return new HotelSearchPage(findAllInOrder(result.getHotelIds()), result.getTotal());
+    }
+
+    // Hotel and location names starting with the prefix, most booked first
+    public List<HotelAutocompleteIndex.Match> autocomplete(String prefix, int limit) {
+        if (limit <= 0 || limit > maxAutocompleteSuggestions) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxAutocompleteSuggestions);
+        }
+        return hotelAutocompleteIndex.suggest(prefix, limit);
+    }
+
     // Search hotels by name (alias for findHotelsByName)
+    @ReplicaRead
+    @Transactional(readOnly = true)
     public List<Hotel> searchHotelsByName(String name) {
         return findHotelsByName(name);
     }
 
     // Get the list of rooms for a specific hotel
+    @ReplicaRead
+    @Transactional(readOnly = true)
     public List<Room> getRoomsByHotel(Long hotelId) {
         return hotelRepository.findById(hotelId)
                 .map(Hotel::getRooms)
                 .orElse(Collections.emptyList()); // If hotel exists, return rooms
     }
 
-    private static double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        final double R = 6371; // Radius of the Earth in km
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lonDistance = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2) +
-                Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
-                        Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        double distance = R * c; // Distance in km
-        return distance;
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public List<Hotel> getNearbyHotels(double latitude, double longitude) {
+        return getNearbyHotels(latitude, longitude, defaultNearbyRadiusKm, null);
     }
 
-    public List<Hotel> getNearbyHotels(double latitude, double longitude) {
-        List<Hotel> allHotels = hotelRepository.findAll();
-        return allHotels.stream()
-                .filter(hotel -> calculateDistance(latitude, longitude, hotel.getLatitude(),
-                        hotel.getLongitude()) <= 10)
+    // Hotels within radiusKm (default radius when null), closest first.
+    // When limit is given only the k nearest hotels are returned.
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public List<Hotel> getNearbyHotels(double latitude, double longitude, Double radiusKm, Integer limit) {
+        double radius = radiusKm != null ? radiusKm : defaultNearbyRadiusKm;
+        if (radius <= 0 || radius > maxNearbyRadiusKm) {
+            throw new IllegalArgumentException("Radius must be greater than 0 and at most " + maxNearbyRadiusKm + " km");
+        }
+        if (limit != null && limit <= 0) {
+            throw new IllegalArgumentException("Limit must be greater than zero");
+        }
+
+        List<HotelSpatialIndex.Neighbor> neighbors = limit != null
+                ? hotelSpatialIndex.nearest(latitude, longitude, limit, radius)
+                : hotelSpatialIndex.withinRadius(latitude, longitude, radius);
+        return findAllInOrder(neighbors.stream().map(HotelSpatialIndex.Neighbor::getHotelId).toList());
+    }
+
+    // Load hotels by ID in one query and return them in the order of the given IDs
+    private List<Hotel> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Hotel> hotelsById = hotelRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Hotel::getId, Function.identity()));
+        return ids.stream()
+                .map(hotelsById::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 }
@@ -5,7 +5,12 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.staymate.config.ReplicaRead;
+import com.example.staymate.dto.custom.CursorPage;
+import com.example.staymate.dto.custom.PageCursor;
+import com.example.staymate.dto.notification.NotificationResponseDTO;
 import com.example.staymate.entity.enums.NotificationType;
 import com.example.staymate.entity.notification.Notification;
 import com.example.staymate.repository.NotificationRepository;
@@ -16,18 +21,41 @@ public class NotificationService {
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private CursorPaginator cursorPaginator;
+
     public Notification createNotification(Notification notification) {
         return notificationRepository.save(notification);
     }
 
+    @ReplicaRead
+    @Transactional(readOnly = true)
     public List<Notification> findByUserId(Long userId) {
         return notificationRepository.findByUserId(userId);
     }
 
+    // One page of a user's notifications, newest first, after the given cursor (the first page when null)
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public CursorPage<NotificationResponseDTO> getNotificationPageByUser(Long userId, String cursor, Integer limit) {
+        int pageSize = cursorPaginator.pageSize(limit);
+        PageCursor after = PageCursor.decode(cursor);
+        List<NotificationResponseDTO> notifications = after == null
+                ? notificationRepository.findUserNotificationPage(userId, cursorPaginator.rowsFor(pageSize))
+                : notificationRepository.findUserNotificationPageAfter(userId, after.getDateTimeKey(), after.getId(),
+                        cursorPaginator.rowsFor(pageSize));
+        return cursorPaginator.page(notifications, pageSize,
+                notification -> PageCursor.of(notification.getCreatedAt(), notification.getNotificationId()));
+    }
+
+    @ReplicaRead
+    @Transactional(readOnly = true)
     public List<Notification> findByUserIdAndIsRead(Long userId, boolean isRead) {
         return notificationRepository.findByUserIdAndIsRead(userId, isRead);
     }
 
+    @ReplicaRead
+    @Transactional(readOnly = true)
     public List<Notification> findByUserIdAndType(Long userId, NotificationType type) {
         return notificationRepository.findByUserIdAndType(userId, type);
     }
@@ -0,0 +1,101 @@
+package com.example.staymate.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.staymate.dto.booking.RoomTypeStay;
+import com.example.staymate.dto.hotel.OccupancyCalendar;
+import com.example.staymate.dto.room.RoomTypeCount;
+import com.example.staymate.entity.enums.RoomType;
+import com.example.staymate.repository.BookingRepository;
+import com.example.staymate.repository.MaintenanceBlockRepository;
+import com.example.staymate.repository.RoomRepository;
+
+@Service
+public class OccupancyCalendarService {
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private MaintenanceBlockRepository maintenanceBlockRepository;
+
+    @Value("${app.hotels.occupancy.max-days:366}")
+    private int maxDays = 366;
+
+    // Rooms of each type occupied on each day from `from` to `to`, both included. Only the
+    // bookings overlapping the window are read, as (type, check-in, check-out) rows. Each
+    // adds one at its first night in the window and removes one after its last, and a
+    // running sum over the days then gives the occupancy of every day: O(bookings + days)
+    // per room type instead of checking every booking against every day. Maintenance blocks
+    // are summed the same way into counts of their own, and rooms in either are not free.
+    public OccupancyCalendar getCalendar(Long hotelId, LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Both from and to dates are required");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("The to date must not be before the from date");
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > maxDays) {
+            throw new IllegalArgumentException("The calendar can span at most " + maxDays + " days");
+        }
+
+        List<RoomTypeCount> counts = new ArrayList<>(roomRepository.countRoomsByType(hotelId));
+        counts.sort(Comparator.comparing(RoomTypeCount::getRoomType));
+        List<RoomType> roomTypes = new ArrayList<>();
+        Map<RoomType, Integer> typeIndex = new EnumMap<>(RoomType.class);
+        long[] rooms = new long[counts.size()];
+        for (RoomTypeCount count : counts) {
+            typeIndex.put(count.getRoomType(), roomTypes.size());
+            rooms[roomTypes.size()] = count.getRooms();
+            roomTypes.add(count.getRoomType());
+        }
+
+        int[][] occupied = countByDay(bookingRepository.findRoomTypeStaysBetween(hotelId, from, to.plusDays(1)),
+                typeIndex, from, (int) days);
+        int[][] blocked = countByDay(
+                maintenanceBlockRepository.findRoomTypeBlocksBetween(hotelId, from, to.plusDays(1)),
+                typeIndex, from, (int) days);
+        return new OccupancyCalendar(from, (int) days, roomTypes, rooms, occupied, blocked);
+    }
+
+    // Rooms of each type held by the stays on each of the days from `from`
+    private static int[][] countByDay(List<RoomTypeStay> stays, Map<RoomType, Integer> typeIndex, LocalDate from,
+            int days) {
+        // One extra day for the removals of stays running past the window
+        int[][] changes = new int[typeIndex.size()][days + 1];
+        for (RoomTypeStay stay : stays) {
+            Integer type = typeIndex.get(stay.getRoomType());
+            if (type == null) {
+                continue;
+            }
+            int start = (int) Math.max(0, ChronoUnit.DAYS.between(from, stay.getCheckInDate()));
+            int end = (int) Math.min(days, ChronoUnit.DAYS.between(from, stay.getCheckOutDate()));
+            changes[type][start]++;
+            changes[type][end]--;
+        }
+
+        int[][] counts = new int[typeIndex.size()][days];
+        for (int type = 0; type < typeIndex.size(); type++) {
+            int running = 0;
+            for (int day = 0; day < days; day++) {
+                running += changes[type][day];
+                counts[type][day] = running;
+            }
+        }
+        return counts;
+    }
+}
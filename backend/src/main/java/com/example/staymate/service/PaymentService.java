@@ -6,9 +6,15 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.example.staymate.dto.custom.CursorPage;
+import com.example.staymate.dto.custom.PageCursor;
+import com.example.staymate.dto.payment.PaymentIdResponseDTO;
 import com.example.staymate.entity.booking.Booking;
 import com.example.staymate.entity.enums.NotificationType;
 import com.example.staymate.entity.enums.PaymentMethod;
@@ -26,7 +32,9 @@ import com.example.staymate.strategy.payment.PaypalPaymentStrategy;
 import com.example.staymate.strategy.payment.StripePaymentStrategy;
 
 @Service
-public class PaymentService implements Subject {
+public class PaymentService implements Subject, SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentService.class);
 
     private final List<Observer> observers = new ArrayList<>();
 
@@ -36,6 +44,9 @@ public class PaymentService implements Subject {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private CursorPaginator cursorPaginator;
+
     // Add observers
     @Override
     public void addObserver(Observer observer) {
@@ -65,6 +76,16 @@ public class PaymentService implements Subject {
         addObserver(notificationObserver);
     }
 
+    // Give payments made before payments had a user column the user of their booking, before
+    // requests are served, so they are listed with the user's other payments
+    @Override
+    public void afterSingletonsInstantiated() {
+        int backfilled = paymentRepository.setMissingUserIds();
+        if (backfilled > 0) {
+            log.info("Set the user of {} payments from their bookings", backfilled);
+        }
+    }
+
     // Create a new payment and save it to the database with PENDING status
     public Payment createPayment(Long bookingId, PaymentMethod paymentMethod, double amount) {
         if (amount <= 0) {
@@ -78,6 +99,7 @@ public class PaymentService implements Subject {
         // Create a new Payment object and link the booking to the payment
         Payment payment = new Payment();
         payment.setBooking(booking); // Set the booking for this payment
+        payment.setUserId(booking.getUser() == null ? null : booking.getUser().getId()); // Listed under this user
         payment.setPaymentMethod(paymentMethod); // Set the payment method
         payment.setAmount(amount); // Set the payment amount
         payment.setTransactionDate(LocalDateTime.now()); // Set the transaction date
@@ -181,6 +203,18 @@ public class PaymentService implements Subject {
         return payments;
     }
 
+    // One page of the payments for a user's bookings, latest first, after the given cursor (the first page when null)
+    public CursorPage<PaymentIdResponseDTO> getPaymentPageByUser(Long userId, String cursor, Integer limit) {
+        int pageSize = cursorPaginator.pageSize(limit);
+        PageCursor after = PageCursor.decode(cursor);
+        List<PaymentIdResponseDTO> payments = after == null
+                ? paymentRepository.findUserPaymentPage(userId, cursorPaginator.rowsFor(pageSize))
+                : paymentRepository.findUserPaymentPageAfter(userId, after.getDateTimeKey(), after.getId(),
+                        cursorPaginator.rowsFor(pageSize));
+        return cursorPaginator.page(payments, pageSize,
+                payment -> PageCursor.of(payment.getPaymentDateTime(), payment.getPaymentId()));
+    }
+
     // Get payment by ID
     public Payment getPaymentById(Long id) {
         if (id == null) {
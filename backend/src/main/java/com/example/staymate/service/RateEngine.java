@@ -0,0 +1,247 @@
+package com.example.staymate.service;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.staymate.dto.rate.RateRuleRequestDTO;
+import com.example.staymate.entity.enums.RoomType;
+import com.example.staymate.entity.rate.RateRule;
+import com.example.staymate.entity.room.Room;
+import com.example.staymate.exception.ResourceNotFoundException;
+import com.example.staymate.exception.RoomNotFoundException;
+import com.example.staymate.repository.RateRuleRepository;
+import com.example.staymate.repository.RoomRepository;
+
+/**
+ * Nightly prices of rooms: the room's price per night times the multipliers of the
+ * hotel's rate rules that apply to the night. The first quote for a hotel computes a
+ * price calendar for each of its rooms, one double per night from that day over the
+ * horizon, shared by rooms of the same type and price. A quote is then the sum of the
+ * stay's slice of the array. Changing a hotel's rules drops its calendars.
+ */
+@Service
+public class RateEngine {
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RateRuleRepository rateRuleRepository;
+
+    @Value("${app.rates.horizon-days:730}")
+    private int horizonDays = 730;
+
+    private final Map<Long, HotelRates> hotelRates = new ConcurrentHashMap<>();
+
+    // Number of times calendars were dropped, to tell whether rules changed while being preloaded
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // Price of the nights from check-in to the night before check-out, rounded to cents
+    public double quote(Long hotelId, Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        if (checkInDate == null || checkOutDate == null || !checkOutDate.isAfter(checkInDate)) {
+            throw new IllegalArgumentException("Check-out date must be after check-in date");
+        }
+        HotelRates rates = ratesOf(hotelId, roomId);
+        RoomRate room = rates.rooms.get(roomId);
+
+        int from = (int) (checkInDate.toEpochDay() - rates.firstDay);
+        int to = (int) (checkOutDate.toEpochDay() - rates.firstDay);
+        double total = 0;
+        if (from >= 0 && to <= room.prices.length) {
+            for (int night = from; night < to; night++) {
+                total += room.prices[night];
+            }
+        } else {
+            // Stays partly outside the calendars are priced night by night from the rules
+            for (LocalDate night = checkInDate; night.isBefore(checkOutDate); night = night.plusDays(1)) {
+                total += room.pricePerNight * multiplier(rates.rules, room.roomType, night);
+            }
+        }
+        return Math.round(total * 100) / 100.0;
+    }
+
+    // Price of each night from the given date on, unrounded, for summing over several stays
+    public double[] nightlyPrices(Long hotelId, Long roomId, LocalDate from, int nights) {
+        HotelRates rates = ratesOf(hotelId, roomId);
+        RoomRate room = rates.rooms.get(roomId);
+        int first = (int) (from.toEpochDay() - rates.firstDay);
+        double[] prices = new double[nights];
+        for (int night = 0; night < nights; night++) {
+            int day = first + night;
+            prices[night] = day >= 0 && day < room.prices.length ? room.prices[day]
+                    : room.pricePerNight * multiplier(rates.rules, room.roomType, from.plusDays(night));
+        }
+        return prices;
+    }
+
+    // Compute the calendars of those of the hotels that have none, reading their rules with
+    // one query and their rooms with another, so quoting rooms of many hotels does not read
+    // each hotel on its own
+    public void preload(Collection<Long> hotelIds) {
+        List<Long> missing = hotelIds.stream().filter(hotelId -> !hotelRates.containsKey(hotelId)).toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+        long invalidated = invalidations.get();
+        Map<Long, List<RateRule>> rules = rateRuleRepository.findByHotelIdIn(missing).stream()
+                .collect(Collectors.groupingBy(RateRule::getHotelId));
+        Map<Long, List<Room>> rooms = roomRepository.findByHotelIdIn(missing).stream()
+                .collect(Collectors.groupingBy(Room::getHotelId));
+        for (Long hotelId : missing) {
+            HotelRates rates = buildRates(rules.getOrDefault(hotelId, List.of()),
+                    rooms.getOrDefault(hotelId, List.of()));
+            if (hotelRates.putIfAbsent(hotelId, rates) == null && invalidations.get() != invalidated) {
+                // Rules may have changed after they were read; the next quote reads them again
+                hotelRates.remove(hotelId, rates);
+            }
+        }
+    }
+
+    public List<RateRule> getRules(Long hotelId) {
+        return rateRuleRepository.findByHotelId(hotelId);
+    }
+
+    public RateRule createRule(Long hotelId, RateRuleRequestDTO ruleRequest) {
+        if (ruleRequest.getMultiplier() <= 0) {
+            throw new IllegalArgumentException("Multiplier must be greater than zero");
+        }
+        if (ruleRequest.getStartDate() != null && ruleRequest.getEndDate() != null
+                && ruleRequest.getEndDate().isBefore(ruleRequest.getStartDate())) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        RateRule rule = new RateRule();
+        rule.setHotelId(hotelId);
+        rule.setRoomType(ruleRequest.getRoomType());
+        rule.setStartDate(ruleRequest.getStartDate());
+        rule.setEndDate(ruleRequest.getEndDate());
+        rule.setDaysOfWeek(ruleRequest.getDaysOfWeek());
+        rule.setMultiplier(ruleRequest.getMultiplier());
+        RateRule savedRule = rateRuleRepository.save(rule);
+        invalidate(hotelId);
+        return savedRule;
+    }
+
+    public void deleteRule(Long hotelId, Long ruleId) {
+        RateRule rule = rateRuleRepository.findById(ruleId)
+                .filter(existing -> existing.getHotelId().equals(hotelId))
+                .orElseThrow(() -> new ResourceNotFoundException("Rate rule not found with ID " + ruleId));
+        rateRuleRepository.delete(rule);
+        invalidate(hotelId);
+    }
+
+    // Drop the hotel's calendars; the next quote computes them again. Removing waits for a
+    // calendar being computed, so none computed from the old rules is left behind.
+    public void invalidate(Long hotelId) {
+        invalidations.incrementAndGet();
+        hotelRates.remove(hotelId);
+    }
+
+    // Calendars of the hotel, computed again once if the room is not among them
+    private HotelRates ratesOf(Long hotelId, Long roomId) {
+        HotelRates rates = hotelRates.computeIfAbsent(hotelId, this::buildRates);
+        if (!rates.rooms.containsKey(roomId)) {
+            // The room may have been added since the calendars were computed
+            hotelRates.remove(hotelId, rates);
+            rates = hotelRates.computeIfAbsent(hotelId, this::buildRates);
+            if (!rates.rooms.containsKey(roomId)) {
+                throw new RoomNotFoundException("Room with ID " + roomId + " in Hotel " + hotelId + " not found.");
+            }
+        }
+        return rates;
+    }
+
+    private HotelRates buildRates(Long hotelId) {
+        return buildRates(rateRuleRepository.findByHotelId(hotelId), roomRepository.findByHotelId(hotelId));
+    }
+
+    private HotelRates buildRates(List<RateRule> rules, List<Room> hotelRooms) {
+        LocalDate firstDay = LocalDate.now();
+
+        Map<RoomType, double[]> multipliers = new EnumMap<>(RoomType.class);
+        Map<RoomType, Map<Double, double[]>> prices = new EnumMap<>(RoomType.class);
+        Map<Long, RoomRate> rooms = new HashMap<>();
+        for (Room room : hotelRooms) {
+            RoomType roomType = room.getRoomType();
+            double[] typeMultipliers = multipliers.computeIfAbsent(roomType,
+                    type -> multipliers(rules, type, firstDay));
+            double[] roomPrices = prices.computeIfAbsent(roomType, type -> new HashMap<>())
+                    .computeIfAbsent(room.getPricePerNight(), price -> {
+                        double[] calendar = new double[typeMultipliers.length];
+                        for (int night = 0; night < calendar.length; night++) {
+                            calendar[night] = price * typeMultipliers[night];
+                        }
+                        return calendar;
+                    });
+            rooms.put(room.getRoomId(), new RoomRate(roomType, room.getPricePerNight(), roomPrices));
+        }
+        return new HotelRates(firstDay.toEpochDay(), rules, rooms);
+    }
+
+    // Multiplier of each night of the horizon; each rule only visits the nights of its season
+    private double[] multipliers(List<RateRule> rules, RoomType roomType, LocalDate firstDay) {
+        double[] multipliers = new double[horizonDays];
+        Arrays.fill(multipliers, 1.0);
+        LocalDate lastDay = firstDay.plusDays(horizonDays - 1L);
+        for (RateRule rule : rules) {
+            if (rule.getRoomType() != null && rule.getRoomType() != roomType) {
+                continue;
+            }
+            LocalDate start = rule.getStartDate() == null || rule.getStartDate().isBefore(firstDay) ? firstDay
+                    : rule.getStartDate();
+            LocalDate end = rule.getEndDate() == null || rule.getEndDate().isAfter(lastDay) ? lastDay
+                    : rule.getEndDate();
+            for (LocalDate night = start; !night.isAfter(end); night = night.plusDays(1)) {
+                if (rule.appliesOn(night.getDayOfWeek())) {
+                    multipliers[(int) (night.toEpochDay() - firstDay.toEpochDay())] *= rule.getMultiplier();
+                }
+            }
+        }
+        return multipliers;
+    }
+
+    private static double multiplier(List<RateRule> rules, RoomType roomType, LocalDate night) {
+        double multiplier = 1.0;
+        for (RateRule rule : rules) {
+            if (rule.appliesTo(roomType, night)) {
+                multiplier *= rule.getMultiplier();
+            }
+        }
+        return multiplier;
+    }
+
+    private static final class HotelRates {
+        private final long firstDay; // Epoch day of the first night of the calendars
+        private final List<RateRule> rules;
+        private final Map<Long, RoomRate> rooms;
+
+        private HotelRates(long firstDay, List<RateRule> rules, Map<Long, RoomRate> rooms) {
+            this.firstDay = firstDay;
+            this.rules = rules;
+            this.rooms = rooms;
+        }
+    }
+
+    private static final class RoomRate {
+        private final RoomType roomType;
+        private final double pricePerNight;
+        private final double[] prices;
+
+        private RoomRate(RoomType roomType, double pricePerNight, double[] prices) {
+            this.roomType = roomType;
+            this.pricePerNight = pricePerNight;
+            this.prices = prices;
+        }
+    }
+}
@@ -4,7 +4,13 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.staymate.config.ReplicaRead;
+import com.example.staymate.dto.custom.CursorPage;
+import com.example.staymate.dto.custom.PageCursor;
+import com.example.staymate.dto.custom.VersionStamp;
+import com.example.staymate.dto.review.ReviewDTO;
 import com.example.staymate.entity.Review.Review;
 import com.example.staymate.entity.hotel.Hotel;
 import com.example.staymate.entity.user.User;
@@ -15,10 +21,12 @@ import com.example.staymate.repository.ReviewRepository;
 public class ReviewService {
 
     private final ReviewRepository reviewRepository;
+    private final CursorPaginator cursorPaginator;
 
     @Autowired
-    public ReviewService(ReviewRepository reviewRepository) {
+    public ReviewService(ReviewRepository reviewRepository, CursorPaginator cursorPaginator) {
         this.reviewRepository = reviewRepository;
+        this.cursorPaginator = cursorPaginator;
     }
 
     // Save or update a review
@@ -30,10 +38,24 @@ public class ReviewService {
     }
 
     // Get all reviews
+    @ReplicaRead
+    @Transactional(readOnly = true)
     public List<Review> getAllReviews() {
         return reviewRepository.findAll();
     }
 
+    // One page of all reviews, newest first, after the given cursor (the first page when null)
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public CursorPage<ReviewDTO> getReviewPage(String cursor, Integer limit) {
+        int pageSize = cursorPaginator.pageSize(limit);
+        PageCursor after = PageCursor.decode(cursor);
+        List<ReviewDTO> reviews = after == null
+                ? reviewRepository.findReviewPage(cursorPaginator.rowsFor(pageSize))
+                : reviewRepository.findReviewPageAfter(after.getId(), cursorPaginator.rowsFor(pageSize));
+        return cursorPaginator.page(reviews, pageSize, review -> PageCursor.of(review.getId()));
+    }
+
     // Get review by ID
     public Review getReviewById(Long id) {
         return reviewRepository.findById(id)
@@ -50,6 +72,8 @@ public class ReviewService {
     }
 
     // Find reviews by hotel
+    @ReplicaRead
+    @Transactional(readOnly = true)
     public List<Review> findReviewsByHotel(Hotel hotel) {
         if (hotel == null) {
             throw new ResourceNotFoundException("Hotel must be provided.");
@@ -57,7 +81,16 @@ public class ReviewService {
         return reviewRepository.findByHotel(hotel);
     }
 
+    // Version of the reviews of a hotel; empty when the hotel has no reviews
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public VersionStamp getReviewsVersion(Long hotelId) {
+        return reviewRepository.findVersionStampByHotelId(hotelId);
+    }
+
     // Find reviews by user
+    @ReplicaRead
+    @Transactional(readOnly = true)
     public List<Review> findReviewsByUser(User user) {
         if (user == null) {
             throw new ResourceNotFoundException("User must be provided.");
@@ -66,6 +99,8 @@ public class ReviewService {
     }
 
     // Find reviews by both hotel and user
+    @ReplicaRead
+    @Transactional(readOnly = true)
     public List<Review> findReviewsByHotelAndUser(Hotel hotel, User user) {
         if (hotel == null || user == null) {
             throw new ResourceNotFoundException("Hotel and User must be provided.");
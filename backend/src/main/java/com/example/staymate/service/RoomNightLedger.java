@@ -0,0 +1,171 @@
+package com.example.staymate.service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.staymate.dto.booking.BookingStay;
+import com.example.staymate.entity.booking.Booking;
+import com.example.staymate.entity.room.RoomId;
+import com.example.staymate.exception.RoomAlreadyBookedException;
+import com.example.staymate.repository.BookingRepository;
+
+/**
+ * The nights held by bookings, one {@code room_night} row per room and night.
+ * Holding a stay inserts its nights in one JDBC batch, and the primary key on
+ * (hotel_id, room_id, night) makes the database reject a night that is already
+ * held, whichever node inserts it. Checking a stay reads the primary key index
+ * instead of scanning booking date ranges.
+ */
+@Component
+public class RoomNightLedger implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomNightLedger.class);
+
+    private static final String INSERT_NIGHT =
+            "INSERT INTO room_night (hotel_id, room_id, night, booking_id) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize = 50;
+
+    // Hold every night of the booking's stay; call within the transaction saving the booking
+    public void hold(Booking booking) {
+        hold(booking.getId(), booking.getRoom().getHotelId(), booking.getRoom().getRoomId(),
+                booking.getCheckInDate(), booking.getCheckOutDate());
+    }
+
+    public void hold(Long bookingId, Long hotelId, Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        List<Object[]> nights = new ArrayList<>();
+        addNights(nights, bookingId, hotelId, roomId, checkInDate, checkOutDate);
+        insert(nights, "Room " + roomId + " in hotel " + hotelId + " is already booked for the selected dates.");
+    }
+
+    // Hold the nights of several bookings in one batch; either all of them are held or,
+    // if one night is taken, the transaction fails without any
+    public void holdAll(List<Booking> bookings) {
+        List<Object[]> nights = new ArrayList<>();
+        for (Booking booking : bookings) {
+            addNights(nights, booking.getId(), booking.getRoom().getHotelId(), booking.getRoom().getRoomId(),
+                    booking.getCheckInDate(), booking.getCheckOutDate());
+        }
+        insert(nights, "One of the rooms is already booked for the selected dates.");
+    }
+
+    private static void addNights(List<Object[]> nights, Long bookingId, Long hotelId, Long roomId,
+            LocalDate checkInDate, LocalDate checkOutDate) {
+        for (LocalDate night = checkInDate; night.isBefore(checkOutDate); night = night.plusDays(1)) {
+            nights.add(new Object[] { hotelId, roomId, Date.valueOf(night), bookingId });
+        }
+    }
+
+    private void insert(List<Object[]> nights, String takenMessage) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_NIGHT, nights, batchSize, (ps, night) -> {
+                ps.setLong(1, (Long) night[0]);
+                ps.setLong(2, (Long) night[1]);
+                ps.setDate(3, (Date) night[2]);
+                ps.setLong(4, (Long) night[3]);
+            });
+        } catch (DuplicateKeyException e) {
+            throw new RoomAlreadyBookedException(takenMessage);
+        }
+    }
+
+    // Free the nights of a cancelled booking
+    public void release(Long bookingId) {
+        jdbcTemplate.update("DELETE FROM room_night WHERE booking_id = ?", bookingId);
+    }
+
+    public void releaseAll(List<Long> bookingIds) {
+        jdbcTemplate.batchUpdate("DELETE FROM room_night WHERE booking_id = ?", bookingIds, batchSize,
+                (ps, bookingId) -> ps.setLong(1, bookingId));
+    }
+
+    public boolean isFree(Long hotelId, Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        Integer held = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM room_night WHERE hotel_id = ? AND room_id = ? AND night >= ? AND night < ?",
+                Integer.class, hotelId, roomId, Date.valueOf(checkInDate), Date.valueOf(checkOutDate));
+        return held == null || held == 0;
+    }
+
+    // Rooms of the hotel held by a booking on the night
+    public List<Long> findHeldRoomIds(Long hotelId, LocalDate night) {
+        return jdbcTemplate.queryForList("SELECT room_id FROM room_night WHERE hotel_id = ? AND night = ?",
+                Long.class, hotelId, Date.valueOf(night));
+    }
+
+    // Rooms among the bookings' that are held for at least one night of the booking's
+    // stay, found with one query on the primary key
+    public List<RoomId> findHeldRooms(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return List.of();
+        }
+        StringBuilder sql = new StringBuilder("SELECT DISTINCT hotel_id, room_id FROM room_night WHERE ");
+        List<Object> args = new ArrayList<>();
+        for (Booking booking : bookings) {
+            if (!args.isEmpty()) {
+                sql.append(" OR ");
+            }
+            sql.append("(hotel_id = ? AND room_id = ? AND night >= ? AND night < ?)");
+            args.add(booking.getRoom().getHotelId());
+            args.add(booking.getRoom().getRoomId());
+            args.add(Date.valueOf(booking.getCheckInDate()));
+            args.add(Date.valueOf(booking.getCheckOutDate()));
+        }
+        return jdbcTemplate.query(sql.toString(),
+                (rs, rowNum) -> new RoomId(rs.getLong("hotel_id"), rs.getLong("room_id")), args.toArray());
+    }
+
+    // Backfill once the schema is up to date but before the web server starts, so no
+    // request can book a night of a booking that is not in the ledger yet
+    @Override
+    public void afterSingletonsInstantiated() {
+        backfill();
+    }
+
+    // Add the nights of active bookings made before the ledger existed. A booking that
+    // overlaps one already in the ledger is reported and left out.
+    public void backfill() {
+        Set<Long> inLedger = new HashSet<>(
+                jdbcTemplate.queryForList("SELECT DISTINCT booking_id FROM room_night", Long.class));
+        int added = 0;
+        for (BookingStay stay : bookingRepository.findActiveStaysEndingAfter(LocalDate.now())) {
+            if (inLedger.contains(stay.getId())) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> hold(stay.getId(), stay.getHotelId(),
+                        stay.getRoomId(), stay.getCheckInDate(), stay.getCheckOutDate()));
+                added++;
+            } catch (RoomAlreadyBookedException e) {
+                log.warn("Booking {} overlaps another booking of room {} in hotel {}; not added to the ledger",
+                        stay.getId(), stay.getRoomId(), stay.getHotelId());
+            }
+        }
+        if (added > 0) {
+            log.info("Added {} bookings to the room night ledger", added);
+        }
+    }
+}
@@ -1,25 +1,43 @@
 package com.example.staymate.service;
 
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import com.example.staymate.entity.booking.Booking;
+import com.example.staymate.config.ReplicaRead;
+import com.example.staymate.dto.custom.VersionStamp;
+import com.example.staymate.dto.room.RoomRequestDTO;
+
+import com.example.staymate.entity.enums.RoomStatus;
 import com.example.staymate.entity.enums.RoomType;
 import com.example.staymate.entity.hotel.Hotel;
+import com.example.staymate.entity.room.MaintenanceBlock;
 import com.example.staymate.entity.room.Room;
 import com.example.staymate.entity.room.RoomId;
+import com.example.staymate.exception.ResourceNotFoundException;
 import com.example.staymate.exception.RoomAlreadyBookedException;
 import com.example.staymate.exception.RoomNotFoundException;
 import com.example.staymate.factory.RoomFactory;
+import com.example.staymate.index.RoomAvailabilityIndex;
 import com.example.staymate.repository.BookingRepository;
 import com.example.staymate.repository.HotelRepository;
+import com.example.staymate.repository.MaintenanceBlockRepository;
 import com.example.staymate.repository.RoomRepository;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
 @Service
 public class RoomService {
 
@@ -32,6 +50,32 @@ public class RoomService {
     @Autowired
     private HotelRepository hotelRepository;
 
+    @Autowired
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Autowired
+    private RoomNightLedger roomNightLedger;
+
+    @Autowired
+    private MaintenanceBlockRepository maintenanceBlockRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize = 50;
+
+    // Load the bookings and maintenance blocks that still hold rooms into the availability index
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAvailabilityIndex() {
+        LocalDate today = LocalDate.now();
+        roomAvailabilityIndex.rebuild(bookingRepository.findActiveStaysEndingAfter(today),
+                maintenanceBlockRepository.findActiveBlocksEndingAfter(today));
+    }
+
     // Method to create a new room
     public Room createRoom(Hotel hotel, Long roomId, RoomType roomType, double pricePerNight, int maxOccupancy) {
         // Use RoomFactory to create the Room
@@ -44,45 +88,34 @@ public class RoomService {
         return roomRepository.save(room);
     }
 
-    // Method to book a room
-    public Room bookRoom(Long hotelId, Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
-        RoomId id = new RoomId(hotelId, roomId);
-
-        // Fetch room or throw exception if not found
-        Room room = roomRepository.findById(id)
-                .orElseThrow(() -> new RoomNotFoundException(
-                        "Room with ID " + roomId + " in Hotel " + hotelId + " not found."));
-
-        // Check for overlapping bookings
-        List<Booking> overlappingBookings = bookingRepository.findOverlappingBookings(hotelId, roomId, checkInDate,
-                checkOutDate);
-
-        if (!overlappingBookings.isEmpty()) {
-            throw new RoomAlreadyBookedException(
-                    "Room " + roomId + " in hotel " + hotelId + " is already booked for the selected dates.");
+    // Create all rooms of a new hotel in one transaction, numbered from firstRoomId,
+    // and return how many were created. Rooms are persisted directly because save()
+    // would merge them, selecting every room first since room ids are assigned.
+    // Flushing and clearing per batch lets Hibernate send the inserts as JDBC batches
+    // and keeps the persistence context small for large hotels.
+    @Transactional
+    public int createRooms(Hotel hotel, List<RoomRequestDTO> roomRequests, long firstRoomId) {
+        for (RoomRequestDTO roomRequest : roomRequests) {
+            if (roomRequest.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Room quantity must be greater than zero");
+            }
         }
 
-        // Book the room
-        room.book();
-
-        // Save and return updated room
-        return roomRepository.save(room);
-    }
-
-    public boolean isRoomAvailable(Long hotelId, Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
-        RoomId id = new RoomId(hotelId, roomId);
-        Optional<Room> roomOpt = roomRepository.findById(id);
-
-        // Check if room exists
-        if (roomOpt.isEmpty()) {
-            throw new RuntimeException("Room with ID " + roomId + " in Hotel " + hotelId + " not found.");
+        long roomId = firstRoomId;
+        int created = 0;
+        for (RoomRequestDTO roomRequest : roomRequests) {
+            for (int i = 0; i < roomRequest.getQuantity(); i++) {
+                entityManager.persist(RoomFactory.createRoom(hotel, roomId++, roomRequest.getRoomType(),
+                        roomRequest.getPricePerNight(), roomRequest.getMaxOccupancy()));
+                if (++created % batchSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
         }
-
-        // Check if the room has overlapping bookings
-        List<Booking> overlappingBookings = bookingRepository.findOverlappingBookings(hotelId, roomId, checkInDate,
-                checkOutDate);
-
-        return overlappingBookings.isEmpty(); // Room is available if no overlapping bookings exist
+        entityManager.flush();
+        entityManager.clear();
+        return created;
     }
 
     public Hotel getHotelById(Long hotelId) {
@@ -94,13 +127,79 @@ public class RoomService {
         return roomRepository.findByHotelId(hotelId);
     }
 
+    // Version of the rooms of a hotel; empty when the hotel has no rooms
+    public VersionStamp getRoomsVersion(Long hotelId) {
+        return roomRepository.findVersionStampByHotelId(hotelId);
+    }
+
     // Alias for getHotelRooms
     public List<Room> getRoomsByHotelId(Long hotelId) {
         return getHotelRooms(hotelId);
     }
 
+    // Rooms of the hotel free for every night of the stay. Stays within the availability
+    // horizon are checked against the in-memory index, others with the booking subquery.
+    @ReplicaRead
+    @Transactional(readOnly = true)
     public List<Room> getAvailableRooms(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
-        return roomRepository.findAvailableRooms(hotelId, checkIn, checkOut);
+        Set<Long> booked = roomAvailabilityIndex.bookedRooms(hotelId, checkIn, checkOut);
+        if (booked == null) {
+            return roomRepository.findAvailableRooms(hotelId, checkIn, checkOut);
+        }
+        return roomRepository.findByHotelId(hotelId).stream()
+                .filter(room -> !booked.contains(room.getRoomId()))
+                .toList();
+    }
+
+    // Status of every room of the hotel on the night of the date: under maintenance, booked
+    // or available. Dates within the availability horizon are answered from the index.
+    public Map<Long, RoomStatus> getRoomStatuses(Long hotelId, LocalDate date) {
+        Map<Long, RoomStatus> unavailable = roomAvailabilityIndex.unavailableRooms(hotelId, date);
+        if (unavailable == null) {
+            unavailable = new HashMap<>();
+            for (Long roomId : roomNightLedger.findHeldRoomIds(hotelId, date)) {
+                unavailable.put(roomId, RoomStatus.BOOKED);
+            }
+            for (MaintenanceBlock block : maintenanceBlockRepository.findHotelBlocksBetween(hotelId, date,
+                    date.plusDays(1))) {
+                unavailable.put(block.getRoomId(), RoomStatus.UNDER_MAINTENANCE);
+            }
+        }
+
+        Map<Long, RoomStatus> statuses = new TreeMap<>();
+        for (Room room : roomRepository.findByHotelId(hotelId)) {
+            statuses.put(room.getRoomId(), unavailable.getOrDefault(room.getRoomId(), RoomStatus.AVAILABLE));
+        }
+        return statuses;
+    }
+
+    // Take a room out of service for the nights from start up to end. Nights already held by
+    // a booking cannot be blocked.
+    public MaintenanceBlock createMaintenanceBlock(Long hotelId, Long roomId, LocalDate startDate, LocalDate endDate,
+            String reason) {
+        if (startDate == null || endDate == null || !endDate.isAfter(startDate)) {
+            throw new IllegalArgumentException("End date must be after start date");
+        }
+        if (!roomRepository.existsById(new RoomId(hotelId, roomId))) {
+            throw new RoomNotFoundException("Room with ID " + roomId + " in Hotel " + hotelId + " not found.");
+        }
+        // Checked and saved under the room's reservation lock, so a booking of the room cannot
+        // take the nights between the check and the save
+        MaintenanceBlock block = bookingService.inRoomTransaction(new RoomId(hotelId, roomId), () -> {
+            if (!roomNightLedger.isFree(hotelId, roomId, startDate, endDate)) {
+                throw new RoomAlreadyBookedException("Cannot put a booked room under maintenance.");
+            }
+            return maintenanceBlockRepository.save(new MaintenanceBlock(hotelId, roomId, startDate, endDate, reason));
+        });
+        roomAvailabilityIndex.putBlock(block.getId(), hotelId, roomId, startDate, endDate);
+        return block;
+    }
+
+    public void deleteMaintenanceBlock(Long hotelId, Long blockId) {
+        MaintenanceBlock block = maintenanceBlockRepository.findById(blockId)
+                .filter(existing -> existing.getHotelId().equals(hotelId))
+                .orElseThrow(() -> new ResourceNotFoundException("Maintenance block not found with ID " + blockId));
+        maintenanceBlockRepository.delete(block);
+        roomAvailabilityIndex.removeBlock(blockId);
     }
-    
 }
@@ -12,6 +12,8 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.staymate.dto.custom.CursorPage;
+import com.example.staymate.dto.custom.PageCursor;
 import com.example.staymate.entity.enums.UserRole;
 import com.example.staymate.entity.user.User;
 import com.example.staymate.exception.InvalidUserException;
@@ -27,6 +29,9 @@ public class UserService implements Subject {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CursorPaginator cursorPaginator;
+
     @Value("${frontend.host_url}")
     private String baseUrl;
 
@@ -56,6 +61,16 @@ public class UserService implements Subject {
         return userRepository.findAllActiveUsers();
     }
 
+    // One page of the active users by ID, after the given cursor (the first page when null)
+    public CursorPage<User> getUserPage(String cursor, Integer limit) {
+        int pageSize = cursorPaginator.pageSize(limit);
+        PageCursor after = PageCursor.decode(cursor);
+        List<User> users = after == null
+                ? userRepository.findActiveUserPage(cursorPaginator.rowsFor(pageSize))
+                : userRepository.findActiveUserPageAfter(after.getId(), cursorPaginator.rowsFor(pageSize));
+        return cursorPaginator.page(users, pageSize, user -> PageCursor.of(user.getId()));
+    }
+
     public User getUserById(Long id) {
         if (id == null) {
             throw new InvalidUserException("User ID cannot be null.");
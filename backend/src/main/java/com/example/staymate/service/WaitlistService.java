@@ -0,0 +1,215 @@
+package com.example.staymate.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.example.staymate.dto.waitlist.WaitlistRequestDTO;
+import com.example.staymate.entity.booking.Booking;
+import com.example.staymate.entity.enums.NotificationType;
+import com.example.staymate.entity.enums.RoomType;
+import com.example.staymate.entity.enums.WaitlistStatus;
+import com.example.staymate.entity.notification.Notification;
+import com.example.staymate.entity.user.User;
+import com.example.staymate.entity.waitlist.WaitlistEntry;
+import com.example.staymate.exception.ResourceNotFoundException;
+import com.example.staymate.exception.RoomAlreadyBookedException;
+import com.example.staymate.index.WaitlistIndex;
+import com.example.staymate.repository.WaitlistEntryRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Guests waiting for a room of a type in a hotel. Waiting entries are kept in the
+ * waitlist index; when a booking is cancelled, the waiters whose stay fits in the
+ * freed nights are taken from the index, and each gets the room held for a short
+ * time and a notification telling them to pay before the hold runs out. Offers are
+ * made on a background thread, so cancelling does not wait for them.
+ */
+@Service
+public class WaitlistService {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitlistService.class);
+
+    private static final DateTimeFormatter HOLD_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Autowired
+    private WaitlistIndex waitlistIndex;
+
+    @Autowired
+    private BookingHoldService bookingHoldService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RateEngine rateEngine;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Value("${app.waitlist.offer-hold-minutes:10}")
+    private long offerHoldMinutes = 10;
+
+    private final ExecutorService offers = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "waitlist-offers");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Load the entries still waiting into the waitlist index
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        waitlistIndex.rebuild(waitlistEntryRepository.findWaitingFrom(LocalDate.now()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        offers.shutdownNow();
+    }
+
+    public WaitlistEntry join(User user, WaitlistRequestDTO waitlistRequest) {
+        if (!waitlistRequest.getCheckOutDate().isAfter(waitlistRequest.getCheckInDate())) {
+            throw new IllegalArgumentException("Check-out date must be after check-in date");
+        }
+        if (waitlistRequest.getCheckInDate().isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Check-in date must not be in the past");
+        }
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setUser(user);
+        entry.setHotelId(waitlistRequest.getHotelId());
+        entry.setRoomType(waitlistRequest.getRoomType());
+        entry.setCheckInDate(waitlistRequest.getCheckInDate());
+        entry.setCheckOutDate(waitlistRequest.getCheckOutDate());
+        entry.setStatus(WaitlistStatus.WAITING);
+        entry.setCreatedAt(LocalDateTime.now());
+        WaitlistEntry savedEntry = waitlistEntryRepository.save(entry);
+        waitlistIndex.add(savedEntry.getId(), savedEntry.getHotelId(), savedEntry.getRoomType(),
+                savedEntry.getCheckInDate(), savedEntry.getCheckOutDate());
+        return savedEntry;
+    }
+
+    public List<WaitlistEntry> getUserEntries(Long userId) {
+        return waitlistEntryRepository.findByUserId(userId);
+    }
+
+    // Take the user's entry off the waitlist. An entry offered a room also gives up the booking
+    // holding it, which offers the room to the next waiter. Entries of other users are not found
+    public WaitlistEntry leave(Long entryId, Long userId) {
+        WaitlistEntry entry = waitlistEntryRepository.findById(entryId)
+                .filter(found -> found.getUser() != null && found.getUser().getId().equals(userId))
+                .orElseThrow(() -> new ResourceNotFoundException("Waitlist entry not found with ID " + entryId));
+        waitlistIndex.remove(entryId);
+        if (entry.getStatus() == WaitlistStatus.OFFERED && entry.getBookingId() != null) {
+            bookingService.cancelHold(entry.getBookingId());
+        }
+        entry.setStatus(WaitlistStatus.CANCELLED);
+        return waitlistEntryRepository.save(entry);
+    }
+
+    // Offer the freed nights of the room on the background thread
+    public void offerAsync(Long hotelId, Long roomId, RoomType roomType, LocalDate from, LocalDate to) {
+        offers.execute(() -> {
+            try {
+                offer(hotelId, roomId, roomType, from, to);
+            } catch (RuntimeException e) {
+                log.error("Failed to offer room {} in hotel {} to the waitlist", roomId, hotelId, e);
+            }
+        });
+    }
+
+    // Hold the room for each waiter whose stay fits in the nights from `from` up to `to`,
+    // and return the entries that were offered
+    public List<WaitlistEntry> offer(Long hotelId, Long roomId, RoomType roomType, LocalDate from, LocalDate to) {
+        LocalDate today = LocalDate.now();
+        LocalDate start = from.isBefore(today) ? today : from;
+        if (!to.isAfter(start)) {
+            return List.of();
+        }
+        List<WaitlistEntry> offered = new ArrayList<>();
+        List<Long> failed = new ArrayList<>();
+        for (Long entryId : waitlistIndex.claim(hotelId, roomType, start, to)) {
+            try {
+                WaitlistEntry entry = offerEntry(entryId, hotelId, roomId, today);
+                if (entry != null) {
+                    offered.add(entry);
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to offer room {} in hotel {} to waitlist entry {}", roomId, hotelId, entryId, e);
+                failed.add(entryId);
+            }
+        }
+        // The claim took the failed entries out of the index; those still waiting go back in.
+        // Should this fail too, they are loaded again when the index is rebuilt on startup.
+        if (!failed.isEmpty()) {
+            for (WaitlistEntry entry : waitlistEntryRepository.findAllById(failed)) {
+                if (entry.getStatus() == WaitlistStatus.WAITING) {
+                    waitlistIndex.add(entry.getId(), entry.getHotelId(), entry.getRoomType(),
+                            entry.getCheckInDate(), entry.getCheckOutDate());
+                }
+            }
+        }
+        return offered;
+    }
+
+    // Hold the room for a claimed entry and notify its user; null when the entry is no
+    // longer waiting or the room was booked in the meantime
+    private WaitlistEntry offerEntry(Long entryId, Long hotelId, Long roomId, LocalDate today) {
+        WaitlistEntry entry = waitlistEntryRepository.findById(entryId)
+                .filter(waiting -> waiting.getStatus() == WaitlistStatus.WAITING)
+                .orElse(null);
+        if (entry == null) {
+            return null;
+        }
+
+        Booking booking = new Booking();
+        booking.setUser(entry.getUser());
+        booking.setCheckInDate(entry.getCheckInDate());
+        booking.setCheckOutDate(entry.getCheckOutDate());
+        booking.setBookingDate(today);
+        Booking heldBooking;
+        try {
+            booking.setTotalAmount(rateEngine.quote(hotelId, roomId, entry.getCheckInDate(),
+                    entry.getCheckOutDate()));
+            heldBooking = bookingHoldService.createHold(booking, hotelId, roomId,
+                    Duration.ofMinutes(offerHoldMinutes));
+        } catch (RoomAlreadyBookedException e) {
+            // Booked by someone else in the meantime; keep waiting for the next cancellation
+            waitlistIndex.add(entry.getId(), entry.getHotelId(), entry.getRoomType(), entry.getCheckInDate(),
+                    entry.getCheckOutDate());
+            return null;
+        }
+
+        entry.setStatus(WaitlistStatus.OFFERED);
+        entry.setBookingId(heldBooking.getId());
+        WaitlistEntry offeredEntry = waitlistEntryRepository.save(entry);
+
+        Notification notification = new Notification();
+        notification.setUser(entry.getUser());
+        notification.setMessage("A room you were waiting for from " + entry.getCheckInDate() + " to "
+                + entry.getCheckOutDate() + " is held for you until "
+                + heldBooking.getHoldExpiresAt().format(HOLD_TIME_FORMAT) + ". Pay for booking "
+                + heldBooking.getId() + " to keep it.");
+        notification.setType(NotificationType.BOOKING);
+        notification.setRead(false);
+        notification.setCreatedAt(LocalDateTime.now());
+        notificationService.createNotification(notification);
+        return offeredEntry;
+    }
+}
@@ -5,7 +5,13 @@ USE staymateMS;
 
 -- Drop existing tables if they exist
 DROP TABLE IF EXISTS Notification;
+DROP TABLE IF EXISTS payment_archive;
+DROP TABLE IF EXISTS booking_archive;
 DROP TABLE IF EXISTS Payment;
+DROP TABLE IF EXISTS room_night;
+DROP TABLE IF EXISTS rate_rule;
+DROP TABLE IF EXISTS maintenance_block;
+DROP TABLE IF EXISTS waitlist_entry;
 DROP TABLE IF EXISTS Review;
 DROP TABLE IF EXISTS Booking;
 DROP TABLE IF EXISTS Room;
@@ -47,6 +53,19 @@ CREATE TABLE IF NOT EXISTS Room (
     FOREIGN KEY (hotel_id) REFERENCES Hotel(id)
 );
 
+-- Create Rate Rule table: price multipliers of a hotel's rooms by room type, season and day of week
+CREATE TABLE IF NOT EXISTS rate_rule (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    hotel_id BIGINT NOT NULL,
+    room_type VARCHAR(255), -- NULL for every room type
+    start_date DATE,
+    end_date DATE,
+    days_of_week INT NOT NULL DEFAULT 0, -- Bit 0 is Monday; 0 for every day
+    multiplier DOUBLE NOT NULL,
+    INDEX idx_rate_rule_hotel (hotel_id),
+    FOREIGN KEY (hotel_id) REFERENCES Hotel(id) ON DELETE CASCADE
+);
+
 -- Create Booking table
 CREATE TABLE IF NOT EXISTS Booking (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -55,11 +74,56 @@ CREATE TABLE IF NOT EXISTS Booking (
     booking_date DATE NOT NULL,
     total_amount DOUBLE NOT NULL,
     status ENUM('PENDING', 'CONFIRMED', 'CANCELLED') NOT NULL,
+    hold_expires_at DATETIME, -- Pending bookings are cancelled once this has passed
     user_id BIGINT NOT NULL,
     hotel_id BIGINT NOT NULL,
     room_id BIGINT NOT NULL,
     FOREIGN KEY (user_id) REFERENCES Users(id) ON DELETE CASCADE,
-    FOREIGN KEY (hotel_id, room_id) REFERENCES Room(hotel_id, room_id)
+    FOREIGN KEY (hotel_id, room_id) REFERENCES Room(hotel_id, room_id),
+    INDEX idx_booking_room_stay (hotel_id, room_id, check_in_date),
+    INDEX idx_booking_user_check_in (user_id, check_in_date, id) -- Keyset pages of a user's bookings
+);
+
+-- Create Room Night table: one row per room and night held by a booking.
+-- The primary key rejects a second booking of the same room on the same night.
+CREATE TABLE IF NOT EXISTS room_night (
+    hotel_id BIGINT NOT NULL,
+    room_id BIGINT NOT NULL,
+    night DATE NOT NULL,
+    booking_id BIGINT NOT NULL,
+    PRIMARY KEY (hotel_id, room_id, night),
+    INDEX idx_room_night_booking (booking_id),
+    FOREIGN KEY (booking_id) REFERENCES Booking(id) ON DELETE CASCADE
+);
+
+-- Create Maintenance Block table: nights a room is out of service, from start_date up to end_date (exclusive).
+-- A room's status on a night is derived from its bookings and blocks instead of being stored on the room.
+CREATE TABLE IF NOT EXISTS maintenance_block (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    hotel_id BIGINT NOT NULL,
+    room_id BIGINT NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    reason VARCHAR(255),
+    INDEX idx_maintenance_block_room (hotel_id, room_id, start_date),
+    FOREIGN KEY (hotel_id, room_id) REFERENCES Room(hotel_id, room_id) ON DELETE CASCADE
+);
+
+-- Create Waitlist Entry table: guests waiting for a room of a type in a hotel for a stay.
+-- booking_id is the held booking offered once a matching booking was cancelled.
+CREATE TABLE IF NOT EXISTS waitlist_entry (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    hotel_id BIGINT NOT NULL,
+    room_type VARCHAR(255) NOT NULL,
+    check_in_date DATE NOT NULL,
+    check_out_date DATE NOT NULL,
+    status ENUM('WAITING', 'OFFERED', 'CANCELLED') NOT NULL,
+    created_at DATETIME NOT NULL,
+    booking_id BIGINT,
+    INDEX idx_waitlist_entry_status (status),
+    FOREIGN KEY (user_id) REFERENCES Users(id) ON DELETE CASCADE,
+    FOREIGN KEY (hotel_id) REFERENCES Hotel(id) ON DELETE CASCADE
 );
 
 -- Create Review table
@@ -82,7 +146,38 @@ CREATE TABLE IF NOT EXISTS Payment (
     amount DECIMAL(10, 2) NOT NULL,
     transaction_date DATETIME NOT NULL,
     status ENUM('PENDING', 'SUCCESS', 'FAILED') NOT NULL, -- Payment status
-    FOREIGN KEY (booking_id) REFERENCES Booking(id)
+    FOREIGN KEY (booking_id) REFERENCES Booking(id),
+    INDEX idx_payment_booking_date (booking_id, transaction_date, id) -- Keyset pages of a user's payments
+);
+
+-- Create Booking Archive table: bookings checked out long ago, moved out of Booking with their IDs.
+-- Only read when a listing or export asks for archived bookings.
+CREATE TABLE IF NOT EXISTS booking_archive (
+    id BIGINT PRIMARY KEY,
+    check_in_date DATE NOT NULL,
+    check_out_date DATE NOT NULL,
+    booking_date DATE NOT NULL,
+    total_amount DOUBLE NOT NULL,
+    status ENUM('PENDING', 'CONFIRMED', 'CANCELLED') NOT NULL,
+    hold_expires_at DATETIME,
+    user_id BIGINT NOT NULL,
+    hotel_id BIGINT NOT NULL,
+    room_id BIGINT NOT NULL,
+    archived_at DATETIME NOT NULL,
+    FOREIGN KEY (hotel_id, room_id) REFERENCES Room(hotel_id, room_id),
+    INDEX idx_booking_archive_user_check_in (user_id, check_in_date, id)
+);
+
+-- Create Payment Archive table: payments of archived bookings, moved with them
+CREATE TABLE IF NOT EXISTS payment_archive (
+    id BIGINT PRIMARY KEY,
+    booking_id BIGINT,
+    payment_method ENUM('CREDIT_CARD', 'PAYPAL', 'STRIPE') NOT NULL,
+    amount DECIMAL(10, 2) NOT NULL,
+    transaction_date DATETIME NOT NULL,
+    status ENUM('PENDING', 'SUCCESS', 'FAILED') NOT NULL,
+    archived_at DATETIME NOT NULL,
+    INDEX idx_payment_archive_booking (booking_id)
 );
 
 -- Create Notification table
@@ -93,7 +188,8 @@ CREATE TABLE IF NOT EXISTS Notification (
     type ENUM('BOOKING', 'PAYMENT', 'PROMOTION') NOT NULL,  -- Notification type (using ENUM)
     is_read BOOLEAN NOT NULL, 
     created_at DATETIME NOT NULL,
-    FOREIGN KEY (user_id) REFERENCES Users(id)
+    FOREIGN KEY (user_id) REFERENCES Users(id),
+    INDEX idx_notification_user_created (user_id, created_at, id) -- Keyset pages of a user's notifications
 );
 
 --Bookmark table
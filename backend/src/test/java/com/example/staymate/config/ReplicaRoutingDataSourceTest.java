@@ -0,0 +1,193 @@
+package com.example.staymate.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.MethodMatcher;
+import org.springframework.aop.PointcutAdvisor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.staymate.service.HotelService;
+
+// Routes between two embedded H2 databases, each holding a row that names it
+class ReplicaRoutingDataSourceTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(2);
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private MutableClock clock;
+    private ReplicaLagFilter lagFilter;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        clock = new MutableClock();
+        ReplicaLagGuard lagGuard = new ReplicaLagGuard(MAX_LAG, clock);
+        lagFilter = new ReplicaLagFilter(lagGuard);
+        DataSource routing = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replica, lagGuard));
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void testReplicaReadsGoToReplica() {
+        assertEquals("replica", replicaRead(() -> readOnly.execute(status -> source())));
+        // Joining a read-write transaction, and outside a transaction
+        assertEquals("primary", replicaRead(() -> readWrite.execute(status -> source())));
+        assertEquals("primary", replicaRead(this::source));
+    }
+
+    @Test
+    void testOtherReadOnlyTransactionsGoToPrimary() {
+        assertEquals("primary", readOnly.execute(status -> source()));
+        assertEquals("primary", readWrite.execute(status -> source()));
+        assertEquals("primary", source());
+    }
+
+    @Test
+    void testReadsAfterWriteGoToPrimaryUntilReplicaCaughtUp() {
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE source SET hits = hits + 1"));
+        assertEquals("primary", replicaRead(() -> readOnly.execute(status -> source())));
+
+        clock.advance(MAX_LAG.minusMillis(1));
+        assertEquals("primary", replicaRead(() -> readOnly.execute(status -> source())));
+
+        clock.advance(Duration.ofMillis(1));
+        assertEquals("replica", replicaRead(() -> readOnly.execute(status -> source())));
+    }
+
+    @Test
+    void testWriteOnlyHoldsItsOwnClientOnPrimary() throws Exception {
+        MockHttpServletResponse written = request(null, () -> readWrite.executeWithoutResult(
+                status -> jdbcTemplate.update("UPDATE source SET hits = hits + 1")));
+        String lastWrite = written.getHeader(ReplicaLagGuard.LAST_WRITE_HEADER);
+        assertNotNull(lastWrite);
+
+        // Other clients keep reading from the replica
+        assertEquals("replica", requestRead(null));
+        // The writing client reads from the primary until the replica has caught up
+        assertEquals("primary", requestRead(lastWrite));
+        clock.advance(MAX_LAG);
+        assertEquals("replica", requestRead(lastWrite));
+    }
+
+    @Test
+    void testRolledBackWriteDoesNotHoldReadsOnPrimary() {
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE source SET hits = hits + 1");
+            status.setRollbackOnly();
+        });
+        assertEquals("replica", replicaRead(() -> readOnly.execute(status -> source())));
+    }
+
+    @Test
+    void testReplicaReadAdvisorMatchesMarkedMethods() throws NoSuchMethodException {
+        MethodMatcher matcher = ((PointcutAdvisor) ReplicaDataSourceConfig.replicaReadAdvisor()).getPointcut()
+                .getMethodMatcher();
+        assertTrue(matcher.matches(HotelService.class.getMethod("getAllHotels"), HotelService.class));
+        assertFalse(matcher.matches(HotelService.class.getMethod("getHotelById", Long.class), HotelService.class));
+    }
+
+    // Runs the read as a call of a @ReplicaRead method would
+    @SuppressWarnings("unchecked")
+    private static <T> T replicaRead(Supplier<T> read) {
+        ProxyFactory proxyFactory = new ProxyFactory(read);
+        proxyFactory.addAdvice(new ReplicaReadInterceptor());
+        return ((Supplier<T>) proxyFactory.getProxy()).get();
+    }
+
+    // Serves a request of a client that sent the given last write header
+    private MockHttpServletResponse request(String lastWrite, Runnable handler) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (lastWrite != null) {
+            request.addHeader(ReplicaLagGuard.LAST_WRITE_HEADER, lastWrite);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        lagFilter.doFilter(request, response, (req, res) -> handler.run());
+        return response;
+    }
+
+    private String requestRead(String lastWrite) throws Exception {
+        AtomicReference<String> source = new AtomicReference<>();
+        request(lastWrite, () -> source.set(replicaRead(() -> readOnly.execute(status -> source()))));
+        return source.get();
+    }
+
+    private String source() {
+        return jdbcTemplate.queryForObject("SELECT name FROM source", String.class);
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name + "-" + UUID.randomUUID())
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE source (name VARCHAR(16) NOT NULL, hits INT NOT NULL)");
+        jdbcTemplate.update("INSERT INTO source (name, hits) VALUES (?, 0)", name);
+        return database;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant = Instant.parse("2025-03-01T00:00:00Z");
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.staymate.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import com.example.staymate.service.HotelImageService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class UploadLimitFilterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private HotelImageService hotelImageService;
+    private UploadLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        hotelImageService = new HotelImageService(tempDir.toString(), DataSize.ofBytes(16), DataSize.ofBytes(32));
+        filter = new UploadLimitFilter(hotelImageService, new ObjectMapper(), 20);
+    }
+
+    @Test
+    void testRejectsDeclaredOversizedUploadWithoutReadingIt() throws Exception {
+        AtomicBoolean handled = new AtomicBoolean();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(upload(21), response, chain(handled));
+
+        assertEquals(413, response.getStatus());
+        assertTrue(response.getContentAsString().contains("Upload must not be larger than 20 bytes"));
+        assertFalse(handled.get());
+    }
+
+    @Test
+    void testHoldsInFlightBudgetWhileUploadIsHandled() throws Exception {
+        // Another upload is being received while this one arrives
+        hotelImageService.reserveUpload(20);
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+
+        filter.doFilter(upload(16), rejected, chain(new AtomicBoolean()));
+
+        assertEquals(503, rejected.getStatus());
+
+        hotelImageService.releaseUpload(20);
+        AtomicBoolean handled = new AtomicBoolean();
+        filter.doFilter(upload(16), new MockHttpServletResponse(), chain(handled));
+
+        assertTrue(handled.get());
+        // The budget is given back once the upload has been handled
+        hotelImageService.reserveUpload(32);
+    }
+
+    @Test
+    void testUploadOfUnknownLengthReservesTheLimit() throws Exception {
+        hotelImageService.reserveUpload(16);
+        MockHttpServletRequest request = upload(0);
+        request.setContent(null);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain(new AtomicBoolean()));
+
+        assertEquals(503, response.getStatus());
+    }
+
+    @Test
+    void testOtherRequestsAreNotLimited() throws Exception {
+        hotelImageService.reserveUpload(32);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/bookings");
+        request.setContentType("application/json");
+        request.setContent(new byte[64]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean handled = new AtomicBoolean();
+
+        filter.doFilter(request, response, chain(handled));
+
+        assertTrue(handled.get());
+        assertEquals(200, response.getStatus());
+    }
+
+    private static MockHttpServletRequest upload(int length) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/hotels");
+        request.setContentType("multipart/form-data; boundary=upload");
+        request.setContent(new byte[length]);
+        return request;
+    }
+
+    private static MockFilterChain chain(AtomicBoolean handled) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                handled.set(true);
+            }
+        });
+    }
+}
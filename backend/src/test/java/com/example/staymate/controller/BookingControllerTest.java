@@ -1,8 +1,8 @@
 package com.example.staymate.controller;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -13,6 +13,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -20,6 +21,7 @@ import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -29,17 +31,24 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.example.staymate.dto.booking.BookingRequestDTO;
+import com.example.staymate.dto.booking.BookingResponseDTO;
+import com.example.staymate.dto.booking.RoomStayRequestDTO;
+import com.example.staymate.dto.custom.CursorPage;
+import com.example.staymate.dto.user.UserBookingResponseDTO;
 import com.example.staymate.entity.booking.Booking;
 import com.example.staymate.entity.enums.BookingStatus;
-import com.example.staymate.entity.enums.RoomStatus;
 import com.example.staymate.entity.enums.RoomType;
 import com.example.staymate.entity.hotel.Hotel;
 import com.example.staymate.entity.room.Room;
-import com.example.staymate.entity.room.RoomId;
 import com.example.staymate.entity.user.User;
+import com.example.staymate.exception.BookingHoldExpiredException;
+import com.example.staymate.exception.ResourceNotFoundException;
+import com.example.staymate.exception.RoomAlreadyBookedException;
+import com.example.staymate.exception.RoomNotFoundException;
 import com.example.staymate.factory.RoomFactory;
+import com.example.staymate.service.BookingHoldService;
 import com.example.staymate.service.BookingService;
-import com.example.staymate.service.RoomService;
+import com.example.staymate.service.RateEngine;
 import com.example.staymate.service.UserService;
 
 @ExtendWith(MockitoExtension.class)
@@ -51,10 +60,13 @@ class BookingControllerTest {
     private BookingService bookingService;
 
     @Mock
-    private RoomService roomService;
+    private UserService userService;
 
     @Mock
-    private UserService userService;
+    private BookingHoldService bookingHoldService;
+
+    @Mock
+    private RateEngine rateEngine;
 
     @InjectMocks
     private BookingController bookingController;
@@ -73,44 +85,17 @@ class BookingControllerTest {
         LocalDate checkInDate = LocalDate.of(2025, 2, 23); // Set the check-in date as per the request
         LocalDate checkOutDate = LocalDate.of(2025, 2, 25); // Set the check-out date as per the request
         double totalAmount = 100.0;
-        RoomType roomType = RoomType.SINGLE;
-        double pricePerNight = 50.0;
-        int maxOccupancy = 2;
 
         // Creating mock data for User and Room
         User user = new User();
         user.setId(userId);
         when(userService.getUserById(userId)).thenReturn(user);
 
-        lenient().when(roomService.isRoomAvailable(eq(hotelId), eq(generatedRoomId), eq(checkInDate), eq(checkOutDate))).thenReturn(true);
-        
-        // Simulate hotel creation
         Hotel mockHotel = new Hotel();
         mockHotel.setId(hotelId);
+        Room mockRoom = RoomFactory.createRoom(mockHotel, generatedRoomId, RoomType.SINGLE, 50.0, 2);
 
-        // Creating BookingRequestDTO mock
-        BookingRequestDTO bookingRequestDTO = new BookingRequestDTO();
-        bookingRequestDTO.setUserId(userId);
-        bookingRequestDTO.setHotelId(hotelId);
-        bookingRequestDTO.setRoomId(generatedRoomId);
-        bookingRequestDTO.setCheckInDate(checkInDate);
-        bookingRequestDTO.setCheckOutDate(checkOutDate);
-        bookingRequestDTO.setTotalAmount(totalAmount);
-
-        // Simulate room creation using RoomFactory
-        Room mockRoom = RoomFactory.createRoom(mockHotel, generatedRoomId, roomType, pricePerNight, maxOccupancy);
-        mockRoom.setId(new RoomId(hotelId, generatedRoomId));
-        mockRoom.setMaxOccupancy(maxOccupancy);
-        mockRoom.setPricePerNight(pricePerNight);
-        mockRoom.setStatus(RoomStatus.AVAILABLE);
-
-        // Mock RoomService to return the created room from the factory
-        lenient().when(roomService.createRoom(eq(mockHotel), eq(generatedRoomId), eq(roomType), eq(pricePerNight), eq(maxOccupancy)))
-            .thenReturn(mockRoom);
-
-        when(roomService.bookRoom(eq(hotelId), eq(generatedRoomId), eq(checkInDate), eq(checkOutDate))).thenReturn(mockRoom);
-
-        // Creating a Booking mock
+        // The reserved booking returned by the service
         Booking booking = new Booking();
         booking.setId(1L);
         booking.setUser(user);
@@ -120,7 +105,9 @@ class BookingControllerTest {
         booking.setBookingDate(checkInDate);
         booking.setTotalAmount(totalAmount);
         booking.setStatus(BookingStatus.PENDING);
-        when(bookingService.createBooking(any(Booking.class))).thenReturn(booking);
+        booking.setHoldExpiresAt(LocalDateTime.of(2025, 2, 20, 10, 15));
+        when(bookingHoldService.createHold(any(Booking.class), eq(hotelId), eq(generatedRoomId))).thenReturn(booking);
+        when(rateEngine.quote(hotelId, generatedRoomId, checkInDate, checkOutDate)).thenReturn(180.0);
 
         // Perform the POST request to create a booking
         mockMvc.perform(post("/bookings")
@@ -128,32 +115,28 @@ class BookingControllerTest {
                 .content("{\"userId\":1,\"hotelId\":1,\"roomId\":101,\"checkInDate\":\"2025-02-23\",\"checkOutDate\":\"2025-02-25\",\"totalAmount\":100.0}"))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.message").value("Booking created successfully"))
-                .andExpect(jsonPath("$.data.bookingId").value(1));
+                .andExpect(jsonPath("$.data.bookingId").value(1))
+                .andExpect(jsonPath("$.data.holdExpiresAt").exists());
+
+        // The requested stay is passed to the reservation in a single call
+        ArgumentCaptor<Booking> reserved = ArgumentCaptor.forClass(Booking.class);
+        verify(bookingHoldService).createHold(reserved.capture(), eq(hotelId), eq(generatedRoomId));
+        assertEquals(checkInDate, reserved.getValue().getCheckInDate());
+        assertEquals(checkOutDate, reserved.getValue().getCheckOutDate());
+        assertEquals(user, reserved.getValue().getUser());
+        assertEquals(180.0, reserved.getValue().getTotalAmount(), 0.001); // Server quote, not the client's amount
     }
 
     @Test
     void testCreateBooking_RoomUnavailable() throws Exception {
         Long userId = 1L;
-        Long hotelId = 1L;
-        Long roomId = 101L;
-        LocalDate checkInDate = LocalDate.now().plusDays(1);
-        LocalDate checkOutDate = checkInDate.plusDays(2);
 
         User user = new User();
         user.setId(userId);
         when(userService.getUserById(userId)).thenReturn(user);
 
-        // Mock data for booking request
-        BookingRequestDTO bookingRequestDTO = new BookingRequestDTO();
-        bookingRequestDTO.setUserId(userId);
-        bookingRequestDTO.setHotelId(hotelId);
-        bookingRequestDTO.setRoomId(roomId);
-        bookingRequestDTO.setCheckInDate(checkInDate);
-        bookingRequestDTO.setCheckOutDate(checkOutDate);
-        bookingRequestDTO.setTotalAmount(100.0);
-
-        // Mock the services with lenient stubbing
-        lenient().when(roomService.isRoomAvailable(eq(hotelId), eq(roomId), eq(checkInDate), eq(checkOutDate))).thenReturn(false);
+        when(bookingHoldService.createHold(any(Booking.class), eq(1L), eq(101L)))
+                .thenThrow(new RoomAlreadyBookedException("Room 101 in hotel 1 is already booked for the selected dates."));
 
         // Perform the POST request
         mockMvc.perform(post("/bookings")
@@ -162,55 +145,146 @@ class BookingControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value("Room is not available for the selected dates"));
 
-        // Verifying that createBooking was not called due to room unavailability
-        verify(bookingService, times(0)).createBooking(any(Booking.class));
+        // Verifying that no booking was reserved outside the hold
+        verify(bookingService, times(0)).reserveRoom(any(Booking.class), any(), any());
     }
 
     @Test
     void testCreateBooking_InvalidDates() throws Exception {
-        Long userId = 1L;
-        Long hotelId = 1L;
-        Long roomId = 101L;
-        LocalDate checkInDate = LocalDate.now().plusDays(3);
-        LocalDate checkOutDate = checkInDate.minusDays(1);  // Invalid check-out date
-
-        // BookingRequestDTO mock
-        BookingRequestDTO bookingRequestDTO = new BookingRequestDTO();
-        bookingRequestDTO.setUserId(userId);
-        bookingRequestDTO.setHotelId(hotelId);
-        bookingRequestDTO.setRoomId(roomId);
-        bookingRequestDTO.setCheckInDate(checkInDate);
-        bookingRequestDTO.setCheckOutDate(checkOutDate);
-        bookingRequestDTO.setTotalAmount(100.0);
-
         mockMvc.perform(post("/bookings")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content("{\"userId\":1,\"hotelId\":1,\"roomId\":101,\"checkInDate\":\"2025-02-25\",\"checkOutDate\":\"2025-02-24\",\"totalAmount\":100.0}"))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value("Check-out date must be after check-in date"));
+
+        verify(bookingHoldService, times(0)).createHold(any(Booking.class), any(), any());
     }
 
     @Test
-    void testCreateBooking_BookingRoomFailure() throws Exception {
+    void testCreateBooking_RoomNotFound() throws Exception {
         Long userId = 1L;
-        Long hotelId = 1L;
-        Long roomId = 101L;
-        LocalDate checkInDate = LocalDate.now().plusDays(10);
-        LocalDate checkOutDate = checkInDate.plusDays(1);
 
         User mockUser = new User();
         mockUser.setId(userId);
         when(userService.getUserById(userId)).thenReturn(mockUser);
 
-        lenient().when(roomService.isRoomAvailable(hotelId, roomId, checkInDate, checkOutDate)).thenReturn(true);  // Simulate room availability
-        lenient().when(roomService.bookRoom(hotelId, roomId, checkInDate, checkOutDate)).thenThrow(new RuntimeException("Room booking failed. The room might not be available."));
+        when(bookingHoldService.createHold(any(Booking.class), eq(1L), eq(101L)))
+                .thenThrow(new RoomNotFoundException("Room with ID 101 in Hotel 1 not found."));
 
         mockMvc.perform(post("/bookings")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content("{\"userId\":1,\"hotelId\":1,\"roomId\":101,\"checkInDate\":\"2025-02-25\",\"checkOutDate\":\"2025-02-26\",\"totalAmount\":100.0}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Room with ID 101 in Hotel 1 not found."));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateBookings_Success() throws Exception {
+        User user = new User();
+        user.setId(1L);
+        when(userService.getUserById(1L)).thenReturn(user);
+
+        List<Booking> bookings = new ArrayList<>();
+        for (long id = 1; id <= 2; id++) {
+            Booking booking = new Booking();
+            booking.setId(id);
+            booking.setStatus(BookingStatus.PENDING);
+            booking.setHoldExpiresAt(LocalDateTime.of(2025, 2, 20, 10, 15));
+            bookings.add(booking);
+        }
+        when(bookingHoldService.createHolds(eq(user), any())).thenReturn(bookings);
+
+        mockMvc.perform(post("/bookings/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"userId\":1,\"rooms\":["
+                        + "{\"hotelId\":1,\"roomId\":101,\"checkInDate\":\"2025-02-23\",\"checkOutDate\":\"2025-02-25\"},"
+                        + "{\"hotelId\":1,\"roomId\":102,\"checkInDate\":\"2025-02-23\",\"checkOutDate\":\"2025-02-25\"}]}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.message").value("Bookings created successfully"))
+                .andExpect(jsonPath("$.data.bookingIds[0]").value(1))
+                .andExpect(jsonPath("$.data.bookingIds[1]").value(2))
+                .andExpect(jsonPath("$.data.holdExpiresAt").exists());
+
+        // All rooms are reserved together in a single call
+        ArgumentCaptor<List<RoomStayRequestDTO>> stays = ArgumentCaptor.forClass(List.class);
+        verify(bookingHoldService).createHolds(eq(user), stays.capture());
+        assertEquals(2, stays.getValue().size());
+        assertEquals(102L, stays.getValue().get(1).getRoomId());
+    }
+
+    @Test
+    void testCreateBookings_RoomUnavailable() throws Exception {
+        User user = new User();
+        user.setId(1L);
+        when(userService.getUserById(1L)).thenReturn(user);
+        when(bookingHoldService.createHolds(eq(user), any()))
+                .thenThrow(new RoomAlreadyBookedException("Room 102 in hotel 1 is already booked for the selected dates."));
+
+        mockMvc.perform(post("/bookings/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"userId\":1,\"rooms\":["
+                        + "{\"hotelId\":1,\"roomId\":102,\"checkInDate\":\"2025-02-23\",\"checkOutDate\":\"2025-02-25\"}]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Room 102 in hotel 1 is already booked for the selected dates."));
+    }
+
+    @Test
+    void testCreateBookings_InvalidDates() throws Exception {
+        mockMvc.perform(post("/bookings/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"userId\":1,\"rooms\":["
+                        + "{\"hotelId\":1,\"roomId\":101,\"checkInDate\":\"2025-02-23\",\"checkOutDate\":\"2025-02-25\"},"
+                        + "{\"hotelId\":1,\"roomId\":102,\"checkInDate\":\"2025-02-25\",\"checkOutDate\":\"2025-02-25\"}]}"))
                 .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.message").value("Room is not available for the selected dates"));  // Expect the error message    }
+                .andExpect(jsonPath("$.message").value("Check-out date must be after check-in date"));
+
+        verify(bookingHoldService, times(0)).createHolds(any(), any());
+    }
+
+    @Test
+    void testExtendHold_Success() throws Exception {
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setStatus(BookingStatus.PENDING);
+        booking.setHoldExpiresAt(LocalDateTime.of(2025, 2, 20, 10, 30));
+        when(bookingHoldService.extendHold(1L)).thenReturn(booking);
+
+        mockMvc.perform(post("/bookings/{id}/hold/extend", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.bookingId").value(1))
+                .andExpect(jsonPath("$.data.status").value("PENDING"));
+    }
+
+    @Test
+    void testExtendHold_Expired() throws Exception {
+        when(bookingHoldService.extendHold(1L))
+                .thenThrow(new BookingHoldExpiredException("Booking 1 no longer holds its room"));
+
+        mockMvc.perform(post("/bookings/{id}/hold/extend", 1L))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Booking 1 no longer holds its room"));
+    }
+
+    @Test
+    void testConfirmHold_Success() throws Exception {
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setStatus(BookingStatus.CONFIRMED);
+        when(bookingHoldService.confirmHold(1L)).thenReturn(booking);
 
+        mockMvc.perform(post("/bookings/{id}/confirm", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("CONFIRMED"));
+    }
+
+    @Test
+    void testConfirmHold_NotFound() throws Exception {
+        when(bookingHoldService.confirmHold(1L)).thenThrow(new ResourceNotFoundException("Booking not found"));
+
+        mockMvc.perform(post("/bookings/{id}/confirm", 1L))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Booking not found"));
     }
 
     @Test
@@ -273,28 +347,23 @@ class BookingControllerTest {
     void testGetBookingsForHotel_BookingsFound() throws Exception {
 
         Long hotelId = 1L;
-        Long bookingId = 1L;
-        BookingStatus bookingStatus= BookingStatus.CONFIRMED;
-
-        Booking mockBooking = new Booking();
-        mockBooking.setId(bookingId);
-        mockBooking.setStatus(bookingStatus);
-
-        List<Booking> mockBookings = new ArrayList<>();
-        mockBookings.add(mockBooking);
-        when(bookingService.getBookingsByHotel(hotelId)).thenReturn(mockBookings);
+        BookingResponseDTO booking = new BookingResponseDTO(1L, hotelId, 101L, "John", "Doe", "john@example.com",
+                "12345678", LocalDate.now(), LocalDate.now().plusDays(2), RoomType.SINGLE, BookingStatus.CONFIRMED,
+                200.0, null);
+        when(bookingService.getBookingResponsesByHotel(hotelId)).thenReturn(List.of(booking));
 
         mockMvc.perform(get("/bookings/hotel/{hotelId}", hotelId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data").isArray())
-                .andExpect(jsonPath("$.data[0]").exists());
+                .andExpect(jsonPath("$.data[0].roomType").value("SINGLE"))
+                .andExpect(jsonPath("$.data[0].status").value("CONFIRMED"));
     }
 
     @Test
     void testGetBookingsForHotel_NoBookings() throws Exception {
 
         Long hotelId = 1L;
-        when(bookingService.getBookingsByHotel(hotelId)).thenReturn(Collections.emptyList());
+        when(bookingService.getBookingResponsesByHotel(hotelId)).thenReturn(Collections.emptyList());
 
         // Act & Assert
         mockMvc.perform(get("/bookings/hotel/{hotelId}", hotelId))
@@ -306,31 +375,49 @@ class BookingControllerTest {
     void testGetBookingsForUser_BookingsFound() throws Exception {
 
         Long userId = 1L;
-        Long bookingId = 1L;
-        BookingStatus bookingStatus= BookingStatus.CONFIRMED;
-
-        Booking mockBooking = new Booking();
-        mockBooking.setId(bookingId);
-        mockBooking.setStatus(bookingStatus);
-
-        List<Booking> mockBookings = new ArrayList<>();
-        mockBookings.add(mockBooking);
-        when(bookingService.getBookingsByUser(userId)).thenReturn(mockBookings);
+        UserBookingResponseDTO booking = new UserBookingResponseDTO(1L, 1L, 101L, LocalDate.now(),
+                LocalDate.now().plusDays(2), RoomType.DOUBLE, BookingStatus.CONFIRMED);
+        when(bookingService.getBookingPageByUser(userId, null, null, false))
+                .thenReturn(new CursorPage<>(List.of(booking), "next"));
 
         mockMvc.perform(get("/bookings/user/{userId}", userId))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.data").isArray())
-                .andExpect(jsonPath("$.data[0]").exists());
+                .andExpect(jsonPath("$.data.items").isArray())
+                .andExpect(jsonPath("$.data.items[0].roomType").value("DOUBLE"))
+                .andExpect(jsonPath("$.data.nextCursor").value("next"));
     }
 
     @Test
     void testGetBookingsForUser_NoBookings() throws Exception {
         Long userId = 1L;
-        when(bookingService.getBookingsByUser(userId)).thenReturn(Collections.emptyList());
+        when(bookingService.getBookingPageByUser(userId, null, null, false))
+                .thenReturn(new CursorPage<>(Collections.emptyList(), null));
 
         mockMvc.perform(get("/bookings/user/{userId}", userId))
                 .andExpect(status().isNotFound())
-                .andExpect(jsonPath("$.data").isEmpty());
+                .andExpect(jsonPath("$.data.items").isEmpty());
+    }
+
+    @Test
+    void testGetBookingsForUser_InvalidCursor() throws Exception {
+        when(bookingService.getBookingPageByUser(1L, "bad", null, false))
+                .thenThrow(new IllegalArgumentException("Invalid cursor: bad"));
+
+        mockMvc.perform(get("/bookings/user/{userId}", 1L).param("cursor", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor: bad"));
+    }
+
+    @Test
+    void testGetBookingsForUser_IncludeArchived() throws Exception {
+        UserBookingResponseDTO booking = new UserBookingResponseDTO(1L, 1L, 101L, LocalDate.now().minusYears(2),
+                LocalDate.now().minusYears(2).plusDays(2), RoomType.DOUBLE, BookingStatus.CONFIRMED);
+        when(bookingService.getBookingPageByUser(1L, null, null, true))
+                .thenReturn(new CursorPage<>(List.of(booking), null));
+
+        mockMvc.perform(get("/bookings/user/{userId}", 1L).param("includeArchived", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].bookingId").value(1));
     }
 
 }
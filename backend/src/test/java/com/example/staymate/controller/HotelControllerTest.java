@@ -1,29 +1,58 @@
 package com.example.staymate.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import com.example.staymate.dto.custom.VersionStamp;
+import com.example.staymate.dto.hotel.AvailabilitySearchRequest;
+import com.example.staymate.dto.hotel.HotelAvailability;
+import com.example.staymate.dto.hotel.HotelSearchPage;
+import com.example.staymate.dto.hotel.OccupancyCalendar;
+import com.example.staymate.entity.enums.ImageVariant;
+import com.example.staymate.entity.enums.RoomType;
 import com.example.staymate.entity.hotel.Hotel;
+import com.example.staymate.exception.ImageTooLargeException;
 import com.example.staymate.exception.ResourceNotFoundException;
+import com.example.staymate.index.HotelAutocompleteIndex;
+import com.example.staymate.service.HotelAvailabilityService;
+import com.example.staymate.service.HotelImageDerivativeService;
+import com.example.staymate.service.HotelImageService;
 import com.example.staymate.service.HotelService;
+import com.example.staymate.service.OccupancyCalendarService;
 import com.example.staymate.service.RoomService;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +66,21 @@ class HotelControllerTest {
     @Mock
     private RoomService roomService;
 
+    @Mock
+    private HotelImageService hotelImageService;
+
+    @Mock
+    private HotelImageDerivativeService hotelImageDerivativeService;
+
+    @Mock
+    private HotelAvailabilityService hotelAvailabilityService;
+
+    @Mock
+    private OccupancyCalendarService occupancyCalendarService;
+
+    @TempDir
+    Path tempDir;
+
     @InjectMocks
     private HotelController hotelController;
 
@@ -54,7 +98,8 @@ class HotelControllerTest {
         hotel.setId(1L);
         hotel.setName("Test Hotel");
 
-        when(hotelService.saveHotel(any(Hotel.class))).thenReturn(hotel);
+        when(hotelService.createHotel(any(Hotel.class), anyList(), eq(100L))).thenReturn(hotel);
+        when(hotelImageService.storeUpload(any())).thenReturn("f".repeat(64));
 
         MockMultipartFile hotelDetails = new MockMultipartFile(
                 "hotelDetails",
@@ -75,6 +120,30 @@ class HotelControllerTest {
                 .file(image))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.message").value("Hotel created successfully"));
+
+        verify(hotelImageDerivativeService).generateAsync("f".repeat(64));
+    }
+
+    @Test
+    void testCreateHotel_CreatesRoomsInBulk() throws Exception {
+        Hotel hotel = new Hotel();
+        hotel.setId(1L);
+        hotel.setName("Test Hotel");
+
+        when(hotelService.createHotel(any(Hotel.class), anyList(), eq(100L))).thenReturn(hotel);
+
+        MockMultipartFile hotelDetails = new MockMultipartFile(
+                "hotelDetails",
+                "",
+                "application/json",
+                ("{\"name\":\"Test Hotel\", \"rooms\":[{\"roomType\":\"SINGLE\", \"pricePerNight\":100,"
+                        + " \"maxOccupancy\":1, \"quantity\":300}]}").getBytes()
+        );
+
+        mockMvc.perform(multipart("/hotels")
+                .file(hotelDetails))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.roomsCreated").value(300));
     }
 
     @Test
@@ -98,13 +167,135 @@ class HotelControllerTest {
         hotel.setId(1L);
         hotel.setName("Test Hotel");
 
+        VersionStamp version = new VersionStamp(1L, 2L, LocalDateTime.of(2025, 3, 1, 12, 0)).and(
+                new VersionStamp(10L, 4L, LocalDateTime.of(2025, 3, 2, 12, 0)));
+        when(hotelService.getHotelVersion(1L)).thenReturn(version);
         when(hotelService.getHotelById(1L)).thenReturn(hotel);
 
         mockMvc.perform(get("/hotels/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + version.getETag() + "\""))
+                .andExpect(header().string("Cache-Control", "no-cache"))
                 .andExpect(jsonPath("$.data.name").value("Test Hotel"));
     }
 
+    @Test
+    void testGetHotelById_NotModified() throws Exception {
+        VersionStamp version = new VersionStamp(1L, 2L, LocalDateTime.of(2025, 3, 1, 12, 0));
+        when(hotelService.getHotelVersion(1L)).thenReturn(version);
+
+        mockMvc.perform(get("/hotels/1").header("If-None-Match", "\"" + version.getETag() + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(hotelService, never()).getHotelById(1L);
+    }
+
+    @Test
+    void testGetHotelRooms_NotModified() throws Exception {
+        VersionStamp version = new VersionStamp(3L, 5L, LocalDateTime.of(2025, 3, 1, 12, 0));
+        when(roomService.getRoomsVersion(1L)).thenReturn(version);
+
+        mockMvc.perform(get("/hotels/1/rooms").header("If-None-Match", "\"" + version.getETag() + "\""))
+                .andExpect(status().isNotModified());
+
+        verify(roomService, never()).getRoomsByHotelId(1L);
+    }
+
+    @Test
+    void testSearchHotelsByName_Success() throws Exception {
+        Hotel hotel = new Hotel();
+        hotel.setId(1L);
+        hotel.setName("Grand Hotel");
+
+        when(hotelService.searchHotels("grnd", 10, 5)).thenReturn(new HotelSearchPage(List.of(hotel), 11));
+
+        mockMvc.perform(get("/hotels/search")
+                .param("name", "grnd")
+                .param("offset", "10")
+                .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.hotels[0].name").value("Grand Hotel"))
+                .andExpect(jsonPath("$.data.total").value(11));
+    }
+
+    @Test
+    void testAutocomplete_Success() throws Exception {
+        when(hotelService.autocomplete("mar", 10)).thenReturn(List.of(
+                new HotelAutocompleteIndex.Match("Marina Bay Sands", 1L, 42),
+                new HotelAutocompleteIndex.Match("Marina", null, 42)));
+
+        mockMvc.perform(get("/hotels/autocomplete").param("prefix", "mar"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].text").value("Marina Bay Sands"))
+                .andExpect(jsonPath("$.data[0].type").value("HOTEL"))
+                .andExpect(jsonPath("$.data[1].type").value("LOCATION"));
+    }
+
+    @Test
+    void testSearchAvailability_Success() throws Exception {
+        when(hotelAvailabilityService.search(any(AvailabilitySearchRequest.class))).thenReturn(List.of(
+                new HotelAvailability(2L, "Harbour Inn", "1 Quay", null, 0.8, 201L, 90.0, 270.0, 2),
+                new HotelAvailability(1L, "Marina Bay Sands", "10 Bayfront", null, 1.5, 102L, 120.0, 360.0, 3)));
+
+        mockMvc.perform(get("/hotels/availability")
+                .param("checkInDate", "2025-06-01")
+                .param("checkOutDate", "2025-06-04")
+                .param("guests", "2")
+                .param("latitude", "1.28")
+                .param("longitude", "103.85"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].hotelId").value(2))
+                .andExpect(jsonPath("$.data[0].roomId").value(201))
+                .andExpect(jsonPath("$.data[1].pricePerNight").value(120.0))
+                .andExpect(jsonPath("$.data[1].totalAmount").value(360.0));
+    }
+
+    @Test
+    void testSearchAvailability_InvalidCriteria() throws Exception {
+        when(hotelAvailabilityService.search(any(AvailabilitySearchRequest.class)))
+                .thenThrow(new IllegalArgumentException("Check-out date must be after check-in date"));
+
+        mockMvc.perform(get("/hotels/availability")
+                .param("checkInDate", "2025-06-04")
+                .param("checkOutDate", "2025-06-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Check-out date must be after check-in date"));
+    }
+
+    @Test
+    void testGetOccupancyCalendar_StreamsDays() throws Exception {
+        LocalDate from = LocalDate.of(2025, 6, 1);
+        when(hotelService.getHotelById(1L)).thenReturn(new Hotel());
+        when(occupancyCalendarService.getCalendar(1L, from, from.plusDays(1))).thenReturn(new OccupancyCalendar(
+                from, 2, List.of(RoomType.SINGLE), new long[] { 3 }, new int[][] { { 1, 2 } }, new int[][] { { 0, 1 } }));
+
+        MvcResult result = mockMvc.perform(get("/hotels/1/occupancy")
+                .param("from", "2025-06-01")
+                .param("to", "2025-06-02"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.rooms.SINGLE").value(3))
+                .andExpect(jsonPath("$.data.days[0].date").value("2025-06-01"))
+                .andExpect(jsonPath("$.data.days[0].SINGLE.occupied").value(1))
+                .andExpect(jsonPath("$.data.days[0].SINGLE.free").value(2))
+                .andExpect(jsonPath("$.data.days[1].SINGLE.blocked").value(1))
+                .andExpect(jsonPath("$.data.days[1].SINGLE.free").value(0));
+    }
+
+    @Test
+    void testGetOccupancyCalendar_HotelNotFound() throws Exception {
+        when(hotelService.getHotelById(9L)).thenThrow(new ResourceNotFoundException("Hotel not found with ID 9"));
+
+        mockMvc.perform(get("/hotels/9/occupancy")
+                .param("from", "2025-06-01")
+                .param("to", "2025-06-02"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void testUpdateHotel_Success() throws Exception {
         Hotel hotel = new Hotel();
@@ -131,6 +322,69 @@ class HotelControllerTest {
                 .andExpect(jsonPath("$.message").value("Hotel updated successfully"));
     }
 
+    @Test
+    void testGetHotelImage_Success() throws Exception {
+        String hash = "a".repeat(64);
+        Path image = Files.write(tempDir.resolve(hash), "image bytes".getBytes());
+
+        when(hotelImageService.find(hash)).thenReturn(Optional.of(image));
+        when(hotelImageService.contentType(image)).thenReturn(MediaType.IMAGE_JPEG);
+
+        mockMvc.perform(get("/hotels/images/" + hash))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + hash + "\""))
+                .andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"))
+                .andExpect(content().contentType(MediaType.IMAGE_JPEG))
+                .andExpect(content().bytes("image bytes".getBytes()));
+    }
+
+    @Test
+    void testGetHotelImage_RangeRequest() throws Exception {
+        String hash = "b".repeat(64);
+        Path image = Files.write(tempDir.resolve(hash), "image bytes".getBytes());
+
+        when(hotelImageService.find(hash)).thenReturn(Optional.of(image));
+        when(hotelImageService.contentType(image)).thenReturn(MediaType.IMAGE_JPEG);
+
+        mockMvc.perform(get("/hotels/images/" + hash).header("Range", "bytes=0-4"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes("image".getBytes()));
+    }
+
+    @Test
+    void testGetHotelImage_ResizedVariant() throws Exception {
+        String hash = "c".repeat(64);
+        Path original = Files.write(tempDir.resolve(hash), "original".getBytes());
+        Path card = Files.write(tempDir.resolve(hash + "-card"), "card".getBytes());
+
+        when(hotelImageService.find(hash)).thenReturn(Optional.of(original));
+        when(hotelImageService.findVariant(hash, ImageVariant.CARD)).thenReturn(Optional.of(card));
+
+        mockMvc.perform(get("/hotels/images/" + hash).param("size", "card"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + hash + "-card\""))
+                .andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"))
+                .andExpect(content().contentType(MediaType.IMAGE_JPEG))
+                .andExpect(content().bytes("card".getBytes()));
+    }
+
+    @Test
+    void testGetHotelImage_VariantNotReadyFallsBackToOriginal() throws Exception {
+        String hash = "d".repeat(64);
+        Path original = Files.write(tempDir.resolve(hash), "original".getBytes());
+
+        when(hotelImageService.find(hash)).thenReturn(Optional.of(original));
+        when(hotelImageService.findVariant(hash, ImageVariant.THUMBNAIL)).thenReturn(Optional.empty());
+        when(hotelImageService.contentType(original)).thenReturn(MediaType.IMAGE_PNG);
+
+        mockMvc.perform(get("/hotels/images/" + hash).param("size", "thumbnail"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(content().bytes("original".getBytes()));
+
+        verify(hotelImageDerivativeService).generateAsync(hash);
+    }
+
     @Test
     void testDeleteHotel_Success() throws Exception {
         Hotel hotel = new Hotel();
@@ -160,6 +414,23 @@ class HotelControllerTest {
                 .andExpect(jsonPath("$.message").value("Invalid JSON format for hotel details"));
     }
 
+    @Test
+    void testCreateHotel_InvalidRoomQuantity() throws Exception {
+        MockMultipartFile hotelDetails = new MockMultipartFile(
+                "hotelDetails",
+                "",
+                "application/json",
+                "{\"name\":\"Test Hotel\", \"rooms\":[{\"roomType\":\"SINGLE\", \"quantity\":0}]}".getBytes()
+        );
+
+        mockMvc.perform(multipart("/hotels")
+                .file(hotelDetails))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Room quantity must be greater than zero"));
+
+        verify(hotelService, never()).createHotel(any(Hotel.class), anyList(), eq(100L));
+    }
+
     @Test
     void testCreateHotel_MissingName() throws Exception {
         MockMultipartFile hotelDetails = new MockMultipartFile(
@@ -175,6 +446,32 @@ class HotelControllerTest {
                 .andExpect(jsonPath("$.message").value("Hotel name is required"));
     }
 
+    @Test
+    void testCreateHotel_ImageTooLarge() throws Exception {
+        when(hotelImageService.storeUpload(any()))
+                .thenThrow(new ImageTooLargeException("Image must not be larger than 10 bytes"));
+
+        MockMultipartFile hotelDetails = new MockMultipartFile(
+                "hotelDetails",
+                "",
+                "application/json",
+                "{\"name\":\"Test Hotel\", \"rooms\":[]}".getBytes()
+        );
+
+        MockMultipartFile image = new MockMultipartFile(
+                "image",
+                "test.jpg",
+                "image/jpeg",
+                "test image content".getBytes()
+        );
+
+        mockMvc.perform(multipart("/hotels")
+                .file(hotelDetails)
+                .file(image))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.message").value("Image must not be larger than 10 bytes"));
+    }
+
     @Test
     void testGetAllHotels_NoHotelsFound() throws Exception {
         when(hotelService.getAllHotels()).thenReturn(new ArrayList<>());
@@ -186,6 +483,7 @@ class HotelControllerTest {
 
     @Test
     void testGetHotelById_NotFound() throws Exception {
+        when(hotelService.getHotelVersion(1L)).thenReturn(new VersionStamp(0L, null, null));
         when(hotelService.getHotelById(1L))
                 .thenThrow(new ResourceNotFoundException("Hotel not found with ID 1"));
 
@@ -236,7 +534,7 @@ class HotelControllerTest {
 
     @Test
     void testSearchHotelsByName_NoResults() throws Exception {
-        when(hotelService.findHotelsByName("NonExistent")).thenReturn(new ArrayList<>());
+        when(hotelService.searchHotels("NonExistent", 0, 20)).thenReturn(new HotelSearchPage(new ArrayList<>(), 0));
 
         mockMvc.perform(get("/hotels/search")
                 .param("name", "NonExistent"))
@@ -244,8 +542,23 @@ class HotelControllerTest {
                 .andExpect(jsonPath("$.message").value("No hotels found matching the name: NonExistent"));
     }
 
+    @Test
+    void testGetHotelImage_InvalidSize() throws Exception {
+        mockMvc.perform(get("/hotels/images/" + "e".repeat(64)).param("size", "huge"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetHotelImage_NotFound() throws Exception {
+        when(hotelImageService.find("unknown")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/hotels/images/unknown"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void testGetHotelRooms_NotFound() throws Exception {
+        when(roomService.getRoomsVersion(1L)).thenReturn(new VersionStamp(0L, null, null));
         when(hotelService.getHotelById(1L))
                 .thenThrow(new ResourceNotFoundException("Hotel not found with ID 1"));
 
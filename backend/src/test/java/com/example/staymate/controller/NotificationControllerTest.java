@@ -20,6 +20,8 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import com.example.staymate.dto.custom.CursorPage;
+import com.example.staymate.dto.notification.NotificationResponseDTO;
 import com.example.staymate.entity.enums.NotificationType;
 import com.example.staymate.entity.notification.Notification;
 import com.example.staymate.entity.user.User;
@@ -67,27 +69,30 @@ public class NotificationControllerTest {
         notification.setMessage("Test Notification");
         notification.setCreatedAt(LocalDateTime.now());
 
-        List<Notification> notifications = List.of(notification);
-        when(notificationService.findByUserId(userId)).thenReturn(notifications);
+        CursorPage<NotificationResponseDTO> notifications =
+                new CursorPage<>(List.of(new NotificationResponseDTO(notification)), null);
+        when(notificationService.getNotificationPageByUser(userId, null, null)).thenReturn(notifications);
 
         mockMvc.perform(get("/notifications/user/{userId}", userId))
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$.message").value("Notifications retrieved successfully for user ID: 1, Total notifications: 1"))
-            .andExpect(jsonPath("$.data[0].notificationId").value(1))
-            .andExpect(jsonPath("$.data[0].message").value("Test Notification"));
+            .andExpect(jsonPath("$.message").value("Notifications retrieved successfully for user ID: 1, Notifications in page: 1"))
+            .andExpect(jsonPath("$.data.items[0].notificationId").value(1))
+            .andExpect(jsonPath("$.data.items[0].message").value("Test Notification"))
+            .andExpect(jsonPath("$.data.nextCursor").isEmpty());
     }
 
     @Test
     void testGetNotificationsByUserId_NoNotifications() throws Exception {
         Long userId = 1L;
         
-        // Mock empty list for no notifications
-        when(notificationService.findByUserId(userId)).thenReturn(List.of());
+        // Mock an empty page for no notifications
+        when(notificationService.getNotificationPageByUser(userId, null, null))
+                .thenReturn(new CursorPage<>(List.of(), null));
 
         mockMvc.perform(get("/notifications/user/{userId}", userId))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.message").value("No notifications found for user ID: 1"))
-            .andExpect(jsonPath("$.data").isEmpty());
+            .andExpect(jsonPath("$.data.items").isEmpty());
     }
 
     // Test case for getting read notifications by user ID
@@ -5,7 +5,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -40,6 +40,8 @@ import com.example.staymate.entity.room.Room;
 import com.example.staymate.entity.room.RoomId;
 import com.example.staymate.entity.user.User;
 import com.example.staymate.factory.RoomFactory;
+import com.example.staymate.exception.BookingHoldExpiredException;
+import com.example.staymate.service.BookingHoldService;
 import com.example.staymate.service.BookingService;
 import com.example.staymate.service.PaymentService;
 
@@ -52,6 +54,9 @@ class PaymentControllerTest {
     @Mock
     private BookingService bookingService;
 
+    @Mock
+    private BookingHoldService bookingHoldService;
+
     @InjectMocks
     private PaymentController paymentController;
 
@@ -106,14 +111,9 @@ class PaymentControllerTest {
         mockPayment.setPaymentMethod(PaymentMethod.STRIPE);
         mockPayment.setTransactionDate(LocalDateTime.now());
 
-        // Mock the total paid amount (assume 40 has already been paid)
+        // Mock the payment of the held booking
         when(bookingService.getBookingById(1L)).thenReturn(mockBooking);
-        when(paymentService.getTotalPaidAmount(mockBooking.getId())).thenReturn(40.0);
-
-        // Mock the payment creation and processing
-        when(paymentService.createPayment(anyLong(), any(PaymentMethod.class), anyDouble())).thenReturn(mockPayment);
-        doNothing().when(paymentService).processPayment(anyLong(), any(PaymentMethod.class));
-        when(paymentService.getPaymentById(anyLong())).thenReturn(mockPayment);
+        when(bookingHoldService.pay(1L, PaymentMethod.STRIPE, 50.0)).thenReturn(mockPayment);
 
         // Create PaymentRequestDTO mock
         PaymentRequestDTO paymentRequestDTO = new PaymentRequestDTO();
@@ -167,9 +167,10 @@ class PaymentControllerTest {
         mockBooking.setTotalAmount(totalAmount);
         mockBooking.setStatus(BookingStatus.PENDING);
 
-        // Mock total paid amount
+        // The remaining balance is checked while the booking is locked
         when(bookingService.getBookingById(bookingId)).thenReturn(mockBooking);
-        when(paymentService.getTotalPaidAmount(bookingId)).thenReturn(alreadyPaid);
+        when(bookingHoldService.pay(bookingId, PaymentMethod.STRIPE, 20.0)).thenThrow(new IllegalArgumentException(
+                "Payment exceeds remaining balance. Remaining amount: " + (totalAmount - alreadyPaid)));
 
         // Perform the POST request to create payment
         mockMvc.perform(post("/payments")
@@ -185,7 +186,6 @@ class PaymentControllerTest {
     void testCreateAndProcessPayment_BookingConfirmedWhenFullyPaid() throws Exception {
         Long bookingId = 1L;
         double totalAmount = 100.0;
-        double alreadyPaid = 80.0;
         double newPaymentAmount = 20.0; // This will complete the total amount (80 + 20 = 100)
 
         Long userId = 1L;
@@ -219,12 +219,9 @@ class PaymentControllerTest {
         mockBooking.setTotalAmount(totalAmount);
         mockBooking.setStatus(BookingStatus.PENDING);
 
-        // Mock bookingService to return this booking
+        // Mock bookingService to return this booking, still held
         when(bookingService.getBookingById(bookingId)).thenReturn(mockBooking);
 
-        // Mock total paid amount
-        when(paymentService.getTotalPaidAmount(bookingId)).thenReturn(alreadyPaid);
-
         // Mock payment creation and processing
         Payment mockPayment = new Payment();
         mockPayment.setId(1L);
@@ -234,10 +231,11 @@ class PaymentControllerTest {
         mockPayment.setPaymentMethod(PaymentMethod.STRIPE);
         mockPayment.setTransactionDate(LocalDateTime.now());
 
-        when(paymentService.createPayment(eq(bookingId), any(PaymentMethod.class), eq(newPaymentAmount)))
-                .thenReturn(mockPayment);
-        doNothing().when(paymentService).processPayment(anyLong(), any(PaymentMethod.class));
-        when(paymentService.getPaymentById(anyLong())).thenReturn(mockPayment);
+        when(bookingHoldService.pay(eq(bookingId), any(PaymentMethod.class), eq(newPaymentAmount)))
+                .thenAnswer(invocation -> {
+                    mockBooking.setStatus(BookingStatus.CONFIRMED);
+                    return mockPayment;
+                });
 
         // Perform the POST request to create payment
         mockMvc.perform(post("/payments")
@@ -248,9 +246,30 @@ class PaymentControllerTest {
                 .andExpect(jsonPath("$.message")
                         .value("Payment created and processed successfully. Current status: SUCCESS"));
 
-        // Verify that the booking status is updated to CONFIRMED
+        // Verify that the payment went through the hold, which confirmed the booking
+        verify(bookingHoldService).pay(bookingId, PaymentMethod.STRIPE, newPaymentAmount);
+        verify(paymentService, never()).createPayment(anyLong(), any(PaymentMethod.class), anyDouble());
         assertEquals(BookingStatus.CONFIRMED, mockBooking.getStatus());
-        verify(bookingService).updateBooking(mockBooking); // Ensure updateBooking was called
+    }
+
+    @Test
+    void testCreateAndProcessPayment_HoldExpired() throws Exception {
+        Booking cancelledBooking = new Booking();
+        cancelledBooking.setId(1L);
+        cancelledBooking.setTotalAmount(100.0);
+        cancelledBooking.setStatus(BookingStatus.CANCELLED);
+        when(bookingService.getBookingById(1L)).thenReturn(cancelledBooking);
+        when(bookingHoldService.pay(1L, PaymentMethod.STRIPE, 100.0))
+                .thenThrow(new BookingHoldExpiredException("Booking 1 no longer holds its room"));
+
+        mockMvc.perform(post("/payments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"bookingId\":1, \"amount\":100.0}")
+                .param("paymentMethod", "STRIPE"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Booking 1 no longer holds its room"));
+
+        verify(paymentService, never()).createPayment(anyLong(), any(PaymentMethod.class), anyDouble());
     }
 
     // Test Case for getting payment by ID (SUCCESS status)
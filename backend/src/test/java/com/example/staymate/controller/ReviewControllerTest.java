@@ -1,26 +1,28 @@
 package com.example.staymate.controller;
 
-import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
-import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
-import com.example.staymate.entity.Review.Review;
+import com.example.staymate.dto.custom.CursorPage;
+import com.example.staymate.dto.custom.VersionStamp;
+import com.example.staymate.dto.review.ReviewDTO;
 import com.example.staymate.entity.hotel.Hotel;
 import com.example.staymate.entity.user.User;
 import com.example.staymate.service.HotelService;
@@ -50,7 +52,6 @@ class ReviewControllerTest {
 
     @BeforeEach
     void setUp() {
-        MockitoAnnotations.openMocks(this);
         mockMvc = MockMvcBuilders.standaloneSetup(reviewController).build();
 
         hotel = new Hotel();
@@ -65,23 +66,39 @@ class ReviewControllerTest {
     @Test
     void testGetAllReviews() throws Exception {
         // Arrange
-        Review review = new Review();  // Mock a Review entity
-        review.setHotel(hotel);  // Assuming the Review has a Hotel object
-        review.setUser(user);  // Assuming the Review has a User object
-        review.setComment("Great stay!");
-        review.setCreatedAt(LocalDateTime.now());
-        review.setRating(5);
+        ReviewDTO review = new ReviewDTO(2L, hotel.getId(), user.getId(), "Great stay!", LocalDateTime.now(), 5);
+        ReviewDTO older = new ReviewDTO(1L, hotel.getId(), user.getId(), "Good", LocalDateTime.now(), 4);
 
-        List<Review> reviews = Arrays.asList(review, review);  // Create a list of Review entities
-
-        // Mocking reviewService to return the list of Review entities
-        lenient().when(reviewService.getAllReviews()).thenReturn(reviews);
+        // Mocking reviewService to return one page of reviews
+        when(reviewService.getReviewPage(null, null)).thenReturn(new CursorPage<>(Arrays.asList(review, older), null));
 
         // Act & Assert
         mockMvc.perform(get("/reviews"))
                 .andExpect(status().isOk())  // Expect HTTP status 200 OK
-                .andExpect(jsonPath("$.message").value("Reviews retrieved successfully"));
+                .andExpect(jsonPath("$.message").value("Reviews retrieved successfully"))
+                .andExpect(jsonPath("$.data.items[0].id").value(2))
+                .andExpect(jsonPath("$.data.items[1].id").value(1))
+                .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void testGetAllReviews_InvalidCursor() throws Exception {
+        when(reviewService.getReviewPage("bad", null)).thenThrow(new IllegalArgumentException("Invalid cursor: bad"));
+
+        mockMvc.perform(get("/reviews").param("cursor", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor: bad"));
     }
 
-    
+    @Test
+    void testGetReviewsByHotelId_NotModified() throws Exception {
+        VersionStamp version = new VersionStamp(4L, 6L, LocalDateTime.of(2025, 3, 1, 12, 0));
+        when(reviewService.getReviewsVersion(1L)).thenReturn(version);
+
+        mockMvc.perform(get("/reviews/hotel/1").header("If-None-Match", "\"" + version.getETag() + "\""))
+                .andExpect(status().isNotModified());
+
+        verify(hotelService, never()).getHotelById(1L);
+        verify(reviewService, never()).findReviewsByHotel(hotel);
+    }
 }
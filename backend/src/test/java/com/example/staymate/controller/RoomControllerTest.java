@@ -1,23 +1,34 @@
 package com.example.staymate.controller;
 
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import com.example.staymate.dto.custom.VersionStamp;
+import com.example.staymate.entity.enums.RoomStatus;
+import com.example.staymate.exception.RoomNotFoundException;
+import com.example.staymate.service.RateEngine;
 import com.example.staymate.service.RoomService;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,12 +40,14 @@ class RoomControllerTest {
     @Mock
     private RoomService roomService;
 
+    @Mock
+    private RateEngine rateEngine;
+
     @InjectMocks
     private RoomController roomController;
 
     @BeforeEach
     void setUp() {
-        MockitoAnnotations.openMocks(this);
         mockMvc = MockMvcBuilders.standaloneSetup(roomController).build();
     }
 
@@ -42,6 +55,7 @@ class RoomControllerTest {
     void testGetHotelRooms_whenNoRoomsFound_returns404() throws Exception {
         Long hotelId = 1L;
 
+        when(roomService.getRoomsVersion(hotelId)).thenReturn(new VersionStamp(0L, null, null));
         lenient().when(roomService.getHotelRooms(hotelId))
                 .thenReturn(Collections.emptyList());
 
@@ -50,4 +64,74 @@ class RoomControllerTest {
                 .andExpect(content().string("")); // since body is null
     }
 
-}
\ No newline at end of file
+    @Test
+    void testGetHotelRooms_whenUnchanged_returns304() throws Exception {
+        Long hotelId = 1L;
+        VersionStamp version = new VersionStamp(2L, 7L, LocalDateTime.of(2025, 3, 1, 12, 0));
+
+        when(roomService.getRoomsVersion(hotelId)).thenReturn(version);
+
+        mockMvc.perform(get("/rooms/{hotelId}", hotelId).header("If-None-Match", "\"" + version.getETag() + "\""))
+                .andExpect(status().isNotModified());
+
+        verify(roomService, never()).getHotelRooms(hotelId);
+    }
+
+    @Test
+    void testQuote_returnsServerPrice() throws Exception {
+        when(rateEngine.quote(1L, 101L, LocalDate.of(2025, 6, 6), LocalDate.of(2025, 6, 8))).thenReturn(250.0);
+
+        mockMvc.perform(get("/rooms/{hotelId}/{roomId}/quote", 1L, 101L)
+                .param("checkInDate", "2025-06-06")
+                .param("checkOutDate", "2025-06-08"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.nights").value(2))
+                .andExpect(jsonPath("$.data.totalAmount").value(250.0));
+
+        verify(rateEngine).quote(1L, 101L, LocalDate.of(2025, 6, 6), LocalDate.of(2025, 6, 8));
+    }
+
+    @Test
+    void testQuote_whenStayInvalid_returns400() throws Exception {
+        when(rateEngine.quote(1L, 101L, LocalDate.of(2025, 6, 8), LocalDate.of(2025, 6, 6)))
+                .thenThrow(new IllegalArgumentException("Check-out date must be after check-in date."));
+
+        mockMvc.perform(get("/rooms/{hotelId}/{roomId}/quote", 1L, 101L)
+                .param("checkInDate", "2025-06-08")
+                .param("checkOutDate", "2025-06-06"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Check-out date must be after check-in date."));
+    }
+
+    @Test
+    void testQuote_whenRoomMissing_returns404() throws Exception {
+        when(rateEngine.quote(1L, 999L, LocalDate.of(2025, 6, 6), LocalDate.of(2025, 6, 8)))
+                .thenThrow(new RoomNotFoundException("Room with ID 999 in Hotel 1 not found."));
+
+        mockMvc.perform(get("/rooms/{hotelId}/{roomId}/quote", 1L, 999L)
+                .param("checkInDate", "2025-06-06")
+                .param("checkOutDate", "2025-06-08"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testGetRoomStatuses_returnsStatusPerRoom() throws Exception {
+        Map<Long, RoomStatus> statuses = new TreeMap<>();
+        statuses.put(101L, RoomStatus.BOOKED);
+        statuses.put(102L, RoomStatus.AVAILABLE);
+        when(roomService.getRoomStatuses(1L, LocalDate.of(2025, 6, 6))).thenReturn(statuses);
+
+        mockMvc.perform(get("/rooms/{hotelId}/status", 1L).param("date", "2025-06-06"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.101").value("BOOKED"))
+                .andExpect(jsonPath("$.data.102").value("AVAILABLE"));
+    }
+
+    @Test
+    void testGetRoomStatuses_whenHotelHasNoRooms_returns404() throws Exception {
+        when(roomService.getRoomStatuses(1L, LocalDate.now())).thenReturn(Collections.emptyMap());
+
+        mockMvc.perform(get("/rooms/{hotelId}/status", 1L))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -29,6 +29,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import com.example.staymate.dto.custom.CursorPage;
 import com.example.staymate.entity.enums.UserRole;
 import com.example.staymate.entity.user.User;
 import com.example.staymate.exception.ResourceNotFoundException;
@@ -87,15 +88,16 @@ class UserControllerTest {
 
         List<User> users = List.of(user1, user2);
 
-        when(userService.getAllUsers()).thenReturn(users);
+        when(userService.getUserPage(null, 2)).thenReturn(new CursorPage<>(users, "cursor"));
 
-        mockMvc.perform(get("/users"))
+        mockMvc.perform(get("/users").param("limit", "2"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message").value("Users retrieved successfully"))
-                .andExpect(jsonPath("$.data[0].id").value(1))
-                .andExpect(jsonPath("$.data[0].firstName").value("User1")) // Added firstName assertion
-                .andExpect(jsonPath("$.data[1].id").value(2))
-                .andExpect(jsonPath("$.data[1].firstName").value("User2")); // Added firstName assertion
+                .andExpect(jsonPath("$.data.items[0].id").value(1))
+                .andExpect(jsonPath("$.data.items[0].firstName").value("User1")) // Added firstName assertion
+                .andExpect(jsonPath("$.data.items[1].id").value(2))
+                .andExpect(jsonPath("$.data.items[1].firstName").value("User2")) // Added firstName assertion
+                .andExpect(jsonPath("$.data.nextCursor").value("cursor"));
     }
 
     @Test
@@ -0,0 +1,124 @@
+package com.example.staymate.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.staymate.dto.hotel.HotelText;
+
+class HotelAutocompleteIndexTest {
+
+    private HotelAutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new HotelAutocompleteIndex(10, 40, 100_000);
+        index.rebuild(List.of(
+                hotel(1L, "Marina Bay Sands", "10 Bayfront Avenue, Singapore"),
+                hotel(2L, "Marriott Tang Plaza", "320 Orchard Road, Singapore"),
+                hotel(3L, "Mandarin Oriental", "5 Raffles Avenue, Singapore")),
+                Map.of(2L, 5L, 3L, 1L));
+    }
+
+    @Test
+    void testSuggest_RanksByPopularity() {
+        List<HotelAutocompleteIndex.Match> matches = index.suggest("mar", 10);
+
+        assertEquals(List.of("Marriott Tang Plaza", "Marina Bay Sands"), texts(matches));
+        assertEquals(2L, matches.get(0).getHotelId());
+        assertEquals("HOTEL", matches.get(0).getType());
+    }
+
+    @Test
+    void testSuggest_MatchesWordsInsideNamesAndLocations() {
+        // Equally popular suggestions are sorted alphabetically
+        assertEquals(List.of("10 Bayfront Avenue", "Marina Bay Sands"), texts(index.suggest("bay", 10)));
+
+        HotelAutocompleteIndex.Match location = index.suggest("sing", 10).get(0);
+        assertEquals("Singapore", location.getText());
+        assertNull(location.getHotelId());
+        assertEquals("LOCATION", location.getType());
+        assertEquals(6L, location.getPopularity());
+    }
+
+    @Test
+    void testSuggest_RespectsLimitAndIgnoresCase() {
+        assertEquals(1, index.suggest("MA", 1).size());
+        assertTrue(index.suggest("xyz", 10).isEmpty());
+        assertTrue(index.suggest("  ", 10).isEmpty());
+    }
+
+    @Test
+    void testRecordBooking_ReordersSuggestions() {
+        for (int i = 0; i < 5; i++) {
+            index.recordBooking(1L);
+        }
+        index.recordBooking(1L);
+
+        assertEquals("Marina Bay Sands", index.suggest("mar", 10).get(0).getText());
+    }
+
+    @Test
+    void testPutAndRemove_UpdateSuggestions() {
+        int nodes = index.nodeCount();
+
+        index.put(4L, "Capella", "1 The Knolls, Sentosa");
+        assertEquals(List.of("Capella"), texts(index.suggest("cap", 10)));
+        assertEquals(List.of("Sentosa"), texts(index.suggest("sent", 10)));
+
+        index.remove(4L);
+        assertTrue(index.suggest("cap", 10).isEmpty());
+        assertTrue(index.suggest("sent", 10).isEmpty());
+        assertEquals(nodes, index.nodeCount());
+
+        index.put(1L, "Raffles Hotel", "1 Beach Road, Singapore");
+        assertEquals(List.of("Marriott Tang Plaza"), texts(index.suggest("mar", 10)));
+        // The avenue carries the booking of hotel 3, the renamed hotel has none
+        assertEquals(List.of("5 Raffles Avenue", "Raffles Hotel"), texts(index.suggest("raf", 10)));
+    }
+
+    @Test
+    void testNodeLimit_BoundsMemory() {
+        HotelAutocompleteIndex small = new HotelAutocompleteIndex(10, 40, 20);
+        small.put(1L, "Marina Bay Sands", null);
+        small.put(2L, "Raffles Hotel", null);
+
+        assertTrue(small.nodeCount() <= 20);
+        // Keys are stored up to where the limit was reached and still found by their prefix
+        assertEquals("Marina Bay Sands", small.suggest("m", 10).get(0).getText());
+    }
+
+    private static List<String> texts(List<HotelAutocompleteIndex.Match> matches) {
+        return matches.stream().map(HotelAutocompleteIndex.Match::getText).toList();
+    }
+
+    private static HotelText hotel(Long id, String name, String address) {
+        return new HotelText() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getAddress() {
+                return address;
+            }
+
+            @Override
+            public String getDescription() {
+                return null;
+            }
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.staymate.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HotelSpatialIndexTest {
+
+    private HotelSpatialIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new HotelSpatialIndex(0.1);
+        index.put(1L, 1.3000, 103.8000); // query point
+        index.put(2L, 1.3200, 103.8200); // ~3 km away
+        index.put(3L, 1.3600, 103.9000); // ~13 km away
+        index.put(4L, 35.6762, 139.6503); // Tokyo
+    }
+
+    @Test
+    void testWithinRadius_ReturnsHotelsSortedByDistance() {
+        List<HotelSpatialIndex.Neighbor> result = index.withinRadius(1.3000, 103.8000, 10);
+
+        assertEquals(2, result.size());
+        assertEquals(1L, result.get(0).getHotelId());
+        assertEquals(2L, result.get(1).getHotelId());
+        assertTrue(result.get(1).getDistanceKm() > result.get(0).getDistanceKm());
+    }
+
+    @Test
+    void testWithinRadius_LargerRadius() {
+        List<HotelSpatialIndex.Neighbor> result = index.withinRadius(1.3000, 103.8000, 20);
+
+        assertEquals(3, result.size());
+        assertEquals(3L, result.get(2).getHotelId());
+    }
+
+    @Test
+    void testNearest_ReturnsKClosest() {
+        List<HotelSpatialIndex.Neighbor> result = index.nearest(1.3100, 103.8100, 2, 100);
+
+        assertEquals(2, result.size());
+        assertTrue(result.stream().anyMatch(n -> n.getHotelId() == 1L));
+        assertTrue(result.stream().anyMatch(n -> n.getHotelId() == 2L));
+    }
+
+    @Test
+    void testNearest_RespectsMaxRadius() {
+        List<HotelSpatialIndex.Neighbor> result = index.nearest(1.3000, 103.8000, 4, 50);
+
+        assertEquals(3, result.size());
+    }
+
+    @Test
+    void testPut_MovesExistingHotel() {
+        index.put(3L, 1.3010, 103.8010);
+
+        List<HotelSpatialIndex.Neighbor> result = index.withinRadius(1.3000, 103.8000, 1);
+
+        assertEquals(2, result.size());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void testRemove() {
+        index.remove(1L);
+
+        List<HotelSpatialIndex.Neighbor> result = index.withinRadius(1.3000, 103.8000, 10);
+
+        assertEquals(1, result.size());
+        assertEquals(2L, result.get(0).getHotelId());
+    }
+
+    @Test
+    void testWithinRadius_AcrossAntimeridian() {
+        index.put(5L, 0.0, 179.99);
+        index.put(6L, 0.0, -179.99);
+
+        List<HotelSpatialIndex.Neighbor> result = index.withinRadius(0.0, 180.0, 5);
+
+        assertEquals(2, result.size());
+    }
+}
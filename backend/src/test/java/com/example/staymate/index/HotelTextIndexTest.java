@@ -0,0 +1,84 @@
+package com.example.staymate.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HotelTextIndexTest {
+
+    private HotelTextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new HotelTextIndex(0.5);
+        index.put(1L, "Grand Hyatt", "10 Scotts Road, Singapore", "Luxury hotel on Orchard Road");
+        index.put(2L, "Marina Bay Sands", "10 Bayfront Avenue, Singapore", "Hotel with a rooftop pool");
+        index.put(3L, "Orchard Inn", "442 Orchard Road, Singapore", "Budget rooms");
+    }
+
+    @Test
+    void testSearch_MatchesName() {
+        HotelTextIndex.SearchResult result = index.search("Marina", 0, 10);
+
+        assertEquals(List.of(2L), result.getHotelIds());
+        assertEquals(1, result.getTotal());
+    }
+
+    @Test
+    void testSearch_NameMatchesRankAboveAddressAndDescription() {
+        // Hotel 3 has Orchard in its name, hotel 1 only in its description
+        HotelTextIndex.SearchResult result = index.search("orchard", 0, 10);
+
+        assertEquals(List.of(3L, 1L), result.getHotelIds());
+    }
+
+    @Test
+    void testSearch_ToleratesTypos() {
+        assertEquals(List.of(2L), index.search("marnia bay", 0, 10).getHotelIds());
+        assertEquals(List.of(1L), index.search("Grnd Hyat", 0, 10).getHotelIds());
+    }
+
+    @Test
+    void testSearch_IgnoresCaseAndAccents() {
+        index.put(4L, "H\u00f4tel Caf\u00e9", "Paris", null);
+
+        assertEquals(4L, index.search("HOTEL CAFE", 0, 10).getHotelIds().get(0));
+    }
+
+    @Test
+    void testSearch_OffsetAndLimit() {
+        HotelTextIndex.SearchResult all = index.search("singapore", 0, 10);
+        HotelTextIndex.SearchResult page = index.search("singapore", 1, 1);
+
+        assertEquals(3, all.getTotal());
+        assertEquals(3, page.getTotal());
+        assertEquals(List.of(all.getHotelIds().get(1)), page.getHotelIds());
+    }
+
+    @Test
+    void testPutAndRemove_UpdateTheIndex() {
+        index.put(2L, "Raffles Hotel", "1 Beach Road, Singapore", null);
+        assertTrue(index.search("marina", 0, 10).getHotelIds().isEmpty());
+        assertEquals(List.of(2L), index.search("raffles", 0, 10).getHotelIds());
+
+        index.remove(2L);
+        assertTrue(index.search("raffles", 0, 10).getHotelIds().isEmpty());
+        assertEquals(2, index.size());
+
+        // The freed slot is reused by the next hotel
+        index.put(5L, "Capella", "Sentosa", null);
+        assertEquals(List.of(5L), index.search("capella", 0, 10).getHotelIds());
+    }
+
+    @Test
+    void testSearch_NoMatch() {
+        HotelTextIndex.SearchResult result = index.search("zzzz", 0, 10);
+
+        assertTrue(result.getHotelIds().isEmpty());
+        assertEquals(0, result.getTotal());
+    }
+}
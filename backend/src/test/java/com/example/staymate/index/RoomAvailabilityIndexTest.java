@@ -0,0 +1,212 @@
+package com.example.staymate.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.staymate.dto.booking.BookingStay;
+import com.example.staymate.entity.enums.RoomStatus;
+import com.example.staymate.entity.room.MaintenanceBlock;
+
+class RoomAvailabilityIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 1);
+
+    private MutableClock clock;
+    private RoomAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(TODAY);
+        index = new RoomAvailabilityIndex(730, clock);
+    }
+
+    @Test
+    void testBookedRoomsOverlapStay() {
+        index.rebuild(List.of(
+                stay(1L, 1L, 101L, TODAY.plusDays(2), TODAY.plusDays(5)),
+                stay(2L, 1L, 102L, TODAY.plusDays(5), TODAY.plusDays(7)),
+                stay(3L, 2L, 101L, TODAY.plusDays(2), TODAY.plusDays(5))));
+
+        assertEquals(Set.of(101L), index.bookedRooms(1L, TODAY.plusDays(4), TODAY.plusDays(5)));
+        assertEquals(Set.of(101L, 102L), index.bookedRooms(1L, TODAY, TODAY.plusDays(10)));
+        // The check-out day is free for the next guest
+        assertEquals(Set.of(102L), index.bookedRooms(1L, TODAY.plusDays(5), TODAY.plusDays(6)));
+        assertEquals(Set.of(), index.bookedRooms(1L, TODAY.plusDays(7), TODAY.plusDays(9)));
+        assertEquals(Set.of(), index.bookedRooms(3L, TODAY, TODAY.plusDays(9)));
+    }
+
+    @Test
+    void testStaysAcrossWordBoundaries() {
+        index.put(1L, 1L, 101L, TODAY.plusDays(60), TODAY.plusDays(200));
+
+        assertEquals(Set.of(101L), index.bookedRooms(1L, TODAY.plusDays(199), TODAY.plusDays(210)));
+        assertEquals(Set.of(101L), index.bookedRooms(1L, TODAY.plusDays(10), TODAY.plusDays(61)));
+        assertEquals(Set.of(), index.bookedRooms(1L, TODAY.plusDays(200), TODAY.plusDays(400)));
+        assertEquals(Set.of(), index.bookedRooms(1L, TODAY, TODAY.plusDays(60)));
+    }
+
+    @Test
+    void testRemoveKeepsNightsOfOtherBookings() {
+        index.put(1L, 1L, 101L, TODAY.plusDays(1), TODAY.plusDays(4));
+        index.put(2L, 1L, 101L, TODAY.plusDays(3), TODAY.plusDays(6));
+
+        index.remove(1L);
+
+        assertEquals(Set.of(), index.bookedRooms(1L, TODAY.plusDays(1), TODAY.plusDays(3)));
+        assertEquals(Set.of(101L), index.bookedRooms(1L, TODAY.plusDays(3), TODAY.plusDays(4)));
+    }
+
+    @Test
+    void testPutMovesBooking() {
+        index.put(1L, 1L, 101L, TODAY.plusDays(1), TODAY.plusDays(4));
+        index.put(1L, 1L, 102L, TODAY.plusDays(10), TODAY.plusDays(12));
+
+        assertEquals(Set.of(), index.bookedRooms(1L, TODAY, TODAY.plusDays(5)));
+        assertEquals(Set.of(102L), index.bookedRooms(1L, TODAY.plusDays(11), TODAY.plusDays(12)));
+    }
+
+    @Test
+    void testCoversOnlyTheHorizon() {
+        assertTrue(index.covers(TODAY, TODAY.plusDays(730)));
+        assertFalse(index.covers(TODAY.minusDays(1), TODAY.plusDays(2)));
+        assertFalse(index.covers(TODAY.plusDays(729), TODAY.plusDays(731)));
+        assertFalse(index.covers(TODAY.plusDays(3), TODAY.plusDays(3)));
+    }
+
+    @Test
+    void testHorizonRollsForward() {
+        index.put(1L, 1L, 101L, TODAY.plusDays(1), TODAY.plusDays(3));
+        index.put(2L, 1L, 102L, TODAY.plusDays(728), TODAY.plusDays(740));
+
+        clock.set(TODAY.plusDays(20));
+
+        assertTrue(index.covers(TODAY.plusDays(735), TODAY.plusDays(745)));
+        assertFalse(index.covers(TODAY.plusDays(19), TODAY.plusDays(21)));
+        // Nights past the old horizon end are marked once they move into the horizon
+        assertEquals(Set.of(102L), index.bookedRooms(1L, TODAY.plusDays(739), TODAY.plusDays(741)));
+        assertEquals(Set.of(), index.bookedRooms(1L, TODAY.plusDays(20), TODAY.plusDays(700)));
+    }
+
+    @Test
+    void testLookupsAfterRollReportDatesNoLongerCovered() {
+        index.put(1L, 1L, 101L, TODAY, TODAY.plusDays(3));
+        assertTrue(index.covers(TODAY, TODAY.plusDays(2)));
+
+        // Midnight passes between the coverage check and the lookup
+        clock.set(TODAY.plusDays(1));
+
+        assertNull(index.bookedRooms(1L, TODAY, TODAY.plusDays(2)));
+        assertNull(index.unavailableNights(1L, TODAY, 2));
+        assertNull(index.unavailableRooms(1L, TODAY));
+        assertEquals(Set.of(101L), index.bookedRooms(1L, TODAY.plusDays(1), TODAY.plusDays(2)));
+    }
+
+    @Test
+    void testMaintenanceBlocksMakeRoomsUnavailable() {
+        index.rebuild(List.of(stay(1L, 1L, 101L, TODAY.plusDays(2), TODAY.plusDays(5))),
+                List.of(new MaintenanceBlock(1L, 102L, TODAY.plusDays(3), TODAY.plusDays(6), "Repainting")));
+
+        assertEquals(Set.of(101L, 102L), index.bookedRooms(1L, TODAY.plusDays(4), TODAY.plusDays(5)));
+        assertEquals(Set.of(102L), index.bookedRooms(1L, TODAY.plusDays(5), TODAY.plusDays(6)));
+
+        // Block ids are kept apart from booking ids
+        index.putBlock(1L, 1L, 103L, TODAY.plusDays(1), TODAY.plusDays(2));
+        index.remove(1L);
+        assertEquals(Set.of(103L), index.bookedRooms(1L, TODAY, TODAY.plusDays(3)));
+        index.removeBlock(1L);
+        assertEquals(Set.of(), index.bookedRooms(1L, TODAY, TODAY.plusDays(3)));
+    }
+
+    @Test
+    void testUnavailableRoomsPerNight() {
+        index.put(1L, 1L, 101L, TODAY.plusDays(2), TODAY.plusDays(5));
+        index.put(2L, 1L, 102L, TODAY.plusDays(2), TODAY.plusDays(3));
+        index.putBlock(7L, 1L, 102L, TODAY.plusDays(2), TODAY.plusDays(4));
+
+        // Maintenance wins over a booking of the same night
+        assertEquals(Map.of(101L, RoomStatus.BOOKED, 102L, RoomStatus.UNDER_MAINTENANCE),
+                index.unavailableRooms(1L, TODAY.plusDays(2)));
+        assertEquals(Map.of(101L, RoomStatus.BOOKED), index.unavailableRooms(1L, TODAY.plusDays(4)));
+        assertEquals(Map.of(), index.unavailableRooms(1L, TODAY.plusDays(5)));
+        assertEquals(Map.of(), index.unavailableRooms(2L, TODAY.plusDays(2)));
+    }
+
+    @Test
+    void testUnavailableNightsFromDate() {
+        index.put(1L, 1L, 101L, TODAY.plusDays(2), TODAY.plusDays(4));
+        index.putBlock(1L, 1L, 102L, TODAY.plusDays(5), TODAY.plusDays(9));
+        index.put(2L, 1L, 103L, TODAY.plusDays(20), TODAY.plusDays(22));
+
+        Map<Long, BitSet> unavailable = index.unavailableNights(1L, TODAY.plusDays(1), 6);
+
+        assertEquals(Set.of(101L, 102L), unavailable.keySet());
+        assertEquals(BitSet.valueOf(new long[] { 0b000110 }), unavailable.get(101L));
+        assertEquals(BitSet.valueOf(new long[] { 0b110000 }), unavailable.get(102L));
+    }
+
+    private static BookingStay stay(Long id, Long hotelId, Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        return new BookingStay() {
+            public Long getId() {
+                return id;
+            }
+
+            public Long getHotelId() {
+                return hotelId;
+            }
+
+            public Long getRoomId() {
+                return roomId;
+            }
+
+            public LocalDate getCheckInDate() {
+                return checkIn;
+            }
+
+            public LocalDate getCheckOutDate() {
+                return checkOut;
+            }
+        };
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(LocalDate date) {
+            set(date);
+        }
+
+        private void set(LocalDate date) {
+            instant = date.atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.staymate.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+    @Test
+    void testExpiresAtDeadlineTick() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1000, 8, 0);
+        wheel.schedule(1L, 2500);
+        wheel.schedule(2L, 4000);
+
+        assertEquals(List.of(), wheel.advance(2999));
+        assertEquals(List.of(1L), wheel.advance(3000));
+        assertEquals(List.of(2L), wheel.advance(4000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testDeadlinesBeyondOneRotation() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1000, 8, 0);
+        wheel.schedule(1L, 3000);
+        wheel.schedule(2L, 11_000); // Same bucket, one rotation later
+
+        assertEquals(List.of(1L), wheel.advance(3000));
+        assertEquals(List.of(), wheel.advance(10_000));
+        assertEquals(List.of(2L), wheel.advance(11_000));
+    }
+
+    @Test
+    void testRescheduleAndCancel() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1000, 8, 0);
+        wheel.schedule(1L, 2000);
+        wheel.schedule(2L, 2000);
+        wheel.schedule(3L, 2000);
+
+        wheel.schedule(2L, 6000);
+        assertTrue(wheel.cancel(3L));
+        assertFalse(wheel.cancel(3L));
+
+        assertEquals(List.of(1L), wheel.advance(5000));
+        assertEquals(List.of(2L), wheel.advance(6000));
+    }
+
+    @Test
+    void testPastDeadlineFiresOnNextTick() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1000, 8, 5000);
+        wheel.schedule(1L, 1000);
+
+        assertEquals(List.of(1L), wheel.advance(6000));
+    }
+
+    @Test
+    void testLongPauseExpiresEverythingDue() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1000, 4, 0);
+        for (long key = 1; key <= 10; key++) {
+            wheel.schedule(key, key * 1000);
+        }
+        wheel.schedule(11L, 100_000);
+
+        List<Long> expired = wheel.advance(50_000);
+
+        assertEquals(10, expired.size());
+        assertEquals(1, wheel.size());
+    }
+}
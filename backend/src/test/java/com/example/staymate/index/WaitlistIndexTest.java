@@ -0,0 +1,60 @@
+package com.example.staymate.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.staymate.entity.enums.RoomType;
+
+class WaitlistIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 1);
+
+    private WaitlistIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new WaitlistIndex();
+    }
+
+    @Test
+    void testClaimsOnlyStaysWithinFreedNights() {
+        index.add(1L, 1L, RoomType.SINGLE, DAY.plusDays(1), DAY.plusDays(3));
+        index.add(2L, 1L, RoomType.SINGLE, DAY.minusDays(1), DAY.plusDays(2)); // Checks in before
+        index.add(3L, 1L, RoomType.SINGLE, DAY.plusDays(3), DAY.plusDays(6)); // Checks out after
+        index.add(4L, 1L, RoomType.DOUBLE, DAY.plusDays(1), DAY.plusDays(3)); // Other room type
+        index.add(5L, 2L, RoomType.SINGLE, DAY.plusDays(1), DAY.plusDays(3)); // Other hotel
+
+        assertEquals(List.of(1L), index.claim(1L, RoomType.SINGLE, DAY, DAY.plusDays(5)));
+        assertEquals(4, index.size());
+        // A claimed waiter is not offered twice
+        assertEquals(List.of(), index.claim(1L, RoomType.SINGLE, DAY, DAY.plusDays(5)));
+    }
+
+    @Test
+    void testClaimsOldestWaitersWithoutOverlap() {
+        index.add(7L, 1L, RoomType.SUITE, DAY.plusDays(2), DAY.plusDays(4));
+        index.add(3L, 1L, RoomType.SUITE, DAY.plusDays(1), DAY.plusDays(3));
+        index.add(9L, 1L, RoomType.SUITE, DAY.plusDays(3), DAY.plusDays(5));
+
+        // Waiter 3 joined first; 7 overlaps it, 9 does not
+        assertEquals(List.of(3L, 9L), index.claim(1L, RoomType.SUITE, DAY, DAY.plusDays(5)));
+        assertEquals(List.of(7L), index.claim(1L, RoomType.SUITE, DAY, DAY.plusDays(5)));
+    }
+
+    @Test
+    void testRemovedWaiterIsNotClaimed() {
+        index.add(1L, 1L, RoomType.SINGLE, DAY, DAY.plusDays(2));
+
+        assertTrue(index.remove(1L));
+        assertFalse(index.remove(1L));
+        assertEquals(List.of(), index.claim(1L, RoomType.SINGLE, DAY, DAY.plusDays(2)));
+        assertEquals(0, index.size());
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.staymate.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.staymate.dto.custom.CursorPage;
+import com.example.staymate.dto.room.RoomRequestDTO;
+import com.example.staymate.dto.user.UserBookingResponseDTO;
+import com.example.staymate.entity.booking.Booking;
+import com.example.staymate.entity.enums.BookingStatus;
+import com.example.staymate.entity.enums.PaymentMethod;
+import com.example.staymate.entity.enums.RoomType;
+import com.example.staymate.entity.enums.UserRole;
+import com.example.staymate.entity.hotel.Hotel;
+import com.example.staymate.entity.payment.Payment;
+import com.example.staymate.entity.user.User;
+import com.example.staymate.repository.ArchivedBookingRepository;
+import com.example.staymate.repository.ArchivedPaymentRepository;
+import com.example.staymate.repository.BookingRepository;
+import com.example.staymate.repository.HotelRepository;
+import com.example.staymate.repository.PaymentRepository;
+import com.example.staymate.repository.UserRepository;
+
+// Bookings are dated around 2000 so that only this test's bookings are old enough to archive
+@SpringBootTest(properties = {
+        "app.bookings.archive.enabled=false",
+        "app.bookings.archive.chunk-size=2"
+})
+@ActiveProfiles("test")
+class BookingArchiveServiceTest {
+
+    private static final LocalDate CUTOFF = LocalDate.of(2001, 1, 1);
+
+    @Autowired
+    private BookingArchiveService bookingArchiveService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Autowired
+    private ArchivedPaymentRepository archivedPaymentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Hotel hotel;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        hotel = new Hotel();
+        hotel.setName("Archive Hotel " + System.nanoTime());
+        hotel.setAddress("1 Archive Road, Singapore");
+        hotel = hotelRepository.save(hotel);
+
+        RoomRequestDTO rooms = new RoomRequestDTO();
+        rooms.setRoomType(RoomType.SINGLE);
+        rooms.setPricePerNight(100.0);
+        rooms.setMaxOccupancy(1);
+        rooms.setQuantity(1);
+        roomService.createRooms(hotel, List.of(rooms), 100);
+
+        user = userRepository.save(new User("Jane", "Doe", "archive" + System.nanoTime() + "@example.com",
+                "password", "12345678", UserRole.CUSTOMER));
+    }
+
+    @Test
+    void testMovesOldBookingsWithTheirPayments() {
+        Booking first = book(LocalDate.of(2000, 3, 1), BookingStatus.CONFIRMED);
+        Booking second = book(LocalDate.of(2000, 6, 1), BookingStatus.CANCELLED);
+        Booking third = book(LocalDate.of(2000, 9, 1), BookingStatus.CONFIRMED);
+        Booking pending = book(LocalDate.of(2000, 12, 1), BookingStatus.PENDING);
+        Booking recent = book(LocalDate.of(2001, 2, 1), BookingStatus.CONFIRMED);
+        Payment payment = paymentService.createPayment(first.getId(), PaymentMethod.PAYPAL, 200.0);
+
+        assertEquals(3, bookingArchiveService.archiveCheckedOutBefore(CUTOFF));
+
+        for (Booking booking : List.of(first, second, third)) {
+            assertFalse(bookingRepository.existsById(booking.getId()));
+            assertTrue(archivedBookingRepository.existsById(booking.getId()));
+        }
+        assertTrue(bookingRepository.existsById(pending.getId()));
+        assertTrue(bookingRepository.existsById(recent.getId()));
+        assertFalse(paymentRepository.existsById(payment.getId()));
+        assertEquals(first.getId(), archivedPaymentRepository.findById(payment.getId()).orElseThrow().getBookingId());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM room_night WHERE booking_id = ?",
+                Integer.class, first.getId()));
+
+        // A second run finds nothing left to move
+        assertEquals(0, bookingArchiveService.archiveCheckedOutBefore(CUTOFF));
+    }
+
+    @Test
+    void testUserListingMergesArchiveOnlyWhenAsked() {
+        Booking old = book(LocalDate.of(2000, 3, 1), BookingStatus.CONFIRMED);
+        Booking older = book(LocalDate.of(2000, 1, 1), BookingStatus.CONFIRMED);
+        Booking recent = book(LocalDate.of(2001, 2, 1), BookingStatus.CONFIRMED);
+        bookingArchiveService.archiveCheckedOutBefore(CUTOFF);
+
+        assertEquals(List.of(recent.getId()), ids(bookingService.getBookingPageByUser(user.getId(), null, 10, false)
+                .getItems()));
+
+        CursorPage<UserBookingResponseDTO> firstPage = bookingService.getBookingPageByUser(user.getId(), null, 2, true);
+        assertEquals(List.of(recent.getId(), old.getId()), ids(firstPage.getItems()));
+        CursorPage<UserBookingResponseDTO> secondPage = bookingService.getBookingPageByUser(user.getId(), firstPage.getNextCursor(), 2, true);
+        assertEquals(List.of(older.getId()), ids(secondPage.getItems()));
+        assertNull(secondPage.getNextCursor());
+    }
+
+    // A two-night stay in the hotel's room with the given status
+    private Booking book(LocalDate checkIn, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setUser(user);
+        booking.setCheckInDate(checkIn);
+        booking.setCheckOutDate(checkIn.plusDays(2));
+        booking.setBookingDate(checkIn.minusDays(30));
+        booking.setTotalAmount(200.0);
+        Booking saved = bookingService.reserveRoom(booking, hotel.getId(), 100L);
+        saved.setStatus(status);
+        return bookingRepository.save(saved);
+    }
+
+    private static List<Long> ids(List<UserBookingResponseDTO> bookings) {
+        return bookings.stream().map(UserBookingResponseDTO::getBookingId).toList();
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.staymate.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.staymate.entity.booking.Booking;
+import com.example.staymate.entity.enums.BookingStatus;
+import com.example.staymate.entity.enums.PaymentMethod;
+import com.example.staymate.entity.payment.Payment;
+import com.example.staymate.repository.BookingRepository;
+
+@ExtendWith(MockitoExtension.class)
+class BookingHoldServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 1, 10, 0);
+    private static final Duration HOLD_TIME = Duration.ofMinutes(15);
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private MutableClock clock;
+    private BookingHoldService holdService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(START);
+        holdService = new BookingHoldService(bookingService, bookingRepository, HOLD_TIME, 1000, 64, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        holdService.shutdown();
+    }
+
+    @Test
+    void testCreateHold_ExpiresAfterHoldTime() {
+        Booking booking = new Booking();
+        when(bookingService.reserveRoom(booking, 1L, 101L)).thenAnswer(invocation -> saved(booking, 7L));
+
+        Booking held = holdService.createHold(booking, 1L, 101L);
+        assertEquals(START.plus(HOLD_TIME), held.getHoldExpiresAt());
+
+        clock.set(START.plusMinutes(14));
+        assertEquals(0, holdService.expireHolds());
+        verify(bookingService, never()).expireHolds(any(), any());
+
+        when(bookingService.expireHolds(List.of(7L), START.plus(HOLD_TIME))).thenReturn(List.of(booking));
+        clock.set(START.plus(HOLD_TIME));
+        assertEquals(1, holdService.expireHolds());
+    }
+
+    @Test
+    void testConfirmHold_StopsExpiry() {
+        Booking booking = new Booking();
+        when(bookingService.reserveRoom(booking, 1L, 101L)).thenAnswer(invocation -> saved(booking, 7L));
+        holdService.createHold(booking, 1L, 101L);
+
+        Booking confirmed = new Booking();
+        confirmed.setId(7L);
+        confirmed.setStatus(BookingStatus.CONFIRMED);
+        when(bookingService.confirmHold(7L, START.plusMinutes(5))).thenReturn(confirmed);
+        clock.set(START.plusMinutes(5));
+        holdService.confirmHold(7L);
+
+        clock.set(START.plusHours(1));
+        assertEquals(0, holdService.expireHolds());
+        verify(bookingService, never()).expireHolds(any(), any());
+    }
+
+    @Test
+    void testExtendHold_MovesExpiry() {
+        Booking booking = new Booking();
+        when(bookingService.reserveRoom(booking, 1L, 101L)).thenAnswer(invocation -> saved(booking, 7L));
+        holdService.createHold(booking, 1L, 101L);
+
+        LocalDateTime extendedAt = START.plusMinutes(10);
+        Booking extended = new Booking();
+        extended.setId(7L);
+        extended.setHoldExpiresAt(extendedAt.plus(HOLD_TIME));
+        when(bookingService.extendHold(7L, extendedAt, extendedAt.plus(HOLD_TIME))).thenReturn(extended);
+        clock.set(extendedAt);
+        holdService.extendHold(7L);
+
+        clock.set(START.plus(HOLD_TIME));
+        assertEquals(0, holdService.expireHolds());
+
+        when(bookingService.expireHolds(eq(List.of(7L)), any())).thenReturn(List.of(extended));
+        clock.set(extendedAt.plus(HOLD_TIME));
+        assertEquals(1, holdService.expireHolds());
+    }
+
+    @Test
+    void testPay_PartialPaymentMovesExpiry() {
+        Booking booking = new Booking();
+        when(bookingService.reserveRoom(booking, 1L, 101L)).thenAnswer(invocation -> saved(booking, 7L));
+        holdService.createHold(booking, 1L, 101L);
+
+        LocalDateTime paidAt = START.plusMinutes(10);
+        Booking partlyPaid = new Booking();
+        partlyPaid.setId(7L);
+        partlyPaid.setStatus(BookingStatus.PENDING);
+        partlyPaid.setHoldExpiresAt(paidAt.plus(HOLD_TIME));
+        Payment payment = new Payment();
+        payment.setBooking(partlyPaid);
+        when(bookingService.payBooking(7L, PaymentMethod.STRIPE, 40.0, paidAt, paidAt.plus(HOLD_TIME)))
+                .thenReturn(payment);
+        clock.set(paidAt);
+        holdService.pay(7L, PaymentMethod.STRIPE, 40.0);
+
+        clock.set(START.plus(HOLD_TIME));
+        assertEquals(0, holdService.expireHolds());
+        verify(bookingService, never()).expireHolds(any(), any());
+    }
+
+    @Test
+    void testAfterSingletonsInstantiated_BackfillsMissingHolds() {
+        holdService.afterSingletonsInstantiated();
+
+        verify(bookingService).backfillHolds(START.plus(HOLD_TIME));
+    }
+
+    @Test
+    void testExpireHolds_RetriedAfterFailure() {
+        Booking booking = new Booking();
+        when(bookingService.reserveRoom(booking, 1L, 101L)).thenAnswer(invocation -> saved(booking, 7L));
+        holdService.createHold(booking, 1L, 101L);
+
+        when(bookingService.expireHolds(eq(List.of(7L)), any()))
+                .thenThrow(new IllegalStateException("Database unavailable"))
+                .thenReturn(List.of(booking));
+
+        clock.set(START.plus(HOLD_TIME));
+        assertThrows(IllegalStateException.class, () -> holdService.expireHolds());
+
+        clock.set(START.plus(HOLD_TIME).plusSeconds(1));
+        assertEquals(1, holdService.expireHolds());
+        verify(bookingService, times(2)).expireHolds(eq(List.of(7L)), any());
+    }
+
+    private static Booking saved(Booking booking, Long id) {
+        booking.setId(id);
+        booking.setStatus(BookingStatus.PENDING);
+        return booking;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(LocalDateTime time) {
+            set(time);
+        }
+
+        private void set(LocalDateTime time) {
+            instant = time.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.staymate.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.staymate.dto.booking.BookingResponseDTO;
+import com.example.staymate.dto.room.RoomRequestDTO;
+import com.example.staymate.dto.user.UserBookingResponseDTO;
+import com.example.staymate.entity.booking.Booking;
+import com.example.staymate.entity.enums.RoomType;
+import com.example.staymate.entity.enums.UserRole;
+import com.example.staymate.entity.hotel.Hotel;
+import com.example.staymate.entity.user.User;
+import com.example.staymate.repository.HotelRepository;
+import com.example.staymate.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Checks that the booking listings are read with one SQL statement however many bookings they contain
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql=WARN",
+        "logging.level.org.hibernate.engine.internal=WARN"
+})
+@ActiveProfiles("test")
+class BookingListingQueryCountTest {
+
+    private static final int ROOMS = 5;
+    private static final LocalDate START = LocalDate.now().plusDays(1);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Hotel hotel;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        hotel = new Hotel();
+        hotel.setName("Listing Hotel " + System.nanoTime());
+        hotel.setAddress("1 Query Road, Singapore");
+        hotel = hotelRepository.save(hotel);
+
+        RoomRequestDTO rooms = new RoomRequestDTO();
+        rooms.setRoomType(RoomType.DOUBLE);
+        rooms.setPricePerNight(100.0);
+        rooms.setMaxOccupancy(2);
+        rooms.setQuantity(ROOMS);
+        roomService.createRooms(hotel, List.of(rooms), 100);
+
+        user = userRepository.save(new User("Jane", "Doe", "listing" + System.nanoTime() + "@example.com",
+                "password", "12345678", UserRole.CUSTOMER));
+    }
+
+    @Test
+    void testHotelListingIsOneStatement() {
+        reserve(1);
+        assertEquals(1, countStatements(
+                () -> assertEquals(1, bookingService.getBookingResponsesByHotel(hotel.getId()).size())));
+
+        reserve(40);
+        assertEquals(1, countStatements(() -> {
+            List<BookingResponseDTO> bookings = bookingService.getBookingResponsesByHotel(hotel.getId());
+            assertEquals(41, bookings.size());
+            assertEquals("DOUBLE", bookings.get(0).getRoomType());
+            assertEquals("Jane", bookings.get(0).getFirstName());
+        }));
+    }
+
+    @Test
+    void testUserListingIsOneStatement() {
+        reserve(1);
+        assertEquals(1, countStatements(
+                () -> assertEquals(1, bookingService.getBookingPageByUser(user.getId(), null, 100, false).getItems().size())));
+
+        reserve(40);
+        assertEquals(1, countStatements(() -> {
+            List<UserBookingResponseDTO> bookings = bookingService.getBookingPageByUser(user.getId(), null, 100, false)
+                    .getItems();
+            assertEquals(41, bookings.size());
+            assertEquals("DOUBLE", bookings.get(0).getRoomType());
+        }));
+    }
+
+    // Books count more two-night stays, spread over the rooms so none overlap
+    private void reserve(int count) {
+        int booked = bookingService.getBookingResponsesByHotel(hotel.getId()).size();
+        for (int i = booked; i < booked + count; i++) {
+            LocalDate checkIn = START.plusDays(2L * (i / ROOMS));
+            Booking booking = new Booking();
+            booking.setUser(user);
+            booking.setCheckInDate(checkIn);
+            booking.setCheckOutDate(checkIn.plusDays(2));
+            booking.setBookingDate(LocalDate.now());
+            booking.setTotalAmount(200.0);
+            bookingService.reserveRoom(booking, hotel.getId(), 100L + i % ROOMS);
+        }
+    }
+
+    private long countStatements(Runnable listing) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        listing.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.staymate.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.staymate.dto.booking.RoomStayRequestDTO;
+import com.example.staymate.dto.room.RoomRequestDTO;
+import com.example.staymate.entity.booking.Booking;
+import com.example.staymate.entity.enums.RoomType;
+import com.example.staymate.entity.hotel.Hotel;
+import com.example.staymate.exception.RoomAlreadyBookedException;
+import com.example.staymate.repository.BookingRepository;
+import com.example.staymate.repository.HotelRepository;
+
+// Reserves rooms from many threads at once and checks that no room is ever booked twice
+// for the same night, and that batch bookings are booked entirely or not at all
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql=WARN"
+})
+@ActiveProfiles("test")
+class BookingServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int ATTEMPTS_PER_THREAD = 100;
+    private static final int ROOMS = 4;
+    private static final LocalDate START = LocalDate.now().plusDays(1);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private Hotel hotel;
+
+    @BeforeEach
+    void setUp() {
+        hotel = new Hotel();
+        hotel.setName("Concurrency Hotel " + System.nanoTime());
+        hotel.setAddress("1 Stress Road, Singapore");
+        hotel = hotelRepository.save(hotel);
+
+        RoomRequestDTO rooms = new RoomRequestDTO();
+        rooms.setRoomType(RoomType.SINGLE);
+        rooms.setPricePerNight(100.0);
+        rooms.setMaxOccupancy(1);
+        rooms.setQuantity(ROOMS);
+        roomService.createRooms(hotel, List.of(rooms), 100);
+    }
+
+    @Test
+    void testSameStayReservedOnce() throws Exception {
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(thread -> {
+            try {
+                bookingService.reserveRoom(booking(START, START.plusDays(3)), hotel.getId(), 100L);
+                reserved.incrementAndGet();
+            } catch (RoomAlreadyBookedException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertEquals(1, reserved.get());
+        assertEquals(THREADS - 1, rejected.get());
+        assertEquals(1, bookingRepository.findBookingsByHotelId(hotel.getId()).size());
+    }
+
+    @Test
+    void testRandomStaysNeverOverlap() throws Exception {
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(thread -> {
+            Random random = new Random(thread);
+            for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                LocalDate checkIn = START.plusDays(random.nextInt(60));
+                LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(5));
+                try {
+                    bookingService.reserveRoom(booking(checkIn, checkOut), hotel.getId(), 100L + random.nextInt(ROOMS));
+                    reserved.incrementAndGet();
+                } catch (RoomAlreadyBookedException e) {
+                    rejected.incrementAndGet();
+                }
+            }
+        });
+
+        int attempts = THREADS * ATTEMPTS_PER_THREAD;
+        List<Booking> bookings = bookingRepository.findBookingsByHotelId(hotel.getId());
+        assertEquals(reserved.get(), bookings.size());
+        assertEquals(attempts, reserved.get() + rejected.get());
+        assertTrue(reserved.get() > 0);
+
+        Map<Long, List<Booking>> bookingsByRoom = bookings.stream()
+                .collect(Collectors.groupingBy(booking -> booking.getRoom().getRoomId()));
+        for (List<Booking> roomBookings : bookingsByRoom.values()) {
+            roomBookings.sort(Comparator.comparing(Booking::getCheckInDate));
+            for (int i = 1; i < roomBookings.size(); i++) {
+                assertTrue(!roomBookings.get(i).getCheckInDate().isBefore(roomBookings.get(i - 1).getCheckOutDate()),
+                        "Room " + roomBookings.get(i).getRoom().getRoomId() + " is double booked");
+            }
+        }
+    }
+
+    @Test
+    void testBatchBookedAllOrNothing() {
+        bookingService.reserveRoom(booking(START.plusDays(2), START.plusDays(4)), hotel.getId(), 102L);
+
+        List<RoomStayRequestDTO> stays = List.of(stay(100L), stay(101L), stay(102L));
+        assertThrows(RoomAlreadyBookedException.class,
+                () -> bookingService.reserveRooms(null, stays, LocalDateTime.now().plusMinutes(15)));
+        assertEquals(1, bookingRepository.findBookingsByHotelId(hotel.getId()).size());
+
+        List<Booking> booked = bookingService.reserveRooms(null, List.of(stay(100L), stay(101L), stay(103L)),
+                LocalDateTime.now().plusMinutes(15));
+        assertEquals(3, booked.size());
+        for (Booking booking : booked) {
+            assertTrue(bookingRepository.findById(booking.getId()).isPresent());
+        }
+        assertEquals(4, bookingRepository.findBookingsByHotelId(hotel.getId()).size());
+    }
+
+    private void runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(1);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int id = thread;
+                results.add(executor.submit(() -> {
+                    ready.await();
+                    task.run(id);
+                    return null;
+                }));
+            }
+            ready.countDown();
+            for (Future<?> result : results) {
+                result.get(); // Rethrows anything other than a rejected reservation
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Booking booking(LocalDate checkIn, LocalDate checkOut) {
+        Booking booking = new Booking();
+        booking.setCheckInDate(checkIn);
+        booking.setCheckOutDate(checkOut);
+        booking.setBookingDate(LocalDate.now());
+        booking.setTotalAmount(100.0);
+        return booking;
+    }
+
+    private RoomStayRequestDTO stay(Long roomId) {
+        RoomStayRequestDTO stay = new RoomStayRequestDTO();
+        stay.setHotelId(hotel.getId());
+        stay.setRoomId(roomId);
+        stay.setCheckInDate(START);
+        stay.setCheckOutDate(START.plusDays(3));
+        return stay;
+    }
+
+    private interface ThreadTask {
+        void run(int thread);
+    }
+}
@@ -4,13 +4,18 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,11 +23,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import com.example.staymate.entity.booking.Booking;
 import com.example.staymate.entity.enums.BookingStatus;
 import com.example.staymate.entity.enums.NotificationType;
+import com.example.staymate.entity.enums.PaymentMethod;
+import com.example.staymate.entity.enums.PaymentStatus;
 import com.example.staymate.entity.notification.Notification;
+import com.example.staymate.entity.payment.Payment;
+import com.example.staymate.exception.BookingHoldExpiredException;
 import com.example.staymate.observer.NotificationObserver;
 import com.example.staymate.repository.BookingRepository;
 
@@ -35,6 +45,12 @@ class BookingServiceTest {
     @Mock
     private NotificationObserver notificationObserver;
 
+    @Mock
+    private RoomNightLedger roomNightLedger;
+
+    @Mock
+    private PaymentService paymentService;
+
     @InjectMocks
     private BookingService bookingService;  // The class under test
 
@@ -46,35 +62,9 @@ class BookingServiceTest {
         booking = new Booking();
         booking.setId(1L);
         booking.setStatus(BookingStatus.PENDING);
-    }
-
-    // Test the createBooking method
-    @Test
-    void testCreateBooking() {
-        // Mock the behavior of bookingRepository.save
-        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
-
-        // Call the service method
-        Booking createdBooking = bookingService.createBooking(booking);
-
-        // Validate that the booking was created
-        assertNotNull(createdBooking);
-        assertEquals(BookingStatus.PENDING, createdBooking.getStatus());
 
-        // Verify that the repository save method was called
-        verify(bookingRepository, times(1)).save(any(Booking.class));
-
-        // Check if the notification details are correct
-        Notification notification = new Notification();
-        notification.setUser(createdBooking.getUser());
-        notification.setMessage("Your booking is pending confirmation.");
-        notification.setType(NotificationType.BOOKING);
-        notification.setRead(false);
-        notification.setCreatedAt(LocalDateTime.now());
-        
-        // Verify the notification is being correctly passed
-        assertNotNull(notification);
-        assertEquals("Your booking is pending confirmation.", notification.getMessage());
+        // Mockito injects the constructor arguments only
+        ReflectionTestUtils.setField(bookingService, "paymentService", paymentService);
     }
 
     @Test
@@ -92,8 +82,9 @@ class BookingServiceTest {
         assertNotNull(updatedBooking);
         assertEquals(BookingStatus.CONFIRMED, updatedBooking.getStatus());
 
-        // Verify that the repository save method was called
+        // Verify that the repository save method was called and the nights are still held
         verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(roomNightLedger, never()).release(any());
         // Verify the notification details for confirmation
         Notification notification = new Notification();
         notification.setUser(updatedBooking.getUser());
@@ -106,6 +97,15 @@ class BookingServiceTest {
         assertEquals("Your booking has been confirmed!", notification.getMessage());
     }
 
+    @Test
+    void testUpdateBooking_RefusesToConfirmCancelledBooking() {
+        when(bookingRepository.findStoredStatus(1L)).thenReturn(Optional.of(BookingStatus.CANCELLED));
+        booking.setStatus(BookingStatus.CONFIRMED);
+
+        assertThrows(BookingHoldExpiredException.class, () -> bookingService.updateBooking(booking));
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
     @Test
     void testUpdateBooking_Canceled() {
         // Mock the behavior of bookingRepository.save
@@ -121,8 +121,9 @@ class BookingServiceTest {
         assertNotNull(updatedBooking);
         assertEquals(BookingStatus.CANCELLED, updatedBooking.getStatus());
 
-        // Verify that the repository save method was called
+        // Verify that the repository save method was called and the nights were released
         verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(roomNightLedger, times(1)).release(1L);
 
         // Verify the notification details for cancellation
         Notification notification = new Notification();
@@ -137,37 +138,131 @@ class BookingServiceTest {
     }
 
 
-    // @Test
-    // void testCancelBooking() {
-    //     // Mock the behavior of bookingRepository.findById and save
-    //     when(bookingRepository.findById(1L)).thenReturn(java.util.Optional.of(booking));
-    //     when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+    @Test
+    void testPayBooking_ConfirmsWhenSplitPaymentsSettleTotal() {
+        LocalDateTime now = LocalDateTime.of(2025, 3, 1, 10, 0);
+        booking.setTotalAmount(0.3);
+        booking.setHoldExpiresAt(now.plusMinutes(5));
+        when(bookingRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(booking));
+        when(paymentService.getTotalPaidAmount(1L)).thenReturn(0.1);
+        Payment payment = pendingPayment();
+        when(paymentService.createPayment(1L, PaymentMethod.STRIPE, 0.2)).thenReturn(payment);
+        doAnswer(invocation -> {
+            payment.setStatus(PaymentStatus.SUCCESS);
+            return null;
+        }).when(paymentService).processPayment(7L, PaymentMethod.STRIPE);
+
+        // 0.1 + 0.2 is not 0.3 in doubles, but it is in cents
+        bookingService.payBooking(1L, PaymentMethod.STRIPE, 0.2, now, now.plusMinutes(15));
+
+        assertEquals(BookingStatus.CONFIRMED, booking.getStatus());
+        assertNull(booking.getHoldExpiresAt());
+    }
 
-    //     // Set booking status to CANCELLED
-    //     booking.setStatus(BookingStatus.CANCELLED);
+    @Test
+    void testPayBooking_PartialPaymentExtendsHold() {
+        LocalDateTime now = LocalDateTime.of(2025, 3, 1, 10, 0);
+        booking.setTotalAmount(100.0);
+        booking.setHoldExpiresAt(now.plusMinutes(5));
+        when(bookingRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(booking));
+        when(paymentService.getTotalPaidAmount(1L)).thenReturn(0.0);
+        Payment payment = pendingPayment();
+        when(paymentService.createPayment(1L, PaymentMethod.STRIPE, 40.0)).thenReturn(payment);
+        doAnswer(invocation -> {
+            payment.setStatus(PaymentStatus.SUCCESS);
+            return null;
+        }).when(paymentService).processPayment(7L, PaymentMethod.STRIPE);
+
+        bookingService.payBooking(1L, PaymentMethod.STRIPE, 40.0, now, now.plusMinutes(15));
+
+        assertEquals(BookingStatus.PENDING, booking.getStatus());
+        assertEquals(now.plusMinutes(15), booking.getHoldExpiresAt());
+        verify(bookingRepository).save(booking);
+    }
 
-    //     // Call the service method
-    //     Booking canceledBooking = bookingService.cancelBooking(1L);
+    @Test
+    void testPayBooking_ExpiredHoldIsNotCharged() {
+        LocalDateTime now = LocalDateTime.of(2025, 3, 1, 10, 0);
+        booking.setTotalAmount(100.0);
+        booking.setHoldExpiresAt(now.minusMinutes(1));
+        when(bookingRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(booking));
+
+        assertThrows(BookingHoldExpiredException.class,
+                () -> bookingService.payBooking(1L, PaymentMethod.STRIPE, 100.0, now, now.plusMinutes(15)));
+        verify(paymentService, never()).createPayment(any(), any(), anyDouble());
+    }
 
-    //     // Validate that the booking was canceled
-    //     assertNotNull(canceledBooking);
-    //     assertEquals(BookingStatus.CANCELLED, canceledBooking.getStatus());
+    @Test
+    void testPayBooking_RejectsMoreThanRemainingBalance() {
+        LocalDateTime now = LocalDateTime.of(2025, 3, 1, 10, 0);
+        booking.setTotalAmount(100.0);
+        booking.setHoldExpiresAt(now.plusMinutes(5));
+        when(bookingRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(booking));
+        when(paymentService.getTotalPaidAmount(1L)).thenReturn(90.0);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> bookingService.payBooking(1L, PaymentMethod.STRIPE, 20.0, now, now.plusMinutes(15)));
+        assertEquals("Payment exceeds remaining balance. Remaining amount: 10.0", e.getMessage());
+        verify(paymentService, never()).createPayment(any(), any(), anyDouble());
+    }
 
-    //     // Verify that the repository save method was called
-    //     verify(bookingRepository, times(1)).save(any(Booking.class));
+    private static Payment pendingPayment() {
+        Payment payment = new Payment();
+        payment.setId(7L);
+        payment.setStatus(PaymentStatus.PENDING);
+        return payment;
+    }
 
-    //     // Verify the notification details for cancellation
-    //     Notification notification = new Notification();
-    //     notification.setUser(canceledBooking.getUser());
-    //     notification.setMessage("Your booking has been canceled.");
-    //     notification.setType(NotificationType.BOOKING);
-    //     notification.setRead(false);
-    //     notification.setCreatedAt(LocalDateTime.now());
-        
-    //     assertNotNull(notification);
-    //     assertEquals("Your booking has been canceled.", notification.getMessage());
-    // }
+    @Test
+    void testCancelBooking() {
+        // Mock the behavior of bookingRepository.findById and save
+        when(bookingRepository.findById(1L)).thenReturn(java.util.Optional.of(booking));
+        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+
+        // Call the service method
+        Booking canceledBooking = bookingService.cancelBooking(1L);
+
+        // Validate that the booking was canceled
+        assertNotNull(canceledBooking);
+        assertEquals(BookingStatus.CANCELLED, canceledBooking.getStatus());
+
+        // Only the booking is saved; releasing its nights frees the room without updating it
+        verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(roomNightLedger, times(1)).release(1L);
+    }
+
+    @Test
+    void testCancelHold_CancelsPendingBooking() {
+        booking.setStatus(BookingStatus.PENDING);
+        when(bookingRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+
+        assertEquals(BookingStatus.CANCELLED, bookingService.cancelHold(1L).getStatus());
+        verify(roomNightLedger).release(1L);
+    }
 
+    @Test
+    void testCancelHold_LeavesConfirmedBooking() {
+        booking.setStatus(BookingStatus.CONFIRMED);
+        when(bookingRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(booking));
+
+        assertEquals(BookingStatus.CONFIRMED, bookingService.cancelHold(1L).getStatus());
+        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(roomNightLedger, never()).release(any());
+    }
+
+    @Test
+    void testCancelBooking_AlreadyCancelled() {
+        booking.setStatus(BookingStatus.CANCELLED);
+        when(bookingRepository.findById(1L)).thenReturn(java.util.Optional.of(booking));
+
+        assertEquals(booking, bookingService.cancelBooking(1L));
+
+        // Nothing is released or offered to the waitlist a second time
+        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(roomNightLedger, never()).release(any());
+    }
 
     @Test
     void testGetBookingById_Found() {
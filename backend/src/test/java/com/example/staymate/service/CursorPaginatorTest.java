@@ -0,0 +1,61 @@
+package com.example.staymate.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.staymate.dto.custom.CursorPage;
+import com.example.staymate.dto.custom.PageCursor;
+
+class CursorPaginatorTest {
+
+    private final CursorPaginator cursorPaginator = new CursorPaginator();
+
+    @Test
+    void testCursorRoundTrip() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 1, 12, 30, 15);
+        PageCursor cursor = PageCursor.decode(PageCursor.of(createdAt, 42L).encode());
+
+        assertEquals(42L, cursor.getId());
+        assertEquals(createdAt, cursor.getDateTimeKey());
+        assertEquals(LocalDate.of(2025, 3, 1),
+                PageCursor.decode(PageCursor.of(LocalDate.of(2025, 3, 1), 7L).encode()).getDateKey());
+        assertEquals(9L, PageCursor.decode(PageCursor.of(9L).encode()).getId());
+        assertNull(PageCursor.decode(null));
+        assertNull(PageCursor.decode(""));
+    }
+
+    @Test
+    void testRejectsInvalidCursors() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("bm8tc2VwYXJhdG9y")); // "no-separator"
+        // An ID-only cursor passed to a listing sorted by date
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(PageCursor.of(5L).encode()).getDateKey());
+    }
+
+    @Test
+    void testPageSize() {
+        assertEquals(20, cursorPaginator.pageSize(null));
+        assertEquals(100, cursorPaginator.pageSize(100));
+        assertThrows(IllegalArgumentException.class, () -> cursorPaginator.pageSize(0));
+        assertThrows(IllegalArgumentException.class, () -> cursorPaginator.pageSize(101));
+    }
+
+    @Test
+    void testPageCutsExtraRowAndPointsAtLastItem() {
+        CursorPage<Long> page = cursorPaginator.page(List.of(30L, 20L, 10L), 2, PageCursor::of);
+
+        assertEquals(List.of(30L, 20L), page.getItems());
+        assertEquals(20L, PageCursor.decode(page.getNextCursor()).getId());
+
+        CursorPage<Long> last = cursorPaginator.page(List.of(10L), 2, PageCursor::of);
+        assertEquals(List.of(10L), last.getItems());
+        assertNull(last.getNextCursor());
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.staymate.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.staymate.dto.booking.BookingExportRow;
+import com.example.staymate.dto.payment.PaymentExportRow;
+import com.example.staymate.entity.enums.BookingStatus;
+import com.example.staymate.entity.enums.ExportFormat;
+import com.example.staymate.entity.enums.PaymentMethod;
+import com.example.staymate.entity.enums.PaymentStatus;
+import com.example.staymate.entity.enums.RoomType;
+import com.example.staymate.repository.ArchivedBookingRepository;
+import com.example.staymate.repository.BookingRepository;
+import com.example.staymate.repository.PaymentRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2025, 3, 1);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @InjectMocks
+    private ExportService exportService;
+
+    @Test
+    void testExportBookingsAsNdjson() throws Exception {
+        when(bookingRepository.streamBookingExport(1L, null, null))
+                .thenReturn(Stream.of(booking(1L), booking(2L)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportBookings(ExportFormat.NDJSON, 1L, null, null, false, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"bookingId\":1,"));
+        assertTrue(lines[1].contains("\"checkInDate\":\"2025-03-01\""));
+    }
+
+    @Test
+    void testExportPaymentsAsCsvCoversWholeDays() throws Exception {
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 31);
+        when(paymentRepository.streamPaymentExport(null, from.atStartOfDay(), LocalDate.of(2025, 4, 1).atStartOfDay()))
+                .thenReturn(Stream.of(new PaymentExportRow(7L, 1L, 1L, PaymentMethod.PAYPAL, 150.5,
+                        PaymentStatus.SUCCESS, LocalDateTime.of(2025, 3, 31, 23, 59))));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportPayments(ExportFormat.CSV, null, from, to, false, out);
+
+        assertEquals("paymentId,bookingId,hotelId,paymentMethod,amount,status,transactionDate\r\n"
+                + "7,1,1,PAYPAL,150.5,SUCCESS,2025-03-31T23:59\r\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testExportBookingsAppendsArchiveWhenAsked() throws Exception {
+        when(bookingRepository.streamBookingExport(null, null, null)).thenReturn(Stream.of(booking(9L)));
+        when(archivedBookingRepository.streamBookingExport(null, null, null)).thenReturn(Stream.of(booking(2L)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportBookings(ExportFormat.CSV, null, null, null, true, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[1].startsWith("9,"));
+        assertTrue(lines[2].startsWith("2,"));
+    }
+
+    @Test
+    void testCsvFieldQuoting() {
+        assertEquals("plain", ExportService.csvField("plain"));
+        assertEquals("\"a,b\"", ExportService.csvField("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", ExportService.csvField("say \"hi\""));
+    }
+
+    @Test
+    void testRejectsUnknownFormatAndReversedRange() {
+        assertEquals(ExportFormat.CSV, ExportService.parseFormat("csv"));
+        assertThrows(IllegalArgumentException.class, () -> ExportService.parseFormat("xml"));
+        assertThrows(IllegalArgumentException.class,
+                () -> ExportService.validateRange(CHECK_IN, CHECK_IN.minusDays(1)));
+    }
+
+    private static BookingExportRow booking(Long id) {
+        return new BookingExportRow(id, 1L, 100L, 5L, RoomType.SINGLE, BookingStatus.CONFIRMED, CHECK_IN.minusDays(7),
+                CHECK_IN, CHECK_IN.plusDays(2), 200.0, null);
+    }
+}
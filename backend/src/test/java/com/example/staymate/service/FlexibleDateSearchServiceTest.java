@@ -0,0 +1,140 @@
+package com.example.staymate.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.staymate.dto.hotel.FlexibleDateOption;
+import com.example.staymate.dto.hotel.FlexibleDateSearchRequest;
+import com.example.staymate.dto.room.RoomOffer;
+import com.example.staymate.index.HotelSpatialIndex;
+import com.example.staymate.index.RoomAvailabilityIndex;
+import com.example.staymate.repository.RoomRepository;
+
+@ExtendWith(MockitoExtension.class)
+class FlexibleDateSearchServiceTest {
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Mock
+    private HotelSpatialIndex hotelSpatialIndex;
+
+    @Mock
+    private RateEngine rateEngine;
+
+    @InjectMocks
+    private FlexibleDateSearchService flexibleDateSearchService;
+
+    @Test
+    void testSearch_CheapestFreeRoomPerCheckInDate() {
+        // Three-night stays starting two days either side of the preferred check-in: 5 start dates over 7 nights
+        LocalDate first = LocalDate.now().plusDays(8);
+        when(roomAvailabilityIndex.covers(first, first.plusDays(7))).thenReturn(true);
+        when(roomRepository.findOffersInHotels(Set.of(1L), 2, 0, Double.MAX_VALUE))
+                .thenReturn(List.of(offer(1L, 101L), offer(1L, 102L)));
+        BitSet taken = new BitSet();
+        taken.set(3); // Room 101 is booked on the fourth night
+        when(roomAvailabilityIndex.unavailableNights(1L, first, 7)).thenReturn(Map.of(101L, taken));
+        when(rateEngine.nightlyPrices(1L, 101L, first, 7)).thenReturn(nights(7, 100.0));
+        when(rateEngine.nightlyPrices(1L, 102L, first, 7)).thenReturn(nights(7, 150.0));
+
+        List<FlexibleDateOption> options = flexibleDateSearchService.search(request(1L, first.plusDays(2), 3, 2));
+
+        assertEquals(5, options.size());
+        Long[] rooms = { 101L, 102L, 102L, 102L, 101L };
+        double[] totals = { 300.0, 450.0, 450.0, 450.0, 300.0 };
+        for (int start = 0; start < 5; start++) {
+            assertEquals(first.plusDays(start), options.get(start).getCheckInDate());
+            assertEquals(first.plusDays(start + 3), options.get(start).getCheckOutDate());
+            assertEquals(rooms[start], options.get(start).getRoomId());
+            assertEquals(totals[start], options.get(start).getTotalAmount());
+        }
+    }
+
+    @Test
+    void testSearch_LeavesOutDatesWithoutFreeRoom() {
+        LocalDate first = LocalDate.now().plusDays(8);
+        when(roomAvailabilityIndex.covers(first, first.plusDays(4))).thenReturn(true);
+        when(roomRepository.findOffersInHotels(Set.of(1L), 2, 0, Double.MAX_VALUE))
+                .thenReturn(List.of(offer(1L, 101L)));
+        BitSet taken = new BitSet();
+        taken.set(1);
+        when(roomAvailabilityIndex.unavailableNights(1L, first, 4)).thenReturn(Map.of(101L, taken));
+        when(rateEngine.nightlyPrices(1L, 101L, first, 4)).thenReturn(new double[] { 80.0, 90.0, 100.0, 110.0 });
+
+        List<FlexibleDateOption> options = flexibleDateSearchService.search(request(1L, first.plusDays(1), 2, 1));
+
+        // Only the stay over the last two nights avoids the booked night
+        assertEquals(1, options.size());
+        assertEquals(first.plusDays(2), options.get(0).getCheckInDate());
+        assertEquals(210.0, options.get(0).getTotalAmount());
+    }
+
+    @Test
+    void testSearch_RejectsWindowOutsideHorizon() {
+        when(roomAvailabilityIndex.covers(any(), any())).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> flexibleDateSearchService.search(request(1L, LocalDate.now().plusYears(5), 3, 2)));
+        verify(roomRepository, never()).findOffersInHotels(any(), anyInt(), anyDouble(), anyDouble());
+        verify(rateEngine, never()).nightlyPrices(any(), any(), any(), anyInt());
+    }
+
+    private static FlexibleDateSearchRequest request(Long hotelId, LocalDate checkIn, int nights, int flexDays) {
+        FlexibleDateSearchRequest request = new FlexibleDateSearchRequest();
+        request.setHotelId(hotelId);
+        request.setCheckInDate(checkIn);
+        request.setNights(nights);
+        request.setFlexDays(flexDays);
+        request.setGuests(2);
+        return request;
+    }
+
+    private static double[] nights(int nights, double price) {
+        double[] prices = new double[nights];
+        Arrays.fill(prices, price);
+        return prices;
+    }
+
+    private static RoomOffer offer(Long hotelId, Long roomId) {
+        return new RoomOffer() {
+            public Long getHotelId() {
+                return hotelId;
+            }
+
+            public Long getRoomId() {
+                return roomId;
+            }
+
+            public double getPricePerNight() {
+                return 100.0;
+            }
+
+            public int getMaxOccupancy() {
+                return 2;
+            }
+        };
+    }
+}
@@ -0,0 +1,285 @@
+package com.example.staymate.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.staymate.dto.hotel.AvailabilitySearchRequest;
+import com.example.staymate.dto.hotel.HotelAvailability;
+import com.example.staymate.dto.room.RoomOffer;
+import com.example.staymate.entity.hotel.Hotel;
+import com.example.staymate.entity.room.RoomId;
+import com.example.staymate.index.HotelSpatialIndex;
+import com.example.staymate.index.RoomAvailabilityIndex;
+import com.example.staymate.repository.BookingRepository;
+import com.example.staymate.repository.HotelRepository;
+import com.example.staymate.repository.MaintenanceBlockRepository;
+import com.example.staymate.repository.RoomRepository;
+
+@ExtendWith(MockitoExtension.class)
+class HotelAvailabilityServiceTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2025, 6, 1);
+    private static final LocalDate CHECK_OUT = LocalDate.of(2025, 6, 4);
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private MaintenanceBlockRepository maintenanceBlockRepository;
+
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @Mock
+    private HotelSpatialIndex hotelSpatialIndex;
+
+    @Mock
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Mock
+    private RateEngine rateEngine;
+
+    private HotelAvailabilityService availabilityService;
+
+    @BeforeEach
+    void setUp() {
+        // One hotel per partition, so every hotel is checked by its own task
+        availabilityService = new HotelAvailabilityService(roomRepository, bookingRepository,
+                maintenanceBlockRepository, hotelRepository, hotelSpatialIndex, roomAvailabilityIndex, rateEngine,
+                new CursorPaginator(), 2, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        availabilityService.shutdown();
+    }
+
+    @Test
+    void testSearch_CheapestQuotedFreeRoomPerHotel() {
+        nearby(new HotelSpatialIndex.Neighbor(1L, 0.5), new HotelSpatialIndex.Neighbor(2L, 3.0));
+        when(roomRepository.findOffersInHotels(any(), eq(2), eq(0.0), eq(Double.MAX_VALUE))).thenReturn(List.of(
+                offer(1L, 101L, 80), offer(2L, 201L, 90), offer(1L, 102L, 120), offer(2L, 202L, 150)));
+        when(roomAvailabilityIndex.covers(CHECK_IN, CHECK_OUT)).thenReturn(true);
+        when(roomAvailabilityIndex.bookedRooms(1L, CHECK_IN, CHECK_OUT)).thenReturn(Set.of(101L));
+        when(roomAvailabilityIndex.bookedRooms(2L, CHECK_IN, CHECK_OUT)).thenReturn(Set.of());
+        when(rateEngine.quote(1L, 102L, CHECK_IN, CHECK_OUT)).thenReturn(360.0);
+        when(rateEngine.quote(2L, 201L, CHECK_IN, CHECK_OUT)).thenReturn(270.0);
+        // A seasonal discount makes the room with the higher flat price the cheaper stay
+        when(rateEngine.quote(2L, 202L, CHECK_IN, CHECK_OUT)).thenReturn(240.0);
+        when(hotelRepository.findAllById(any())).thenReturn(List.of(hotel(1L), hotel(2L)));
+
+        List<HotelAvailability> results = availabilityService.search(request(2));
+
+        assertEquals(2, results.size());
+        assertEquals(2L, results.get(0).getHotelId());
+        assertEquals(202L, results.get(0).getRoomId());
+        assertEquals(240, results.get(0).getTotalAmount());
+        assertEquals(1L, results.get(1).getHotelId());
+        assertEquals(102L, results.get(1).getRoomId());
+        assertEquals(120, results.get(1).getPricePerNight());
+        // The rates of each partition are read before its hotels are quoted
+        verify(rateEngine).preload(List.of(1L));
+        verify(rateEngine).preload(List.of(2L));
+        verify(bookingRepository, never()).findBookedRooms(any(), any(), any());
+    }
+
+    @Test
+    void testSearch_FullyBookedHotelLeftOut() {
+        nearby(new HotelSpatialIndex.Neighbor(1L, 0.5), new HotelSpatialIndex.Neighbor(2L, 3.0));
+        when(roomRepository.findOffersInHotels(any(), eq(2), eq(0.0), eq(Double.MAX_VALUE))).thenReturn(List.of(
+                offer(1L, 101L, 80), offer(2L, 201L, 90)));
+        when(roomAvailabilityIndex.covers(CHECK_IN, CHECK_OUT)).thenReturn(true);
+        when(roomAvailabilityIndex.bookedRooms(1L, CHECK_IN, CHECK_OUT)).thenReturn(Set.of(101L));
+        when(roomAvailabilityIndex.bookedRooms(2L, CHECK_IN, CHECK_OUT)).thenReturn(Set.of());
+        when(rateEngine.quote(2L, 201L, CHECK_IN, CHECK_OUT)).thenReturn(270.0);
+        when(hotelRepository.findAllById(any())).thenReturn(List.of(hotel(2L)));
+
+        List<HotelAvailability> results = availabilityService.search(request(2));
+
+        assertEquals(1, results.size());
+        assertEquals(2L, results.get(0).getHotelId());
+    }
+
+    @Test
+    void testSearch_OutsideIndexHorizonQueriesBookedRoomsOnce() {
+        nearby(new HotelSpatialIndex.Neighbor(1L, 0.5), new HotelSpatialIndex.Neighbor(2L, 3.0));
+        when(roomRepository.findOffersInHotels(any(), eq(2), eq(0.0), eq(Double.MAX_VALUE))).thenReturn(List.of(
+                offer(1L, 101L, 80), offer(1L, 102L, 95), offer(2L, 201L, 90)));
+        when(roomAvailabilityIndex.covers(CHECK_IN, CHECK_OUT)).thenReturn(false);
+        // Only the rooms of the hotels searched are read
+        when(bookingRepository.findBookedRooms(List.of(1L, 2L), CHECK_IN, CHECK_OUT))
+                .thenReturn(List.of(new RoomId(1L, 101L)));
+        when(rateEngine.quote(1L, 102L, CHECK_IN, CHECK_OUT)).thenReturn(285.0);
+        when(rateEngine.quote(2L, 201L, CHECK_IN, CHECK_OUT)).thenReturn(270.0);
+        when(hotelRepository.findAllById(any())).thenReturn(List.of(hotel(1L), hotel(2L)));
+
+        List<HotelAvailability> results = availabilityService.search(request(2));
+
+        assertEquals(List.of(2L, 1L), results.stream().map(HotelAvailability::getHotelId).toList());
+        assertEquals(102L, results.get(1).getRoomId());
+        verify(maintenanceBlockRepository).findBlockedRooms(List.of(1L, 2L), CHECK_IN, CHECK_OUT);
+        verify(roomAvailabilityIndex, never()).bookedRooms(any(), any(), any());
+    }
+
+    @Test
+    void testSearch_HorizonMovingDuringSearchFallsBackForThatHotel() {
+        nearby(new HotelSpatialIndex.Neighbor(1L, 0.5));
+        when(roomRepository.findOffersInHotels(any(), eq(2), eq(0.0), eq(Double.MAX_VALUE))).thenReturn(List.of(
+                offer(1L, 101L, 80), offer(1L, 102L, 95)));
+        when(roomAvailabilityIndex.covers(CHECK_IN, CHECK_OUT)).thenReturn(true);
+        // The index no longer covers the stay once the hotel is checked
+        when(roomAvailabilityIndex.bookedRooms(1L, CHECK_IN, CHECK_OUT)).thenReturn(null);
+        when(bookingRepository.findBookedRooms(List.of(1L), CHECK_IN, CHECK_OUT))
+                .thenReturn(List.of(new RoomId(1L, 101L)));
+        when(rateEngine.quote(1L, 102L, CHECK_IN, CHECK_OUT)).thenReturn(285.0);
+        when(hotelRepository.findAllById(any())).thenReturn(List.of(hotel(1L)));
+
+        List<HotelAvailability> results = availabilityService.search(request(2));
+
+        assertEquals(1, results.size());
+        assertEquals(102L, results.get(0).getRoomId());
+    }
+
+    @Test
+    void testSearch_PriceRangeCheckedOnQuotedNightlyPrice() {
+        AvailabilitySearchRequest request = request(2);
+        request.setMaxPrice(100.0);
+        nearby(new HotelSpatialIndex.Neighbor(1L, 0.5));
+        when(roomRepository.findOffersInHotels(any(), eq(2), eq(0.0), eq(Double.MAX_VALUE))).thenReturn(List.of(
+                offer(1L, 101L, 80), offer(1L, 102L, 120)));
+        when(roomAvailabilityIndex.covers(CHECK_IN, CHECK_OUT)).thenReturn(true);
+        when(roomAvailabilityIndex.bookedRooms(1L, CHECK_IN, CHECK_OUT)).thenReturn(Set.of());
+        // Peak season: the flat 80 room costs 110 a night, the flat 120 one is discounted to 95
+        when(rateEngine.quote(1L, 101L, CHECK_IN, CHECK_OUT)).thenReturn(330.0);
+        when(rateEngine.quote(1L, 102L, CHECK_IN, CHECK_OUT)).thenReturn(285.0);
+        when(hotelRepository.findAllById(any())).thenReturn(List.of(hotel(1L)));
+
+        List<HotelAvailability> results = availabilityService.search(request);
+
+        assertEquals(1, results.size());
+        assertEquals(102L, results.get(0).getRoomId());
+        assertEquals(285, results.get(0).getTotalAmount());
+    }
+
+    @Test
+    void testSearch_SortByDistanceWithinRadius() {
+        AvailabilitySearchRequest request = request(2);
+        request.setRadiusKm(5.0);
+        request.setSort("distance");
+        when(hotelSpatialIndex.withinRadius(1.3, 103.8, 5.0)).thenReturn(List.of(
+                new HotelSpatialIndex.Neighbor(1L, 0.5), new HotelSpatialIndex.Neighbor(2L, 3.0)));
+        when(roomRepository.findOffersInHotels(any(), eq(2), eq(0.0), eq(Double.MAX_VALUE))).thenReturn(List.of(
+                offer(2L, 201L, 60), offer(1L, 101L, 200)));
+        when(roomAvailabilityIndex.covers(CHECK_IN, CHECK_OUT)).thenReturn(true);
+        when(roomAvailabilityIndex.bookedRooms(any(), eq(CHECK_IN), eq(CHECK_OUT))).thenReturn(Set.of());
+        when(rateEngine.quote(1L, 101L, CHECK_IN, CHECK_OUT)).thenReturn(600.0);
+        when(rateEngine.quote(2L, 201L, CHECK_IN, CHECK_OUT)).thenReturn(180.0);
+        when(hotelRepository.findAllById(any())).thenReturn(List.of(hotel(1L), hotel(2L)));
+
+        List<HotelAvailability> results = availabilityService.search(request);
+
+        assertEquals(List.of(1L, 2L), results.stream().map(HotelAvailability::getHotelId).toList());
+        assertEquals(0.5, results.get(0).getDistanceKm(), 1e-9);
+    }
+
+    @Test
+    void testSearch_NoHotelsWithinRadius() {
+        nearby();
+
+        assertTrue(availabilityService.search(request(2)).isEmpty());
+        verify(roomRepository, never()).findOffersInHotels(any(), anyInt(), anyDouble(), anyDouble());
+    }
+
+    @Test
+    void testSearch_InvalidCriteria() {
+        AvailabilitySearchRequest reversed = request(2);
+        reversed.setCheckOutDate(CHECK_IN);
+        assertThrows(IllegalArgumentException.class, () -> availabilityService.search(reversed));
+
+        assertThrows(IllegalArgumentException.class, () -> availabilityService.search(request(0)));
+
+        AvailabilitySearchRequest prices = request(2);
+        prices.setMinPrice(200.0);
+        prices.setMaxPrice(100.0);
+        assertThrows(IllegalArgumentException.class, () -> availabilityService.search(prices));
+
+        // Searching every hotel is not allowed
+        AvailabilitySearchRequest unlocated = request(2);
+        unlocated.setLatitude(null);
+        unlocated.setLongitude(null);
+        assertThrows(IllegalArgumentException.class, () -> availabilityService.search(unlocated));
+
+        AvailabilitySearchRequest radius = request(2);
+        radius.setRadiusKm(501.0);
+        assertThrows(IllegalArgumentException.class, () -> availabilityService.search(radius));
+
+        AvailabilitySearchRequest sort = request(2);
+        sort.setSort("rating");
+        assertThrows(IllegalArgumentException.class, () -> availabilityService.search(sort));
+
+        verify(roomRepository, never()).findOffersInHotels(any(), anyInt(), anyDouble(), anyDouble());
+    }
+
+    private void nearby(HotelSpatialIndex.Neighbor... neighbors) {
+        when(hotelSpatialIndex.withinRadius(1.3, 103.8, 500)).thenReturn(List.of(neighbors));
+    }
+
+    private static AvailabilitySearchRequest request(int guests) {
+        AvailabilitySearchRequest request = new AvailabilitySearchRequest();
+        request.setCheckInDate(CHECK_IN);
+        request.setCheckOutDate(CHECK_OUT);
+        request.setGuests(guests);
+        request.setLatitude(1.3);
+        request.setLongitude(103.8);
+        return request;
+    }
+
+    private static Hotel hotel(Long id) {
+        Hotel hotel = new Hotel();
+        hotel.setId(id);
+        hotel.setName("Hotel " + id);
+        return hotel;
+    }
+
+    private static RoomOffer offer(Long hotelId, Long roomId, double price) {
+        return new RoomOffer() {
+            public Long getHotelId() {
+                return hotelId;
+            }
+
+            public Long getRoomId() {
+                return roomId;
+            }
+
+            public double getPricePerNight() {
+                return price;
+            }
+
+            public int getMaxOccupancy() {
+                return 2;
+            }
+        };
+    }
+}
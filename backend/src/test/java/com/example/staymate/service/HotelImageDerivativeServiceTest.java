@@ -0,0 +1,149 @@
+package com.example.staymate.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import com.example.staymate.entity.enums.ImageVariant;
+
+class HotelImageDerivativeServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private HotelImageService hotelImageService;
+    private HotelImageDerivativeService derivativeService;
+
+    @BeforeEach
+    void setUp() {
+        hotelImageService = new HotelImageService(tempDir.toString(), DataSize.ofMegabytes(10), DataSize.ofMegabytes(64));
+        derivativeService = new HotelImageDerivativeService(hotelImageService, 1, 10, 4_000_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        derivativeService.shutdown();
+    }
+
+    @Test
+    void testGenerate_CreatesScaledVariants() throws Exception {
+        String hash = storePng(2000, 1000);
+
+        derivativeService.generate(hash);
+
+        assertSize(hash, ImageVariant.THUMBNAIL, 160, 80);
+        assertSize(hash, ImageVariant.CARD, 480, 240);
+        assertSize(hash, ImageVariant.HERO, 1600, 800);
+    }
+
+    @Test
+    void testGenerate_DoesNotUpscaleSmallImages() throws Exception {
+        String hash = storePng(300, 200);
+
+        derivativeService.generate(hash);
+
+        assertSize(hash, ImageVariant.THUMBNAIL, 160, 107);
+        assertSize(hash, ImageVariant.CARD, 300, 200);
+        assertSize(hash, ImageVariant.HERO, 300, 200);
+    }
+
+    @Test
+    void testGenerate_IsIdempotent() throws Exception {
+        String hash = storePng(800, 600);
+        derivativeService.generate(hash);
+        Path card = hotelImageService.findVariant(hash, ImageVariant.CARD).get();
+        long modified = Files.getLastModifiedTime(card).toMillis();
+
+        derivativeService.generate(hash);
+
+        assertEquals(modified, Files.getLastModifiedTime(card).toMillis());
+    }
+
+    @Test
+    void testGenerate_IgnoresContentThatIsNotAnImage() throws Exception {
+        String hash = hotelImageService.store(new ByteArrayInputStream("not an image".getBytes()));
+
+        derivativeService.generate(hash);
+
+        assertTrue(hotelImageService.findVariant(hash, ImageVariant.CARD).isEmpty());
+    }
+
+    @Test
+    void testGenerate_RejectsOversizedImageOnce() throws Exception {
+        String hash = storePng(4000, 1001);
+
+        assertThrows(IOException.class, () -> derivativeService.generate(hash));
+        // Skipped from then on instead of being decoded again
+        derivativeService.generate(hash);
+
+        assertTrue(hotelImageService.findVariant(hash, ImageVariant.CARD).isEmpty());
+    }
+
+    @Test
+    void testGenerate_RetriesImageThatCouldNotBeRead() throws Exception {
+        String hash = storePng(640, 480);
+        AtomicBoolean unreadable = new AtomicBoolean(true);
+        HotelImageService flakyStore = new HotelImageService(tempDir.toString(), DataSize.ofMegabytes(10),
+                DataSize.ofMegabytes(64)) {
+            @Override
+            public Optional<Path> find(String hash) {
+                // The first read fails as if the disk were briefly unavailable
+                return unreadable.getAndSet(false) ? Optional.of(tempDir.resolve("unavailable")) : super.find(hash);
+            }
+        };
+        HotelImageDerivativeService flakyService = new HotelImageDerivativeService(flakyStore, 1, 10, 4_000_000);
+        try {
+            assertThrows(IOException.class, () -> flakyService.generate(hash));
+
+            flakyService.generate(hash);
+
+            assertSize(hash, ImageVariant.CARD, 480, 360);
+        } finally {
+            flakyService.shutdown();
+        }
+    }
+
+    @Test
+    void testGenerateAsync_ProducesVariantsInBackground() throws Exception {
+        String hash = storePng(640, 480);
+
+        derivativeService.generateAsync(hash);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (hotelImageService.findVariant(hash, ImageVariant.HERO).isEmpty()
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertSize(hash, ImageVariant.HERO, 640, 480);
+    }
+
+    private String storePng(int width, int height) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return hotelImageService.store(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private void assertSize(String hash, ImageVariant variant, int width, int height) throws Exception {
+        Path path = hotelImageService.findVariant(hash, variant).orElseThrow();
+        BufferedImage image = ImageIO.read(path.toFile());
+        assertEquals(width, image.getWidth());
+        assertEquals(height, image.getHeight());
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.staymate.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+
+import com.example.staymate.exception.ImageTooLargeException;
+import com.example.staymate.exception.UploadCapacityExceededException;
+
+class HotelImageServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private HotelImageService hotelImageService;
+
+    @BeforeEach
+    void setUp() {
+        hotelImageService = new HotelImageService(tempDir.toString(), DataSize.ofBytes(16), DataSize.ofBytes(32));
+    }
+
+    @Test
+    void testStore_ReturnsSha256AndStoresContent() throws Exception {
+        byte[] content = "hello".getBytes();
+
+        String hash = hotelImageService.store(new ByteArrayInputStream(content));
+
+        assertEquals("2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824", hash);
+        Optional<Path> stored = hotelImageService.find(hash);
+        assertTrue(stored.isPresent());
+        assertEquals(tempDir.resolve("2c").resolve("f2").resolve(hash), stored.get());
+        assertArrayEquals(content, Files.readAllBytes(stored.get()));
+    }
+
+    @Test
+    void testStore_SameContentIsStoredOnce() throws Exception {
+        String first = hotelImageService.store(new ByteArrayInputStream("same".getBytes()));
+        String second = hotelImageService.store(new ByteArrayInputStream("same".getBytes()));
+        String other = hotelImageService.store(new ByteArrayInputStream("other".getBytes()));
+
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+        try (var files = Files.list(tempDir.resolve("tmp"))) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void testStoreUpload_StoresImageWithinLimit() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("image", "hotel.jpg", "image/jpeg", "hello".getBytes());
+
+        String hash = hotelImageService.storeUpload(file);
+
+        assertEquals("2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824", hash);
+    }
+
+    @Test
+    void testStoreUpload_RejectsOversizedImageBeforeReading() {
+        MockMultipartFile file = new MockMultipartFile("image", "hotel.jpg", "image/jpeg", new byte[17]) {
+            @Override
+            public InputStream getInputStream() {
+                throw new AssertionError("Oversized image must not be read");
+            }
+        };
+
+        assertThrows(ImageTooLargeException.class, () -> hotelImageService.storeUpload(file));
+    }
+
+    @Test
+    void testReserveUpload_RejectsWhenInFlightLimitReached() {
+        // Two uploads are still being received while a third one arrives
+        hotelImageService.reserveUpload(16);
+        hotelImageService.reserveUpload(16);
+
+        assertThrows(UploadCapacityExceededException.class, () -> hotelImageService.reserveUpload(1));
+
+        // Capacity is released once an upload has been handled
+        hotelImageService.releaseUpload(16);
+        hotelImageService.reserveUpload(16);
+    }
+
+    @Test
+    void testFind_RejectsMalformedOrUnknownHash() {
+        assertTrue(hotelImageService.find("../../etc/passwd").isEmpty());
+        assertTrue(hotelImageService.find(null).isEmpty());
+        assertTrue(hotelImageService.find("0".repeat(64)).isEmpty());
+    }
+
+    @Test
+    void testContentType_DetectsImageFormats() throws Exception {
+        byte[] jpeg = { (byte) 0xff, (byte) 0xd8, (byte) 0xff, (byte) 0xe0, 0 };
+        byte[] png = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n' };
+
+        Path jpegPath = hotelImageService.find(hotelImageService.store(new ByteArrayInputStream(jpeg))).get();
+        Path pngPath = hotelImageService.find(hotelImageService.store(new ByteArrayInputStream(png))).get();
+        Path textPath = hotelImageService.find(hotelImageService.store(new ByteArrayInputStream("text".getBytes()))).get();
+
+        assertEquals(MediaType.IMAGE_JPEG, hotelImageService.contentType(jpegPath));
+        assertEquals(MediaType.IMAGE_PNG, hotelImageService.contentType(pngPath));
+        assertEquals(MediaType.APPLICATION_OCTET_STREAM, hotelImageService.contentType(textPath));
+    }
+}
@@ -2,11 +2,18 @@ package com.example.staymate.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,12 +22,27 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.example.staymate.dto.custom.CursorPage;
+import com.example.staymate.dto.custom.PageCursor;
+import com.example.staymate.dto.custom.VersionStamp;
+import com.example.staymate.dto.hotel.HotelSearchPage;
+import com.example.staymate.dto.hotel.HotelSummary;
+import com.example.staymate.dto.room.RoomRequestDTO;
 import com.example.staymate.entity.hotel.Hotel;
 import com.example.staymate.entity.room.Room;
 import com.example.staymate.entity.room.SingleRoom;
+import com.example.staymate.index.HotelAutocompleteIndex;
+import com.example.staymate.index.HotelSpatialIndex;
+import com.example.staymate.index.HotelTextIndex;
+import com.example.staymate.repository.BookingRepository;
 import com.example.staymate.repository.HotelRepository;
+import com.example.staymate.repository.RoomRepository;
 
 @ExtendWith(MockitoExtension.class)
 class HotelServiceTest {
@@ -28,6 +50,27 @@ class HotelServiceTest {
     @Mock
     private HotelRepository hotelRepository;
 
+    @Mock
+    private HotelSpatialIndex hotelSpatialIndex;
+
+    @Mock
+    private HotelTextIndex hotelTextIndex;
+
+    @Mock
+    private HotelAutocompleteIndex hotelAutocompleteIndex;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private RoomService roomService;
+
+    @Spy
+    private CursorPaginator cursorPaginator = new CursorPaginator();
+
     @InjectMocks
     private HotelService hotelService;
 
@@ -65,6 +108,27 @@ class HotelServiceTest {
         verify(hotelRepository, times(1)).findById(hotel.getId());
     }
     
+    @Test
+    void testGetHotelVersion_CombinesHotelAndRooms() {
+        VersionStamp hotelVersion = new VersionStamp(1L, 3L, LocalDateTime.of(2025, 3, 1, 12, 0));
+        VersionStamp roomsVersion = new VersionStamp(2L, 1L, LocalDateTime.of(2025, 3, 2, 12, 0));
+        when(hotelRepository.findVersionStamp(1L)).thenReturn(hotelVersion);
+        when(roomRepository.findVersionStampByHotelId(1L)).thenReturn(roomsVersion);
+
+        VersionStamp version = hotelService.getHotelVersion(1L);
+
+        assertEquals(hotelVersion.getETag() + "." + roomsVersion.getETag(), version.getETag());
+        assertEquals(roomsVersion.getLastModified(), version.getLastModified());
+    }
+
+    @Test
+    void testGetHotelVersion_MissingHotelIsEmpty() {
+        when(hotelRepository.findVersionStamp(1L)).thenReturn(new VersionStamp(0L, null, null));
+
+        assertTrue(hotelService.getHotelVersion(1L).isEmpty());
+        verify(roomRepository, never()).findVersionStampByHotelId(1L);
+    }
+
     @Test
     void testSaveHotel_Create() {
         when(hotelRepository.save(hotel)).thenReturn(hotel);
@@ -72,6 +136,33 @@ class HotelServiceTest {
         assertNotNull(savedHotel);
         assertEquals("Sample Hotel", savedHotel.getName());
         verify(hotelRepository, times(1)).save(hotel);
+        verify(hotelSpatialIndex, times(1)).put(hotel.getId(), hotel.getLatitude(), hotel.getLongitude());
+        verify(hotelTextIndex, times(1)).put(hotel.getId(), hotel.getName(), hotel.getAddress(), hotel.getDescription());
+        verify(hotelAutocompleteIndex, times(1)).put(hotel.getId(), hotel.getName(), hotel.getAddress());
+    }
+
+    @Test
+    void testCreateHotel_IndexesOnlyAfterCommit() {
+        List<RoomRequestDTO> rooms = List.of(new RoomRequestDTO());
+        when(hotelRepository.save(hotel)).thenReturn(hotel);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertEquals(hotel, hotelService.createHotel(hotel, rooms, 100));
+
+            verify(roomService).createRooms(hotel, rooms, 100);
+            verify(hotelSpatialIndex, never()).put(any(), anyDouble(), anyDouble());
+            verify(hotelTextIndex, never()).put(any(), any(), any(), any());
+            verify(hotelAutocompleteIndex, never()).put(any(), any(), any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(hotelSpatialIndex).put(hotel.getId(), hotel.getLatitude(), hotel.getLongitude());
+        verify(hotelTextIndex).put(hotel.getId(), hotel.getName(), hotel.getAddress(), hotel.getDescription());
+        verify(hotelAutocompleteIndex).put(hotel.getId(), hotel.getName(), hotel.getAddress());
     }
 
     @Test
@@ -80,6 +171,9 @@ class HotelServiceTest {
         hotelService.deleteHotel(hotel.getId());
         verify(hotelRepository, times(1)).existsById(hotel.getId());
         verify(hotelRepository, times(1)).deleteById(hotel.getId());
+        verify(hotelSpatialIndex, times(1)).remove(hotel.getId());
+        verify(hotelTextIndex, times(1)).remove(hotel.getId());
+        verify(hotelAutocompleteIndex, times(1)).remove(hotel.getId());
     }
 
     @Test
@@ -109,4 +203,110 @@ class HotelServiceTest {
         assertTrue(rooms.isEmpty());
         verify(hotelRepository, times(1)).findById(hotel.getId());
     }
+
+    @Test
+    void testGetNearbyHotels_SortedByDistance() {
+        Hotel farther = new Hotel();
+        farther.setId(2L);
+        farther.setName("Farther Hotel");
+
+        when(hotelSpatialIndex.withinRadius(1.30, 103.80, 5.0)).thenReturn(List.of(
+                new HotelSpatialIndex.Neighbor(1L, 0.5),
+                new HotelSpatialIndex.Neighbor(2L, 3.2)));
+        when(hotelRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(farther, hotel));
+
+        List<Hotel> hotels = hotelService.getNearbyHotels(1.30, 103.80, 5.0, null);
+
+        assertEquals(2, hotels.size());
+        assertEquals(1L, hotels.get(0).getId());
+        assertEquals(2L, hotels.get(1).getId());
+    }
+
+    @Test
+    void testGetNearbyHotels_KNearestUsesDefaultRadius() {
+        when(hotelSpatialIndex.nearest(1.30, 103.80, 1, 10.0))
+                .thenReturn(List.of(new HotelSpatialIndex.Neighbor(1L, 0.5)));
+        when(hotelRepository.findAllById(List.of(1L))).thenReturn(List.of(hotel));
+
+        List<Hotel> hotels = hotelService.getNearbyHotels(1.30, 103.80, null, 1);
+
+        assertEquals(1, hotels.size());
+        assertEquals("Sample Hotel", hotels.get(0).getName());
+    }
+
+    @Test
+    void testGetNearbyHotels_InvalidRadius() {
+        assertThrows(IllegalArgumentException.class,
+                () -> hotelService.getNearbyHotels(1.30, 103.80, -1.0, null));
+    }
+
+    @Test
+    void testGetHotelSummaries_ReturnsCursorWhenMoreHotelsExist() {
+        when(hotelRepository.findSummariesAfter(eq(0L), any(Limit.class))).thenReturn(List.of(
+                summary(1L), summary(2L), summary(3L)));
+
+        CursorPage<HotelSummary> page = hotelService.getHotelSummaries(null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals(2L, PageCursor.decode(page.getNextCursor()).getId());
+    }
+
+    @Test
+    void testGetHotelSummaries_LastPageHasNoCursor() {
+        when(hotelRepository.findSummariesAfter(eq(2L), any(Limit.class))).thenReturn(List.of(summary(3L)));
+
+        CursorPage<HotelSummary> page = hotelService.getHotelSummaries(PageCursor.of(2L).encode(), 2);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals(3L, page.getItems().get(0).getId());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetHotelSummaries_InvalidCursorOrLimit() {
+        assertThrows(IllegalArgumentException.class, () -> hotelService.getHotelSummaries("abc", 10));
+        assertThrows(IllegalArgumentException.class, () -> hotelService.getHotelSummaries(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> hotelService.getHotelSummaries(null, 101));
+    }
+
+    private HotelSummary summary(Long id) {
+        return new HotelSummary(id, "Hotel " + id, "Address", 1.3, 103.8, null, 100.0, 2L, 4.5);
+    }
+
+    @Test
+    void testSearchHotels_ReturnsHotelsInRelevanceOrder() {
+        Hotel other = new Hotel();
+        other.setId(2L);
+        other.setName("Other Hotel");
+
+        when(hotelTextIndex.search("hotel", 0, 10))
+                .thenReturn(new HotelTextIndex.SearchResult(List.of(2L, 1L), 2));
+        when(hotelRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(hotel, other));
+
+        HotelSearchPage page = hotelService.searchHotels("hotel", 0, 10);
+
+        assertEquals(2, page.getTotal());
+        assertEquals(2L, page.getHotels().get(0).getId());
+        assertEquals(1L, page.getHotels().get(1).getId());
+    }
+
+    @Test
+    void testSearchHotels_InvalidPaging() {
+        assertThrows(IllegalArgumentException.class, () -> hotelService.searchHotels("hotel", -1, 10));
+        assertThrows(IllegalArgumentException.class, () -> hotelService.searchHotels("hotel", 0, 0));
+    }
+
+    @Test
+    void testAutocomplete_ReturnsIndexSuggestions() {
+        List<HotelAutocompleteIndex.Match> matches = List.of(new HotelAutocompleteIndex.Match("Sample Hotel", 1L, 3));
+        when(hotelAutocompleteIndex.suggest("sam", 5)).thenReturn(matches);
+
+        assertEquals(matches, hotelService.autocomplete("sam", 5));
+    }
+
+    @Test
+    void testAutocomplete_InvalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> hotelService.autocomplete("sam", 0));
+        assertThrows(IllegalArgumentException.class, () -> hotelService.autocomplete("sam", 11));
+    }
 }
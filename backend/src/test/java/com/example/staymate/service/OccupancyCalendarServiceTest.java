@@ -0,0 +1,117 @@
+package com.example.staymate.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.staymate.dto.booking.RoomTypeStay;
+import com.example.staymate.dto.hotel.OccupancyCalendar;
+import com.example.staymate.dto.room.RoomTypeCount;
+import com.example.staymate.entity.enums.RoomType;
+import com.example.staymate.repository.BookingRepository;
+import com.example.staymate.repository.MaintenanceBlockRepository;
+import com.example.staymate.repository.RoomRepository;
+
+@ExtendWith(MockitoExtension.class)
+class OccupancyCalendarServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 6, 1);
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private MaintenanceBlockRepository maintenanceBlockRepository;
+
+    @InjectMocks
+    private OccupancyCalendarService occupancyCalendarService;
+
+    @Test
+    void testGetCalendar_CountsOccupiedNights() {
+        when(roomRepository.countRoomsByType(1L))
+                .thenReturn(List.of(count(RoomType.SUITE, 1), count(RoomType.SINGLE, 3)));
+        when(bookingRepository.findRoomTypeStaysBetween(1L, FROM, FROM.plusDays(5))).thenReturn(List.of(
+                stay(RoomType.SINGLE, FROM.minusDays(2), FROM.plusDays(2)), // Started before the window
+                stay(RoomType.SINGLE, FROM.plusDays(1), FROM.plusDays(3)),
+                stay(RoomType.SUITE, FROM.plusDays(3), FROM.plusDays(9)))); // Ends after the window
+
+        OccupancyCalendar calendar = occupancyCalendarService.getCalendar(1L, FROM, FROM.plusDays(4));
+
+        assertEquals(5, calendar.getDays());
+        assertEquals(List.of(RoomType.SINGLE, RoomType.SUITE), calendar.getRoomTypes());
+        assertEquals(FROM.plusDays(4), calendar.getDate(4));
+        int[] singles = { 1, 2, 1, 0, 0 };
+        int[] suites = { 0, 0, 0, 1, 1 };
+        for (int day = 0; day < 5; day++) {
+            assertEquals(singles[day], calendar.getOccupied(0, day));
+            assertEquals(3 - singles[day], calendar.getFree(0, day));
+            assertEquals(suites[day], calendar.getOccupied(1, day));
+        }
+    }
+
+    @Test
+    void testGetCalendar_RoomsUnderMaintenanceAreNotFree() {
+        when(roomRepository.countRoomsByType(1L)).thenReturn(List.of(count(RoomType.SINGLE, 2)));
+        when(bookingRepository.findRoomTypeStaysBetween(1L, FROM, FROM.plusDays(3)))
+                .thenReturn(List.of(stay(RoomType.SINGLE, FROM, FROM.plusDays(2))));
+        when(maintenanceBlockRepository.findRoomTypeBlocksBetween(1L, FROM, FROM.plusDays(3)))
+                .thenReturn(List.of(stay(RoomType.SINGLE, FROM.plusDays(1), FROM.plusDays(5))));
+
+        OccupancyCalendar calendar = occupancyCalendarService.getCalendar(1L, FROM, FROM.plusDays(2));
+
+        int[] blocked = { 0, 1, 1 };
+        long[] free = { 1, 0, 1 };
+        for (int day = 0; day < 3; day++) {
+            assertEquals(blocked[day], calendar.getBlocked(0, day));
+            assertEquals(free[day], calendar.getFree(0, day));
+        }
+    }
+
+    @Test
+    void testGetCalendar_RejectsInvalidWindow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> occupancyCalendarService.getCalendar(1L, FROM, FROM.minusDays(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> occupancyCalendarService.getCalendar(1L, FROM, FROM.plusDays(366)));
+    }
+
+    private static RoomTypeCount count(RoomType roomType, long rooms) {
+        return new RoomTypeCount() {
+            public RoomType getRoomType() {
+                return roomType;
+            }
+
+            public long getRooms() {
+                return rooms;
+            }
+        };
+    }
+
+    private static RoomTypeStay stay(RoomType roomType, LocalDate checkIn, LocalDate checkOut) {
+        return new RoomTypeStay() {
+            public RoomType getRoomType() {
+                return roomType;
+            }
+
+            public LocalDate getCheckInDate() {
+                return checkIn;
+            }
+
+            public LocalDate getCheckOutDate() {
+                return checkOut;
+            }
+        };
+    }
+}
@@ -25,6 +25,7 @@ import com.example.staymate.entity.enums.PaymentMethod;
 import com.example.staymate.entity.enums.PaymentStatus;
 import com.example.staymate.entity.notification.Notification;
 import com.example.staymate.entity.payment.Payment;
+import com.example.staymate.entity.user.User;
 import com.example.staymate.observer.NotificationObserver;
 import com.example.staymate.repository.BookingRepository;
 import com.example.staymate.repository.PaymentRepository;
@@ -78,6 +79,19 @@ class PaymentServiceTest {
         verify(paymentRepository, times(1)).save(any(Payment.class));
     }
 
+    @Test
+    void testCreatePayment_ListedUnderBookingUser() {
+        User user = new User();
+        user.setId(7L);
+        booking.setUser(user);
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Payment createdPayment = paymentService.createPayment(1L, PaymentMethod.CREDIT_CARD, 100.0);
+
+        assertEquals(7L, createdPayment.getUserId());
+    }
+
     @Test
     void testCreatePayment_BookingNotFound() {
         when(bookingRepository.findById(1L)).thenReturn(Optional.empty());
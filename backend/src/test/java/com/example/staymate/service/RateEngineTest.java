@@ -0,0 +1,138 @@
+package com.example.staymate.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.staymate.dto.rate.RateRuleRequestDTO;
+import com.example.staymate.entity.enums.RoomType;
+import com.example.staymate.entity.hotel.Hotel;
+import com.example.staymate.entity.rate.RateRule;
+import com.example.staymate.exception.RoomNotFoundException;
+import com.example.staymate.factory.RoomFactory;
+import com.example.staymate.repository.RateRuleRepository;
+import com.example.staymate.repository.RoomRepository;
+
+@ExtendWith(MockitoExtension.class)
+class RateEngineTest {
+
+    // A Monday, so the first five nights from it are weekdays
+    private static final LocalDate MONDAY = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private RateRuleRepository rateRuleRepository;
+
+    @InjectMocks
+    private RateEngine rateEngine;
+
+    private final List<RateRule> rules = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Hotel hotel = new Hotel();
+        hotel.setId(1L);
+        when(roomRepository.findByHotelId(1L)).thenReturn(List.of(
+                RoomFactory.createRoom(hotel, 100L, RoomType.SINGLE, 100.0, 1),
+                RoomFactory.createRoom(hotel, 101L, RoomType.SINGLE, 100.0, 1),
+                RoomFactory.createRoom(hotel, 200L, RoomType.SUITE, 300.0, 4)));
+        when(rateRuleRepository.findByHotelId(1L)).thenReturn(rules);
+    }
+
+    @Test
+    void testPreload_ReadsHotelsTogether() {
+        Hotel other = new Hotel();
+        other.setId(2L);
+        when(roomRepository.findByHotelIdIn(List.of(2L))).thenReturn(List.of(
+                RoomFactory.createRoom(other, 100L, RoomType.SINGLE, 80.0, 1)));
+        when(rateRuleRepository.findByHotelIdIn(List.of(2L))).thenReturn(List.of());
+
+        rateEngine.preload(List.of(2L));
+        assertEquals(240.0, rateEngine.quote(2L, 100L, MONDAY, MONDAY.plusDays(3)), 0.001);
+        verify(roomRepository, never()).findByHotelId(2L);
+
+        // Calendars already computed are not read again
+        assertEquals(300.0, rateEngine.quote(1L, 100L, MONDAY, MONDAY.plusDays(3)), 0.001);
+        rateEngine.preload(List.of(1L, 2L));
+        verify(roomRepository, times(1)).findByHotelIdIn(any());
+    }
+
+    @Test
+    void testQuote_WithoutRulesIsFlatPrice() {
+        assertEquals(300.0, rateEngine.quote(1L, 100L, MONDAY, MONDAY.plusDays(3)), 0.001);
+        assertEquals(900.0, rateEngine.quote(1L, 200L, MONDAY, MONDAY.plusDays(3)), 0.001);
+    }
+
+    @Test
+    void testQuote_AppliesWeekendAndSeasonRules() {
+        rules.add(rule(null, null, null, List.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), 1.5));
+        rules.add(rule(RoomType.SUITE, MONDAY.plusDays(5), MONDAY.plusDays(5), List.of(), 2.0));
+
+        // Friday, Saturday and Sunday nights
+        assertEquals(100 + 150 + 150, rateEngine.quote(1L, 101L, MONDAY.plusDays(4), MONDAY.plusDays(7)), 0.001);
+        // The season doubles the suite's Saturday on top of the weekend rule
+        assertEquals(300 + 900 + 450, rateEngine.quote(1L, 200L, MONDAY.plusDays(4), MONDAY.plusDays(7)), 0.001);
+    }
+
+    @Test
+    void testQuote_BeyondCalendarUsesRules() {
+        rules.add(rule(null, null, null, List.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), 1.5));
+        LocalDate farMonday = MONDAY.plusWeeks(200);
+
+        assertEquals(100 * 5 + 150 * 2, rateEngine.quote(1L, 100L, farMonday, farMonday.plusDays(7)), 0.001);
+    }
+
+    @Test
+    void testCreateRule_RecomputesCalendars() {
+        assertEquals(100.0, rateEngine.quote(1L, 100L, MONDAY, MONDAY.plusDays(1)), 0.001);
+        assertEquals(100.0, rateEngine.quote(1L, 100L, MONDAY, MONDAY.plusDays(1)), 0.001);
+        verify(roomRepository, times(1)).findByHotelId(1L); // Second quote served from the calendar
+
+        when(rateRuleRepository.save(any(RateRule.class))).thenAnswer(invocation -> {
+            rules.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        RateRuleRequestDTO request = new RateRuleRequestDTO();
+        request.setMultiplier(1.2);
+        rateEngine.createRule(1L, request);
+
+        assertEquals(120.0, rateEngine.quote(1L, 100L, MONDAY, MONDAY.plusDays(1)), 0.001);
+    }
+
+    @Test
+    void testQuote_InvalidRoomOrDates() {
+        assertThrows(RoomNotFoundException.class, () -> rateEngine.quote(1L, 999L, MONDAY, MONDAY.plusDays(1)));
+        assertThrows(IllegalArgumentException.class, () -> rateEngine.quote(1L, 100L, MONDAY, MONDAY));
+    }
+
+    private static RateRule rule(RoomType roomType, LocalDate start, LocalDate end, List<DayOfWeek> days,
+            double multiplier) {
+        RateRule rule = new RateRule();
+        rule.setHotelId(1L);
+        rule.setRoomType(roomType);
+        rule.setStartDate(start);
+        rule.setEndDate(end);
+        rule.setDaysOfWeek(days);
+        rule.setMultiplier(multiplier);
+        return rule;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.staymate.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.staymate.dto.room.RoomRequestDTO;
+import com.example.staymate.entity.enums.RoomType;
+import com.example.staymate.entity.hotel.Hotel;
+import com.example.staymate.repository.HotelRepository;
+import com.example.staymate.repository.RoomRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Compares creating the rooms of a large hotel one save at a time with the batched
+// bulk path by the JDBC statements each prepares. Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql=WARN"
+})
+@ActiveProfiles("test")
+class RoomServiceBenchmarkTest {
+
+    private static final int ROOMS = 2000;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void benchmarkBulkRoomCreation() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Hotel oneByOneHotel = newHotel("One By One");
+        statistics.clear();
+        createOneByOne(oneByOneHotel, ROOMS);
+        long oneByOneStatements = statistics.getPrepareStatementCount();
+
+        Hotel bulkHotel = newHotel("Bulk");
+        statistics.clear();
+        int created = roomService.createRooms(bulkHotel, List.of(singleRooms(ROOMS)), 100);
+        long bulkStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(ROOMS, created);
+        assertEquals(ROOMS, statistics.getEntityInsertCount());
+        assertEquals(ROOMS, roomRepository.findByHotelId(bulkHotel.getId()).size());
+        // Every save selects and inserts its room on its own, while the bulk path
+        // sends one insert statement per JDBC batch
+        assertTrue(oneByOneStatements >= ROOMS);
+        assertTrue(bulkStatements <= ROOMS / BATCH_SIZE + 1);
+    }
+
+    private void createOneByOne(Hotel hotel, int rooms) {
+        for (int i = 0; i < rooms; i++) {
+            roomService.createRoom(hotel, 100L + i, RoomType.SINGLE, 100.0, 1);
+        }
+    }
+
+    private Hotel newHotel(String name) {
+        Hotel hotel = new Hotel();
+        hotel.setName(name);
+        hotel.setAddress("1 Benchmark Road, Singapore");
+        return hotelRepository.save(hotel);
+    }
+
+    private static RoomRequestDTO singleRooms(int quantity) {
+        RoomRequestDTO request = new RoomRequestDTO();
+        request.setRoomType(RoomType.SINGLE);
+        request.setPricePerNight(100.0);
+        request.setMaxOccupancy(1);
+        request.setQuantity(quantity);
+        return request;
+    }
+}
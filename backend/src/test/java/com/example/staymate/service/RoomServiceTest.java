@@ -1,38 +1,44 @@
 package com.example.staymate.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.example.staymate.dto.room.RoomRequestDTO;
 import com.example.staymate.entity.booking.Booking;
 import com.example.staymate.entity.enums.RoomStatus;
 import com.example.staymate.entity.enums.RoomType;
 import com.example.staymate.entity.hotel.Hotel;
 import com.example.staymate.entity.room.Room;
-import com.example.staymate.entity.room.RoomId;
 import com.example.staymate.entity.room.SingleRoom;
-import com.example.staymate.exception.RoomAlreadyBookedException;
+import com.example.staymate.entity.room.SuiteRoom;
+import com.example.staymate.index.RoomAvailabilityIndex;
 import com.example.staymate.repository.BookingRepository;
+import com.example.staymate.repository.MaintenanceBlockRepository;
 import com.example.staymate.repository.RoomRepository;
 
+import jakarta.persistence.EntityManager;
+
 @ExtendWith(MockitoExtension.class)
 class RoomServiceTest {
 
@@ -42,6 +48,18 @@ class RoomServiceTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+
+    @Mock
+    private RoomNightLedger roomNightLedger;
+
+    @Mock
+    private MaintenanceBlockRepository maintenanceBlockRepository;
+
     @InjectMocks
     private RoomService roomService;
 
@@ -87,103 +105,102 @@ class RoomServiceTest {
         verify(roomRepository, times(1)).save(any(SingleRoom.class));
     }
 
-    // Test for bookRoom method (room is available)
+    // Test for createRooms method
     @Test
-    void testBookRoom_Success() {
-        // Ensure room starts as AVAILABLE
-        room.setStatus(RoomStatus.AVAILABLE);
-    
-        // Mock repository responses
-        RoomId expectedRoomId = new RoomId(hotel.getId(), 101L);
-        when(roomRepository.findById(expectedRoomId)).thenReturn(Optional.of(room));
-        when(bookingRepository.findOverlappingBookings(hotel.getId(), 101L, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 5)))
-            .thenReturn(List.of());
-        when(roomRepository.save(any(Room.class))).thenAnswer(invocation -> invocation.getArgument(0));
-    
-        // Call bookRoom
-        Room bookedRoom = roomService.bookRoom(hotel.getId(), 101L, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 5));
-    
-        // Assertions
-        assertNotNull(bookedRoom);
-        assertEquals(RoomStatus.BOOKED, bookedRoom.getStatus());
-    
-        // Verify interactions
-        verify(roomRepository, times(1)).findById(expectedRoomId);
-        verify(bookingRepository, times(1)).findOverlappingBookings(hotel.getId(), 101L, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 5));
-        verify(roomRepository, times(1)).save(bookedRoom);
-    }    
-
-    // Test for bookRoom method (room already booked)
-    @Test
-    void testBookRoom_RoomAlreadyBooked() {
-        // Mock roomRepository.findById to return the room
-        when(roomRepository.findById(new RoomId(hotel.getId(), 101L))).thenReturn(Optional.of(room));
-        
-        // Mock bookingRepository.findOverlappingBookings to return a non-empty list (room is already booked)
-        when(bookingRepository.findOverlappingBookings(hotel.getId(), 101L, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 5)))
-            .thenReturn(List.of(booking));
-
-        // Call the service method and expect RoomAlreadyBookedException
-        assertThrows(RoomAlreadyBookedException.class, () -> roomService.bookRoom(hotel.getId(), 101L, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 5)));
-
-        // Verify the repository methods were called
-        verify(roomRepository, times(1)).findById(new RoomId(hotel.getId(), 101L));
-        verify(bookingRepository, times(1)).findOverlappingBookings(hotel.getId(), 101L, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 5));
-        verify(roomRepository, times(0)).save(any(Room.class));  // Save should not be called if room is already booked
+    void testCreateRooms_PersistsAllRoomsInBatches() {
+        RoomRequestDTO singles = new RoomRequestDTO();
+        singles.setRoomType(RoomType.SINGLE);
+        singles.setPricePerNight(100.0);
+        singles.setMaxOccupancy(1);
+        singles.setQuantity(60);
+        RoomRequestDTO suites = new RoomRequestDTO();
+        suites.setRoomType(RoomType.SUITE);
+        suites.setPricePerNight(400.0);
+        suites.setMaxOccupancy(4);
+        suites.setQuantity(2);
+
+        int created = roomService.createRooms(hotel, List.of(singles, suites), 100);
+
+        assertEquals(62, created);
+        ArgumentCaptor<Room> rooms = ArgumentCaptor.forClass(Room.class);
+        verify(entityManager, times(62)).persist(rooms.capture());
+        assertEquals(100L, rooms.getAllValues().get(0).getId().getRoomId());
+        assertEquals(161L, rooms.getAllValues().get(61).getId().getRoomId());
+        assertTrue(rooms.getAllValues().get(61) instanceof SuiteRoom);
+        // One flush for the first full batch of 50 and one for the rest
+        verify(entityManager, times(2)).flush();
+        verify(roomRepository, never()).save(any(Room.class));
     }
 
-    // Test for isRoomAvailable method (room is available)
     @Test
-    void testIsRoomAvailable_Available() {
-        // Mock roomRepository.findById to return the room
-        when(roomRepository.findById(new RoomId(hotel.getId(), 101L))).thenReturn(Optional.of(room));
-
-        // Mock bookingRepository.findOverlappingBookings to return an empty list (no overlapping bookings)
-        when(bookingRepository.findOverlappingBookings(hotel.getId(), 101L, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 5)))
-            .thenReturn(List.of());
-
-        // Call the service method
-        boolean isAvailable = roomService.isRoomAvailable(hotel.getId(), 101L, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 5));
-
-        // Validate the result
-        assertTrue(isAvailable);
-
-        // Verify the repository methods were called
-        verify(roomRepository, times(1)).findById(new RoomId(hotel.getId(), 101L));
-        verify(bookingRepository, times(1)).findOverlappingBookings(hotel.getId(), 101L, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 5));
+    void testCreateRooms_InvalidQuantityPersistsNothing() {
+        RoomRequestDTO singles = new RoomRequestDTO();
+        singles.setRoomType(RoomType.SINGLE);
+        singles.setQuantity(5);
+        RoomRequestDTO invalid = new RoomRequestDTO();
+        invalid.setRoomType(RoomType.DOUBLE);
+        invalid.setQuantity(0);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> roomService.createRooms(hotel, List.of(singles, invalid), 100));
+
+        verify(entityManager, never()).persist(any());
     }
 
-    // Test for isRoomAvailable method (room is not available)
+    // Tests for getAvailableRooms method
     @Test
-    void testIsRoomAvailable_NotAvailable() {
-        // Mock roomRepository.findById to return the room
-        when(roomRepository.findById(new RoomId(hotel.getId(), 101L))).thenReturn(Optional.of(room));
+    void testGetAvailableRooms_UsesAvailabilityIndexWithinHorizon() {
+        LocalDate checkIn = LocalDate.of(2025, 3, 1);
+        LocalDate checkOut = LocalDate.of(2025, 3, 5);
+        Room otherRoom = new SingleRoom(hotel, 102L, 100.0, 2);
+        when(roomAvailabilityIndex.bookedRooms(hotel.getId(), checkIn, checkOut)).thenReturn(Set.of(101L));
+        when(roomRepository.findByHotelId(hotel.getId())).thenReturn(List.of(room, otherRoom));
 
-        // Mock bookingRepository.findOverlappingBookings to return a non-empty list (room is already booked)
-        when(bookingRepository.findOverlappingBookings(hotel.getId(), 101L, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 5)))
-            .thenReturn(List.of(booking));
+        List<Room> available = roomService.getAvailableRooms(hotel.getId(), checkIn, checkOut);
 
-        // Call the service method
-        boolean isAvailable = roomService.isRoomAvailable(hotel.getId(), 101L, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 5));
+        assertEquals(List.of(otherRoom), available);
+        verify(roomRepository, never()).findAvailableRooms(any(), any(), any());
+    }
 
-        // Validate the result
-        assertFalse(isAvailable);
+    @Test
+    void testGetAvailableRooms_FallsBackToQueryOutsideHorizon() {
+        LocalDate checkIn = LocalDate.of(2030, 3, 1);
+        LocalDate checkOut = LocalDate.of(2030, 3, 5);
+        when(roomAvailabilityIndex.bookedRooms(hotel.getId(), checkIn, checkOut)).thenReturn(null);
+        when(roomRepository.findAvailableRooms(hotel.getId(), checkIn, checkOut)).thenReturn(List.of(room));
 
-        // Verify the repository methods were called
-        verify(roomRepository, times(1)).findById(new RoomId(hotel.getId(), 101L));
-        verify(bookingRepository, times(1)).findOverlappingBookings(hotel.getId(), 101L, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 5));
+        assertEquals(List.of(room), roomService.getAvailableRooms(hotel.getId(), checkIn, checkOut));
     }
 
-    // Test for isRoomAvailable method (room not found)
+    // Tests for getRoomStatuses method
     @Test
-    void testIsRoomAvailable_RoomNotFound() {
-        // Mock roomRepository.findById to return empty (room not found)
-        when(roomRepository.findById(new RoomId(hotel.getId(), 101L))).thenReturn(Optional.empty());
-
-        // Call the service method and expect RuntimeException
-        assertThrows(RuntimeException.class, () -> roomService.isRoomAvailable(hotel.getId(), 101L, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 5)));
+    void testGetRoomStatuses_DerivedFromAvailabilityIndex() {
+        LocalDate date = LocalDate.of(2025, 3, 2);
+        Room otherRoom = new SingleRoom(hotel, 102L, 100.0, 2);
+        Room thirdRoom = new SingleRoom(hotel, 103L, 100.0, 2);
+        when(roomAvailabilityIndex.unavailableRooms(hotel.getId(), date))
+                .thenReturn(Map.of(101L, RoomStatus.BOOKED, 103L, RoomStatus.UNDER_MAINTENANCE));
+        when(roomRepository.findByHotelId(hotel.getId())).thenReturn(List.of(room, otherRoom, thirdRoom));
+
+        Map<Long, RoomStatus> statuses = roomService.getRoomStatuses(hotel.getId(), date);
+
+        assertEquals(Map.of(101L, RoomStatus.BOOKED, 102L, RoomStatus.AVAILABLE, 103L, RoomStatus.UNDER_MAINTENANCE),
+                statuses);
+        verify(roomNightLedger, never()).findHeldRoomIds(any(), any());
+    }
 
-        // Verify the repository method was called
-        verify(roomRepository, times(1)).findById(new RoomId(hotel.getId(), 101L));
+    @Test
+    void testGetRoomStatuses_FallsBackToLedgerOutsideHorizon() {
+        LocalDate date = LocalDate.of(2030, 3, 2);
+        Room otherRoom = new SingleRoom(hotel, 102L, 100.0, 2);
+        when(roomAvailabilityIndex.unavailableRooms(hotel.getId(), date)).thenReturn(null);
+        when(roomNightLedger.findHeldRoomIds(hotel.getId(), date)).thenReturn(List.of(102L));
+        when(maintenanceBlockRepository.findHotelBlocksBetween(hotel.getId(), date, date.plusDays(1)))
+                .thenReturn(List.of());
+        when(roomRepository.findByHotelId(hotel.getId())).thenReturn(List.of(room, otherRoom));
+
+        Map<Long, RoomStatus> statuses = roomService.getRoomStatuses(hotel.getId(), date);
+
+        assertEquals(Map.of(101L, RoomStatus.AVAILABLE, 102L, RoomStatus.BOOKED), statuses);
     }
 }
@@ -0,0 +1,189 @@
+package com.example.staymate.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.staymate.entity.booking.Booking;
+import com.example.staymate.entity.enums.RoomType;
+import com.example.staymate.entity.enums.WaitlistStatus;
+import com.example.staymate.entity.notification.Notification;
+import com.example.staymate.entity.user.User;
+import com.example.staymate.entity.waitlist.WaitlistEntry;
+import com.example.staymate.exception.ResourceNotFoundException;
+import com.example.staymate.exception.RoomAlreadyBookedException;
+import com.example.staymate.index.WaitlistIndex;
+import com.example.staymate.repository.WaitlistEntryRepository;
+
+@ExtendWith(MockitoExtension.class)
+class WaitlistServiceTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.now().plusDays(10);
+    private static final LocalDate CHECK_OUT = CHECK_IN.plusDays(2);
+
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Mock
+    private WaitlistIndex waitlistIndex;
+
+    @Mock
+    private BookingHoldService bookingHoldService;
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private RateEngine rateEngine;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @InjectMocks
+    private WaitlistService waitlistService;
+
+    @AfterEach
+    void tearDown() {
+        waitlistService.shutdown();
+    }
+
+    @Test
+    void testOffer_HoldsRoomAndNotifiesWaiter() {
+        WaitlistEntry entry = entry(5L);
+        when(waitlistIndex.claim(1L, RoomType.SINGLE, CHECK_IN, CHECK_IN.plusDays(4))).thenReturn(List.of(5L));
+        when(waitlistEntryRepository.findById(5L)).thenReturn(Optional.of(entry));
+        when(rateEngine.quote(1L, 101L, CHECK_IN, CHECK_OUT)).thenReturn(200.0);
+        Booking held = new Booking();
+        held.setId(42L);
+        held.setHoldExpiresAt(LocalDateTime.now().plusMinutes(10));
+        when(bookingHoldService.createHold(any(Booking.class), eq(1L), eq(101L), any(Duration.class)))
+                .thenReturn(held);
+        when(waitlistEntryRepository.save(entry)).thenReturn(entry);
+
+        List<WaitlistEntry> offered = waitlistService.offer(1L, 101L, RoomType.SINGLE, CHECK_IN, CHECK_IN.plusDays(4));
+
+        assertEquals(List.of(entry), offered);
+        assertEquals(WaitlistStatus.OFFERED, entry.getStatus());
+        assertEquals(42L, entry.getBookingId());
+        verify(notificationService).createNotification(any(Notification.class));
+    }
+
+    @Test
+    void testOffer_KeepsWaitingWhenRoomTakenMeanwhile() {
+        WaitlistEntry entry = entry(5L);
+        when(waitlistIndex.claim(1L, RoomType.SINGLE, CHECK_IN, CHECK_OUT)).thenReturn(List.of(5L));
+        when(waitlistEntryRepository.findById(5L)).thenReturn(Optional.of(entry));
+        when(bookingHoldService.createHold(any(Booking.class), eq(1L), eq(101L), any(Duration.class)))
+                .thenThrow(new RoomAlreadyBookedException("Room 101 in hotel 1 is already booked for the selected dates."));
+
+        assertEquals(List.of(), waitlistService.offer(1L, 101L, RoomType.SINGLE, CHECK_IN, CHECK_OUT));
+
+        assertEquals(WaitlistStatus.WAITING, entry.getStatus());
+        verify(waitlistIndex).add(5L, 1L, RoomType.SINGLE, CHECK_IN, CHECK_OUT);
+        verify(notificationService, never()).createNotification(any());
+    }
+
+    @Test
+    void testOffer_FailedEntryGoesBackOnWaitlist() {
+        WaitlistEntry failing = entry(5L);
+        WaitlistEntry entry = entry(6L);
+        when(waitlistIndex.claim(1L, RoomType.SINGLE, CHECK_IN, CHECK_OUT)).thenReturn(List.of(5L, 6L));
+        when(waitlistEntryRepository.findById(5L)).thenReturn(Optional.of(failing));
+        when(waitlistEntryRepository.findById(6L)).thenReturn(Optional.of(entry));
+        when(rateEngine.quote(1L, 101L, CHECK_IN, CHECK_OUT))
+                .thenThrow(new IllegalStateException("Rates unavailable"))
+                .thenReturn(200.0);
+        Booking held = new Booking();
+        held.setId(42L);
+        held.setHoldExpiresAt(LocalDateTime.now().plusMinutes(10));
+        when(bookingHoldService.createHold(any(Booking.class), eq(1L), eq(101L), any(Duration.class)))
+                .thenReturn(held);
+        when(waitlistEntryRepository.save(entry)).thenReturn(entry);
+        when(waitlistEntryRepository.findAllById(List.of(5L))).thenReturn(List.of(failing));
+
+        // The failure does not stop the next entry from being offered
+        assertEquals(List.of(entry), waitlistService.offer(1L, 101L, RoomType.SINGLE, CHECK_IN, CHECK_OUT));
+
+        assertEquals(WaitlistStatus.WAITING, failing.getStatus());
+        verify(waitlistIndex).add(5L, 1L, RoomType.SINGLE, CHECK_IN, CHECK_OUT);
+        verify(waitlistIndex, never()).add(eq(6L), any(), any(), any(), any());
+    }
+
+    @Test
+    void testLeave_OfferedEntryGivesUpHeldBooking() {
+        WaitlistEntry entry = entry(5L);
+        entry.setUser(user(7L));
+        entry.setStatus(WaitlistStatus.OFFERED);
+        entry.setBookingId(42L);
+        when(waitlistEntryRepository.findById(5L)).thenReturn(Optional.of(entry));
+        when(waitlistEntryRepository.save(entry)).thenReturn(entry);
+
+        waitlistService.leave(5L, 7L);
+
+        assertEquals(WaitlistStatus.CANCELLED, entry.getStatus());
+        verify(bookingService).cancelHold(42L);
+        verify(waitlistIndex).remove(5L);
+    }
+
+    @Test
+    void testLeave_WaitingEntryHasNoBookingToCancel() {
+        WaitlistEntry entry = entry(5L);
+        entry.setUser(user(7L));
+        when(waitlistEntryRepository.findById(5L)).thenReturn(Optional.of(entry));
+        when(waitlistEntryRepository.save(entry)).thenReturn(entry);
+
+        waitlistService.leave(5L, 7L);
+
+        assertEquals(WaitlistStatus.CANCELLED, entry.getStatus());
+        verify(bookingService, never()).cancelHold(any());
+    }
+
+    @Test
+    void testLeave_EntryOfAnotherUserIsNotFound() {
+        WaitlistEntry entry = entry(5L);
+        entry.setUser(user(7L));
+        entry.setStatus(WaitlistStatus.OFFERED);
+        entry.setBookingId(42L);
+        when(waitlistEntryRepository.findById(5L)).thenReturn(Optional.of(entry));
+
+        assertThrows(ResourceNotFoundException.class, () -> waitlistService.leave(5L, 8L));
+
+        assertEquals(WaitlistStatus.OFFERED, entry.getStatus());
+        verify(bookingService, never()).cancelHold(any());
+        verify(waitlistIndex, never()).remove(any());
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    private static WaitlistEntry entry(Long id) {
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setId(id);
+        entry.setHotelId(1L);
+        entry.setRoomType(RoomType.SINGLE);
+        entry.setCheckInDate(CHECK_IN);
+        entry.setCheckOutDate(CHECK_OUT);
+        entry.setStatus(WaitlistStatus.WAITING);
+        return entry;
+    }
+}
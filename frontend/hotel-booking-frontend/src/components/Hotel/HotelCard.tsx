@@ -9,6 +9,7 @@ import {
 } from '@mui/material';
 import { HotelData } from '../../types/Hotels';
 import { Link } from 'react-router-dom';
+import { BASE_URL } from '../../constants/constants';
 
 interface HotelCardProps {
   hotel: HotelData;
@@ -33,7 +34,7 @@ const HotelCard: React.FC<HotelCardProps> = ({ hotel }) => {
       }}>
         <CardMedia
           component="img"
-          image={hotel.image ? `data:image/jpeg;base64,${hotel.image}` : defaultImage}
+          image={hotel.imageUrl ? `${BASE_URL}${hotel.imageUrl}?size=card` : defaultImage}
           alt={hotel.name}
           sx={{ height: 120, width: '100%', objectFit: 'contain' }}
         />
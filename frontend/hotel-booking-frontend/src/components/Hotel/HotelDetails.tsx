@@ -1,6 +1,7 @@
 import React from "react";
 import { FaBookmark, FaRegBookmark } from "react-icons/fa"; // Import missing icons
 import { useNavigate } from "react-router-dom"; // Import useNavigate
+import { BASE_URL } from "../../constants/constants";
 import { HotelData } from "../../types/Hotels";
 import { Review } from "../../types/Review";
 
@@ -97,7 +98,7 @@ const HotelDetails: React.FC<HotelDetailsProps> = ({
     <div className="max-w-7xl mx-auto p-8 space-y-8">
       {/* Hotel Image */}
       <img
-        src={hotel?.image ? `data:image/jpeg;base64,${hotel.image}` : defaultImage}
+        src={hotel?.imageUrl ? `${BASE_URL}${hotel.imageUrl}?size=hero` : defaultImage}
         alt={hotel?.name}
         className="w-full h-96 object-cover rounded-2xl shadow-xl transition-transform transform hover:scale-105 mb-8"
       />
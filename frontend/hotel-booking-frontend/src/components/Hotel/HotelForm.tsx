@@ -1,7 +1,7 @@
 import React, { useEffect, useState } from 'react';
 import PhoneInput from 'react-phone-input-2';
 import 'react-phone-input-2/lib/style.css';
-import { OPEN_CAGE_API_KEY } from '../../constants/constants';
+import { BASE_URL, OPEN_CAGE_API_KEY } from '../../constants/constants';
 import { RoomRequestDTO } from '../../types/Room';
 
 interface HotelFormProps {
@@ -77,7 +77,7 @@ const HotelForm: React.FC<HotelFormProps> = ({ onSave, hotelId, hotelData }) =>
       setAddress(hotelData.address);
       setLatitude(hotelData.latitude);
       setLongitude(hotelData.longitude);
-      setImagePreview(hotelData.image);
+      setImagePreview(hotelData.imageUrl ? `${BASE_URL}${hotelData.imageUrl}?size=thumbnail` : '');
       setDescription(hotelData.description);
       setContact(hotelData.contact);
       setCheckIn(hotelData.checkIn);
@@ -182,10 +182,9 @@ const HotelForm: React.FC<HotelFormProps> = ({ onSave, hotelId, hotelData }) =>
       checkOut: convertTime(check_out),
     }));
 
+    // The existing image is kept by the server when no new file is sent
     if (image) {
       formData.append('image', image);
-    } else if (imagePreview) {
-      formData.append('image', imagePreview);
     }
 
     await onSave(formData);
@@ -263,7 +262,7 @@ const HotelForm: React.FC<HotelFormProps> = ({ onSave, hotelId, hotelData }) =>
           {imagePreview && (
             <div className="mt-4">
               <img
-                src={imagePreview.startsWith('data:') ? imagePreview : `data:image/jpeg;base64,${imagePreview}`}
+                src={imagePreview}
                 alt="Preview"
                 className="w-32 h-32 object-cover rounded-lg border shadow-sm"
               />
@@ -1,6 +1,7 @@
 import React from "react";
 import ReactDOM from "react-dom/client";
 import App from "./App";
+import "./services/lastWrite"; // Sends the time of this client's last write with every request
 import "bootstrap/dist/css/bootstrap.min.css"; // Import Bootstrap CSS
 import "./index.css"; // Your custom CSS (if any)
 import "leaflet/dist/leaflet.css";
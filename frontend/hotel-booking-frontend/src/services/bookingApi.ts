@@ -85,7 +85,7 @@ export const getBookingsForHotel = async (hotelId: number) => {
 export const getBookingsForUser = async (userId: number) => {
   try {
     const response = await axios.get(`${API_BASE_URL}/user/${userId}`);
-    return response.data.data; // Accessing response data as data.data
+    return response.data.data.items; // The latest page of bookings
   } catch (error) {
     if (axios.isAxiosError(error)) {
       return { error: error.response?.data || 'Something went wrong' };
@@ -1,6 +1,6 @@
 import axios from 'axios';
 import { BASE_URL } from '../constants/constants';
-import { HotelData } from '../types/Hotels';
+import { CursorPage, HotelData, HotelSummary } from '../types/Hotels';
 
 // Base URL for the API
 const API_BASE_URL = `${BASE_URL}/hotels`;
@@ -39,6 +39,19 @@ export const fetchHotels = async () => {
   }
 };
 
+// Fetch one page of hotel summaries; pass the returned nextCursor to get the next page
+export const fetchHotelSummaries = async (cursor?: string | null, limit?: number): Promise<CursorPage<HotelSummary>> => {
+  try {
+    const response = await axios.get(`${API_BASE_URL}/summaries`, {
+      params: { cursor: cursor ?? undefined, limit },
+    });
+    return response.data.data;
+  } catch (error) {
+    console.error("Error fetching hotel summaries:", error);
+    throw error;
+  }
+};
+
 // Fetch hotel by ID
 export const fetchHotelById = async (id: number) => {
   try {
@@ -0,0 +1,23 @@
+import axios from 'axios';
+
+// After a write, the backend reads this client's data from the primary database until the read
+// replica has caught up. It reports the time of the write in this header, which is sent back on
+// every later request so bookings and payments show up straight away.
+const LAST_WRITE_HEADER = 'X-Last-Write';
+const STORAGE_KEY = 'lastWrite';
+
+axios.interceptors.request.use((config) => {
+  const lastWrite = sessionStorage.getItem(STORAGE_KEY);
+  if (lastWrite) {
+    config.headers.set(LAST_WRITE_HEADER, lastWrite);
+  }
+  return config;
+});
+
+axios.interceptors.response.use((response) => {
+  const lastWrite = response.headers[LAST_WRITE_HEADER.toLowerCase()];
+  if (lastWrite) {
+    sessionStorage.setItem(STORAGE_KEY, String(lastWrite));
+  }
+  return response;
+});
@@ -1,10 +1,11 @@
 import axios from 'axios';
 import { BASE_URL } from '../constants/constants';
 import { Notification } from '../types/Notification';
+import { CursorPage } from '../types/Hotels';
 
 // Define the response structure that contains a `data` field
 interface NotificationResponse {
-  data: Notification[]; // This is where your actual notifications are stored
+  data: CursorPage<Notification>; // One page of notifications, newest first
 }
 
 const API_BASE_URL = `${BASE_URL}/notifications`;
@@ -14,7 +15,7 @@ const NotificationApi = {
   getNotificationsByUserId: async (userId: number) => {
     try {
       const response = await axios.get<NotificationResponse>(`${API_BASE_URL}/user/${userId}`);
-      return response.data.data; // Now it can safely access response.data.data
+      return response.data.data.items; // Now it can safely access response.data.data
     } catch (error: any) {
       console.error('Failed to fetch notifications:', error);
       throw new Error(error?.response?.data?.message || 'Error fetching notifications');
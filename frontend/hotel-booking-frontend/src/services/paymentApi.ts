@@ -1,6 +1,7 @@
 import axios from 'axios';
 import { BASE_URL } from '../constants/constants';
 import { Payment } from '../types/Payment';
+import { CursorPage } from '../types/Hotels';
 
 const API_BASE_URL = `${BASE_URL}/payments`;
 
@@ -48,9 +49,9 @@ export const getPaymentsByBookingId = async (bookingId: number): Promise<Payment
 
 export const getPaymentsByUserId = async (userId: number): Promise<Payment[]> => {
   try {
-    const response = await axios.get<{ data: any[] }>(`${API_BASE_URL}/user/${userId}`);
+    const response = await axios.get<{ data: CursorPage<any> }>(`${API_BASE_URL}/user/${userId}`);
     
-    const mappedPayments: Payment[] = response.data.data.map((p) => ({
+    const mappedPayments: Payment[] = response.data.data.items.map((p) => ({
       id: p.paymentId,
       bookingId: p.bookingId,
       amount: p.amountPaid,
@@ -1,6 +1,7 @@
 import axios from 'axios';
 import { BASE_URL } from '../constants/constants';
 import { Review } from '../types/Review';
+import { CursorPage } from '../types/Hotels';
 
 // Base URL for the API
 const API_BASE_URL = `${BASE_URL}/reviews`;
@@ -13,8 +14,8 @@ interface CustomResponse<T> {
 // Fetch all reviews
 export const getAllReviews = async (): Promise<Review[]> => {
   try {
-    const response = await axios.get<CustomResponse<Review[]>>(API_BASE_URL);
-    return response.data.data;  // Return the actual data
+    const response = await axios.get<CustomResponse<CursorPage<Review>>>(API_BASE_URL);
+    return response.data.data.items;  // Return the actual data
   } catch (error) {
     throw new Error('An error occurred while fetching reviews');
   }
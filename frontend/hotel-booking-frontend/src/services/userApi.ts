@@ -54,7 +54,7 @@ export const loginUser = async (loginData: LoginData) => {
       const data = await response.json();
   
       if (response.ok && data?.data) {
-        return { users: data.data };  // Return users array
+        return { users: data.data.items };  // Return users array
       } else {
         throw new Error(data?.message || "No users found.");
       }
@@ -24,8 +24,24 @@ export interface SearchFilters {
     description: string;
     contact: string;
     averageRating: number;
-    image?: string;
+    imageUrl?: string;
     rooms: Room[];
     checkIn: string;
     checkOut: string;
-}
\ No newline at end of file
+}
+export interface HotelSummary {
+    id: number;
+    name: string;
+    address: string;
+    latitude: number;
+    longitude: number;
+    minPrice: number | null;
+    roomCount: number;
+    averageRating: number | null;
+    imageUrl: string | null;
+}
+
+export interface CursorPage<T> {
+    items: T[];
+    nextCursor: string | null;
+}
@@ -6,7 +6,6 @@ export interface Room {
   };
   pricePerNight: number;
   maxOccupancy: number;
-  status: string;
 }
 
 export interface RoomRequestDTO {